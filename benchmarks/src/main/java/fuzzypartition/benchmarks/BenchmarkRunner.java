@@ -0,0 +1,30 @@
+package fuzzypartition.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Punkt wejścia uruchamiający benchmarki. Przyjmuje te same argumenty co
+ * standardowy 'org.openjdk.jmh.Main', ale zawsze dołącza profiler GC, tak
+ * aby obok przepustowości raportowana była również szybkość alokacji.
+ */
+public class BenchmarkRunner {
+
+    public static void main(String[] args)
+            throws RunnerException, CommandLineOptionException {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        ChainedOptionsBuilder options = new OptionsBuilder()
+                .parent(commandLine);
+        if (commandLine.getProfilers().stream().noneMatch(
+                profiler -> profiler.getKlass().equals(GCProfiler.class.getName())
+        )) {
+            options.addProfiler(GCProfiler.class);
+        }
+        new Runner(options.build()).run();
+    }
+}
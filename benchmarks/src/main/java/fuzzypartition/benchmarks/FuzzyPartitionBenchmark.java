@@ -0,0 +1,313 @@
+package fuzzypartition.benchmarks;
+
+import fuzzypartition.AlphaCut;
+import fuzzypartition.FloatPartition;
+import fuzzypartition.FuzzyPartition;
+import fuzzypartition.PartitionCodec;
+import fuzzypartition.PartitionGenerator;
+import fuzzypartition.PartitionText;
+import fuzzypartition.PartitionValidator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarki wszystkich operacji klasy 'FuzzyPartition'. Kształty
+ * podziałów obejmują zarówno macierze "wysokie" (dużo wierszy, mało
+ * kolumn), jak i "szerokie" (kilka wierszy, bardzo dużo kolumn).
+ * <p>
+ * Podziały zapamiętują statystyki kolumn (minimum, maksimum, sumy), więc
+ * bez dodatkowych kroków każde wywołanie po pierwszym mierzyłoby jedynie
+ * odczyt zapamiętanych statystyk. Dlatego benchmarki operacji
+ * korzystających ze statystyk używają stanu 'Uncached', który usuwa je
+ * przed każdym wywołaniem, a operacje korzystające z zapamiętanych
+ * statystyk mierzone są osobno (benchmarki '*Cached', stan 'Cached').
+ * Pozostałe benchmarki nie używają stanu 'Uncached', ponieważ krok
+ * wykonywany przed każdym wywołaniem zaburza pomiar krótkich operacji.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+@State(Scope.Benchmark)
+public class FuzzyPartitionBenchmark {
+
+    /**
+     * Kształt podziału w postaci "MxN".
+     */
+    @Param({"1000x100", "100x1000", "10x100000", "3x1000000"})
+    public String shape;
+
+    /**
+     * Czy operacje wykonywane są równolegle we wspólnej puli ForkJoin.
+     */
+    @Param({"false", "true"})
+    public boolean parallel;
+
+    /**
+     * Podział, na którym wykonywane są operacje.
+     */
+    private FuzzyPartition U;
+
+    /**
+     * Drugi podział, wykorzystywany w operacjach porównujących dwa
+     * podziały.
+     */
+    private FuzzyPartition V;
+
+    /**
+     * Kopia podziału U, wykorzystywana w benchmarku metody 'equals'.
+     */
+    private FuzzyPartition copyOfU;
+
+    /**
+     * Podział, w którym zapisywane są wyniki w benchmarkach operacji
+     * niealokujących nowych podziałów.
+     */
+    private FuzzyPartition dest;
+
+    /**
+     * Podział U w pojedynczej precyzji.
+     */
+    private FloatPartition floatU;
+
+    /**
+     * Podział V w pojedynczej precyzji.
+     */
+    private FloatPartition floatV;
+
+    /**
+     * Podział docelowy w pojedynczej precyzji.
+     */
+    private FloatPartition floatDest;
+
+    /**
+     * Poziom alfa. Jest on mniejszy niż 1/M, dzięki czemu jest mniejszy od
+     * maksimum w każdej kolumnie i alfa-cięcie zawsze istnieje.
+     */
+    private double alpha;
+
+    /**
+     * Walidator sprawdzający podział bez poprawiania kolumn.
+     */
+    private static final PartitionValidator VALIDATOR =
+            new PartitionValidator();
+
+    /**
+     * Utworzenie losowych podziałów o zadanym kształcie. Ziarno jest stałe,
+     * więc każde uruchomienie mierzy te same dane.
+     */
+    @Setup
+    public void setup() {
+        String[] dimensions = shape.split("x");
+        int M = Integer.parseInt(dimensions[0]);
+        int N = Integer.parseInt(dimensions[1]);
+
+        PartitionGenerator generator = PartitionGenerator.withSeed(2024);
+        U = generator.uniform(M, N);
+        V = generator.uniform(M, N);
+        copyOfU = new FuzzyPartition(U.getData());
+        dest = new FuzzyPartition(M, N);
+        floatU = U.toFloatPartition();
+        floatV = V.toFloatPartition();
+        floatDest = dest.toFloatPartition();
+        alpha = 0.5 / M;
+
+        FuzzyPartition.setParallelism(
+                parallel ? ForkJoinPool.commonPool() : null,
+                1 << 16
+        );
+    }
+
+    /**
+     * Stan benchmarków mierzących operacje razem z obliczeniem statystyk
+     * kolumn podziału U.
+     */
+    @State(Scope.Benchmark)
+    public static class Uncached {
+
+        /**
+         * Usunięcie statystyk zapamiętanych przez poprzednie wywołanie,
+         * dzięki czemu mierzone jest również ich obliczenie.
+         */
+        @Setup(Level.Invocation)
+        public void invalidateStatistics(FuzzyPartitionBenchmark benchmark) {
+            benchmark.U.invalidateStatistics();
+        }
+    }
+
+    /**
+     * Podział, którego statystyki kolumn są obliczone przed pomiarem
+     * i nie są usuwane.
+     */
+    @State(Scope.Benchmark)
+    public static class Cached {
+
+        private FuzzyPartition U;
+
+        private double alpha;
+
+        @Setup
+        public void setup(FuzzyPartitionBenchmark benchmark) {
+            U = new FuzzyPartition(benchmark.U.getData());
+            U.validate();
+            alpha = benchmark.alpha;
+        }
+    }
+
+    @Benchmark
+    public FuzzyPartition calculateAlphaLevel(Uncached uncached) {
+        return U.calculateAlphaLevel(alpha);
+    }
+
+    @Benchmark
+    public FuzzyPartition calculateComplementAlphaLevel(Uncached uncached) {
+        return U.calculateComplementAlphaLevel(alpha);
+    }
+
+    @Benchmark
+    public AlphaCut calculateAlphaCut(Uncached uncached) {
+        return U.calculateAlphaCut(alpha);
+    }
+
+    @Benchmark
+    public double alphaApproximate() {
+        return U.alphaApproximate(alpha, V);
+    }
+
+    @Benchmark
+    public FuzzyPartition calculateLS(Uncached uncached) {
+        return U.calculateLS();
+    }
+
+    @Benchmark
+    public FuzzyPartition calculateComplementLS(Uncached uncached) {
+        return U.calculateComplementLS();
+    }
+
+    @Benchmark
+    public FuzzyPartition calculateMLS(Uncached uncached) {
+        return U.calculateMLS();
+    }
+
+    @Benchmark
+    public FuzzyPartition calculateComplementMLS(Uncached uncached) {
+        return U.calculateComplementMLS();
+    }
+
+    @Benchmark
+    public FuzzyPartition complement(Uncached uncached) {
+        return U.complement();
+    }
+
+    @Benchmark
+    public FuzzyPartition complementIntoDestination(Uncached uncached) {
+        return U.complement(dest);
+    }
+
+    @Benchmark
+    public FuzzyPartition calculateMLSIntoDestination(Uncached uncached) {
+        return U.calculateMLS(dest);
+    }
+
+    @Benchmark
+    public FuzzyPartition calculateAlphaLevelIntoDestination(
+            Uncached uncached) {
+        return U.calculateAlphaLevel(alpha, dest);
+    }
+
+    @Benchmark
+    public double calculateSharpnessDegree() {
+        return U.calculateSharpnessDegree(V);
+    }
+
+    @Benchmark
+    public boolean validate(Uncached uncached) {
+        return U.validate();
+    }
+
+    @Benchmark
+    public boolean validateCached(Cached cached) {
+        return cached.U.validate();
+    }
+
+    @Benchmark
+    public FuzzyPartition calculateLSCached(Cached cached) {
+        return cached.U.calculateLS();
+    }
+
+    @Benchmark
+    public FuzzyPartition calculateMLSCached(Cached cached) {
+        return cached.U.calculateMLS();
+    }
+
+    @Benchmark
+    public FuzzyPartition calculateAlphaLevelCached(Cached cached) {
+        return cached.U.calculateAlphaLevel(cached.alpha);
+    }
+
+    @Benchmark
+    public PartitionValidator.Report validator() {
+        return VALIDATOR.validate(U);
+    }
+
+    @Benchmark
+    public boolean equalsCopy() {
+        return U.equals(copyOfU);
+    }
+
+    @Benchmark
+    public String toStringBenchmark() {
+        return U.toString();
+    }
+
+    @Benchmark
+    public byte[] encode16() {
+        return PartitionCodec.encode(U, 16, false);
+    }
+
+    @Benchmark
+    public void writeCsv() throws IOException {
+        PartitionText.write(U, Writer.nullWriter(), ',', 4);
+    }
+
+    @Benchmark
+    public FloatPartition floatComplementIntoDestination() {
+        return floatU.complement(floatDest);
+    }
+
+    @Benchmark
+    public FloatPartition floatCalculateMLSIntoDestination() {
+        return floatU.calculateMLS(floatDest);
+    }
+
+    @Benchmark
+    public boolean floatValidate() {
+        return floatU.validate();
+    }
+
+    @Benchmark
+    public double floatAlphaApproximate() {
+        return floatU.alphaApproximate(alpha, floatV);
+    }
+
+    @Benchmark
+    public double floatCalculateSharpnessDegree() {
+        return floatU.calculateSharpnessDegree(floatV);
+    }
+}
@@ -0,0 +1,397 @@
+package fuzzypartition;
+
+import java.util.Arrays;
+
+/**
+ * Zwarta reprezentacja alfa-cięcia podziału rozmytego. Alfa-cięcie oraz
+ * jego dopełnienie są w pełni wyznaczone przez maskę bitową
+ * (u(i, j) >= alfa) oraz liczności cj alfa-cięcia w kolumnach, dlatego
+ * przechowywany jest 1 bit na element macierzy oraz N liczb całkowitych,
+ * zamiast M * N liczb typu double.
+ * <p>
+ * Alfa-cięcie pamięta poziom alfa, dla którego zostało obliczone. Operacje
+ * na zbiorach łączą tylko alfa-cięcia obliczone dla tego samego poziomu.
+ * <p>
+ * Bity zapisane są kolumnami: element (i, j) odpowiada bitowi o numerze
+ * j * M + i. Podziały odpowiadające alfa-cięciu tworzone są dopiero na
+ * żądanie - jako widok obliczający wartości przy odczycie
+ * ('asFuzzyPartition') lub jako gęsta kopia ('toFuzzyPartition').
+ */
+public final class AlphaCut {
+
+    /**
+     * Liczba bitów obliczanych przez pojedyncze zadanie przy tworzeniu
+     * maski (wielokrotność 64, aby zadania nie współdzieliły słów).
+     */
+    private static final int BITS_PER_TASK = 1 << 16;
+
+    /**
+     * Liczba wierszy podziału
+     */
+    public final int M;
+
+    /**
+     * Liczba kolumn podziału
+     */
+    public final int N;
+
+    /**
+     * Poziom alfa, dla którego obliczono alfa-cięcie.
+     */
+    private final double alpha;
+
+    /**
+     * Maska bitowa alfa-cięcia zapisana kolumnami.
+     */
+    private final long[] bits;
+
+    /**
+     * Liczności alfa-cięcia w kolejnych kolumnach.
+     */
+    private final int[] counts;
+
+    private AlphaCut(int M, int N, double alpha, long[] bits) {
+        this.M = M;
+        this.N = N;
+        this.alpha = alpha;
+        this.bits = bits;
+        this.counts = new int[N];
+        ColumnTasks.forEachRange(M, N, (from, to) -> {
+            for (int j = from; j < to; j++)
+                counts[j] = countBits((long) j * M, (long) (j + 1) * M);
+        });
+    }
+
+    /**
+     * Oblicza alfa-cięcie podziału. Poziom alfa musi być dodatni
+     * i mniejszy od maksimum w każdej kolumnie, tak jak w metodzie
+     * 'FuzzyPartition.calculateAlphaLevel'.
+     *
+     * @param U     Podział rozmyty
+     * @param alpha Poziom alfa
+     * @return Alfa-cięcie podziału U
+     */
+    static AlphaCut of(FuzzyPartition U, double alpha) {
+        ColumnKernels.checkAlpha(alpha);
+        if (U.calculateAlphaBound() <= alpha) {
+            throw new IllegalArgumentException(
+                    "Value of alpha must be lower than maximum " +
+                            "value in any column"
+            );
+        }
+
+        int M = U.M;
+        long size = (long) M * U.N;
+        long[] bits = new long[words(size)];
+        PartitionStorage storage = U.storage;
+        int tasks = (int) ((size + BITS_PER_TASK - 1) / BITS_PER_TASK);
+        ColumnTasks.forEachTask(tasks, task -> {
+            long from = (long) task * BITS_PER_TASK;
+            long to = Math.min(size, from + BITS_PER_TASK);
+            if (storage instanceof ColumnMajorStorage) {
+                double[] values = ((ColumnMajorStorage) storage).values;
+                for (long k = from; k < to; k++) {
+                    if (values[(int) k] >= alpha)
+                        bits[(int) (k >>> 6)] |= 1L << k;
+                }
+            } else {
+                for (long k = from; k < to; k++) {
+                    if (storage.get((int) (k % M), (int) (k / M)) >= alpha)
+                        bits[(int) (k >>> 6)] |= 1L << k;
+                }
+            }
+        });
+        return new AlphaCut(M, U.N, alpha, bits);
+    }
+
+    /**
+     * Zwraca liczbę słów potrzebnych do zapisania podanej liczby bitów.
+     */
+    private static int words(long size) {
+        return (int) ((size + 63) >>> 6);
+    }
+
+    /**
+     * Zlicza ustawione bity o numerach z zakresu [from, to).
+     */
+    private int countBits(long from, long to) {
+        if (from >= to) return 0;
+        int first = (int) (from >>> 6);
+        int last = (int) ((to - 1) >>> 6);
+        long firstMask = -1L << from;
+        long lastMask = -1L >>> (63 - (int) ((to - 1) & 63));
+        if (first == last)
+            return Long.bitCount(bits[first] & firstMask & lastMask);
+        int count = Long.bitCount(bits[first] & firstMask);
+        for (int w = first + 1; w < last; w++)
+            count += Long.bitCount(bits[w]);
+        return count + Long.bitCount(bits[last] & lastMask);
+    }
+
+    /**
+     * Zwraca poziom alfa, dla którego obliczono alfa-cięcie.
+     *
+     * @return Poziom alfa
+     */
+    public double getAlpha() {
+        return alpha;
+    }
+
+    /**
+     * Sprawdza, czy element (i, j) należy do alfa-cięcia.
+     *
+     * @param i Numer wiersza
+     * @param j Numer kolumny
+     * @return true, jeżeli wartość podziału w miejscu (i, j) jest nie
+     * mniejsza niż alfa
+     */
+    public boolean contains(int i, int j) {
+        long k = (long) j * M + i;
+        return (bits[(int) (k >>> 6)] & (1L << k)) != 0;
+    }
+
+    /**
+     * Zwraca liczność alfa-cięcia w podanej kolumnie.
+     *
+     * @param j Numer kolumny
+     * @return Liczba elementów kolumny należących do alfa-cięcia
+     */
+    public int count(int j) {
+        return counts[j];
+    }
+
+    /**
+     * Zwraca liczbę wszystkich elementów należących do alfa-cięcia.
+     *
+     * @return Liczność alfa-cięcia
+     */
+    public long cardinality() {
+        long cardinality = 0;
+        for (int count : counts) cardinality += count;
+        return cardinality;
+    }
+
+    /**
+     * Zwraca podział rozmyty będący alfa-cięciem, którego wartości
+     * obliczane są przy każdym odczycie na podstawie maski. Widok nie
+     * zajmuje dodatkowej pamięci i nie może być modyfikowany. Wyniki
+     * operacji na nim są zwykłymi podziałami na stercie.
+     *
+     * @return Alfa-cięcie jako podział rozmyty tylko do odczytu
+     */
+    public FuzzyPartition asFuzzyPartition() {
+        return new FuzzyPartition(new View(false));
+    }
+
+    /**
+     * Zwraca podział rozmyty będący dopełnieniem alfa-cięcia, którego
+     * wartości obliczane są przy każdym odczycie na podstawie maski
+     * (zob. 'asFuzzyPartition').
+     *
+     * @return Dopełnienie alfa-cięcia jako podział rozmyty tylko do odczytu
+     */
+    public FuzzyPartition asComplementFuzzyPartition() {
+        return new FuzzyPartition(new View(true));
+    }
+
+    /**
+     * Zwraca gęstą kopię alfa-cięcia, równą wynikowi metody
+     * 'FuzzyPartition.calculateAlphaLevel'.
+     *
+     * @return Nowy podział rozmyty będący alfa-cięciem
+     */
+    public FuzzyPartition toFuzzyPartition() {
+        return asFuzzyPartition().lazy().evaluate();
+    }
+
+    /**
+     * Zwraca gęstą kopię dopełnienia alfa-cięcia, równą wynikowi metody
+     * 'FuzzyPartition.calculateComplementAlphaLevel'.
+     *
+     * @return Nowy podział rozmyty będący dopełnieniem alfa-cięcia
+     */
+    public FuzzyPartition toComplementFuzzyPartition() {
+        return asComplementFuzzyPartition().lazy().evaluate();
+    }
+
+    /**
+     * Metoda sprawdzająca podobieństwo tego alfa-cięcia do alfa-cięcia
+     * podziału V na tym samym poziomie alfa. Wynik jest równy
+     * U.alphaApproximate(getAlpha(), V), gdzie U jest podziałem, z którego
+     * obliczono to alfa-cięcie, ale nie wymaga odczytywania podziału U.
+     *
+     * @param V Podział rozmyty, do którego się porównujemy
+     * @return Podobieństwo pomiędzy alfa-cięciami w skali od 0 do 1
+     */
+    public double alphaApproximate(FuzzyPartition V) {
+        checkSameDimensions(V.M, V.N);
+        double[] sums = ColumnTasks.reduce(M, N, (from, to) -> {
+            double M1 = 0.0;
+            double M2 = 0.0;
+            double[] column = new double[M];
+            for (int j = from; j < to; j++) {
+                V.storage.readColumn(j, column, 0);
+                for (int i = 0; i < M; i++) {
+                    if (contains(i, j)) {
+                        M1 += Math.max(0.0, alpha - column[i]);
+                    } else {
+                        M2 += Math.max(0.0, column[i] - alpha);
+                    }
+                }
+            }
+            return new double[]{M1, M2};
+        }, (left, right) -> new double[]{
+                left[0] + right[0], left[1] + right[1]
+        });
+        double cardM1 = cardinality();
+        return 1.0 - ((sums[0] + sums[1])
+                / (cardM1 * alpha + ((double) M * N - cardM1) * (1 - alpha)));
+    }
+
+    /**
+     * Zwraca część wspólną dwóch alfa-cięć. Kolumny wyniku mogą być puste;
+     * podział odpowiadający takiemu cięciu nie jest poprawnym podziałem
+     * rozmytym.
+     *
+     * @param other Alfa-cięcie o tych samych wymiarach i poziomie alfa
+     * @return Nowe alfa-cięcie
+     */
+    public AlphaCut and(AlphaCut other) {
+        checkCompatible(other);
+        long[] result = new long[bits.length];
+        for (int w = 0; w < bits.length; w++)
+            result[w] = bits[w] & other.bits[w];
+        return new AlphaCut(M, N, alpha, result);
+    }
+
+    /**
+     * Zwraca sumę dwóch alfa-cięć.
+     *
+     * @param other Alfa-cięcie o tych samych wymiarach i poziomie alfa
+     * @return Nowe alfa-cięcie
+     */
+    public AlphaCut or(AlphaCut other) {
+        checkCompatible(other);
+        long[] result = new long[bits.length];
+        for (int w = 0; w < bits.length; w++)
+            result[w] = bits[w] | other.bits[w];
+        return new AlphaCut(M, N, alpha, result);
+    }
+
+    /**
+     * Zwraca różnicę symetryczną dwóch alfa-cięć. Jej liczność jest liczbą
+     * elementów, w których alfa-cięcia się różnią.
+     *
+     * @param other Alfa-cięcie o tych samych wymiarach i poziomie alfa
+     * @return Nowe alfa-cięcie
+     */
+    public AlphaCut xor(AlphaCut other) {
+        checkCompatible(other);
+        long[] result = new long[bits.length];
+        for (int w = 0; w < bits.length; w++)
+            result[w] = bits[w] ^ other.bits[w];
+        return new AlphaCut(M, N, alpha, result);
+    }
+
+    /**
+     * Zwraca różnicę alfa-cięć: elementy tego cięcia nienależące do
+     * drugiego.
+     *
+     * @param other Alfa-cięcie o tych samych wymiarach i poziomie alfa
+     * @return Nowe alfa-cięcie
+     */
+    public AlphaCut andNot(AlphaCut other) {
+        checkCompatible(other);
+        long[] result = new long[bits.length];
+        for (int w = 0; w < bits.length; w++)
+            result[w] = bits[w] & ~other.bits[w];
+        return new AlphaCut(M, N, alpha, result);
+    }
+
+    /**
+     * Sprawdza, czy drugie alfa-cięcie ma te same wymiary i ten sam
+     * poziom alfa.
+     */
+    private void checkCompatible(AlphaCut other) {
+        checkSameDimensions(other.M, other.N);
+        if (Double.compare(alpha, other.alpha) != 0) {
+            throw new IllegalArgumentException(
+                    "Alpha cuts must be computed for the same alpha"
+            );
+        }
+    }
+
+    /**
+     * Sprawdza, czy podane wymiary są równe wymiarom alfa-cięcia.
+     */
+    private void checkSameDimensions(int M, int N) {
+        if (this.M != M || this.N != N) throw new IllegalArgumentException(
+                "Alpha cut and partition must have the same dimensions"
+        );
+    }
+
+    /**
+     * Dwa alfa-cięcia są równe, jeżeli mają te same wymiary, poziom alfa
+     * i maski.
+     *
+     * @param o Obiekt, do którego się porównujemy
+     * @return true, jeżeli obiekty reprezentują to samo alfa-cięcie
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        AlphaCut that = (AlphaCut) o;
+        return M == that.M && N == that.N
+                && Double.compare(alpha, that.alpha) == 0
+                && Arrays.equals(bits, that.bits);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 * (31 * M + N) + Double.hashCode(alpha))
+                + Arrays.hashCode(bits);
+    }
+
+    /**
+     * Macierz alfa-cięcia lub jego dopełnienia, której wartości obliczane
+     * są przy odczycie.
+     */
+    private final class View implements PartitionStorage {
+
+        /**
+         * Czy widok przedstawia dopełnienie alfa-cięcia.
+         */
+        private final boolean complement;
+
+        View(boolean complement) {
+            this.complement = complement;
+        }
+
+        @Override
+        public int rows() {
+            return M;
+        }
+
+        @Override
+        public int columns() {
+            return N;
+        }
+
+        @Override
+        public double get(int row, int column) {
+            int cj = counts[column];
+            boolean inCut = contains(row, column);
+            if (!complement) return inCut ? 1.0 / cj : 0.0;
+            if (cj == M) return 1.0 / M;
+            return inCut ? 0.0 : 1.0 / (M - cj);
+        }
+
+        @Override
+        public void set(int row, int column, double value) {
+            throw new UnsupportedOperationException(
+                    "Alpha cut view is read-only"
+            );
+        }
+    }
+}
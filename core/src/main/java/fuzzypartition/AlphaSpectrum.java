@@ -0,0 +1,170 @@
+package fuzzypartition;
+
+import java.util.Arrays;
+
+/**
+ * Alfa-cięcia oraz dopełnienia alfa-cięć podziału rozmytego dla wielu
+ * poziomów alfa, obliczone w jednym przebiegu po kolumnach podziału.
+ * Każda kolumna jest sortowana tylko raz, a liczności alfa-cięć dla
+ * kolejnych (rosnących) poziomów alfa wyznaczane są przez przesuwanie
+ * wskaźnika po posortowanej kolumnie.
+ */
+public final class AlphaSpectrum {
+
+    /**
+     * Poziomy alfa, w kolejności rosnącej.
+     */
+    private final double[] alphas;
+
+    /**
+     * Kres górny poprawnych poziomów alfa, tzn. minimum po kolumnach
+     * z maksimum wartości w kolumnie.
+     */
+    private final double alphaBound;
+
+    /**
+     * Alfa-cięcia podziału dla kolejnych poziomów alfa.
+     */
+    private final FuzzyPartition[] alphaLevels;
+
+    /**
+     * Dopełnienia alfa-cięć podziału dla kolejnych poziomów alfa.
+     */
+    private final FuzzyPartition[] complementAlphaLevels;
+
+    private AlphaSpectrum(double[] alphas, double alphaBound,
+                          FuzzyPartition[] alphaLevels,
+                          FuzzyPartition[] complementAlphaLevels) {
+        this.alphas = alphas;
+        this.alphaBound = alphaBound;
+        this.alphaLevels = alphaLevels;
+        this.complementAlphaLevels = complementAlphaLevels;
+    }
+
+    /**
+     * Oblicza alfa-cięcia i ich dopełnienia dla podanych poziomów alfa.
+     * Poprawność wszystkich poziomów sprawdzana jest przed rozpoczęciem
+     * obliczeń.
+     *
+     * @param U      Podział rozmyty
+     * @param alphas Poziomy alfa w kolejności rosnącej
+     * @return Alfa-cięcia podziału U dla podanych poziomów
+     */
+    static AlphaSpectrum compute(FuzzyPartition U, double[] alphas) {
+        alphas = alphas.clone();
+        for (int k = 1; k < alphas.length; k++) {
+            if (alphas[k] < alphas[k - 1]) throw new IllegalArgumentException(
+                    "Alpha values must be sorted in ascending order"
+            );
+        }
+        double alphaBound = U.calculateAlphaBound();
+        if (alphas.length > 0) {
+            ColumnKernels.checkAlpha(alphas[0]);
+            if (alphas[alphas.length - 1] >= alphaBound) {
+                throw new IllegalArgumentException(
+                        "Value of alpha must be lower than maximum " +
+                                "value in any column"
+                );
+            }
+        }
+
+        int M = U.M;
+        int N = U.N;
+        int K = alphas.length;
+        ColumnMajorStorage[] levels = new ColumnMajorStorage[K];
+        ColumnMajorStorage[] complements = new ColumnMajorStorage[K];
+        for (int k = 0; k < K; k++) {
+            levels[k] = new ColumnMajorStorage(M, N);
+            complements[k] = new ColumnMajorStorage(M, N);
+        }
+
+        double[] sortedAlphas = alphas;
+        ColumnTasks.forEachRange(M, N, (from, to) -> {
+            double[] column = new double[M];
+            double[] sorted = new double[M];
+            for (int j = from; j < to; j++) {
+                U.storage.readColumn(j, column, 0);
+                System.arraycopy(column, 0, sorted, 0, M);
+                Arrays.sort(sorted);
+
+                // Liczba wartości mniejszych od alfa nie maleje wraz
+                // z alfa, więc wskaźnik przesuwamy tylko do przodu.
+                int below = 0;
+                int offset = j * M;
+                for (int k = 0; k < K; k++) {
+                    double alpha = sortedAlphas[k];
+                    while (below < M && sorted[below] < alpha) below++;
+                    int cj = M - below;
+                    double[] level = levels[k].values;
+                    double[] complement = complements[k].values;
+                    for (int i = 0; i < M; i++) {
+                        if (column[i] >= alpha) {
+                            level[offset + i] = 1.0 / cj;
+                            if (cj == M) complement[offset + i] = 1.0 / M;
+                        } else {
+                            complement[offset + i] = 1.0 / (M - cj);
+                        }
+                    }
+                }
+            }
+        });
+
+        FuzzyPartition[] alphaLevels = new FuzzyPartition[K];
+        FuzzyPartition[] complementAlphaLevels = new FuzzyPartition[K];
+        for (int k = 0; k < K; k++) {
+            alphaLevels[k] = new FuzzyPartition(levels[k]);
+            complementAlphaLevels[k] = new FuzzyPartition(complements[k]);
+        }
+        return new AlphaSpectrum(alphas, alphaBound, alphaLevels,
+                complementAlphaLevels);
+    }
+
+    /**
+     * Zwraca liczbę poziomów alfa.
+     *
+     * @return Liczba poziomów alfa
+     */
+    public int size() {
+        return alphas.length;
+    }
+
+    /**
+     * Zwraca poziom alfa o podanym numerze.
+     *
+     * @param k Numer poziomu
+     * @return Poziom alfa
+     */
+    public double getAlpha(int k) {
+        return alphas[k];
+    }
+
+    /**
+     * Zwraca kres górny poprawnych poziomów alfa. Alfa-cięcie istnieje dla
+     * każdego alfa z przedziału (0, getAlphaBound()).
+     *
+     * @return Minimum po kolumnach z maksimum wartości w kolumnie
+     */
+    public double getAlphaBound() {
+        return alphaBound;
+    }
+
+    /**
+     * Zwraca alfa-cięcie dla poziomu alfa o podanym numerze.
+     *
+     * @param k Numer poziomu
+     * @return Alfa-cięcie podziału
+     */
+    public FuzzyPartition getAlphaLevel(int k) {
+        return alphaLevels[k];
+    }
+
+    /**
+     * Zwraca dopełnienie alfa-cięcia dla poziomu alfa o podanym numerze.
+     *
+     * @param k Numer poziomu
+     * @return Dopełnienie alfa-cięcia podziału
+     */
+    public FuzzyPartition getComplementAlphaLevel(int k) {
+        return complementAlphaLevels[k];
+    }
+}
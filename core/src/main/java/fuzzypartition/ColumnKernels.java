@@ -0,0 +1,555 @@
+package fuzzypartition;
+
+/**
+ * Implementacje operacji wykonywanych na pojedynczych kolumnach podziału
+ * rozmytego. Wszystkie metody przekształcają kolumnę w miejscu - najpierw
+ * wyznaczają potrzebne statystyki kolumny (minimum, maksimum, liczność
+ * alfa-cięcia), a dopiero potem nadpisują jej wartości. Wersje metod
+ * przyjmujące tablice typu float wykorzystywane są przez klasę
+ * 'FloatPartition'.
+ */
+final class ColumnKernels {
+
+    /**
+     * Czy korzystać z implementacji wykorzystujących Vector API. Są one
+     * używane, gdy moduł 'jdk.incubator.vector' został dodany do
+     * uruchomionej maszyny wirtualnej (--add-modules jdk.incubator.vector)
+     * i nie zostały wyłączone właściwością
+     * -Dfuzzypartition.vectorize=false.
+     */
+    static final boolean VECTORIZED = isVectorApiAvailable();
+
+    private ColumnKernels() {
+    }
+
+    /**
+     * Sprawdza, czy można korzystać z Vector API.
+     *
+     * @return true, jeżeli moduł Vector API jest dostępny i nie został
+     * wyłączony
+     */
+    private static boolean isVectorApiAvailable() {
+        if (!Boolean.parseBoolean(
+                System.getProperty("fuzzypartition.vectorize", "true")))
+            return false;
+        return ModuleLayer.boot()
+                .findModule("jdk.incubator.vector")
+                .isPresent();
+    }
+
+    /**
+     * Zwraca minimum z wartości tablicy i wartości początkowej.
+     *
+     * @param c       Tablica
+     * @param offset  Indeks pierwszego elementu
+     * @param length  Liczba elementów
+     * @param initial Wartość początkowa
+     * @return Minimum
+     */
+    static double min(double[] c, int offset, int length, double initial) {
+        if (VECTORIZED) return VectorKernels.min(c, offset, length, initial);
+        double min = initial;
+        for (int i = offset; i < offset + length; i++) {
+            if (min > c[i]) min = c[i];
+        }
+        return min;
+    }
+
+    /**
+     * Zwraca maksimum z wartości tablicy i wartości początkowej.
+     *
+     * @param c       Tablica
+     * @param offset  Indeks pierwszego elementu
+     * @param length  Liczba elementów
+     * @param initial Wartość początkowa
+     * @return Maksimum
+     */
+    static double max(double[] c, int offset, int length, double initial) {
+        if (VECTORIZED) return VectorKernels.max(c, offset, length, initial);
+        double max = initial;
+        for (int i = offset; i < offset + length; i++) {
+            if (max < c[i]) max = c[i];
+        }
+        return max;
+    }
+
+    /**
+     * Zwraca sumę wartości tablicy.
+     *
+     * @param c      Tablica
+     * @param offset Indeks pierwszego elementu
+     * @param length Liczba elementów
+     * @return Suma
+     */
+    static double sum(double[] c, int offset, int length) {
+        if (VECTORIZED) return VectorKernels.sum(c, offset, length);
+        double sum = 0.0;
+        for (int i = offset; i < offset + length; i++) sum += c[i];
+        return sum;
+    }
+
+    /**
+     * Operacja na kolumnie, która otrzymuje również numer kolumny.
+     */
+    @FunctionalInterface
+    interface IndexedColumnOperation {
+
+        /**
+         * Przekształca kolumnę w miejscu.
+         *
+         * @param c      Tablica zawierająca kolumnę
+         * @param offset Indeks pierwszego elementu kolumny w tablicy
+         * @param M      Liczba wierszy
+         * @param j      Numer kolumny
+         */
+        void apply(double[] c, int offset, int M, int j);
+    }
+
+    /**
+     * Przekształca kolejne kolumny macierzy źródłowej podaną operacją
+     * i zapisuje wynik w macierzy docelowej. Macierz docelowa może być tą
+     * samą macierzą co źródłowa, ponieważ każda kolumna jest najpierw
+     * w całości odczytywana, a dopiero potem nadpisywana. Kolumny mogą być
+     * przetwarzane równolegle (zob. 'ColumnTasks').
+     *
+     * @param source    Macierz źródłowa
+     * @param target    Macierz docelowa o tych samych wymiarach
+     * @param operation Operacja wykonywana na każdej kolumnie
+     */
+    static void transformColumns(PartitionStorage source,
+                                 PartitionStorage target,
+                                 ColumnOperation operation) {
+        transformColumns(source, target,
+                (c, offset, M, j) -> operation.apply(c, offset, M));
+    }
+
+    /**
+     * Działa tak jak 'transformColumns', ale operacja otrzymuje również
+     * numer kolumny.
+     *
+     * @param source    Macierz źródłowa
+     * @param target    Macierz docelowa o tych samych wymiarach
+     * @param operation Operacja wykonywana na każdej kolumnie
+     */
+    static void transformColumns(PartitionStorage source,
+                                 PartitionStorage target,
+                                 IndexedColumnOperation operation) {
+        int M = source.rows();
+        int N = source.columns();
+        ColumnTasks.forEachRange(M, N, (from, to) -> {
+            if (target instanceof ColumnMajorStorage) {
+                double[] values = ((ColumnMajorStorage) target).values;
+                for (int j = from; j < to; j++) {
+                    int offset = j * M;
+                    source.readColumn(j, values, offset);
+                    operation.apply(values, offset, M, j);
+                }
+            } else {
+                double[] column = new double[M];
+                for (int j = from; j < to; j++) {
+                    source.readColumn(j, column, 0);
+                    operation.apply(column, 0, M, j);
+                    target.writeColumn(j, column, 0);
+                }
+            }
+        });
+    }
+
+    /**
+     * Sprawdza, czy alfa jest dodatnie.
+     *
+     * @param alpha Poziom alfa
+     */
+    static void checkAlpha(double alpha) {
+        if (alpha <= 0.0) throw new IllegalArgumentException(
+                "Value of alpha must be bigger than zero"
+        );
+    }
+
+    /**
+     * Zastępuje kolumnę kolumną alfa-cięcia.
+     *
+     * @param c      Tablica zawierająca kolumnę
+     * @param offset Indeks pierwszego elementu kolumny
+     * @param M      Liczba wierszy
+     * @param alpha  Poziom alfa
+     */
+    static void alphaLevel(double[] c, int offset, int M, double alpha) {
+        alphaLevel(c, offset, M, alpha,
+                countAtLeastAlpha(c, offset, M, alpha));
+    }
+
+    /**
+     * Zastępuje kolumnę kolumną alfa-cięcia, gdy maksimum kolumny jest
+     * już znane.
+     *
+     * @param c      Tablica zawierająca kolumnę
+     * @param offset Indeks pierwszego elementu kolumny
+     * @param M      Liczba wierszy
+     * @param alpha  Poziom alfa
+     * @param max    Maksimum kolumny
+     */
+    static void alphaLevel(double[] c, int offset, int M, double alpha,
+                           double max) {
+        checkBelowMaximum(alpha, max);
+        alphaLevel(c, offset, M, alpha, countAtLeast(c, offset, M, alpha));
+    }
+
+    /**
+     * Wypełnia kolumnę wartościami alfa-cięcia o liczności cj.
+     */
+    private static void alphaLevel(double[] c, int offset, int M,
+                                   double alpha, int cj) {
+        for (int i = offset; i < offset + M; i++) {
+            c[i] = c[i] >= alpha ? 1.0 / cj : 0.0;
+        }
+    }
+
+    /**
+     * Zastępuje kolumnę kolumną dopełnienia alfa-cięcia.
+     *
+     * @param c      Tablica zawierająca kolumnę
+     * @param offset Indeks pierwszego elementu kolumny
+     * @param M      Liczba wierszy
+     * @param alpha  Poziom alfa
+     */
+    static void complementAlphaLevel(double[] c, int offset, int M,
+                                     double alpha) {
+        complementAlphaLevel(c, offset, M, alpha,
+                countAtLeastAlpha(c, offset, M, alpha));
+    }
+
+    /**
+     * Zastępuje kolumnę kolumną dopełnienia alfa-cięcia, gdy maksimum
+     * kolumny jest już znane.
+     *
+     * @param c      Tablica zawierająca kolumnę
+     * @param offset Indeks pierwszego elementu kolumny
+     * @param M      Liczba wierszy
+     * @param alpha  Poziom alfa
+     * @param max    Maksimum kolumny
+     */
+    static void complementAlphaLevel(double[] c, int offset, int M,
+                                     double alpha, double max) {
+        checkBelowMaximum(alpha, max);
+        complementAlphaLevel(c, offset, M, alpha,
+                countAtLeast(c, offset, M, alpha));
+    }
+
+    /**
+     * Wypełnia kolumnę wartościami dopełnienia alfa-cięcia o liczności cj.
+     */
+    private static void complementAlphaLevel(double[] c, int offset, int M,
+                                             double alpha, int cj) {
+        for (int i = offset; i < offset + M; i++) {
+            if (cj == M) {
+                c[i] = 1.0 / M;
+            } else if (c[i] < alpha) {
+                c[i] = 1.0 / (M - cj);
+            } else {
+                c[i] = 0.0;
+            }
+        }
+    }
+
+    /**
+     * Zlicza wartości kolumny nie mniejsze niż alfa i sprawdza, czy alfa
+     * jest mniejsze od maksimum kolumny.
+     *
+     * @return Liczność alfa-cięcia kolumny
+     */
+    private static int countAtLeastAlpha(double[] c, int offset, int M,
+                                         double alpha) {
+        int cj = 0;
+        double max = 0.0;
+        for (int i = offset; i < offset + M; i++) {
+            if (c[i] >= alpha) cj++;
+            if (c[i] >= max) max = c[i];
+        }
+        checkBelowMaximum(alpha, max);
+        return cj;
+    }
+
+    /**
+     * Zlicza wartości kolumny nie mniejsze niż alfa.
+     *
+     * @return Liczność alfa-cięcia kolumny
+     */
+    private static int countAtLeast(double[] c, int offset, int M,
+                                    double alpha) {
+        int cj = 0;
+        for (int i = offset; i < offset + M; i++) {
+            if (c[i] >= alpha) cj++;
+        }
+        return cj;
+    }
+
+    /**
+     * Sprawdza, czy alfa jest mniejsze od maksimum kolumny.
+     *
+     * @param alpha Poziom alfa
+     * @param max   Maksimum kolumny
+     */
+    static void checkBelowMaximum(double alpha, double max) {
+        if (max <= alpha) {
+            throw new IllegalArgumentException(
+                    "Value of alpha must be lower than maximum " +
+                            "value in any column"
+            );
+        }
+    }
+
+    /**
+     * Zastępuje kolumnę kolumną MLS lub jej dopełnienia.
+     *
+     * @param c          Tablica zawierająca kolumnę
+     * @param offset     Indeks pierwszego elementu kolumny
+     * @param M          Liczba wierszy
+     * @param complement Czy obliczyć dopełnienie MLS
+     */
+    static void mls(double[] c, int offset, int M, boolean complement) {
+        mls(c, offset, M, complement,
+                min(c, offset, M, 1.0), max(c, offset, M, 0.0));
+    }
+
+    /**
+     * Zastępuje kolumnę kolumną MLS lub jej dopełnienia, gdy minimum
+     * i maksimum kolumny są już znane.
+     *
+     * @param c          Tablica zawierająca kolumnę
+     * @param offset     Indeks pierwszego elementu kolumny
+     * @param M          Liczba wierszy
+     * @param complement Czy obliczyć dopełnienie MLS
+     * @param min        Minimum kolumny
+     * @param max        Maksimum kolumny
+     */
+    static void mls(double[] c, int offset, int M, boolean complement,
+                    double min, double max) {
+        if (max == min) {
+            for (int i = offset; i < offset + M; i++) c[i] = 1.0 / M;
+        } else {
+            affine(c, offset, M, complement ? max : min);
+        }
+    }
+
+    /**
+     * Przekształcenie 1/M + (x - 1/M) / (1 - M * minOrMax) stosowane
+     * w LS oraz MLS.
+     */
+    static void affine(double[] c, int offset, int M, double minOrMax) {
+        if (VECTORIZED) {
+            VectorKernels.affine(c, offset, M, 1.0 / M,
+                    1.0 / (1 - M * minOrMax), 1.0 / M);
+            return;
+        }
+        for (int i = offset; i < offset + M; i++) {
+            c[i] = 1.0 / M + (c[i] - 1.0 / M) / (1 - M * minOrMax);
+        }
+    }
+
+    /**
+     * Zastępuje kolumnę kolumną dopełnienia.
+     *
+     * @param c      Tablica zawierająca kolumnę
+     * @param offset Indeks pierwszego elementu kolumny
+     * @param M      Liczba wierszy
+     */
+    static void complement(double[] c, int offset, int M) {
+        complement(c, offset, M,
+                min(c, offset, M, 1.0), max(c, offset, M, 0.0));
+    }
+
+    /**
+     * Zastępuje kolumnę kolumną dopełnienia, gdy minimum i maksimum
+     * kolumny są już znane.
+     *
+     * @param c      Tablica zawierająca kolumnę
+     * @param offset Indeks pierwszego elementu kolumny
+     * @param M      Liczba wierszy
+     * @param min    Minimum kolumny
+     * @param max    Maksimum kolumny
+     */
+    static void complement(double[] c, int offset, int M,
+                           double min, double max) {
+        double lambda;
+        if (max == min) lambda = 0.0;
+        else lambda = M * (max - min) / (1 - M * min);
+
+        if (VECTORIZED) {
+            VectorKernels.affine(c, offset, M, lambda / M,
+                    1.0 / (1 - lambda), 0.0);
+            return;
+        }
+        for (int i = offset; i < offset + M; i++) {
+            c[i] = (c[i] - lambda / M) / (1 - lambda);
+        }
+    }
+
+    /**
+     * Zwraca minimum z wartości tablicy i wartości początkowej.
+     *
+     * @param c       Tablica
+     * @param offset  Indeks pierwszego elementu
+     * @param length  Liczba elementów
+     * @param initial Wartość początkowa
+     * @return Minimum
+     */
+    static float min(float[] c, int offset, int length, float initial) {
+        if (VECTORIZED) return VectorKernels.min(c, offset, length, initial);
+        float min = initial;
+        for (int i = offset; i < offset + length; i++) {
+            if (min > c[i]) min = c[i];
+        }
+        return min;
+    }
+
+    /**
+     * Zwraca maksimum z wartości tablicy i wartości początkowej.
+     *
+     * @param c       Tablica
+     * @param offset  Indeks pierwszego elementu
+     * @param length  Liczba elementów
+     * @param initial Wartość początkowa
+     * @return Maksimum
+     */
+    static float max(float[] c, int offset, int length, float initial) {
+        if (VECTORIZED) return VectorKernels.max(c, offset, length, initial);
+        float max = initial;
+        for (int i = offset; i < offset + length; i++) {
+            if (max < c[i]) max = c[i];
+        }
+        return max;
+    }
+
+    /**
+     * Zwraca sumę wartości tablicy obliczoną w podwójnej precyzji.
+     *
+     * @param c      Tablica
+     * @param offset Indeks pierwszego elementu
+     * @param length Liczba elementów
+     * @return Suma
+     */
+    static double sum(float[] c, int offset, int length) {
+        if (VECTORIZED) return VectorKernels.sum(c, offset, length);
+        double sum = 0.0;
+        for (int i = offset; i < offset + length; i++) sum += c[i];
+        return sum;
+    }
+
+    /**
+     * Zastępuje kolumnę kolumną alfa-cięcia.
+     *
+     * @param c      Tablica zawierająca kolumnę
+     * @param offset Indeks pierwszego elementu kolumny
+     * @param M      Liczba wierszy
+     * @param alpha  Poziom alfa
+     */
+    static void alphaLevel(float[] c, int offset, int M, double alpha) {
+        int cj = countAtLeastAlpha(c, offset, M, alpha);
+        float value = (float) (1.0 / cj);
+        for (int i = offset; i < offset + M; i++) {
+            c[i] = c[i] >= alpha ? value : 0.0f;
+        }
+    }
+
+    /**
+     * Zastępuje kolumnę kolumną dopełnienia alfa-cięcia.
+     *
+     * @param c      Tablica zawierająca kolumnę
+     * @param offset Indeks pierwszego elementu kolumny
+     * @param M      Liczba wierszy
+     * @param alpha  Poziom alfa
+     */
+    static void complementAlphaLevel(float[] c, int offset, int M,
+                                     double alpha) {
+        int cj = countAtLeastAlpha(c, offset, M, alpha);
+        for (int i = offset; i < offset + M; i++) {
+            if (cj == M) {
+                c[i] = (float) (1.0 / M);
+            } else if (c[i] < alpha) {
+                c[i] = (float) (1.0 / (M - cj));
+            } else {
+                c[i] = 0.0f;
+            }
+        }
+    }
+
+    /**
+     * Zlicza wartości kolumny nie mniejsze niż alfa i sprawdza, czy alfa
+     * jest mniejsze od maksimum kolumny.
+     *
+     * @return Liczność alfa-cięcia kolumny
+     */
+    private static int countAtLeastAlpha(float[] c, int offset, int M,
+                                         double alpha) {
+        int cj = 0;
+        float max = 0.0f;
+        for (int i = offset; i < offset + M; i++) {
+            if (c[i] >= alpha) cj++;
+            if (c[i] >= max) max = c[i];
+        }
+        checkBelowMaximum(alpha, max);
+        return cj;
+    }
+
+    /**
+     * Zastępuje kolumnę kolumną MLS lub jej dopełnienia.
+     *
+     * @param c          Tablica zawierająca kolumnę
+     * @param offset     Indeks pierwszego elementu kolumny
+     * @param M          Liczba wierszy
+     * @param complement Czy obliczyć dopełnienie MLS
+     */
+    static void mls(float[] c, int offset, int M, boolean complement) {
+        float max = max(c, offset, M, 0.0f);
+        float min = min(c, offset, M, 1.0f);
+
+        if (max == min) {
+            for (int i = offset; i < offset + M; i++) c[i] = (float) (1.0 / M);
+        } else {
+            affine(c, offset, M, complement ? max : min);
+        }
+    }
+
+    /**
+     * Przekształcenie 1/M + (x - 1/M) / (1 - M * minOrMax) stosowane
+     * w LS oraz MLS. Współczynniki obliczane są w podwójnej precyzji.
+     */
+    static void affine(float[] c, int offset, int M, double minOrMax) {
+        float shift = (float) (1.0 / M);
+        float scale = (float) (1.0 / (1 - M * minOrMax));
+        if (VECTORIZED) {
+            VectorKernels.affine(c, offset, M, shift, scale, shift);
+            return;
+        }
+        for (int i = offset; i < offset + M; i++) {
+            c[i] = shift + (c[i] - shift) * scale;
+        }
+    }
+
+    /**
+     * Zastępuje kolumnę kolumną dopełnienia.
+     *
+     * @param c      Tablica zawierająca kolumnę
+     * @param offset Indeks pierwszego elementu kolumny
+     * @param M      Liczba wierszy
+     */
+    static void complement(float[] c, int offset, int M) {
+        double max = max(c, offset, M, 0.0f);
+        double min = min(c, offset, M, 1.0f);
+
+        double lambda;
+        if (max == min) lambda = 0.0;
+        else lambda = M * (max - min) / (1 - M * min);
+
+        float shift = (float) (lambda / M);
+        float scale = (float) (1.0 / (1 - lambda));
+        if (VECTORIZED) {
+            VectorKernels.affine(c, offset, M, shift, scale, 0.0f);
+            return;
+        }
+        for (int i = offset; i < offset + M; i++) {
+            c[i] = (c[i] - shift) * scale;
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package fuzzypartition;
+
+/**
+ * Implementacja 'PartitionStorage' przechowująca macierz w jednej ciągłej
+ * tablicy w układzie kolumnowym. Wartości z jednej kolumny leżą w pamięci
+ * obok siebie, dzięki czemu operacje przechodzące po kolumnach czytają
+ * pamięć sekwencyjnie.
+ */
+public final class ColumnMajorStorage implements PartitionStorage {
+
+    /**
+     * Liczba wierszy przechowywanej macierzy.
+     */
+    private final int rows;
+
+    /**
+     * Liczba kolumn przechowywanej macierzy.
+     */
+    private final int columns;
+
+    /**
+     * Wartości macierzy. Element (i, j) znajduje się pod indeksem
+     * j * rows + i.
+     */
+    final double[] values;
+
+    /**
+     * Konstruktor tworzący wyzerowaną macierz o podanych wymiarach.
+     *
+     * @param rows    Liczba wierszy
+     * @param columns Liczba kolumn
+     */
+    public ColumnMajorStorage(int rows, int columns) {
+        this(rows, columns, new double[checkedSize(rows, columns)]);
+    }
+
+    /**
+     * Konstruktor korzystający bezpośrednio z podanej tablicy.
+     */
+    private ColumnMajorStorage(int rows, int columns, double[] values) {
+        this.rows = rows;
+        this.columns = columns;
+        this.values = values;
+    }
+
+    /**
+     * Tworzy macierz korzystającą bezpośrednio z podanej tablicy
+     * wartości w układzie kolumnowym (element (i, j) pod indeksem
+     * j * rows + i). Tablica nie jest kopiowana - staje się własnością
+     * macierzy i nie powinna być dalej modyfikowana przez wywołującego.
+     *
+     * @param rows    Liczba wierszy
+     * @param columns Liczba kolumn
+     * @param values  Wartości macierzy (rows * columns wartości)
+     * @return Macierz korzystająca z podanej tablicy
+     */
+    public static ColumnMajorStorage wrap(int rows, int columns,
+                                          double[] values) {
+        if (values.length != checkedSize(rows, columns)) {
+            throw new IllegalArgumentException(
+                    "Array must have " + rows + " * " + columns + " values"
+            );
+        }
+        return new ColumnMajorStorage(rows, columns, values);
+    }
+
+    /**
+     * Sprawdza wymiary macierzy i zwraca liczbę jej elementów.
+     */
+    private static int checkedSize(int rows, int columns) {
+        if (rows <= 0 || columns <= 0) throw new IllegalArgumentException(
+                "Dimensions of partition must be positive"
+        );
+        long size = (long) rows * columns;
+        if (size > Integer.MAX_VALUE - 8) throw new IllegalArgumentException(
+                "Partition is too large for a single array"
+        );
+        return (int) size;
+    }
+
+    /**
+     * Tworzy macierz w układzie kolumnowym na podstawie macierzy
+     * zapisanej wierszami. Dane są kopiowane.
+     *
+     * @param data Macierz zapisana wierszami
+     * @return Nowa macierz w układzie kolumnowym
+     */
+    public static ColumnMajorStorage fromRows(double[][] data) {
+        int rows = data.length;
+        int columns = data[0].length;
+        ColumnMajorStorage storage = new ColumnMajorStorage(rows, columns);
+        for (int i = 0; i < rows; i++) {
+            double[] row = data[i];
+            for (int j = 0; j < columns; j++)
+                storage.values[j * rows + i] = row[j];
+        }
+        return storage;
+    }
+
+    @Override
+    public int rows() {
+        return rows;
+    }
+
+    @Override
+    public int columns() {
+        return columns;
+    }
+
+    @Override
+    public double get(int row, int column) {
+        return values[column * rows + row];
+    }
+
+    @Override
+    public void set(int row, int column, double value) {
+        values[column * rows + row] = value;
+    }
+
+    @Override
+    public void readColumn(int column, double[] target, int offset) {
+        System.arraycopy(values, column * rows, target, offset, rows);
+    }
+
+    @Override
+    public void writeColumn(int column, double[] source, int offset) {
+        System.arraycopy(source, offset, values, column * rows, rows);
+    }
+}
@@ -0,0 +1,19 @@
+package fuzzypartition;
+
+/**
+ * Operacja na pojedynczej kolumnie podziału rozmytego. Operacje takie jak
+ * MLS, dopełnienie, czy alfa-cięcie zależą wyłącznie od wartości w danej
+ * kolumnie, dzięki czemu można je wykonywać kolumna po kolumnie.
+ */
+@FunctionalInterface
+interface ColumnOperation {
+
+    /**
+     * Przekształca kolumnę w miejscu.
+     *
+     * @param column Tablica zawierająca kolumnę
+     * @param offset Indeks pierwszego elementu kolumny w tablicy
+     * @param M      Liczba wierszy (długość kolumny)
+     */
+    void apply(double[] column, int offset, int M);
+}
@@ -0,0 +1,19 @@
+package fuzzypartition;
+
+/**
+ * Odbiorca kolejnych kolumn podziału rozmytego, np. kolumn wyznaczanych
+ * przez 'ColumnStream'. Przekazywana tablica może być ponownie użyta po
+ * powrocie z metody, dlatego odbiorca, który chce ją zachować, musi ją
+ * skopiować.
+ */
+@FunctionalInterface
+public interface ColumnSink {
+
+    /**
+     * Przyjmuje kolumnę podziału.
+     *
+     * @param j      Numer kolumny
+     * @param column Wartości kolumny (M wartości)
+     */
+    void accept(int j, double[] column);
+}
@@ -0,0 +1,198 @@
+package fuzzypartition;
+
+/**
+ * Statystyki kolumn podziału rozmytego: minimum, maksimum, indeks
+ * maksimum i suma każdej kolumny oraz minimum i maksimum całej macierzy.
+ * Są one obliczane raz i przechowywane w podziale (zob.
+ * 'FuzzyPartition.statistics'), dzięki czemu operacje potrzebujące
+ * minimum i maksimum kolumn (MLS, dopełnienie, LS, alfa-cięcia) oraz
+ * metoda 'validate' nie muszą ich wyznaczać przy każdym wywołaniu.
+ * <p>
+ * Tak jak w dotychczasowych metodach, minimum kolumny nie jest większe
+ * niż 1, a maksimum nie mniejsze niż 0.
+ */
+final class ColumnStatistics {
+
+    /**
+     * Liczba wierszy
+     */
+    final int M;
+
+    /**
+     * Minima kolejnych kolumn.
+     */
+    final double[] min;
+
+    /**
+     * Maksima kolejnych kolumn.
+     */
+    final double[] max;
+
+    /**
+     * Indeksy pierwszej największej wartości w kolejnych kolumnach.
+     */
+    final int[] argmax;
+
+    /**
+     * Sumy kolejnych kolumn.
+     */
+    final double[] sum;
+
+    /**
+     * Minimum wartości całej macierzy.
+     */
+    private double globalMin;
+
+    /**
+     * Maksimum wartości całej macierzy.
+     */
+    private double globalMax;
+
+    /**
+     * Tworzy puste statystyki macierzy MxN, uzupełniane metodą 'collect'.
+     *
+     * @param M Liczba wierszy
+     * @param N Liczba kolumn
+     */
+    ColumnStatistics(int M, int N) {
+        this.M = M;
+        this.min = new double[N];
+        this.max = new double[N];
+        this.argmax = new int[N];
+        this.sum = new double[N];
+    }
+
+    /**
+     * Oblicza statystyki wszystkich kolumn macierzy (równolegle, jeżeli
+     * zostało to włączone).
+     *
+     * @param storage Macierz podziału rozmytego
+     * @return Statystyki kolumn macierzy
+     */
+    static ColumnStatistics compute(PartitionStorage storage) {
+        int M = storage.rows();
+        int N = storage.columns();
+        ColumnStatistics statistics = new ColumnStatistics(M, N);
+        ColumnTasks.forEachRange(M, N, (from, to) -> {
+            if (storage instanceof ColumnMajorStorage) {
+                double[] values = ((ColumnMajorStorage) storage).values;
+                for (int j = from; j < to; j++)
+                    statistics.collect(j, values, j * M);
+            } else {
+                double[] column = new double[M];
+                for (int j = from; j < to; j++) {
+                    storage.readColumn(j, column, 0);
+                    statistics.collect(j, column, 0);
+                }
+            }
+        });
+        return statistics.finish();
+    }
+
+    /**
+     * Oblicza statystyki jednej kolumny. Różne kolumny mogą być
+     * przetwarzane przez różne wątki.
+     *
+     * @param j      Numer kolumny
+     * @param c      Tablica zawierająca kolumnę
+     * @param offset Indeks pierwszego elementu kolumny
+     */
+    void collect(int j, double[] c, int offset) {
+        min[j] = ColumnKernels.min(c, offset, M, 1.0);
+        max[j] = ColumnKernels.max(c, offset, M, 0.0);
+        sum[j] = ColumnKernels.sum(c, offset, M);
+        int best = offset;
+        for (int i = offset + 1; i < offset + M; i++) {
+            if (c[i] > c[best]) best = i;
+        }
+        argmax[j] = best - offset;
+    }
+
+    /**
+     * Zwraca statystyki kolumn od 'from' (włącznie) do 'to' (wyłącznie).
+     *
+     * @param from Numer pierwszej kolumny
+     * @param to   Numer kolumny za ostatnią kolumną
+     * @return Statystyki fragmentu macierzy
+     */
+    ColumnStatistics slice(int from, int to) {
+        ColumnStatistics result = new ColumnStatistics(M, to - from);
+        System.arraycopy(min, from, result.min, 0, to - from);
+        System.arraycopy(max, from, result.max, 0, to - from);
+        System.arraycopy(argmax, from, result.argmax, 0, to - from);
+        System.arraycopy(sum, from, result.sum, 0, to - from);
+        return result.finish();
+    }
+
+    /**
+     * Wyznacza minimum i maksimum całej macierzy po obliczeniu statystyk
+     * wszystkich kolumn.
+     *
+     * @return Te same statystyki
+     */
+    ColumnStatistics finish() {
+        double globalMin = 1.0;
+        double globalMax = 0.0;
+        for (int j = 0; j < min.length; j++) {
+            if (globalMin > min[j]) globalMin = min[j];
+            if (globalMax < max[j]) globalMax = max[j];
+        }
+        this.globalMin = globalMin;
+        this.globalMax = globalMax;
+        return this;
+    }
+
+    /**
+     * Ustawia minimum i maksimum całej macierzy obliczone w inny sposób,
+     * np. po zmianie statystyk jednej kolumny (zob. 'UpdatablePartition').
+     *
+     * @param globalMin Minimum wartości całej macierzy
+     * @param globalMax Maksimum wartości całej macierzy
+     */
+    void setGlobal(double globalMin, double globalMax) {
+        this.globalMin = globalMin;
+        this.globalMax = globalMax;
+    }
+
+    /**
+     * Zwraca minimum wartości całej macierzy (nie większe niż 1).
+     */
+    double globalMin() {
+        return globalMin;
+    }
+
+    /**
+     * Zwraca maksimum wartości całej macierzy (nie mniejsze niż 0).
+     */
+    double globalMax() {
+        return globalMax;
+    }
+
+    /**
+     * Zwraca kres górny poprawnych poziomów alfa, tzn. minimum z maksimów
+     * kolumn.
+     */
+    double alphaBound() {
+        double bound = Double.POSITIVE_INFINITY;
+        for (double value : max) {
+            if (value < bound) bound = value;
+        }
+        return bound;
+    }
+
+    /**
+     * Sprawdza, czy wartości każdej kolumny należą do przedziału [0,1]
+     * i sumują się do 1, z dokładnością do epsilon.
+     *
+     * @param epsilon Dopuszczalny błąd
+     * @return true, jeżeli wszystkie kolumny są poprawne
+     */
+    boolean isValid(double epsilon) {
+        for (int j = 0; j < min.length; j++) {
+            if (min[j] + epsilon < 0) return false;
+            if (max[j] - epsilon > 1) return false;
+            if (Math.abs(1.0 - sum[j]) > epsilon) return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,174 @@
+package fuzzypartition;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Przetwarzanie podziału rozmytego kolumna po kolumnie, bez
+ * przechowywania całej macierzy. Każda przyjęta kolumna jest sprawdzana
+ * tak jak w metodzie 'FuzzyPartition.validate', przekształcana przez
+ * zapisane operacje (alfa-cięcia, MLS, dopełnienie) i od razu przekazywana
+ * do odbiorcy. Pamięć zajmowana przez strumień jest rzędu O(M).
+ * <pre>
+ *     ColumnStream stream = new ColumnStream(M, sink)
+ *             .complement().calculateMLS().calculateAlphaLevel(a);
+ *     for (double[] column : source) stream.accept(column);
+ * </pre>
+ * Liniowe wyostrzenie wymaga minimum i maksimum całej macierzy, dlatego
+ * obsługiwane jest przez 'LinearSharpeningStream'.
+ */
+public final class ColumnStream {
+
+    /**
+     * Liczba wierszy przetwarzanego podziału.
+     */
+    private final int M;
+
+    /**
+     * Odbiorca przekształconych kolumn.
+     */
+    private final ColumnSink sink;
+
+    /**
+     * Zapisane operacje, w kolejności wykonywania.
+     */
+    private final List<ColumnOperation> operations = new ArrayList<>();
+
+    /**
+     * Bufor, w którym przekształcana jest bieżąca kolumna.
+     */
+    private final double[] buffer;
+
+    /**
+     * Liczba przyjętych kolumn.
+     */
+    private int N = 0;
+
+    /**
+     * Konstruktor tworzący strumień bez operacji, przekazujący sprawdzone
+     * kolumny do odbiorcy.
+     *
+     * @param M    Liczba wierszy
+     * @param sink Odbiorca przekształconych kolumn
+     */
+    public ColumnStream(int M, ColumnSink sink) {
+        if (M <= 0) throw new IllegalArgumentException(
+                "Dimensions of partition must be positive"
+        );
+        this.M = M;
+        this.sink = sink;
+        this.buffer = new double[M];
+    }
+
+    /**
+     * Dodaje do strumienia alfa-cięcie.
+     *
+     * @param alpha poziom, dla którego tworzymy alfa-cięcie
+     * @return Ten sam strumień
+     */
+    public ColumnStream calculateAlphaLevel(double alpha) {
+        ColumnKernels.checkAlpha(alpha);
+        operations.add((c, offset, M) ->
+                ColumnKernels.alphaLevel(c, offset, M, alpha));
+        return this;
+    }
+
+    /**
+     * Dodaje do strumienia dopełnienie alfa-cięcia.
+     *
+     * @param alpha poziom, dla którego tworzymy alfa-cięcie
+     * @return Ten sam strumień
+     */
+    public ColumnStream calculateComplementAlphaLevel(double alpha) {
+        ColumnKernels.checkAlpha(alpha);
+        operations.add((c, offset, M) ->
+                ColumnKernels.complementAlphaLevel(c, offset, M, alpha));
+        return this;
+    }
+
+    /**
+     * Dodaje do strumienia MLS.
+     *
+     * @return Ten sam strumień
+     */
+    public ColumnStream calculateMLS() {
+        operations.add((c, offset, M) ->
+                ColumnKernels.mls(c, offset, M, false));
+        return this;
+    }
+
+    /**
+     * Dodaje do strumienia dopełnienie MLS.
+     *
+     * @return Ten sam strumień
+     */
+    public ColumnStream calculateComplementMLS() {
+        operations.add((c, offset, M) ->
+                ColumnKernels.mls(c, offset, M, true));
+        return this;
+    }
+
+    /**
+     * Dodaje do strumienia dopełnienie.
+     *
+     * @return Ten sam strumień
+     */
+    public ColumnStream complement() {
+        operations.add(ColumnKernels::complement);
+        return this;
+    }
+
+    /**
+     * Przyjmuje kolejną kolumnę podziału. Kolumna jest sprawdzana,
+     * przekształcana i przekazywana do odbiorcy. Tablica 'column' nie jest
+     * modyfikowana.
+     *
+     * @param column Wartości kolumny (M wartości)
+     * @throws IllegalArgumentException jeżeli kolumna nie spełnia założeń
+     *                                  podziału rozmytego
+     */
+    public void accept(double[] column) {
+        checkColumn(column, M, N);
+        System.arraycopy(column, 0, buffer, 0, M);
+        for (ColumnOperation operation : operations) {
+            operation.apply(buffer, 0, M);
+        }
+        sink.accept(N++, buffer);
+    }
+
+    /**
+     * Zwraca liczbę przyjętych kolumn.
+     *
+     * @return Liczba kolumn
+     */
+    public int getColumnCount() {
+        return N;
+    }
+
+    /**
+     * Sprawdza, czy kolumna spełnia założenia podziału rozmytego, tak jak
+     * metoda 'FuzzyPartition.validate'.
+     *
+     * @param column Wartości kolumny
+     * @param M      Oczekiwana liczba wierszy
+     * @param j      Numer kolumny, podawany w komunikacie błędu
+     */
+    static void checkColumn(double[] column, int M, int j) {
+        if (column.length != M) throw new IllegalArgumentException(
+                "Column must have " + M + " values"
+        );
+        double epsilon = FuzzyPartition.epsilon;
+        double sum = 0.0;
+        for (double value : column) {
+            if (value + epsilon < 0 || value - epsilon > 1) {
+                throw new IllegalArgumentException(
+                        "Column " + j + " has a value outside of [0,1]"
+                );
+            }
+            sum += value;
+        }
+        if (Math.abs(1.0 - sum) > epsilon) throw new IllegalArgumentException(
+                "Column " + j + " does not sum to 1"
+        );
+    }
+}
@@ -0,0 +1,181 @@
+package fuzzypartition;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BinaryOperator;
+import java.util.function.IntConsumer;
+
+/**
+ * Wykonywanie operacji na zakresach kolumn podziału rozmytego, sekwencyjnie
+ * lub równolegle przy pomocy puli ForkJoin. Kolumny są od siebie
+ * niezależne, dlatego zakres [0, N) można dzielić na rozłączne fragmenty,
+ * a wyniki częściowe (minima, maksima, sumy) łączyć po ich obliczeniu.
+ */
+final class ColumnTasks {
+
+    /**
+     * Pula, w której wykonywane są operacje równoległe. Wartość null
+     * oznacza wykonywanie sekwencyjne.
+     */
+    static volatile ForkJoinPool pool = null;
+
+    /**
+     * Minimalna liczba elementów macierzy (M * N), od której operacje są
+     * wykonywane równolegle. Jest to również przybliżona liczba elementów
+     * przetwarzanych przez pojedyncze zadanie.
+     */
+    static volatile long threshold = 1 << 16;
+
+    private ColumnTasks() {
+    }
+
+    /**
+     * Operacja wykonywana na zakresie kolumn.
+     */
+    @FunctionalInterface
+    interface RangeAction {
+
+        /**
+         * @param from Pierwsza kolumna zakresu
+         * @param to   Kolumna za ostatnią kolumną zakresu
+         */
+        void apply(int from, int to);
+    }
+
+    /**
+     * Operacja obliczająca wynik częściowy dla zakresu kolumn.
+     *
+     * @param <T> Typ wyniku
+     */
+    @FunctionalInterface
+    interface RangeFunction<T> {
+
+        /**
+         * @param from Pierwsza kolumna zakresu
+         * @param to   Kolumna za ostatnią kolumną zakresu
+         * @return Wynik częściowy dla zakresu
+         */
+        T apply(int from, int to);
+    }
+
+    /**
+     * Wykonuje operację na wszystkich kolumnach macierzy MxN.
+     *
+     * @param M      Liczba wierszy
+     * @param N      Liczba kolumn
+     * @param action Operacja wykonywana na zakresach kolumn
+     */
+    static void forEachRange(int M, int N, RangeAction action) {
+        reduce(M, N, (from, to) -> {
+            action.apply(from, to);
+            return null;
+        }, (left, right) -> null);
+    }
+
+    /**
+     * Wykonuje niezależne zadania o numerach 0, 1, ..., count - 1. Jeżeli
+     * ustawiona jest pula, zadania wykonywane są w niej równolegle.
+     *
+     * @param count Liczba zadań
+     * @param task  Zadanie, wywoływane z numerem zadania
+     */
+    static void forEachTask(int count, IntConsumer task) {
+        ForkJoinPool pool = ColumnTasks.pool;
+        if (pool == null || count <= 1) {
+            for (int k = 0; k < count; k++) task.accept(k);
+            return;
+        }
+        invoke(pool, new ReduceTask<Void>(0, count, 1, (from, to) -> {
+            for (int k = from; k < to; k++) task.accept(k);
+            return null;
+        }, (left, right) -> null));
+    }
+
+    /**
+     * Oblicza wyniki częściowe dla zakresów kolumn macierzy MxN i łączy je
+     * w jeden wynik. Operacja łącząca musi być łączna.
+     *
+     * @param M        Liczba wierszy
+     * @param N        Liczba kolumn
+     * @param function Operacja obliczająca wynik dla zakresu kolumn
+     * @param combiner Operacja łącząca dwa wyniki częściowe
+     * @param <T>      Typ wyniku
+     * @return Wynik dla wszystkich kolumn
+     */
+    static <T> T reduce(int M, int N, RangeFunction<T> function,
+                        BinaryOperator<T> combiner) {
+        ForkJoinPool pool = ColumnTasks.pool;
+        if (pool == null || (long) M * N < threshold) {
+            return function.apply(0, N);
+        }
+        return invoke(pool, new ReduceTask<>(0, N, grain(M), function,
+                combiner));
+    }
+
+    /**
+     * Zwraca liczbę kolumn przetwarzanych przez pojedyncze zadanie.
+     *
+     * @param M Liczba wierszy
+     * @return Liczba kolumn w zadaniu
+     */
+    private static int grain(int M) {
+        return (int) Math.max(1, Math.min(Integer.MAX_VALUE, threshold / M));
+    }
+
+    /**
+     * Wykonuje zadanie w puli. Wyjątki zgłoszone w innych wątkach są
+     * przez ForkJoin opakowywane w nowy wyjątek tego samego typu, dlatego
+     * zgłaszamy ponownie oryginalny wyjątek, aby zachować jego komunikat.
+     */
+    private static <T> T invoke(ForkJoinPool pool,
+                                ForkJoinTask<T> task) {
+        try {
+            return pool.invoke(task);
+        } catch (RuntimeException e) {
+            Throwable cause = e.getCause();
+            if (cause != null && cause.getClass() == e.getClass())
+                throw (RuntimeException) cause;
+            throw e;
+        }
+    }
+
+    /**
+     * Zadanie obliczające wynik dla zakresu kolumn przez podział go na
+     * połowy.
+     *
+     * @param <T> Typ wyniku
+     */
+    private static final class ReduceTask<T> extends RecursiveTask<T> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int from;
+        private final int to;
+        private final int grain;
+        private final RangeFunction<T> function;
+        private final BinaryOperator<T> combiner;
+
+        ReduceTask(int from, int to, int grain, RangeFunction<T> function,
+                   BinaryOperator<T> combiner) {
+            this.from = from;
+            this.to = to;
+            this.grain = grain;
+            this.function = function;
+            this.combiner = combiner;
+        }
+
+        @Override
+        protected T compute() {
+            if (to - from <= grain) return function.apply(from, to);
+            int middle = (from + to) >>> 1;
+            ReduceTask<T> left = new ReduceTask<>(from, middle, grain,
+                    function, combiner);
+            ReduceTask<T> right = new ReduceTask<>(middle, to, grain,
+                    function, combiner);
+            left.fork();
+            T rightResult = right.compute();
+            return combiner.apply(left.join(), rightResult);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package fuzzypartition;
+
+/**
+ * Operacja na pojedynczej kolumnie podziału rozmytego przechowywanego
+ * w pojedynczej precyzji (zob. 'FloatPartition' oraz 'ColumnOperation').
+ */
+@FunctionalInterface
+interface FloatColumnOperation {
+
+    /**
+     * Przekształca kolumnę w miejscu.
+     *
+     * @param column Tablica zawierająca kolumnę
+     * @param offset Indeks pierwszego elementu kolumny w tablicy
+     * @param M      Liczba wierszy (długość kolumny)
+     */
+    void apply(float[] column, int offset, int M);
+}
@@ -0,0 +1,501 @@
+package fuzzypartition;
+
+/**
+ * Klasa reprezentująca podział rozmyty przechowywany w pojedynczej
+ * precyzji (float). Udostępnia te same operacje co 'FuzzyPartition', ale
+ * zajmuje o połowę mniej pamięci, a pętle wykorzystujące Vector API
+ * przetwarzają dwa razy więcej wartości naraz. Statystyki kolumn
+ * i sumy w 'alphaApproximate', 'calculateSharpnessDegree' oraz
+ * 'validate' obliczane są w podwójnej precyzji.
+ * <p>
+ * Konwersja pomiędzy precyzjami jest zawsze jawna - zob.
+ * 'FuzzyPartition.toFloatPartition' oraz 'toFuzzyPartition'.
+ */
+public class FloatPartition {
+
+    /**
+     * Liczba wierszy w macierzy reprezentującej podział rozmyty
+     */
+    public final int M;
+
+    /**
+     * Liczba kolumn w macierzy reprezentującej podział rozmyty
+     */
+    public final int N;
+
+    /**
+     * Wartości macierzy zapisane kolumnami. Element (i, j) znajduje się pod
+     * indeksem j * M + i.
+     */
+    final float[] values;
+
+    /**
+     * Dopuszczalny zakres błędu dla metod 'validate' oraz 'equals'.
+     * Domyślna wartość odpowiada dokładności liczb typu float.
+     */
+    static double epsilon = 0.00001;
+
+    /**
+     * Konstruktor zwracający wyzerowany podział o wymiarach MxN.
+     *
+     * @param M Liczba wierszy
+     * @param N Liczba kolumn
+     */
+    FloatPartition(int M, int N) {
+        if (M <= 0 || N <= 0) throw new IllegalArgumentException(
+                "Dimensions of partition must be positive"
+        );
+        if ((long) M * N > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException(
+                    "Partition is too large for a single array"
+            );
+        }
+        this.M = M;
+        this.N = N;
+        this.values = new float[M * N];
+    }
+
+    /**
+     * Konstruktor zwracający podział rozmyty o podanych wartościach.
+     * Konstruktor ten nie sprawdza poprawności wpisywanych danych.
+     *
+     * @param data Macierz data[i][j], na podstawie której tworzony jest
+     *             podział rozmyty.
+     */
+    public FloatPartition(float[][] data) {
+        this(data.length, data.length == 0 ? 0 : data[0].length);
+        for (int j = 0; j < N; j++)
+            for (int i = 0; i < M; i++)
+                values[j * M + i] = data[i][j];
+    }
+
+    /**
+     * Zwraca wyzerowany podział o wymiarach MxN, np. do wykorzystania jako
+     * podział docelowy operacji. W przeciwieństwie do konstruktora
+     * 'FuzzyPartition(int, int)', który losuje wartości, zwrócona
+     * macierz nie jest poprawnym podziałem rozmytym.
+     *
+     * @param M Liczba wierszy
+     * @param N Liczba kolumn
+     * @return Wyzerowany podział w pojedynczej precyzji
+     */
+    public static FloatPartition zeros(int M, int N) {
+        return new FloatPartition(M, N);
+    }
+
+    /**
+     * Tworzy podział w pojedynczej precyzji zaokrąglając wartości podanego
+     * podziału do najbliższych liczb typu float.
+     *
+     * @param U Podział rozmyty
+     * @return Podział w pojedynczej precyzji
+     */
+    static FloatPartition of(FuzzyPartition U) {
+        FloatPartition result = new FloatPartition(U.M, U.N);
+        ColumnTasks.forEachRange(U.M, U.N, (from, to) -> {
+            double[] column = new double[U.M];
+            for (int j = from; j < to; j++) {
+                U.storage.readColumn(j, column, 0);
+                int offset = j * U.M;
+                for (int i = 0; i < U.M; i++)
+                    result.values[offset + i] = (float) column[i];
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Zwraca ten podział w podwójnej precyzji. Konwersja jest dokładna.
+     *
+     * @return Nowy podział 'FuzzyPartition' o tych samych wartościach
+     */
+    public FuzzyPartition toFuzzyPartition() {
+        ColumnMajorStorage storage = new ColumnMajorStorage(M, N);
+        ColumnTasks.forEachRange(M, N, (from, to) -> {
+            for (int k = from * M; k < to * M; k++)
+                storage.values[k] = values[k];
+        });
+        return new FuzzyPartition(storage);
+    }
+
+    /**
+     * Zwraca wartość funkcji przynależności w podanym wierszu i kolumnie.
+     *
+     * @param i Numer wiersza
+     * @param j Numer kolumny
+     * @return Wartość macierzy reprezentującej podział w miejscu (i, j)
+     */
+    public float get(int i, int j) {
+        return values[j * M + i];
+    }
+
+    /**
+     * Zwraca kopię macierzy reprezentującej podział rozmyty zapisaną
+     * wierszami, tzn. w postaci data[i][j].
+     *
+     * @return Macierz o wymiarach MxN
+     */
+    public float[][] getData() {
+        float[][] data = new float[M][N];
+        for (int j = 0; j < N; j++)
+            for (int i = 0; i < M; i++)
+                data[i][j] = values[j * M + i];
+        return data;
+    }
+
+    /**
+     * Przekształca kolejne kolumny bieżącego podziału podaną operacją
+     * i zapisuje wynik w podziale docelowym, którym może być bieżący
+     * podział.
+     *
+     * @param dest      Podział, w którym zapisany zostanie wynik
+     * @param operation Operacja wykonywana na każdej kolumnie
+     * @return Podział dest
+     */
+    private FloatPartition transformColumns(FloatPartition dest,
+                                            FloatColumnOperation operation) {
+        if (M != dest.M || N != dest.N) {
+            throw new IllegalArgumentException(
+                    "Destination partition must have the same dimensions"
+            );
+        }
+        ColumnTasks.forEachRange(M, N, (from, to) -> {
+            for (int j = from; j < to; j++) {
+                int offset = j * M;
+                if (dest != this)
+                    System.arraycopy(values, offset, dest.values, offset, M);
+                operation.apply(dest.values, offset, M);
+            }
+        });
+        return dest;
+    }
+
+    /**
+     * Metoda zwracająca nowy podział rozmyty, będący alfa-cięciem bieżącego
+     * podziału.
+     *
+     * @param alpha poziom, dla którego tworzymy alfa-cięcie
+     * @return Nowy podział rozmyty, będący alfa-cięciem bieżącego
+     */
+    public FloatPartition calculateAlphaLevel(double alpha) {
+        return calculateAlphaLevel(alpha, new FloatPartition(M, N));
+    }
+
+    /**
+     * Metoda zapisująca w podanym podziale alfa-cięcie bieżącego podziału.
+     * Podziałem docelowym może być bieżący podział.
+     *
+     * @param alpha poziom, dla którego tworzymy alfa-cięcie
+     * @param dest  Podział, w którym zapisany zostanie wynik
+     * @return Podział dest
+     */
+    public FloatPartition calculateAlphaLevel(double alpha,
+                                              FloatPartition dest) {
+        ColumnKernels.checkAlpha(alpha);
+        return transformColumns(dest, (c, offset, M) ->
+                ColumnKernels.alphaLevel(c, offset, M, alpha));
+    }
+
+    /**
+     * Metoda zwracająca nowy podział rozmyty, będący dopełnieniem
+     * alfa-cięcia bieżącego podziału.
+     *
+     * @param alpha poziom, dla którego tworzymy alfa-cięcie
+     * @return Nowy podział rozmyty, będący dopełnieniem alfa-cięcia
+     */
+    public FloatPartition calculateComplementAlphaLevel(double alpha) {
+        return calculateComplementAlphaLevel(alpha, new FloatPartition(M, N));
+    }
+
+    /**
+     * Metoda zapisująca w podanym podziale dopełnienie alfa-cięcia
+     * bieżącego podziału. Podziałem docelowym może być bieżący podział.
+     *
+     * @param alpha poziom, dla którego tworzymy alfa-cięcie
+     * @param dest  Podział, w którym zapisany zostanie wynik
+     * @return Podział dest
+     */
+    public FloatPartition calculateComplementAlphaLevel(double alpha,
+                                                        FloatPartition dest) {
+        ColumnKernels.checkAlpha(alpha);
+        return transformColumns(dest, (c, offset, M) ->
+                ColumnKernels.complementAlphaLevel(c, offset, M, alpha));
+    }
+
+    /**
+     * Metoda sprawdzająca podobieństwo alfa-cięć podziału bieżącego
+     * i podziału podanego jako argument V.
+     *
+     * @param alpha zadany poziom alfa
+     * @param V     Podział rozmyty, do którego porównujemy zbiór bieżący
+     * @return Podobieństwo pomiędzy alfa-cięciami podziałów w skali od
+     * 0 do 1
+     */
+    public double alphaApproximate(double alpha, FloatPartition V) {
+        double[] sums = ColumnTasks.reduce(M, N, (from, to) -> {
+            if (ColumnKernels.VECTORIZED) {
+                return VectorKernels.alphaApproximateSums(values, V.values,
+                        from * M, to * M, alpha);
+            }
+            double M1 = 0.0;
+            double M2 = 0.0;
+            int cardM1 = 0;
+            for (int k = from * M; k < to * M; k++) {
+                if (values[k] >= alpha) {
+                    cardM1++;
+                    M1 += Math.max(0.0, alpha - V.values[k]);
+                } else {
+                    M2 += Math.max(0.0, V.values[k] - alpha);
+                }
+            }
+            return new double[]{M1, M2, cardM1};
+        }, (left, right) -> new double[]{
+                left[0] + right[0], left[1] + right[1], left[2] + right[2]
+        });
+        double cardM1 = sums[2];
+        return 1.0 - ((sums[0] + sums[1])
+                / (cardM1 * alpha + ((double) M * N - cardM1) * (1 - alpha)));
+    }
+
+    /**
+     * Prywatna metoda do obliczania liniowego wyostrzenia bieżącego
+     * podziału lub jego dopełnienia.
+     *
+     * @param complement Czy obliczyć dopełnienie liniowego wyostrzenia
+     * @param dest       Podział, w którym zapisany zostanie wynik
+     * @return Podział dest
+     */
+    private FloatPartition calculateLSOrComplementLS(boolean complement,
+                                                     FloatPartition dest) {
+        float[] minMax = ColumnTasks.reduce(M, N, (from, to) -> new float[]{
+                ColumnKernels.min(values, from * M, (to - from) * M, 1.0f),
+                ColumnKernels.max(values, from * M, (to - from) * M, 0.0f)
+        }, (left, right) -> new float[]{
+                Math.min(left[0], right[0]), Math.max(left[1], right[1])
+        });
+        float min = minMax[0];
+        float max = minMax[1];
+
+        if (max == min) {
+            return transformColumns(dest, (c, offset, M) -> {
+                for (int i = offset; i < offset + M; i++)
+                    c[i] = (float) (1.0 / M);
+            });
+        }
+        double minOrMax = complement ? max : min;
+        return transformColumns(dest, (c, offset, M) ->
+                ColumnKernels.affine(c, offset, M, minOrMax));
+    }
+
+    /**
+     * Metoda zwracająca podział rozmyty będący liniowym wyostrzeniem
+     * bieżącego podziału.
+     *
+     * @return Podział rozmyty będący liniowym wyostrzeniem bieżącego
+     * podziału
+     */
+    public FloatPartition calculateLS() {
+        return calculateLSOrComplementLS(false, new FloatPartition(M, N));
+    }
+
+    /**
+     * Metoda zapisująca w podanym podziale liniowe wyostrzenie bieżącego
+     * podziału. Podziałem docelowym może być bieżący podział.
+     *
+     * @param dest Podział, w którym zapisany zostanie wynik
+     * @return Podział dest
+     */
+    public FloatPartition calculateLS(FloatPartition dest) {
+        return calculateLSOrComplementLS(false, dest);
+    }
+
+    /**
+     * Metoda zwracająca podział rozmyty będący dopełnieniem liniowego
+     * wyostrzenia bieżącego podziału.
+     *
+     * @return Podział rozmyty będący dopełnieniem liniowego wyostrzenia
+     * bieżącego podziału
+     */
+    public FloatPartition calculateComplementLS() {
+        return calculateLSOrComplementLS(true, new FloatPartition(M, N));
+    }
+
+    /**
+     * Metoda zapisująca w podanym podziale dopełnienie liniowego
+     * wyostrzenia bieżącego podziału. Podziałem docelowym może być bieżący
+     * podział.
+     *
+     * @param dest Podział, w którym zapisany zostanie wynik
+     * @return Podział dest
+     */
+    public FloatPartition calculateComplementLS(FloatPartition dest) {
+        return calculateLSOrComplementLS(true, dest);
+    }
+
+    /**
+     * Metoda zwracająca podział rozmyty będący MLS bieżącego podziału.
+     *
+     * @return Podział rozmyty będący MLS bieżącego podziału
+     */
+    public FloatPartition calculateMLS() {
+        return calculateMLS(new FloatPartition(M, N));
+    }
+
+    /**
+     * Metoda zapisująca w podanym podziale MLS bieżącego podziału.
+     * Podziałem docelowym może być bieżący podział.
+     *
+     * @param dest Podział, w którym zapisany zostanie wynik
+     * @return Podział dest
+     */
+    public FloatPartition calculateMLS(FloatPartition dest) {
+        return transformColumns(dest, (c, offset, M) ->
+                ColumnKernels.mls(c, offset, M, false));
+    }
+
+    /**
+     * Metoda zwracająca podział rozmyty będący dopełnieniem MLS bieżącego
+     * podziału.
+     *
+     * @return Podział rozmyty będący dopełnieniem MLS bieżącego podziału
+     */
+    public FloatPartition calculateComplementMLS() {
+        return calculateComplementMLS(new FloatPartition(M, N));
+    }
+
+    /**
+     * Metoda zapisująca w podanym podziale dopełnienie MLS bieżącego
+     * podziału. Podziałem docelowym może być bieżący podział.
+     *
+     * @param dest Podział, w którym zapisany zostanie wynik
+     * @return Podział dest
+     */
+    public FloatPartition calculateComplementMLS(FloatPartition dest) {
+        return transformColumns(dest, (c, offset, M) ->
+                ColumnKernels.mls(c, offset, M, true));
+    }
+
+    /**
+     * Metoda zwracająca w jakim stopniu zbiór V, jest wyostrzeniem
+     * bieżącego zbioru.
+     *
+     * @param V zbiór, do którego się porównujemy
+     * @return Stopień, w jakim zbiór V, jest wyostrzeniem bieżącego zbioru.
+     */
+    public double calculateSharpnessDegree(FloatPartition V) {
+        double threshold = 1.0 / M;
+        double K = ColumnTasks.reduce(M, N, (from, to) -> {
+            if (ColumnKernels.VECTORIZED) {
+                return VectorKernels.sharpnessSum(values, V.values,
+                        from * M, to * M, threshold);
+            }
+            double sum = 0.0;
+            for (int k = from * M; k < to * M; k++) {
+                double u = values[k];
+                double v = V.values[k];
+                if (u >= threshold) sum += Math.max(0.0, u - v);
+                else sum += Math.max(0.0, v - u);
+            }
+            return sum;
+        }, Double::sum);
+        return 1 - K / (2 * N);
+    }
+
+    /**
+     * Metoda ta zwraca podział rozmyty będący dopełnieniem bieżącego
+     * podziału.
+     *
+     * @return Podział rozmyty będący dopełnieniem bieżącego podziału
+     */
+    public FloatPartition complement() {
+        return complement(new FloatPartition(M, N));
+    }
+
+    /**
+     * Metoda zapisująca w podanym podziale dopełnienie bieżącego podziału.
+     * Podziałem docelowym może być bieżący podział.
+     *
+     * @param dest Podział, w którym zapisany zostanie wynik
+     * @return Podział dest
+     */
+    public FloatPartition complement(FloatPartition dest) {
+        return transformColumns(dest, ColumnKernels::complement);
+    }
+
+    /**
+     * Metoda pozwalająca zmienić margines błędu dla metod 'validate' oraz
+     * 'equals' podziałów w pojedynczej precyzji.
+     *
+     * @param newEpsilon Nowa wartość epsilon.
+     */
+    public static void setEpsilon(double newEpsilon) {
+        epsilon = newEpsilon;
+    }
+
+    /**
+     * Metoda sprawdzająca, czy wprowadzone dane spełniają założenia
+     * podziału rozmytego, z dokładnością do zadanego epsilon.
+     *
+     * @return true, jeżeli dane spełniają założenia podziału rozmytego
+     */
+    public boolean validate() {
+        double epsilon = FloatPartition.epsilon;
+        return ColumnTasks.reduce(M, N, (from, to) -> {
+            for (int j = from; j < to; j++) {
+                int offset = j * M;
+                if (ColumnKernels.min(values, offset, M, 1.0f) + epsilon < 0)
+                    return false;
+                if (ColumnKernels.max(values, offset, M, 0.0f) - epsilon > 1)
+                    return false;
+                double sum = ColumnKernels.sum(values, offset, M);
+                if (Math.abs(1.0 - sum) > epsilon) return false;
+            }
+            return true;
+        }, (left, right) -> left && right);
+    }
+
+    /**
+     * Zwraca zmienną typu String reprezentującą podział rozmyty w formie
+     * macierzy o wymiarach MxN.
+     *
+     * @return String reprezentujący podział rozmyty.
+     */
+    @Override
+    public String toString() {
+        return toFuzzyPartition().toString();
+    }
+
+    /**
+     * Metoda sprawdzająca, czy dwa obiekty reprezentują ten sam podział
+     * rozmyty, z dokładnością do zadanego epsilon.
+     *
+     * @param o Obiekt, do którego się porównujemy
+     * @return true, jeżeli obiekty reprezentują ten sam podział rozmyty
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        FloatPartition that = (FloatPartition) o;
+        if (M != that.M || N != that.N) return false;
+        for (int k = 0; k < values.length; k++) {
+            if (Math.abs(values[k] - that.values[k]) > epsilon) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Zwraca skrót podziału zgodny z metodą 'equals'. Tak jak
+     * w 'FuzzyPartition.hashCode', porównanie z dokładnością do epsilon
+     * nie jest przechodnie, więc skrót zależy tylko od wymiarów podziału.
+     * Podziałów nie należy używać jako kluczy 'HashMap' ani elementów
+     * 'HashSet' - powtórzenia należy usuwać przy pomocy 'PartitionIndex'
+     * (po konwersji metodą 'toFuzzyPartition').
+     *
+     * @return Skrót wymiarów podziału
+     */
+    @Override
+    public int hashCode() {
+        return FuzzyPartition.hashDimensions(M, N);
+    }
+}
@@ -0,0 +1,1022 @@
+package fuzzypartition;
+
+import fuzzypartition.PartitionMetrics.Operation;
+import fuzzypartition.PartitionMetrics.Probe;
+
+import java.text.DecimalFormatSymbols;
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Klasa reprezentująca podział rozmyty i udostępniająca operacje, które
+ * można na nim wykonywać.
+ * <p>
+ * Minimum, maksimum, indeks maksimum i suma każdej kolumny obliczane są
+ * przy pierwszym użyciu i przechowywane w podziale, dzięki czemu kolejne
+ * operacje nie muszą ich wyznaczać. Operacje zapisujące wynik w podziale
+ * docelowym unieważniają jego statystyki. Jeżeli macierz podziału jest
+ * modyfikowana w inny sposób, należy wywołać 'invalidateStatistics'.
+ */
+public class FuzzyPartition {
+
+    /**
+     * Liczba wierszy w macierzy reprezentującej podział rozmyty
+     */
+    public final int M;
+
+    /**
+     * Liczba kolumn w macierzy reprezentującej podział rozmyty
+     */
+    public final int N;
+
+    /**
+     * Macierz reprezentująca podział rozmyty.
+     */
+    final PartitionStorage storage;
+
+    /**
+     * Rozmiar bloku, którymi metoda 'getData' przepisuje macierz.
+     */
+    private static final int TILE = 64;
+
+    /**
+     * Dopuszczalny zakres błędu dla metod 'validate' oraz 'equals'.
+     */
+    static double epsilon = 0.00000001;
+
+    /**
+     * Statystyki kolumn podziału, obliczane przy pierwszym użyciu, lub
+     * null, jeżeli nie zostały jeszcze obliczone (zob. 'statistics').
+     */
+    private volatile ColumnStatistics statistics;
+
+    /**
+     * Skróty podziału, obliczane przy pierwszym użyciu, lub null (zob.
+     * 'sketch').
+     */
+    private volatile PartitionSketch sketch;
+
+    /**
+     * Podział, na którego kolumny wskazuje widok utworzony metodą
+     * 'columnRange', lub null. Widok korzysta z bieżących statystyk tego
+     * podziału zamiast zapamiętywać własne.
+     */
+    private final FuzzyPartition columnSource;
+
+    /**
+     * Numer kolumny podziału 'columnSource', od której zaczyna się widok.
+     */
+    private final int columnOffset;
+
+    /**
+     * Konstruktor zwracający podział rozmyty o podanych wartościach.
+     * Konstruktor ten nie sprawdza poprawności wpisywanych danych. Dane
+     * są kopiowane do układu kolumnowego; aby uniknąć kopiowania, można
+     * skorzystać z metod 'wrap' lub 'wrapRows'.
+     *
+     * @param data Macierz, na podstawie której tworzony jest podział
+     *             rozmyty.
+     */
+    public FuzzyPartition(double[][] data) {
+        this(ColumnMajorStorage.fromRows(data));
+    }
+
+    /**
+     * Konstruktor zwracający podział rozmyty korzystający bezpośrednio
+     * z podanej macierzy. Dane nie są kopiowane, a konstruktor nie
+     * sprawdza ich poprawności.
+     *
+     * @param storage Macierz, na podstawie której tworzony jest podział
+     *                rozmyty.
+     */
+    public FuzzyPartition(PartitionStorage storage) {
+        this(storage, null, 0);
+    }
+
+    /**
+     * Konstruktor podziału, który jest widokiem na kolumny innego podziału
+     * (zob. 'columnRange').
+     *
+     * @param storage      Macierz podziału
+     * @param columnSource Podział, na którego kolumny wskazuje widok, lub
+     *                     null
+     * @param columnOffset Numer pierwszej kolumny widoku w 'columnSource'
+     */
+    private FuzzyPartition(PartitionStorage storage,
+                           FuzzyPartition columnSource, int columnOffset) {
+        this.M = storage.rows();
+        this.N = storage.columns();
+        this.storage = storage;
+        this.columnSource = columnSource;
+        this.columnOffset = columnOffset;
+    }
+
+    /**
+     * Konstruktor zwracający podział rozmyty rozmiaru MxN o losowych
+     * wartościach. Losowość otrzymana jest w taki sposób, że każda
+     * z wartości losowana jest z rozkładu jednostajnego na przedziale
+     * [0,1], a następnie wartości te są przeskalowane w taki sposób, aby
+     * kolumny sumowały się do 1. Aby otrzymać powtarzalne wyniki lub inne
+     * rozkłady, należy skorzystać z klasy 'PartitionGenerator'.
+     *
+     * @param M Liczba wierszy
+     * @param N Liczba kolumn
+     */
+    public FuzzyPartition(int M, int N) {
+        this(PartitionGenerator.SHARED.uniformStorage(M, N));
+    }
+
+    /**
+     * Tworzy podział korzystający bezpośrednio z podanej tablicy wartości
+     * w układzie kolumnowym (element (i, j) pod indeksem j * M + i), bez
+     * kopiowania jej. Tablica staje się własnością podziału i nie powinna
+     * być dalej modyfikowana przez wywołującego. Poprawność danych nie
+     * jest sprawdzana.
+     *
+     * @param M      Liczba wierszy
+     * @param N      Liczba kolumn
+     * @param values Wartości podziału (M * N wartości)
+     * @return Podział korzystający z podanej tablicy
+     */
+    public static FuzzyPartition wrap(int M, int N, double[] values) {
+        return new FuzzyPartition(ColumnMajorStorage.wrap(M, N, values));
+    }
+
+    /**
+     * Tworzy podział korzystający bezpośrednio z podanej macierzy
+     * zapisanej wierszami (data[i][j]), bez kopiowania jej, w odróżnieniu
+     * od konstruktora 'FuzzyPartition(double[][])'. Macierz staje się
+     * własnością podziału. Operacje na takim podziale czytają wartości
+     * wierszami, więc dla dużych podziałów szybszy jest układ kolumnowy.
+     *
+     * @param data Macierz zapisana wierszami
+     * @return Podział korzystający z podanej macierzy
+     */
+    public static FuzzyPartition wrapRows(double[][] data) {
+        return new FuzzyPartition(new RowArrayStorage(data));
+    }
+
+    /**
+     * Zwraca widok tylko do odczytu na kolumny od 'from' (włącznie) do
+     * 'to' (wyłącznie). Widok nie kopiuje wartości, a jego kolumny są
+     * kolumnami bieżącego podziału, więc jest on podziałem rozmytym,
+     * jeżeli bieżący podział nim jest. Widok nie zapamiętuje statystyk
+     * kolumn: przy każdej operacji korzysta z fragmentu bieżących
+     * statystyk tego podziału, jeżeli zostały obliczone, a w przeciwnym
+     * razie oblicza statystyki swoich kolumn. Zmiany bieżącego podziału
+     * są więc uwzględniane w widoku bez dodatkowych wywołań.
+     *
+     * @param from Numer pierwszej kolumny
+     * @param to   Numer kolumny za ostatnią kolumną widoku
+     * @return Podział o wymiarach M x (to - from)
+     */
+    public FuzzyPartition columnRange(int from, int to) {
+        if (from < 0 || to > N || from >= to) {
+            throw new IllegalArgumentException(
+                    "Invalid column range [" + from + ", " + to + ")"
+            );
+        }
+        PartitionStorage view = new PartitionView(storage, null, from,
+                to - from);
+        if (storage instanceof PartitionView) {
+            // Widok na wybrane wiersze ma inne statystyki niż podział,
+            // z którego pochodzi.
+            if (columnSource == null) return new FuzzyPartition(view);
+            return new FuzzyPartition(view, columnSource,
+                    columnOffset + from);
+        }
+        return new FuzzyPartition(view, this, from);
+    }
+
+    /**
+     * Zwraca widok tylko do odczytu na podane wiersze (w podanej
+     * kolejności). Widok nie kopiuje wartości. Kolumny widoku zwykle nie
+     * sumują się do 1, więc 'validate' zwraca dla niego false, ale metody
+     * porównujące podziały (np. 'calculateSharpnessDegree') można na nim
+     * wykonywać. Widok nie zapamiętuje statystyk kolumn, więc zmiany
+     * bieżącego podziału są w nim zawsze uwzględniane.
+     *
+     * @param rows Numery wierszy
+     * @return Podział o wymiarach rows.length x N
+     */
+    public FuzzyPartition rowSubset(int... rows) {
+        if (rows.length == 0) throw new IllegalArgumentException(
+                "Dimensions of partition must be positive"
+        );
+        for (int row : rows) {
+            if (row < 0 || row >= M) throw new IllegalArgumentException(
+                    "Row " + row + " is out of range"
+            );
+        }
+        return new FuzzyPartition(new PartitionView(storage, rows.clone(),
+                0, N));
+    }
+
+    /**
+     * Zwraca wartość funkcji przynależności w podanym wierszu i kolumnie.
+     *
+     * @param i Numer wiersza
+     * @param j Numer kolumny
+     * @return Wartość macierzy reprezentującej podział w miejscu (i, j)
+     */
+    public double get(int i, int j) {
+        return storage.get(i, j);
+    }
+
+    /**
+     * Zwraca kopię macierzy reprezentującej podział rozmyty zapisaną
+     * wierszami, tzn. w postaci data[i][j]. Metoda ta służy zgodności
+     * z kodem korzystającym dawniej z publicznego pola 'data' i kopiuje
+     * wszystkie M * N wartości przy każdym wywołaniu; zmiany zwróconej
+     * tablicy nie są widoczne w podziale. Wyrażenie 'U.getData()[i][j]'
+     * w pętli wykonuje więc O(M * N) operacji dla każdego elementu.
+     *
+     * @return Nowa macierz o wymiarach MxN
+     * @deprecated Do odczytu pojedynczych wartości bez kopiowania służy
+     * metoda 'get(i, j)', a kod pracujący na własnej tablicy data[i][j]
+     * może utworzyć na niej podział bez kopiowania metodą 'wrapRows'.
+     */
+    @Deprecated
+    public double[][] getData() {
+        double[][] data = new double[M][N];
+        // Macierz przepisywana jest blokami TILE x TILE, dzięki czemu
+        // zarówno odczyt kolumn, jak i zapis wierszy odbywa się w obrębie
+        // niewielkiej liczby linii pamięci podręcznej.
+        for (int i0 = 0; i0 < M; i0 += TILE) {
+            int i1 = Math.min(M, i0 + TILE);
+            for (int j0 = 0; j0 < N; j0 += TILE) {
+                int j1 = Math.min(N, j0 + TILE);
+                for (int i = i0; i < i1; i++) {
+                    double[] row = data[i];
+                    for (int j = j0; j < j1; j++)
+                        row[j] = storage.get(i, j);
+                }
+            }
+        }
+        return data;
+    }
+
+    /**
+     * Zwraca ten podział w pojedynczej precyzji. Wartości zaokrąglane są
+     * do najbliższych liczb typu float, więc operacje na wyniku mogą
+     * różnić się od operacji na bieżącym podziale o około 1e-7.
+     *
+     * @return Nowy podział 'FloatPartition'
+     */
+    public FloatPartition toFloatPartition() {
+        return FloatPartition.of(this);
+    }
+
+    /**
+     * Zwraca statystyki kolumn podziału, obliczając je przy pierwszym
+     * wywołaniu. Jeżeli kilka wątków wywoła tę metodę jednocześnie,
+     * statystyki mogą zostać obliczone więcej niż raz, ale wszystkie wątki
+     * otrzymają równe wyniki.
+     *
+     * @return Statystyki kolumn podziału
+     */
+    ColumnStatistics statistics() {
+        ColumnStatistics result = cachedStatistics();
+        if (result == null) {
+            result = ColumnStatistics.compute(storage);
+            cacheStatistics(result);
+        }
+        return result;
+    }
+
+    /**
+     * Zwraca statystyki kolumn podziału, jeżeli zostały już obliczone.
+     * Widok utworzony metodą 'columnRange' zwraca fragment bieżących
+     * statystyk podziału, na który wskazuje.
+     *
+     * @return Statystyki kolumn podziału lub null
+     */
+    ColumnStatistics cachedStatistics() {
+        if (columnSource != null) {
+            ColumnStatistics cached = columnSource.statistics;
+            return cached == null
+                    ? null : cached.slice(columnOffset, columnOffset + N);
+        }
+        return statistics;
+    }
+
+    /**
+     * Zapamiętuje statystyki kolumn obliczone przy okazji innej operacji.
+     * Widoki nie zapamiętują statystyk, ponieważ mogłyby się one
+     * zdezaktualizować po zmianie podziału, z którego pochodzą.
+     *
+     * @param statistics Statystyki kolumn bieżącego podziału
+     */
+    void cacheStatistics(ColumnStatistics statistics) {
+        if (!(storage instanceof PartitionView)) this.statistics = statistics;
+    }
+
+    /**
+     * Usuwa zapamiętane statystyki kolumn oraz skróty podziału. Metodę tę
+     * należy wywołać po zmianie wartości macierzy podziału w sposób inny
+     * niż przez metody tej klasy, np. bezpośrednio przez
+     * 'PartitionStorage.set'.
+     */
+    public void invalidateStatistics() {
+        statistics = null;
+        sketch = null;
+    }
+
+    /**
+     * Zwraca skróty podziału dla bieżącego epsilon, obliczając je przy
+     * pierwszym wywołaniu lub po zmianie epsilon.
+     *
+     * @return Skróty podziału
+     */
+    PartitionSketch sketch() {
+        double epsilon = FuzzyPartition.epsilon;
+        PartitionSketch result = sketch;
+        if (result == null || result.epsilon != epsilon) {
+            result = PartitionSketch.compute(this, epsilon);
+            // Tak jak statystyki, skróty widoków nie są zapamiętywane.
+            if (!(storage instanceof PartitionView)) sketch = result;
+        }
+        return result;
+    }
+
+    /**
+     * Zwraca skrót wartości podziału, obliczony po zaokrągleniu wartości
+     * do siatki o oczku 4 * epsilon. Jednakowe skróty gwarantowane są
+     * jedynie dla podziałów o jednakowych wartościach - podziały równe
+     * w sensie metody 'equals', lecz różniące się wartościami, mają
+     * zwykle różne skróty (zob. 'PartitionSketch'). Podziały bliskie
+     * należy wyszukiwać przy pomocy 'PartitionIndex'. Skrót jest
+     * zapamiętywany w podziale.
+     *
+     * @return Skrót wartości podziału
+     */
+    public long fingerprint() {
+        return sketch().fingerprint;
+    }
+
+    /**
+     * Tworzy nowy, wyzerowany podział o wymiarach bieżącego podziału,
+     * w którym zapisywane są wyniki operacji. Jego macierz tworzona jest
+     * przez macierz bieżącego podziału (zob. 'PartitionStorage.newStorage').
+     *
+     * @return Nowy podział o wymiarach MxN
+     */
+    FuzzyPartition newPartition() {
+        return new FuzzyPartition(storage.newStorage(M, N));
+    }
+
+    /**
+     * Sprawdza, czy podział docelowy ma te same wymiary co podział
+     * źródłowy.
+     *
+     * @param source Podział źródłowy
+     * @param dest   Podział docelowy
+     */
+    static void checkSameDimensions(FuzzyPartition source,
+                                    FuzzyPartition dest) {
+        if (source.M != dest.M || source.N != dest.N) {
+            throw new IllegalArgumentException(
+                    "Destination partition must have the same dimensions"
+            );
+        }
+    }
+
+    /**
+     * Sprawdza, czy operacje porównujące bieżący podział z podziałem V
+     * mogą zostać wykonane przy pomocy Vector API, tzn. czy oba podziały
+     * mają te same wymiary i są przechowywane w ciągłych tablicach.
+     *
+     * @param V Podział, do którego się porównujemy
+     * @return true, jeżeli można skorzystać z Vector API
+     */
+    private boolean isVectorizableWith(FuzzyPartition V) {
+        return ColumnKernels.VECTORIZED
+                && M == V.M && N == V.N
+                && storage instanceof ColumnMajorStorage
+                && V.storage instanceof ColumnMajorStorage;
+    }
+
+    /**
+     * Metoda zwracająca leniwy ciąg operacji na bieżącym podziale. Operacje
+     * dodawane do ciągu wykonywane są dopiero przy wywołaniu metody
+     * 'evaluate', w jednym przebiegu po kolumnach podziału.
+     *
+     * @return Pusty ciąg operacji na bieżącym podziale
+     */
+    public PartitionPipeline lazy() {
+        return new PartitionPipeline(this);
+    }
+
+    /**
+     * Metoda zwracająca nowy podział rozmyty, będący alfa-cięciem bieżącego
+     * podziału.
+     *
+     * @param alpha poziom, dla którego tworzymy alfa-cięcie
+     * @return Nowy podział rozmyty, będący alfa-cięciem bieżącego
+     */
+    public FuzzyPartition calculateAlphaLevel(double alpha) {
+        Probe probe = PartitionMetrics.start(
+                Operation.CALCULATE_ALPHA_LEVEL, alpha);
+        try {
+            return lazy().calculateAlphaLevel(alpha).evaluate();
+        } finally {
+            PartitionMetrics.stop(probe, M, N);
+        }
+    }
+
+    /**
+     * Metoda zapisująca w podanym podziale alfa-cięcie bieżącego podziału.
+     * Podziałem docelowym może być bieżący podział. Jeżeli alfa nie jest
+     * mniejsze od maksimum każdej kolumny, podział docelowy może zostać
+     * częściowo nadpisany przed zgłoszeniem wyjątku.
+     *
+     * @param alpha poziom, dla którego tworzymy alfa-cięcie
+     * @param dest  Podział, w którym zapisany zostanie wynik
+     * @return Podział dest
+     */
+    public FuzzyPartition calculateAlphaLevel(double alpha,
+                                              FuzzyPartition dest) {
+        Probe probe = PartitionMetrics.start(
+                Operation.CALCULATE_ALPHA_LEVEL, alpha);
+        try {
+            return lazy().calculateAlphaLevel(alpha).evaluateInto(dest);
+        } finally {
+            PartitionMetrics.stop(probe, M, N);
+        }
+    }
+
+    /**
+     * Metoda zwracająca nowy podział rozmyty, będący dopełnieniem
+     * alfa-cięcia bieżącego podziału.
+     *
+     * @param alpha poziom, dla którego tworzymy alfa-cięcie
+     * @return Nowy podział rozmyty, będący alfa-cięciem bieżącego
+     */
+    public FuzzyPartition calculateComplementAlphaLevel(double alpha) {
+        Probe probe = PartitionMetrics.start(
+                Operation.CALCULATE_COMPLEMENT_ALPHA_LEVEL, alpha);
+        try {
+            return lazy().calculateComplementAlphaLevel(alpha).evaluate();
+        } finally {
+            PartitionMetrics.stop(probe, M, N);
+        }
+    }
+
+    /**
+     * Metoda zapisująca w podanym podziale dopełnienie alfa-cięcia
+     * bieżącego podziału. Podziałem docelowym może być bieżący podział.
+     * Jeżeli alfa nie jest mniejsze od maksimum każdej kolumny, podział
+     * docelowy może zostać częściowo nadpisany przed zgłoszeniem wyjątku.
+     *
+     * @param alpha poziom, dla którego tworzymy alfa-cięcie
+     * @param dest  Podział, w którym zapisany zostanie wynik
+     * @return Podział dest
+     */
+    public FuzzyPartition calculateComplementAlphaLevel(double alpha,
+                                                        FuzzyPartition dest) {
+        Probe probe = PartitionMetrics.start(
+                Operation.CALCULATE_COMPLEMENT_ALPHA_LEVEL, alpha);
+        try {
+            return lazy().calculateComplementAlphaLevel(alpha)
+                    .evaluateInto(dest);
+        } finally {
+            PartitionMetrics.stop(probe, M, N);
+        }
+    }
+
+    /**
+     * Metoda zwracająca alfa-cięcie bieżącego podziału w zwartej postaci
+     * maski bitowej. Zajmuje ono 64 razy mniej pamięci niż wynik metody
+     * 'calculateAlphaLevel', z którego można je odtworzyć metodą
+     * 'AlphaCut.toFuzzyPartition' (lub 'toComplementFuzzyPartition' dla
+     * dopełnienia).
+     *
+     * @param alpha poziom, dla którego tworzymy alfa-cięcie
+     * @return Alfa-cięcie bieżącego podziału
+     */
+    public AlphaCut calculateAlphaCut(double alpha) {
+        Probe probe = PartitionMetrics.start(
+                Operation.CALCULATE_ALPHA_CUT, alpha);
+        try {
+            return AlphaCut.of(this, alpha);
+        } finally {
+            PartitionMetrics.stop(probe, M, N);
+        }
+    }
+
+    /**
+     * Metoda zwracająca kres górny poziomów alfa, dla których istnieje
+     * alfa-cięcie bieżącego podziału, tzn. minimum po kolumnach
+     * z maksimum wartości w kolumnie. Metody 'calculateAlphaLevel' oraz
+     * 'calculateComplementAlphaLevel' zgłaszają wyjątek dla alfa nie
+     * mniejszego od tej wartości.
+     *
+     * @return Kres górny poprawnych poziomów alfa
+     */
+    public double calculateAlphaBound() {
+        return statistics().alphaBound();
+    }
+
+    /**
+     * Metoda zwracająca alfa-cięcia oraz dopełnienia alfa-cięć bieżącego
+     * podziału dla wielu poziomów alfa, obliczone w jednym przebiegu.
+     * Poprawność wszystkich poziomów jest sprawdzana przed rozpoczęciem
+     * obliczeń.
+     *
+     * @param alphas poziomy alfa w kolejności rosnącej
+     * @return Alfa-cięcia i ich dopełnienia dla podanych poziomów
+     */
+    public AlphaSpectrum calculateAlphaSpectrum(double[] alphas) {
+        Probe probe = PartitionMetrics.start(
+                Operation.CALCULATE_ALPHA_SPECTRUM);
+        try {
+            return AlphaSpectrum.compute(this, alphas);
+        } finally {
+            PartitionMetrics.stop(probe, M, N);
+        }
+    }
+
+    /**
+     * Metoda sprawdzająca podobieństwo alfa-cięć podziału bieżącego
+     * i podziału podanego jako argument V. Jeżeli podobieństwo to wynosi 1,
+     * oznacza to, że podziały są alfa-równoważne.
+     *
+     * @param alpha zadany poziom alfa
+     * @param V     Podział rozmyty, do którego porównujemy zbiór bieżący
+     * @return Podobieństwo pomiędzy alfa-cięciami podziałów w skali od
+     * 0 do 1
+     */
+    public double alphaApproximate(double alpha, FuzzyPartition V) {
+        Probe probe = PartitionMetrics.start(
+                Operation.ALPHA_APPROXIMATE, alpha);
+        try {
+            double[] sums = ColumnTasks.reduce(M, N,
+                    (from, to) -> alphaApproximateSums(alpha, V, from, to),
+                    FuzzyPartition::addSums);
+            double M1 = sums[0];
+            double M2 = sums[1];
+            double cardM1 = sums[2];
+            return 1.0 - ((M1 + M2)
+                    / (cardM1 * alpha
+                    + ((double) M * N - cardM1) * (1 - alpha)));
+        } finally {
+            PartitionMetrics.stop(probe, M, N);
+        }
+    }
+
+    /**
+     * Prywatna metoda obliczająca sumy potrzebne w metodzie
+     * 'alphaApproximate' dla zakresu kolumn.
+     *
+     * @param alpha zadany poziom alfa
+     * @param V     Podział rozmyty, do którego porównujemy zbiór bieżący
+     * @param from  Pierwsza kolumna zakresu
+     * @param to    Kolumna za ostatnią kolumną zakresu
+     * @return Tablica {M1, M2, liczność alfa-cięcia}
+     */
+    private double[] alphaApproximateSums(double alpha, FuzzyPartition V,
+                                          int from, int to) {
+        if (isVectorizableWith(V)) {
+            return VectorKernels.alphaApproximateSums(
+                    ((ColumnMajorStorage) storage).values,
+                    ((ColumnMajorStorage) V.storage).values,
+                    from * M, to * M, alpha
+            );
+        }
+        double M1 = 0.0;
+        double M2 = 0.0;
+        int cardM1 = 0;
+        for (int i = from; i < to; i++) {
+            for (int j = 0; j < M; j++) {
+                if (storage.get(j, i) >= alpha) {
+                    cardM1++;
+                    M1 += Math.max(0.0, alpha - V.storage.get(j, i));
+                } else {
+                    M2 += Math.max(0.0, V.storage.get(j, i) - alpha);
+                }
+
+            }
+        }
+        return new double[]{M1, M2, cardM1};
+    }
+
+    /**
+     * Dodaje do siebie wyniki częściowe obliczone dla dwóch zakresów
+     * kolumn.
+     *
+     * @param left  Wynik dla pierwszego zakresu
+     * @param right Wynik dla drugiego zakresu
+     * @return Tablica 'left' powiększona o wartości 'right'
+     */
+    private static double[] addSums(double[] left, double[] right) {
+        for (int k = 0; k < left.length; k++) left[k] += right[k];
+        return left;
+    }
+
+    /**
+     * Prywatna metoda do obliczania liniowego wyostrzenia bieżącego
+     * podziału lub jego dopełnienia.
+     *
+     * @param complement Przy pomocy tego parametru ustawiamy czy chcemy
+     *                   obliczyć liniowe wyostrzenie, czy jego dopełnienie
+     * @param dest       Podział, w którym zapisany zostanie wynik
+     * @return Podział rozmyty będący liniowym wyostrzeniem bieżącego
+     * podziału lub jego dopełnienie
+     */
+    private FuzzyPartition calculateLSOrComplementLS(boolean complement,
+                                                     FuzzyPartition dest) {
+        checkSameDimensions(this, dest);
+        ColumnStatistics statistics = statistics();
+        double min = statistics.globalMin();
+        double max = statistics.globalMax();
+
+        if (max == min) {
+            for (int i = 0; i < N; i++) {
+                for (int j = 0; j < M; j++) {
+                    dest.storage.set(j, i, 1.0 / M);
+                }
+            }
+        } else {
+            double minOrMax = complement ? max : min;
+            ColumnKernels.transformColumns(storage, dest.storage,
+                    (c, offset, M) ->
+                            ColumnKernels.affine(c, offset, M, minOrMax));
+        }
+
+        dest.invalidateStatistics();
+        return dest;
+    }
+
+    /**
+     * Metoda zwracająca podział rozmyty będący liniowym wyostrzeniem
+     * bieżącego podziału.
+     *
+     * @return Podział rozmyty będący liniowym wyostrzeniem bieżącego
+     * podziału
+     */
+    public FuzzyPartition calculateLS() {
+        Probe probe = PartitionMetrics.start(Operation.CALCULATE_LS);
+        try {
+            return calculateLSOrComplementLS(false, newPartition());
+        } finally {
+            PartitionMetrics.stop(probe, M, N);
+        }
+    }
+
+    /**
+     * Metoda zapisująca w podanym podziale liniowe wyostrzenie bieżącego
+     * podziału. Podziałem docelowym może być bieżący podział.
+     *
+     * @param dest Podział, w którym zapisany zostanie wynik
+     * @return Podział dest
+     */
+    public FuzzyPartition calculateLS(FuzzyPartition dest) {
+        Probe probe = PartitionMetrics.start(Operation.CALCULATE_LS);
+        try {
+            return calculateLSOrComplementLS(false, dest);
+        } finally {
+            PartitionMetrics.stop(probe, M, N);
+        }
+    }
+
+    /**
+     * Metoda zwracająca podział rozmyty będący dopełnieniem liniowego
+     * wyostrzenia bieżącego podziału.
+     *
+     * @return Podział rozmyty będący dopełnieniem liniowego wyostrzenia
+     * bieżącego podziału
+     */
+    public FuzzyPartition calculateComplementLS() {
+        Probe probe = PartitionMetrics.start(Operation.CALCULATE_COMPLEMENT_LS);
+        try {
+            return calculateLSOrComplementLS(true, newPartition());
+        } finally {
+            PartitionMetrics.stop(probe, M, N);
+        }
+    }
+
+    /**
+     * Metoda zapisująca w podanym podziale dopełnienie liniowego
+     * wyostrzenia bieżącego podziału. Podziałem docelowym może być bieżący
+     * podział.
+     *
+     * @param dest Podział, w którym zapisany zostanie wynik
+     * @return Podział dest
+     */
+    public FuzzyPartition calculateComplementLS(FuzzyPartition dest) {
+        Probe probe = PartitionMetrics.start(Operation.CALCULATE_COMPLEMENT_LS);
+        try {
+            return calculateLSOrComplementLS(true, dest);
+        } finally {
+            PartitionMetrics.stop(probe, M, N);
+        }
+    }
+
+    /**
+     * Prywatna metoda do obliczania MLS bieżącego podziału lub jego
+     * dopełnienia.
+     *
+     * @param complement Przy pomocy tego parametru ustawiamy czy chcemy
+     *                   obliczyć MLS, czy jego dopełnienie
+     * @param dest       Podział, w którym zapisany zostanie wynik
+     * @return Podział rozmyty będący MLS bieżącego podziału lub jego
+     * dopełnienie
+     */
+    private FuzzyPartition calculateMLSOrComplementMLS(boolean complement,
+                                                       FuzzyPartition dest) {
+        PartitionPipeline pipeline = lazy();
+        if (complement) pipeline.calculateComplementMLS();
+        else pipeline.calculateMLS();
+        return pipeline.evaluateInto(dest);
+    }
+
+    /**
+     * Metoda zwracająca podział rozmyty będący MLS bieżącego podziału.
+     *
+     * @return Podział rozmyty będący MLS bieżącego podziału
+     */
+    public FuzzyPartition calculateMLS() {
+        Probe probe = PartitionMetrics.start(Operation.CALCULATE_MLS);
+        try {
+            return calculateMLSOrComplementMLS(false, newPartition());
+        } finally {
+            PartitionMetrics.stop(probe, M, N);
+        }
+    }
+
+    /**
+     * Metoda zapisująca w podanym podziale MLS bieżącego podziału.
+     * Podziałem docelowym może być bieżący podział.
+     *
+     * @param dest Podział, w którym zapisany zostanie wynik
+     * @return Podział dest
+     */
+    public FuzzyPartition calculateMLS(FuzzyPartition dest) {
+        Probe probe = PartitionMetrics.start(Operation.CALCULATE_MLS);
+        try {
+            return calculateMLSOrComplementMLS(false, dest);
+        } finally {
+            PartitionMetrics.stop(probe, M, N);
+        }
+    }
+
+    /**
+     * Metoda zwracająca podział rozmyty będący dopełnieniem MLS bieżącego
+     * podziału.
+     *
+     * @return Podział rozmyty będący dopełnieniem MLS bieżącego podziału
+     */
+    public FuzzyPartition calculateComplementMLS() {
+        Probe probe = PartitionMetrics.start(
+                Operation.CALCULATE_COMPLEMENT_MLS);
+        try {
+            return calculateMLSOrComplementMLS(true, newPartition());
+        } finally {
+            PartitionMetrics.stop(probe, M, N);
+        }
+    }
+
+    /**
+     * Metoda zapisująca w podanym podziale dopełnienie MLS bieżącego
+     * podziału. Podziałem docelowym może być bieżący podział.
+     *
+     * @param dest Podział, w którym zapisany zostanie wynik
+     * @return Podział dest
+     */
+    public FuzzyPartition calculateComplementMLS(FuzzyPartition dest) {
+        Probe probe = PartitionMetrics.start(
+                Operation.CALCULATE_COMPLEMENT_MLS);
+        try {
+            return calculateMLSOrComplementMLS(true, dest);
+        } finally {
+            PartitionMetrics.stop(probe, M, N);
+        }
+    }
+
+    /**
+     * Metoda zwracająca w jakim stopniu zbiór V, jest wyostrzeniem
+     * bieżącego zbioru.
+     *
+     * @param V zbiór, do którego się porównujemy
+     * @return Stopień, w jakim zbiór V, jest wyostrzeniem bieżącego zbioru.
+     */
+    public double calculateSharpnessDegree(FuzzyPartition V) {
+        Probe probe = PartitionMetrics.start(
+                Operation.CALCULATE_SHARPNESS_DEGREE);
+        try {
+            double K = ColumnTasks.reduce(M, N,
+                    (from, to) -> sharpnessSum(V, from, to), Double::sum);
+            return 1 - K / (2 * N);
+        } finally {
+            PartitionMetrics.stop(probe, M, N);
+        }
+    }
+
+    /**
+     * Prywatna metoda obliczająca sumę K1 + K2 potrzebną w metodzie
+     * 'calculateSharpnessDegree' dla zakresu kolumn.
+     *
+     * @param V    zbiór, do którego się porównujemy
+     * @param from Pierwsza kolumna zakresu
+     * @param to   Kolumna za ostatnią kolumną zakresu
+     * @return Suma K1 + K2 dla zakresu kolumn
+     */
+    private double sharpnessSum(FuzzyPartition V, int from, int to) {
+        if (isVectorizableWith(V)) {
+            return VectorKernels.sharpnessSum(
+                    ((ColumnMajorStorage) storage).values,
+                    ((ColumnMajorStorage) V.storage).values,
+                    from * M, to * M, 1.0 / M
+            );
+        }
+        double K1 = 0.0;
+        double K2 = 0.0;
+        for (int j = from; j < to; j++) {
+            for (int i = 0; i < M; i++) {
+                double u = storage.get(i, j);
+                double v = V.storage.get(i, j);
+                if (u >= 1.0 / M) {
+                    K1 += Math.max(0.0, u - v);
+                } else if (u <= 1.0 / M) {
+                    K2 += Math.max(0.0, v - u);
+                }
+
+            }
+        }
+        return K1 + K2;
+    }
+
+    /**
+     * Metoda ta zwraca podział rozmyty będący dopełnieniem bieżącego
+     * podziału.
+     *
+     * @return Podział rozmyty będący dopełnieniem bieżącego podziału
+     */
+    public FuzzyPartition complement() {
+        Probe probe = PartitionMetrics.start(Operation.COMPLEMENT);
+        try {
+            return lazy().complement().evaluate();
+        } finally {
+            PartitionMetrics.stop(probe, M, N);
+        }
+    }
+
+    /**
+     * Metoda zapisująca w podanym podziale dopełnienie bieżącego podziału.
+     * Podziałem docelowym może być bieżący podział.
+     *
+     * @param dest Podział, w którym zapisany zostanie wynik
+     * @return Podział dest
+     */
+    public FuzzyPartition complement(FuzzyPartition dest) {
+        Probe probe = PartitionMetrics.start(Operation.COMPLEMENT);
+        try {
+            return lazy().complement().evaluateInto(dest);
+        } finally {
+            PartitionMetrics.stop(probe, M, N);
+        }
+    }
+
+    /**
+     * Zwraca zmienną typu String reprezentującą podział rozmyty w formie
+     * macierzy o wymiarach MxN.
+     *
+     * @return String reprezentujący podział rozmyty.
+     */
+    @Override
+    public String toString() {
+        char decimalSeparator = DecimalFormatSymbols.getInstance(
+                Locale.getDefault(Locale.Category.FORMAT))
+                .getDecimalSeparator();
+        char[] cell = new char[PartitionText.MAX_VALUE_LENGTH];
+        StringBuilder result = new StringBuilder(M * (10 * N + 2));
+        for (int i = 0; i < M; i++) {
+            for (int j = 0; j < N; j++) {
+                // Tak jak String.format("%9.4f ") - wyrównanie do 9 znaków.
+                int length = PartitionText.appendFixed(cell, 0,
+                        storage.get(i, j), 4, decimalSeparator);
+                for (int pad = length; pad < 9; pad++) result.append(' ');
+                result.append(cell, 0, length).append(' ');
+            }
+            // Nowa linia po każdym wierszu z wyjątkiem ostatniego.
+            if (i != M - 1) {
+                result.append(System.lineSeparator());
+            }
+        }
+        return result.toString();
+    }
+
+
+    /**
+     * Metoda pozwalająca zmienić margines błędu dla metod 'validate' oraz
+     * 'equals'.
+     *
+     * @param newEpsilon Nowa wartość epsilon.
+     */
+    public static void setEpsilon(double newEpsilon) {
+        epsilon = newEpsilon;
+    }
+
+    /**
+     * Metoda włączająca równoległe wykonywanie operacji. Kolumny podziału
+     * dzielone są na fragmenty przetwarzane jako zadania w podanej puli.
+     * Podziały mające mniej niż 'threshold' elementów (M * N) przetwarzane
+     * są sekwencyjnie. Podanie null jako puli wyłącza wykonywanie
+     * równoległe.
+     *
+     * @param pool      Pula, w której wykonywane są zadania, lub null
+     * @param threshold Minimalna liczba elementów podziału, od której
+     *                  operacje wykonywane są równolegle
+     */
+    public static void setParallelism(ForkJoinPool pool, long threshold) {
+        if (threshold <= 0) throw new IllegalArgumentException(
+                "Parallel threshold must be positive"
+        );
+        ColumnTasks.threshold = threshold;
+        ColumnTasks.pool = pool;
+    }
+
+    /**
+     * Metoda sprawdzająca, czy wprowadzone dane spełniają założenia
+     * podziału rozmytego. Każda z wartości w macierzy musi być z przedziału
+     * [0,1], oraz kolumny muszą sumować się do 1. W związku
+     * z niedokładnością reprezentacji zmiennoprzecinkowej funkcja
+     * pozwala na drobną niedokładność, nie większą niż zadany epsilon.
+     *
+     * @return true, jeżeli dane spełniają założenia podziału rozmytego
+     */
+    public boolean validate() {
+        Probe probe = PartitionMetrics.start(Operation.VALIDATE);
+        try {
+            return PartitionMetrics.validated(probe,
+                    statistics().isValid(epsilon));
+        } finally {
+            PartitionMetrics.stop(probe, M, N);
+        }
+    }
+
+    /**
+     * Metoda sprawdzająca, czy dwa obiekty reprezentują ten sam podział
+     * rozmyty. Ze względu na niedokładność reprezentacji liczby
+     * zmiennoprzecinkowej, dopuszczalne są drobne różnice nie większe niż
+     * zadany epsilon.
+     *
+     * @param o Obiekt, do którego się porównujemy
+     * @return true, jeżeli obiekty reprezentują ten sam podział rozmyty
+     */
+    @Override
+    public boolean equals(Object o) {
+        Probe probe = PartitionMetrics.start(Operation.EQUALS);
+        try {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            FuzzyPartition that = (FuzzyPartition) o;
+            if (M == that.M && N == that.N) {
+                for (int i = 0; i < N; i++) {
+                    for (int j = 0; j < M; j++) {
+                        if (Math.abs(storage.get(j, i)
+                                - that.storage.get(j, i)) > epsilon)
+                            return false;
+                    }
+                }
+                return true;
+            } else return false;
+        } finally {
+            PartitionMetrics.stop(probe, M, N);
+        }
+    }
+
+    /**
+     * Zwraca skrót podziału zgodny z metodą 'equals'. Porównanie
+     * z dokładnością do epsilon nie jest przechodnie, dlatego jedynym
+     * skrótem zgodnym z 'equals' jest skrót wymiarów podziału - wszystkie
+     * podziały o tych samych wymiarach mają ten sam skrót.
+     * <p>
+     * Podziałów nie należy więc używać jako kluczy 'HashMap' ani
+     * elementów 'HashSet': każde wyszukiwanie porównuje podział metodą
+     * 'equals' ze wszystkimi podziałami o tych samych wymiarach, więc
+     * usuwanie powtórzeń z K podziałów wymaga O(K^2) porównań. Do
+     * wyszukiwania podziałów równych podanemu i usuwania powtórzeń służy
+     * klasa 'PartitionIndex'.
+     *
+     * @return Skrót wymiarów podziału
+     */
+    @Override
+    public int hashCode() {
+        return hashDimensions(M, N);
+    }
+
+    /**
+     * Zwraca skrót wymiarów podziału. Ten sam skrót zwraca 'hashCode' klas
+     * 'FuzzyPartition' i 'FloatPartition', ponieważ obie porównują
+     * wartości z dokładnością do epsilon.
+     *
+     * @param M Liczba wierszy
+     * @param N Liczba kolumn
+     * @return Skrót wymiarów podziału
+     */
+    static int hashDimensions(int M, int N) {
+        return 31 * M + N;
+    }
+
+}
@@ -0,0 +1,107 @@
+package fuzzypartition;
+
+import java.util.Arrays;
+
+/**
+ * Budowanie podziału rozmytego kolumna po kolumnie, bez znajomości liczby
+ * kolumn z góry. Kolumny zapisywane są bezpośrednio w tablicy w układzie
+ * kolumnowym, która jest powiększana w miarę potrzeby.
+ */
+public final class FuzzyPartitionBuilder implements ColumnSink {
+
+    /**
+     * Przybliżona liczba wartości, na które miejsce przydzielane jest
+     * przed dodaniem pierwszej kolumny.
+     */
+    private static final int INITIAL_VALUES = 1 << 20;
+
+    /**
+     * Liczba wierszy budowanego podziału.
+     */
+    private final int M;
+
+    /**
+     * Liczba dodanych kolumn.
+     */
+    private int N = 0;
+
+    /**
+     * Wartości dodanych kolumn w układzie kolumnowym.
+     */
+    private double[] values;
+
+    /**
+     * Konstruktor tworzący pusty podział o M wierszach.
+     *
+     * @param M Liczba wierszy
+     */
+    public FuzzyPartitionBuilder(int M) {
+        if (M <= 0) throw new IllegalArgumentException(
+                "Dimensions of partition must be positive"
+        );
+        this.M = M;
+        // Miejsce na 16 kolumn, ale na nie więcej niż 'INITIAL_VALUES'
+        // wartości (i co najmniej na jedną kolumnę) - kolejne kolumny
+        // mieszczą się dzięki podwajaniu tablicy w 'addColumn'.
+        this.values = new double[M * Math.min(16,
+                Math.max(1, INITIAL_VALUES / M))];
+    }
+
+    /**
+     * Dodaje kolumnę na końcu podziału.
+     *
+     * @param column Wartości kolumny (M wartości)
+     * @return Ten sam obiekt
+     */
+    public FuzzyPartitionBuilder addColumn(double[] column) {
+        if (column.length != M) throw new IllegalArgumentException(
+                "Column must have " + M + " values"
+        );
+        if ((long) (N + 1) * M > values.length) {
+            long capacity = Math.min(Integer.MAX_VALUE - 8,
+                    Math.max((long) values.length * 2, (long) (N + 1) * M));
+            if (capacity < (long) (N + 1) * M)
+                throw new IllegalArgumentException(
+                        "Partition is too large for a single array"
+                );
+            values = Arrays.copyOf(values, (int) capacity);
+        }
+        System.arraycopy(column, 0, values, N * M, M);
+        N++;
+        return this;
+    }
+
+    /**
+     * Dodaje kolumnę na końcu podziału. Numer kolumny musi być równy
+     * liczbie dotychczas dodanych kolumn.
+     *
+     * @param j      Numer kolumny
+     * @param column Wartości kolumny (M wartości)
+     */
+    @Override
+    public void accept(int j, double[] column) {
+        if (j != N) throw new IllegalArgumentException(
+                "Columns must be added in order"
+        );
+        addColumn(column);
+    }
+
+    /**
+     * Zwraca liczbę dodanych kolumn.
+     *
+     * @return Liczba kolumn
+     */
+    public int getColumnCount() {
+        return N;
+    }
+
+    /**
+     * Tworzy podział rozmyty z dodanych kolumn.
+     *
+     * @return Podział rozmyty o wymiarach MxN
+     */
+    public FuzzyPartition build() {
+        return new FuzzyPartition(ColumnMajorStorage.wrap(M, N,
+                Arrays.copyOf(values, M * N)));
+    }
+}
@@ -0,0 +1,205 @@
+package fuzzypartition;
+
+/**
+ * Liniowe wyostrzenie (LS) lub jego dopełnienie wyznaczane dla podziału
+ * podawanego kolumna po kolumnie. Ponieważ LS zależy od minimum
+ * i maksimum całej macierzy, dostępne są dwa tryby:
+ * <ul>
+ *     <li>dwuprzebiegowy - w pierwszym przebiegu kolumny przekazywane są
+ *     do metody 'observe', która wyznacza minimum i maksimum, a w drugim
+ *     przebiegu te same kolumny przekazywane są do metody 'accept', która
+ *     od razu przekazuje wyostrzone kolumny do odbiorcy. Wynik jest równy
+ *     wynikowi 'FuzzyPartition.calculateLS'. Pamięć jest rzędu O(M).</li>
+ *     <li>okienkowy - kolumny przekazywane do 'accept' są gromadzone
+ *     w oknie o zadanej liczbie kolumn i wyostrzane względem minimum
+ *     i maksimum okna. Pamięć jest rzędu O(M * okno).</li>
+ * </ul>
+ */
+public final class LinearSharpeningStream {
+
+    /**
+     * Liczba wierszy przetwarzanego podziału.
+     */
+    private final int M;
+
+    /**
+     * Czy wyznaczane jest dopełnienie LS.
+     */
+    private final boolean complement;
+
+    /**
+     * Odbiorca wyostrzonych kolumn.
+     */
+    private final ColumnSink sink;
+
+    /**
+     * Okno kolumn w układzie kolumnowym, lub tablica na jedną kolumnę
+     * w trybie dwuprzebiegowym.
+     */
+    private final double[] window;
+
+    /**
+     * Liczba kolumn mieszczących się w oknie, lub 0 w trybie
+     * dwuprzebiegowym.
+     */
+    private final int windowSize;
+
+    /**
+     * Bufor, w którym kolumny z okna przekazywane są do odbiorcy.
+     */
+    private final double[] column;
+
+    /**
+     * Liczba kolumn znajdujących się obecnie w oknie.
+     */
+    private int buffered = 0;
+
+    /**
+     * Maksimum wartości obserwowanych kolumn.
+     */
+    private double max = 0.0;
+
+    /**
+     * Minimum wartości obserwowanych kolumn.
+     */
+    private double min = 1.0;
+
+    /**
+     * Liczba kolumn przekazanych do metody 'observe'.
+     */
+    private int observed = 0;
+
+    /**
+     * Liczba kolumn przekazanych do odbiorcy.
+     */
+    private int emitted = 0;
+
+    private LinearSharpeningStream(int M, boolean complement,
+                                   ColumnSink sink, int windowSize) {
+        if (M <= 0) throw new IllegalArgumentException(
+                "Dimensions of partition must be positive"
+        );
+        this.M = M;
+        this.complement = complement;
+        this.sink = sink;
+        this.windowSize = windowSize;
+        this.window = new double[M * Math.max(1, windowSize)];
+        this.column = new double[M];
+    }
+
+    /**
+     * Tworzy strumień działający w trybie dwuprzebiegowym.
+     *
+     * @param M          Liczba wierszy
+     * @param complement Czy wyznaczać dopełnienie LS
+     * @param sink       Odbiorca wyostrzonych kolumn
+     * @return Nowy strumień
+     */
+    public static LinearSharpeningStream twoPhase(int M, boolean complement,
+                                                  ColumnSink sink) {
+        return new LinearSharpeningStream(M, complement, sink, 0);
+    }
+
+    /**
+     * Tworzy strumień działający w trybie okienkowym.
+     *
+     * @param M          Liczba wierszy
+     * @param windowSize Liczba kolumn w oknie
+     * @param complement Czy wyznaczać dopełnienie LS
+     * @param sink       Odbiorca wyostrzonych kolumn
+     * @return Nowy strumień
+     */
+    public static LinearSharpeningStream windowed(int M, int windowSize,
+                                                  boolean complement,
+                                                  ColumnSink sink) {
+        if (windowSize <= 0) throw new IllegalArgumentException(
+                "Window size must be positive"
+        );
+        return new LinearSharpeningStream(M, complement, sink, windowSize);
+    }
+
+    /**
+     * Pierwszy przebieg trybu dwuprzebiegowego - uwzględnia kolumnę
+     * w minimum i maksimum macierzy.
+     *
+     * @param column Wartości kolumny (M wartości)
+     */
+    public void observe(double[] column) {
+        if (windowSize != 0) throw new IllegalStateException(
+                "Only a two-phase stream observes columns"
+        );
+        if (emitted > 0) throw new IllegalStateException(
+                "Columns cannot be observed after the second phase started"
+        );
+        ColumnStream.checkColumn(column, M, observed);
+        updateMinMax(column, 0);
+        observed++;
+    }
+
+    /**
+     * Przyjmuje kolumnę. W trybie dwuprzebiegowym kolumna jest od razu
+     * wyostrzana i przekazywana do odbiorcy, w trybie okienkowym trafia do
+     * okna, które jest przetwarzane po zapełnieniu.
+     *
+     * @param column Wartości kolumny (M wartości)
+     */
+    public void accept(double[] column) {
+        if (windowSize == 0) {
+            if (emitted >= observed) throw new IllegalStateException(
+                    "Every column must be observed before the second phase"
+            );
+            ColumnStream.checkColumn(column, M, emitted);
+            System.arraycopy(column, 0, window, 0, M);
+            sharpen(0, M);
+            sink.accept(emitted++, window);
+            return;
+        }
+
+        ColumnStream.checkColumn(column, M, emitted + buffered);
+        System.arraycopy(column, 0, window, buffered * M, M);
+        updateMinMax(column, 0);
+        buffered++;
+        if (buffered == windowSize) flush();
+    }
+
+    /**
+     * W trybie okienkowym wyostrza i przekazuje do odbiorcy kolumny
+     * zgromadzone w niepełnym oknie. Należy ją wywołać po ostatniej
+     * kolumnie.
+     */
+    public void flush() {
+        if (windowSize == 0 || buffered == 0) return;
+        sharpen(0, buffered * M);
+        for (int k = 0; k < buffered; k++) {
+            System.arraycopy(window, k * M, column, 0, M);
+            sink.accept(emitted++, column);
+        }
+        buffered = 0;
+        max = 0.0;
+        min = 1.0;
+    }
+
+    /**
+     * Uwzględnia wartości kolumny w minimum i maksimum.
+     */
+    private void updateMinMax(double[] column, int offset) {
+        max = ColumnKernels.max(column, offset, M, max);
+        min = ColumnKernels.min(column, offset, M, min);
+    }
+
+    /**
+     * Wyostrza wartości z podanego zakresu tablicy 'window' względem
+     * bieżącego minimum i maksimum, tak jak 'FuzzyPartition.calculateLS'.
+     */
+    private void sharpen(int from, int to) {
+        for (int offset = from; offset < to; offset += M) {
+            if (max == min) {
+                for (int i = offset; i < offset + M; i++)
+                    window[i] = 1.0 / M;
+            } else {
+                ColumnKernels.affine(window, offset, M,
+                        complement ? max : min);
+            }
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package fuzzypartition;
+
+import javax.management.ConstructorParameters;
+
+/**
+ * Migawka statystyk wywołań jednej operacji na podziałach rozmytych,
+ * udostępniana przez 'PartitionMetricsMXBean'. Element k histogramu
+ * zawiera liczbę wywołań trwających od 2^(k-1) do 2^k - 1 nanosekund
+ * (element 0 - wywołania trwające 0 ns, ostatni element - wszystkie
+ * dłuższe).
+ */
+public final class OperationStatistics {
+
+    private final String operation;
+    private final long calls;
+    private final long totalNanos;
+    private final long maxNanos;
+    private final long[] latencyHistogram;
+    private final long elements;
+    private final int maxRows;
+    private final int maxColumns;
+    private final long allocatedBytes;
+
+    /**
+     * @param operation        Nazwa operacji
+     * @param calls            Liczba wywołań
+     * @param totalNanos       Łączny czas wywołań w nanosekundach
+     * @param maxNanos         Najdłuższy czas wywołania w nanosekundach
+     * @param latencyHistogram Histogram czasów wywołań
+     * @param elements         Łączna liczba elementów (M * N) podziałów
+     * @param maxRows          Największa liczba wierszy podziału
+     * @param maxColumns       Największa liczba kolumn podziału
+     * @param allocatedBytes   Łączna liczba bajtów przydzielonych przez
+     *                         wątek wywołujący operację
+     */
+    @ConstructorParameters({"operation", "calls", "totalNanos", "maxNanos",
+            "latencyHistogram", "elements", "maxRows", "maxColumns",
+            "allocatedBytes"})
+    public OperationStatistics(String operation, long calls, long totalNanos,
+                               long maxNanos, long[] latencyHistogram,
+                               long elements, int maxRows, int maxColumns,
+                               long allocatedBytes) {
+        this.operation = operation;
+        this.calls = calls;
+        this.totalNanos = totalNanos;
+        this.maxNanos = maxNanos;
+        this.latencyHistogram = latencyHistogram.clone();
+        this.elements = elements;
+        this.maxRows = maxRows;
+        this.maxColumns = maxColumns;
+        this.allocatedBytes = allocatedBytes;
+    }
+
+    /**
+     * Zwraca nazwę operacji, np. 'calculateMLS'.
+     *
+     * @return Nazwa operacji
+     */
+    public String getOperation() {
+        return operation;
+    }
+
+    /**
+     * Zwraca liczbę wywołań operacji.
+     *
+     * @return Liczba wywołań
+     */
+    public long getCalls() {
+        return calls;
+    }
+
+    /**
+     * Zwraca łączny czas wywołań operacji.
+     *
+     * @return Łączny czas wywołań w nanosekundach
+     */
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+
+    /**
+     * Zwraca czas najdłuższego wywołania operacji.
+     *
+     * @return Najdłuższy czas wywołania w nanosekundach
+     */
+    public long getMaxNanos() {
+        return maxNanos;
+    }
+
+    /**
+     * Zwraca kopię histogramu czasów wywołań (zob. opis klasy).
+     *
+     * @return Histogram czasów wywołań
+     */
+    public long[] getLatencyHistogram() {
+        return latencyHistogram.clone();
+    }
+
+    /**
+     * Zwraca łączną liczbę elementów (M * N) podziałów, na których
+     * wykonano operację.
+     *
+     * @return Łączna liczba elementów podziałów
+     */
+    public long getElements() {
+        return elements;
+    }
+
+    /**
+     * Zwraca największą liczbę wierszy podziału, na którym wykonano
+     * operację.
+     *
+     * @return Największa liczba wierszy
+     */
+    public int getMaxRows() {
+        return maxRows;
+    }
+
+    /**
+     * Zwraca największą liczbę kolumn podziału, na którym wykonano
+     * operację.
+     *
+     * @return Największa liczba kolumn
+     */
+    public int getMaxColumns() {
+        return maxColumns;
+    }
+
+    /**
+     * Zwraca łączną liczbę bajtów przydzielonych przez wątek wywołujący
+     * operację w trakcie jej trwania (0, jeżeli JVM nie udostępnia tej
+     * informacji).
+     *
+     * @return Łączna liczba przydzielonych bajtów
+     */
+    public long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    @Override
+    public String toString() {
+        return operation + ": calls=" + calls
+                + ", totalNanos=" + totalNanos
+                + ", maxNanos=" + maxNanos
+                + ", elements=" + elements
+                + ", maxShape=" + maxRows + "x" + maxColumns
+                + ", allocatedBytes=" + allocatedBytes;
+    }
+}
@@ -0,0 +1,449 @@
+package fuzzypartition;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Pamięć podręczna wyników operacji na podziałach rozmytych. Wyniki
+ * zapamiętywane są dla par (podział źródłowy, operacja z parametrami),
+ * przy czym podziały źródłowe porównywane są przez tożsamość obiektów,
+ * a nie metodą 'equals'. Łączna liczba elementów (M * N) zapamiętanych
+ * podziałów jest ograniczona - po jej przekroczeniu usuwane są najdawniej
+ * używane wyniki. Pamięć nie przetrzymuje podziałów źródłowych: wyniki
+ * dla podziałów usuniętych przez odśmiecacz są usuwane przy kolejnym
+ * dostępie.
+ * <p>
+ * Oprócz bezpośrednich trafień pamięć korzysta z równości:
+ * <pre>
+ *     (U^c)^c = U
+ *     (>>U)^c = >>(U^c) = <<U
+ *     (<<U)^c = <<(U^c) = >>U
+ *     (U^a)^c = ~U^a,  (~U^a)^c = U^a
+ * </pre>
+ * Jeżeli np. podział V został zwrócony przez 'complement(U)', to
+ * 'complement(V)' zwraca U bez żadnych obliczeń. Równości te zachodzą
+ * z dokładnością do epsilon dla poprawnych podziałów rozmytych (zob.
+ * 'FuzzyPartitionTheoremTest'), dlatego stosowane są tylko wtedy, gdy
+ * podział źródłowy spełnia 'validate'.
+ * <p>
+ * Zwracane podziały są współdzielone i nie mogą być modyfikowane (np.
+ * jako podziały docelowe operacji). Podziały źródłowe również nie mogą
+ * być modyfikowane po umieszczeniu wyników w pamięci - w przeciwnym razie
+ * należy wywołać 'invalidate'. Pamięć może być używana przez wiele wątków
+ * jednocześnie; ten sam wynik może wtedy zostać obliczony więcej niż raz.
+ */
+public final class PartitionCache {
+
+    /**
+     * Operacje, których wyniki są zapamiętywane.
+     */
+    private enum Operation {
+        COMPLEMENT, LS, COMPLEMENT_LS, MLS, COMPLEMENT_MLS,
+        ALPHA_LEVEL, COMPLEMENT_ALPHA_LEVEL
+    }
+
+    /**
+     * Klucz pamięci: słaba referencja do podziału źródłowego, operacja
+     * i jej parametr.
+     */
+    private static final class Key extends WeakReference<FuzzyPartition> {
+
+        private final int hash;
+        private final Operation operation;
+        private final double parameter;
+
+        Key(FuzzyPartition source, Operation operation, double parameter,
+            ReferenceQueue<FuzzyPartition> queue) {
+            super(source, queue);
+            this.operation = operation;
+            this.parameter = parameter;
+            this.hash = 31 * (31 * System.identityHashCode(source)
+                    + operation.hashCode()) + Double.hashCode(parameter);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key that = (Key) o;
+            FuzzyPartition source = get();
+            return source != null && source == that.get()
+                    && operation == that.operation
+                    && Double.compare(parameter, that.parameter) == 0;
+        }
+    }
+
+    /**
+     * Maksymalna łączna liczba elementów zapamiętanych podziałów.
+     */
+    private final long maxWeight;
+
+    /**
+     * Zapamiętane wyniki w kolejności od najdawniej używanego.
+     */
+    private final LinkedHashMap<Key, FuzzyPartition> entries =
+            new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * Pochodzenie zapamiętanych wyników, wykorzystywane przy stosowaniu
+     * równości.
+     */
+    private final IdentityHashMap<FuzzyPartition, Key> origins =
+            new IdentityHashMap<>();
+
+    /**
+     * Kolejka kluczy, których podziały źródłowe zostały usunięte.
+     */
+    private final ReferenceQueue<FuzzyPartition> collected =
+            new ReferenceQueue<>();
+
+    private long weight = 0;
+    private long hitCount = 0;
+    private long identityHitCount = 0;
+    private long missCount = 0;
+    private long evictionCount = 0;
+
+    /**
+     * Tworzy pustą pamięć podręczną.
+     *
+     * @param maxWeight Maksymalna łączna liczba elementów (M * N)
+     *                  zapamiętanych podziałów
+     */
+    public PartitionCache(long maxWeight) {
+        if (maxWeight <= 0) throw new IllegalArgumentException(
+                "Maximum weight must be positive"
+        );
+        this.maxWeight = maxWeight;
+    }
+
+    /**
+     * Zwraca dopełnienie podziału (zob. 'FuzzyPartition.complement').
+     *
+     * @param U Podział rozmyty
+     * @return Dopełnienie podziału U
+     */
+    public FuzzyPartition complement(FuzzyPartition U) {
+        return derive(U, Operation.COMPLEMENT, 0.0);
+    }
+
+    /**
+     * Zwraca liniowe wyostrzenie podziału (zob.
+     * 'FuzzyPartition.calculateLS').
+     *
+     * @param U Podział rozmyty
+     * @return Liniowe wyostrzenie podziału U
+     */
+    public FuzzyPartition calculateLS(FuzzyPartition U) {
+        return derive(U, Operation.LS, 0.0);
+    }
+
+    /**
+     * Zwraca dopełnienie liniowego wyostrzenia podziału (zob.
+     * 'FuzzyPartition.calculateComplementLS').
+     *
+     * @param U Podział rozmyty
+     * @return Dopełnienie liniowego wyostrzenia podziału U
+     */
+    public FuzzyPartition calculateComplementLS(FuzzyPartition U) {
+        return derive(U, Operation.COMPLEMENT_LS, 0.0);
+    }
+
+    /**
+     * Zwraca MLS podziału (zob. 'FuzzyPartition.calculateMLS').
+     *
+     * @param U Podział rozmyty
+     * @return MLS podziału U
+     */
+    public FuzzyPartition calculateMLS(FuzzyPartition U) {
+        return derive(U, Operation.MLS, 0.0);
+    }
+
+    /**
+     * Zwraca dopełnienie MLS podziału (zob.
+     * 'FuzzyPartition.calculateComplementMLS').
+     *
+     * @param U Podział rozmyty
+     * @return Dopełnienie MLS podziału U
+     */
+    public FuzzyPartition calculateComplementMLS(FuzzyPartition U) {
+        return derive(U, Operation.COMPLEMENT_MLS, 0.0);
+    }
+
+    /**
+     * Zwraca alfa-cięcie podziału (zob.
+     * 'FuzzyPartition.calculateAlphaLevel').
+     *
+     * @param U     Podział rozmyty
+     * @param alpha poziom, dla którego tworzymy alfa-cięcie
+     * @return Alfa-cięcie podziału U
+     */
+    public FuzzyPartition calculateAlphaLevel(FuzzyPartition U,
+                                              double alpha) {
+        return derive(U, Operation.ALPHA_LEVEL, alpha);
+    }
+
+    /**
+     * Zwraca dopełnienie alfa-cięcia podziału (zob.
+     * 'FuzzyPartition.calculateComplementAlphaLevel').
+     *
+     * @param U     Podział rozmyty
+     * @param alpha poziom, dla którego tworzymy alfa-cięcie
+     * @return Dopełnienie alfa-cięcia podziału U
+     */
+    public FuzzyPartition calculateComplementAlphaLevel(FuzzyPartition U,
+                                                        double alpha) {
+        return derive(U, Operation.COMPLEMENT_ALPHA_LEVEL, alpha);
+    }
+
+    /**
+     * Zwraca wynik operacji z pamięci, wyznacza go z równości lub oblicza
+     * i zapamiętuje.
+     */
+    private FuzzyPartition derive(FuzzyPartition U, Operation operation,
+                                  double parameter) {
+        Key key = new Key(U, operation, parameter, collected);
+        Key origin;
+        synchronized (this) {
+            purge();
+            FuzzyPartition cached = entries.get(key);
+            if (cached != null) {
+                hitCount++;
+                return cached;
+            }
+            origin = origins.get(U);
+        }
+
+        FuzzyPartition source = origin == null ? null : origin.get();
+        if (source != null) {
+            FuzzyPartition derived = deriveFromOrigin(source,
+                    origin.operation, origin.parameter, operation);
+            if (derived != null) return derived;
+        }
+
+        FuzzyPartition result = compute(U, operation, parameter);
+        synchronized (this) {
+            missCount++;
+            put(key, result);
+        }
+        return result;
+    }
+
+    /**
+     * Stosuje równości do operacji wykonywanej na podziale, który sam jest
+     * wynikiem operacji 'applied' na podziale 'source'. Równość liczona
+     * jest jako trafienie tylko wtedy, gdy wynik nie wymaga obliczeń:
+     * dla (U^c)^c = U oraz gdy równoważny wynik dla 'source' jest już
+     * w pamięci. W przeciwnym razie równoważny wynik obliczany jest
+     * i liczony jako chybienie przez 'derive'. Równości nie są stosowane,
+     * jeżeli 'source' nie jest poprawnym podziałem rozmytym.
+     *
+     * @return Wynik operacji lub null, jeżeli żadna równość nie pasuje
+     */
+    private FuzzyPartition deriveFromOrigin(FuzzyPartition source,
+                                            Operation applied,
+                                            double parameter,
+                                            Operation operation) {
+        // Równości udowodnione są tylko dla poprawnych podziałów.
+        if (!source.validate()) return null;
+        Operation equivalent = null;
+        if (operation == Operation.COMPLEMENT) {
+            switch (applied) {
+                case COMPLEMENT:
+                    synchronized (this) {
+                        identityHitCount++;
+                    }
+                    return source;
+                case MLS:
+                    equivalent = Operation.COMPLEMENT_MLS;
+                    break;
+                case COMPLEMENT_MLS:
+                    equivalent = Operation.MLS;
+                    break;
+                case ALPHA_LEVEL:
+                    equivalent = Operation.COMPLEMENT_ALPHA_LEVEL;
+                    break;
+                case COMPLEMENT_ALPHA_LEVEL:
+                    equivalent = Operation.ALPHA_LEVEL;
+                    break;
+                default:
+                    break;
+            }
+        } else if (applied == Operation.COMPLEMENT) {
+            if (operation == Operation.MLS)
+                equivalent = Operation.COMPLEMENT_MLS;
+            else if (operation == Operation.COMPLEMENT_MLS)
+                equivalent = Operation.MLS;
+        }
+        if (equivalent == null) return null;
+
+        Key key = new Key(source, equivalent, parameter, collected);
+        synchronized (this) {
+            FuzzyPartition cached = entries.get(key);
+            if (cached != null) {
+                identityHitCount++;
+                return cached;
+            }
+        }
+        return derive(source, equivalent, parameter);
+    }
+
+    /**
+     * Wykonuje operację na podziale.
+     */
+    private static FuzzyPartition compute(FuzzyPartition U,
+                                          Operation operation,
+                                          double parameter) {
+        switch (operation) {
+            case COMPLEMENT:
+                return U.complement();
+            case LS:
+                return U.calculateLS();
+            case COMPLEMENT_LS:
+                return U.calculateComplementLS();
+            case MLS:
+                return U.calculateMLS();
+            case COMPLEMENT_MLS:
+                return U.calculateComplementMLS();
+            case ALPHA_LEVEL:
+                return U.calculateAlphaLevel(parameter);
+            default:
+                return U.calculateComplementAlphaLevel(parameter);
+        }
+    }
+
+    /**
+     * Zapamiętuje wynik i usuwa najdawniej używane wyniki, dopóki łączna
+     * liczba elementów przekracza limit.
+     */
+    private void put(Key key, FuzzyPartition result) {
+        long resultWeight = (long) result.M * result.N;
+        if (resultWeight > maxWeight) return;
+        FuzzyPartition previous = entries.put(key, result);
+        if (previous != null) remove(previous);
+        origins.put(result, key);
+        weight += resultWeight;
+
+        Iterator<Map.Entry<Key, FuzzyPartition>> iterator =
+                entries.entrySet().iterator();
+        while (weight > maxWeight && iterator.hasNext()) {
+            FuzzyPartition evicted = iterator.next().getValue();
+            iterator.remove();
+            remove(evicted);
+            evictionCount++;
+        }
+    }
+
+    /**
+     * Usuwa informacje o wyniku usuniętym z mapy 'entries'.
+     */
+    private void remove(FuzzyPartition result) {
+        origins.remove(result);
+        weight -= (long) result.M * result.N;
+    }
+
+    /**
+     * Usuwa wyniki, których podziały źródłowe zostały usunięte przez
+     * odśmiecacz.
+     */
+    private void purge() {
+        Object reference;
+        while ((reference = collected.poll()) != null) {
+            FuzzyPartition result = entries.remove(reference);
+            if (result != null) remove(result);
+        }
+    }
+
+    /**
+     * Usuwa z pamięci wszystkie wyniki obliczone z podanego podziału,
+     * np. po jego modyfikacji.
+     *
+     * @param U Podział rozmyty
+     */
+    public synchronized void invalidate(FuzzyPartition U) {
+        Iterator<Map.Entry<Key, FuzzyPartition>> iterator =
+                entries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Key, FuzzyPartition> entry = iterator.next();
+            if (entry.getKey().get() == U) {
+                iterator.remove();
+                remove(entry.getValue());
+            }
+        }
+    }
+
+    /**
+     * Usuwa z pamięci wszystkie wyniki. Liczniki nie są zerowane.
+     */
+    public synchronized void clear() {
+        entries.clear();
+        origins.clear();
+        weight = 0;
+    }
+
+    /**
+     * Zwraca liczbę zapamiętanych wyników.
+     *
+     * @return Liczba wyników
+     */
+    public synchronized int getSize() {
+        purge();
+        return entries.size();
+    }
+
+    /**
+     * Zwraca łączną liczbę elementów (M * N) zapamiętanych wyników.
+     *
+     * @return Łączna liczba elementów
+     */
+    public synchronized long getWeight() {
+        purge();
+        return weight;
+    }
+
+    /**
+     * Zwraca liczbę wyników odczytanych bezpośrednio z pamięci.
+     *
+     * @return Liczba trafień
+     */
+    public synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * Zwraca liczbę wyników wyznaczonych przy pomocy równości bez
+     * obliczeń. Wynik równoważny, który trzeba było obliczyć, liczony jest
+     * jako chybienie.
+     *
+     * @return Liczba zastosowanych równości
+     */
+    public synchronized long getIdentityHitCount() {
+        return identityHitCount;
+    }
+
+    /**
+     * Zwraca liczbę wyników, które trzeba było obliczyć.
+     *
+     * @return Liczba chybień
+     */
+    public synchronized long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * Zwraca liczbę wyników usuniętych z powodu przekroczenia limitu.
+     *
+     * @return Liczba usuniętych wyników
+     */
+    public synchronized long getEvictionCount() {
+        return evictionCount;
+    }
+}
@@ -0,0 +1,491 @@
+package fuzzypartition;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Zwarty binarny format przesyłania podziałów rozmytych. Każda wartość
+ * zapisywana jest jako liczba stałoprzecinkowa q / Q o 8 (Q = 255) lub
+ * 16 (Q = 65535) bitach, a liczby q w każdej kolumnie sumują się
+ * dokładnie do Q. Zaokrąglanie odbywa się metodą największych reszt:
+ * wartości kolumny (podzielone przez jej sumę) mnożone są przez Q
+ * i zaokrąglane w dół, a brakujące jednostki dodawane są wartościom
+ * o największych częściach ułamkowych.
+ * <p>
+ * Błąd pojedynczej wartości po odkodowaniu jest mniejszy niż 1/Q
+ * (zob. 'maxError') powiększone o odległość sumy kolumny od 1, czyli
+ * dla poprawnego podziału o co najwyżej FuzzyPartition.epsilon. Jest to
+ * zwykle więcej niż epsilon, dlatego odkodowany podział na ogół nie
+ * jest równy (w sensie 'equals') oryginałowi. Sumy kolumn odkodowanego
+ * podziału różnią się od 1 jedynie o błąd zaokrągleń rzędu M * 2^-53,
+ * więc metoda 'validate' zwraca dla niego true.
+ * <p>
+ * Dane zapisywane są w kolejności little-endian: 16-bajtowy nagłówek,
+ * a po nim bloki kolejnych kolumn o rozmiarze około 64 KB. Jeżeli
+ * włączona jest kompresja, każdy blok kompresowany jest osobno algorytmem
+ * Deflate i poprzedzony swoją długością, dzięki czemu kodowanie
+ * i dekodowanie odbywa się strumieniowo, blok po bloku.
+ * <pre>
+ *     bajty 0-3    magiczna liczba 'FZPQ'
+ *     bajty 4-5    wersja formatu (1)
+ *     bajt  6      liczba bitów wartości: 8 lub 16
+ *     bajt  7      flagi: 1 - bloki skompresowane
+ *     bajty 8-11   M - liczba wierszy
+ *     bajty 12-15  N - liczba kolumn
+ *     bajty 16-    bloki kolumn
+ * </pre>
+ */
+public final class PartitionCodec {
+
+    /**
+     * Magiczna liczba rozpoczynająca dane ('FZPQ').
+     */
+    static final int MAGIC = 0x51505A46;
+
+    /**
+     * Wersja formatu.
+     */
+    static final short VERSION = 1;
+
+    /**
+     * Rozmiar nagłówka w bajtach.
+     */
+    static final int HEADER_SIZE = 16;
+
+    /**
+     * Flaga oznaczająca skompresowane bloki.
+     */
+    static final int COMPRESSED = 1;
+
+    /**
+     * Przybliżony rozmiar bloku kolumn w bajtach (przed kompresją).
+     */
+    private static final int BLOCK_SIZE = 1 << 16;
+
+    /**
+     * Największa liczba wartości podziału (oraz bajtów kolumny), którą
+     * można zapisać w jednej tablicy.
+     */
+    private static final long MAX_VALUES = Integer.MAX_VALUE - 8;
+
+    private PartitionCodec() {
+    }
+
+    /**
+     * Zwraca największy błąd pojedynczej wartości poprawnego podziału po
+     * zakodowaniu i odkodowaniu, nie licząc FuzzyPartition.epsilon.
+     *
+     * @param bits Liczba bitów wartości: 8 lub 16
+     * @return 1/Q, czyli 1/255 lub 1/65535
+     */
+    public static double maxError(int bits) {
+        return 1.0 / scale(bits);
+    }
+
+    /**
+     * Koduje podział do tablicy bajtów.
+     *
+     * @param U        Podział rozmyty
+     * @param bits     Liczba bitów wartości: 8 lub 16
+     * @param compress Czy bloki mają być skompresowane
+     * @return Zakodowany podział
+     */
+    public static byte[] encode(FuzzyPartition U, int bits,
+                                boolean compress) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            encode(U, out, bits, compress);
+        } catch (IOException e) {
+            // ByteArrayOutputStream nie zgłasza wyjątków.
+            throw new IllegalStateException(e);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Koduje podział do strumienia, blok po bloku. Wartości kolumny nie
+     * mogą być mniejsze od -FuzzyPartition.epsilon (wartości ujemne
+     * dopuszczane przez 'validate', powstające np. w wynikach 'calculateMLS'
+     * przez błędy zaokrągleń, zapisywane są jako 0), a jej suma musi być
+     * dodatnia; kolumny, których suma różni się od 1, są przed
+     * zakodowaniem dzielone przez swoją sumę.
+     *
+     * @param U        Podział rozmyty
+     * @param out      Strumień wyjściowy
+     * @param bits     Liczba bitów wartości: 8 lub 16
+     * @param compress Czy bloki mają być skompresowane
+     * @throws IOException jeżeli zapis się nie powiódł
+     */
+    public static void encode(FuzzyPartition U, OutputStream out, int bits,
+                              boolean compress) throws IOException {
+        int Q = scale(bits);
+        int M = U.M;
+        int N = U.N;
+        int bytes = bits / 8;
+        out.write(ByteBuffer.allocate(HEADER_SIZE)
+                .order(ByteOrder.LITTLE_ENDIAN)
+                .putInt(MAGIC)
+                .putShort(VERSION)
+                .put((byte) bits)
+                .put((byte) (compress ? COMPRESSED : 0))
+                .putInt(M)
+                .putInt(N)
+                .array());
+
+        int columnsPerBlock = columnsPerBlock(M, bytes);
+        byte[] block = new byte[columnsPerBlock * M * bytes];
+        byte[] compressed = compress ? new byte[block.length + 64] : null;
+        Deflater deflater = compress ? new Deflater(Deflater.BEST_SPEED)
+                : null;
+        Quantizer quantizer = new Quantizer(M, Q, FuzzyPartition.epsilon);
+        double[] column = new double[M];
+        try {
+            for (int from = 0; from < N; from += columnsPerBlock) {
+                int to = Math.min(N, from + columnsPerBlock);
+                int length = 0;
+                for (int j = from; j < to; j++) {
+                    U.storage.readColumn(j, column, 0);
+                    int[] q = quantizer.quantize(j, column);
+                    for (int i = 0; i < M; i++) {
+                        block[length++] = (byte) q[i];
+                        if (bytes == 2) {
+                            block[length++] = (byte) (q[i] >>> 8);
+                        }
+                    }
+                }
+                if (!compress) {
+                    out.write(block, 0, length);
+                    continue;
+                }
+                deflater.reset();
+                deflater.setInput(block, 0, length);
+                deflater.finish();
+                int size = 0;
+                while (!deflater.finished()) {
+                    if (size == compressed.length) {
+                        compressed = Arrays.copyOf(compressed,
+                                2 * compressed.length);
+                    }
+                    size += deflater.deflate(compressed, size,
+                            compressed.length - size);
+                }
+                out.write(ByteBuffer.allocate(Integer.BYTES)
+                        .order(ByteOrder.LITTLE_ENDIAN).putInt(size).array());
+                out.write(compressed, 0, size);
+            }
+        } finally {
+            if (deflater != null) deflater.end();
+        }
+    }
+
+    /**
+     * Odkodowuje podział z tablicy bajtów.
+     *
+     * @param data Zakodowany podział
+     * @return Odkodowany podział
+     * @throws IOException jeżeli dane nie są poprawnie zakodowanym
+     *                     podziałem
+     */
+    public static FuzzyPartition decode(byte[] data) throws IOException {
+        return decode(new ByteArrayInputStream(data));
+    }
+
+    /**
+     * Odczytuje ze strumienia jeden zakodowany podział. Strumień nie jest
+     * czytany dalej niż do końca podziału, więc kolejne podziały mogą być
+     * zapisane w tym samym strumieniu.
+     *
+     * @param in Strumień wejściowy
+     * @return Odkodowany podział
+     * @throws IOException jeżeli odczyt się nie powiódł lub dane nie są
+     *                     poprawnie zakodowanym podziałem
+     */
+    public static FuzzyPartition decode(InputStream in) throws IOException {
+        return decode(in, null);
+    }
+
+    /**
+     * Odczytuje ze strumienia jeden zakodowany podział bezpośrednio do
+     * podanej macierzy, np. utworzonej w arenie lub w pliku. Zakodowany
+     * podział musi mieć wymiary macierzy.
+     *
+     * @param in     Strumień wejściowy
+     * @param target Macierz, do której zapisywane są wartości
+     * @return Podział korzystający z podanej macierzy
+     * @throws IOException jeżeli odczyt się nie powiódł lub dane nie są
+     *                     poprawnie zakodowanym podziałem o wymiarach
+     *                     macierzy
+     */
+    public static FuzzyPartition decode(InputStream in,
+                                        PartitionStorage target)
+            throws IOException {
+        ByteBuffer header = ByteBuffer.wrap(readFully(in,
+                new byte[HEADER_SIZE], HEADER_SIZE))
+                .order(ByteOrder.LITTLE_ENDIAN);
+        if (header.getInt() != MAGIC) throw new IOException(
+                "Not an encoded fuzzy partition"
+        );
+        if (header.getShort() != VERSION) throw new IOException(
+                "Unsupported encoded fuzzy partition version"
+        );
+        int bits = header.get();
+        int flags = header.get();
+        int M = header.getInt();
+        int N = header.getInt();
+        if (bits != 8 && bits != 16) throw new IOException(
+                "Unsupported number of bits " + bits
+        );
+        if (M <= 0 || N <= 0) throw new IOException(
+                "Dimensions of partition must be positive"
+        );
+        int bytes = bits / 8;
+        // Nagłówek może pochodzić z niezaufanego źródła, dlatego wymiary
+        // sprawdzane są przed utworzeniem jakichkolwiek tablic, a tablice
+        // powiększane są dopiero w miarę odczytu kolejnych bloków.
+        long size = (long) M * N;
+        if (size > MAX_VALUES || (long) M * bytes > MAX_VALUES) {
+            throw new IOException("Encoded partition is " + M + "x" + N
+                    + ", which is too large");
+        }
+        if (target != null
+                && (target.rows() != M || target.columns() != N)) {
+            throw new IOException("Encoded partition is " + M + "x" + N
+                    + ", expected " + target.rows() + "x"
+                    + target.columns());
+        }
+
+        boolean compressed = (flags & COMPRESSED) != 0;
+        double Q = scale(bits);
+        int columnsPerBlock = columnsPerBlock(M, bytes);
+        byte[] block = new byte[(int) Math.min(
+                (long) columnsPerBlock * M * bytes, BLOCK_SIZE) + 1];
+        byte[] input = compressed ? new byte[block.length + 64] : null;
+        Inflater inflater = compressed ? new Inflater() : null;
+        double[] values = target == null ? new double[0] : null;
+        double[] column = null;
+        try {
+            for (int from = 0; from < N; from += columnsPerBlock) {
+                int to = Math.min(N, from + columnsPerBlock);
+                int length = (to - from) * M * bytes;
+                if (compressed) {
+                    int compressedSize = ByteBuffer.wrap(readFully(in,
+                                    new byte[Integer.BYTES], Integer.BYTES))
+                            .order(ByteOrder.LITTLE_ENDIAN).getInt();
+                    if (compressedSize < 0) throw new IOException(
+                            "Encoded fuzzy partition is corrupted"
+                    );
+                    input = readGrowing(in, input, compressedSize);
+                    block = inflate(inflater, input, compressedSize, block,
+                            length);
+                } else {
+                    block = readGrowing(in, block, length);
+                }
+                if (column == null) column = new double[M];
+                if (values != null && values.length < (long) to * M) {
+                    values = Arrays.copyOf(values, (int) Math.min(size,
+                            Math.max(2L * values.length, (long) to * M)));
+                }
+                int k = 0;
+                for (int j = from; j < to; j++) {
+                    for (int i = 0; i < M; i++) {
+                        int q = block[k++] & 0xFF;
+                        if (bytes == 2) q |= (block[k++] & 0xFF) << 8;
+                        column[i] = q / Q;
+                    }
+                    if (values != null) {
+                        System.arraycopy(column, 0, values, j * M, M);
+                    } else {
+                        target.writeColumn(j, column, 0);
+                    }
+                }
+            }
+        } finally {
+            if (inflater != null) inflater.end();
+        }
+        if (values != null) target = ColumnMajorStorage.wrap(M, N, values);
+        return new FuzzyPartition(target);
+    }
+
+    /**
+     * Zwraca Q dla podanej liczby bitów.
+     */
+    private static int scale(int bits) {
+        if (bits != 8 && bits != 16) throw new IllegalArgumentException(
+                "Number of bits must be 8 or 16"
+        );
+        return (1 << bits) - 1;
+    }
+
+    /**
+     * Zwraca liczbę kolumn w jednym bloku.
+     */
+    private static int columnsPerBlock(int M, int bytes) {
+        return (int) Math.max(1, BLOCK_SIZE / ((long) M * bytes));
+    }
+
+    /**
+     * Odczytuje dokładnie 'length' bajtów ze strumienia.
+     */
+    private static byte[] readFully(InputStream in, byte[] buffer,
+                                    int length) throws IOException {
+        if (in.readNBytes(buffer, 0, length) != length) {
+            throw new IOException("Encoded fuzzy partition is truncated");
+        }
+        return buffer;
+    }
+
+    /**
+     * Odczytuje dokładnie 'length' bajtów ze strumienia do podanej tablicy
+     * lub do tablicy powiększanej w miarę odczytu danych, jeżeli podana
+     * jest za krótka. Dzięki temu rozmiar tablicy nie przekracza
+     * (z dokładnością do dwukrotności) liczby faktycznie odczytanych
+     * bajtów, nawet jeżeli długość pochodzi z uszkodzonych danych.
+     *
+     * @return Tablica zawierająca odczytane bajty
+     */
+    private static byte[] readGrowing(InputStream in, byte[] buffer,
+                                      int length) throws IOException {
+        int read = 0;
+        while (read < length) {
+            if (read == buffer.length) {
+                buffer = Arrays.copyOf(buffer,
+                        (int) Math.min(length, 2L * buffer.length));
+            }
+            int n = in.readNBytes(buffer, read,
+                    Math.min(buffer.length, length) - read);
+            if (n == 0) throw new IOException(
+                    "Encoded fuzzy partition is truncated"
+            );
+            read += n;
+        }
+        return buffer;
+    }
+
+    /**
+     * Dekompresuje blok, który po dekompresji musi mieć dokładnie
+     * 'length' bajtów. Tablica wyjściowa powiększana jest w miarę
+     * dekompresji do co najwyżej 'length' + 1 bajtów, dzięki czemu
+     * wykrywane są również zbyt długie bloki.
+     *
+     * @return Tablica zawierająca zdekompresowany blok
+     */
+    private static byte[] inflate(Inflater inflater, byte[] input, int size,
+                                  byte[] output, int length)
+            throws IOException {
+        inflater.reset();
+        inflater.setInput(input, 0, size);
+        try {
+            int inflated = 0;
+            while (!inflater.finished() && inflated <= length) {
+                if (inflated == output.length) {
+                    output = Arrays.copyOf(output,
+                            (int) Math.min(length + 1L, 2L * output.length));
+                }
+                int n = inflater.inflate(output, inflated,
+                        output.length - inflated);
+                if (n == 0 && (inflater.needsInput()
+                        || inflater.needsDictionary())) {
+                    break;
+                }
+                inflated += n;
+            }
+            if (inflated != length || !inflater.finished()) {
+                throw new IOException("Encoded fuzzy partition is corrupted");
+            }
+            return output;
+        } catch (DataFormatException e) {
+            throw new IOException("Encoded fuzzy partition is corrupted", e);
+        }
+    }
+
+    /**
+     * Zaokrąglanie kolumn metodą największych reszt. Tablice pomocnicze
+     * używane są ponownie dla kolejnych kolumn.
+     */
+    private static final class Quantizer {
+
+        private final int Q;
+        private final double epsilon;
+        private final int[] q;
+
+        /**
+         * Części ułamkowe (w starszych bitach) wraz z numerami wierszy
+         * (w młodszych bitach), sortowane rosnąco.
+         */
+        private final long[] remainders;
+
+        Quantizer(int M, int Q, double epsilon) {
+            this.Q = Q;
+            this.epsilon = epsilon;
+            this.q = new int[M];
+            this.remainders = new long[M];
+        }
+
+        /**
+         * Zaokrągla kolumnę do liczb całkowitych sumujących się do Q.
+         * Wartości z przedziału [-epsilon, 0) są w kolumnie zastępowane
+         * zerem.
+         *
+         * @param j      Numer kolumny (do komunikatu o błędzie)
+         * @param column Wartości kolumny
+         * @return Liczby całkowite q (tablica używana ponownie)
+         */
+        int[] quantize(int j, double[] column) {
+            int M = column.length;
+            double sum = 0.0;
+            for (int i = 0; i < M; i++) {
+                double value = column[i];
+                if (!(value >= -epsilon)
+                        || value == Double.POSITIVE_INFINITY) {
+                    throw new IllegalArgumentException("Column " + j
+                            + " contains a negative or non-finite value");
+                }
+                if (value < 0) column[i] = value = 0.0;
+                sum += value;
+            }
+            if (!(sum > 0) || sum == Double.POSITIVE_INFINITY) {
+                throw new IllegalArgumentException("Column " + j
+                        + " does not have a positive finite sum");
+            }
+
+            double factor = Q / sum;
+            long total = 0;
+            for (int i = 0; i < M; i++) {
+                double scaled = Math.min(Q, column[i] * factor);
+                double floor = Math.floor(scaled);
+                q[i] = (int) floor;
+                total += q[i];
+                long fraction = (long) ((scaled - floor) * (1L << 31));
+                remainders[i] = (fraction << 32) | i;
+            }
+            long deficit = Q - total;
+            if (deficit == 0) return q;
+
+            Arrays.sort(remainders);
+            // Brakujące jednostki dostają wartości o największych resztach,
+            // a nadmiarowe (możliwe tylko przez błędy zaokrągleń) tracą
+            // wartości o najmniejszych resztach.
+            for (int k = M - 1; deficit > 0; k = k == 0 ? M - 1 : k - 1) {
+                q[(int) remainders[k]]++;
+                deficit--;
+            }
+            for (int k = 0; deficit < 0; k = k == M - 1 ? 0 : k + 1) {
+                int i = (int) remainders[k];
+                if (q[i] > 0) {
+                    q[i]--;
+                    deficit++;
+                }
+            }
+            return q;
+        }
+    }
+}
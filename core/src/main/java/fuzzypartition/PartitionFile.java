@@ -0,0 +1,478 @@
+package fuzzypartition;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.FloatBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Binarny format pliku z podziałem rozmytym oraz odczyt i zapis takich
+ * plików przy pomocy odwzorowania w pamięci (FileChannel.map). Podziały
+ * otwarte z pliku korzystają bezpośrednio z odwzorowanego pliku, dzięki
+ * czemu mogą być większe niż sterta, a wszystkie operacje klasy
+ * 'FuzzyPartition' wykonywane są na pliku bez kopiowania go do pamięci.
+ * Wyniki operacji tworzących nowy podział (np. 'complement()' czy
+ * 'calculateLS()') zapisywane są w tymczasowych plikach odwzorowanych
+ * w pamięci, tworzonych w katalogu pliku źródłowego (zob.
+ * 'MappedStorage.newStorage'). Aby zachować wynik, należy użyć wersji
+ * operacji z podziałem docelowym utworzonym metodą 'create'.
+ * <p>
+ * Plik składa się z 24-bajtowego nagłówka i następujących po nim wartości.
+ * Wszystkie liczby zapisane są w kolejności little-endian.
+ * <pre>
+ *     bajty 0-3    magiczna liczba 'FZPT'
+ *     bajty 4-5    wersja formatu (1)
+ *     bajt  6      układ wartości: 0 - kolumnowy, 1 - wierszowy
+ *     bajt  7      precyzja: 8 - double, 4 - float
+ *     bajty 8-11   M - liczba wierszy
+ *     bajty 12-15  N - liczba kolumn
+ *     bajty 16-23  zarezerwowane (0)
+ *     bajty 24-    M * N wartości
+ * </pre>
+ */
+public final class PartitionFile {
+
+    /**
+     * Magiczna liczba rozpoczynająca plik ('FZPT').
+     */
+    static final int MAGIC = 0x54505A46;
+
+    /**
+     * Wersja formatu.
+     */
+    static final short VERSION = 1;
+
+    /**
+     * Rozmiar nagłówka w bajtach. Jest wielokrotnością 8, dzięki czemu
+     * wartości w pliku są wyrównane.
+     */
+    static final int HEADER_SIZE = 24;
+
+    /**
+     * Układ kolumnowy - wartości z jednej kolumny leżą obok siebie.
+     */
+    public static final int COLUMN_MAJOR = 0;
+
+    /**
+     * Układ wierszowy - wartości z jednego wiersza leżą obok siebie.
+     */
+    public static final int ROW_MAJOR = 1;
+
+    private PartitionFile() {
+    }
+
+    /**
+     * Otwiera podział zapisany w pliku w trybie tylko do odczytu.
+     *
+     * @param path Ścieżka do pliku
+     * @return Podział korzystający z odwzorowanego pliku
+     * @throws IOException jeżeli pliku nie można odczytać lub nie jest on
+     *                     plikiem z podziałem rozmytym
+     */
+    public static FuzzyPartition open(Path path) throws IOException {
+        return open(path, false);
+    }
+
+    /**
+     * Otwiera podział zapisany w pliku. Jeżeli 'writable' jest prawdą,
+     * zmiany wartości podziału (np. operacje zapisujące wynik w miejscu)
+     * zapisywane są w pliku.
+     *
+     * @param path     Ścieżka do pliku
+     * @param writable Czy plik ma być otwarty do zapisu
+     * @return Podział korzystający z odwzorowanego pliku
+     * @throws IOException jeżeli pliku nie można odczytać lub nie jest on
+     *                     plikiem z podziałem rozmytym
+     */
+    public static FuzzyPartition open(Path path, boolean writable)
+            throws IOException {
+        try (FileChannel channel = writable
+                ? FileChannel.open(path, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)
+                : FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE)
+                    .order(ByteOrder.LITTLE_ENDIAN);
+            while (header.hasRemaining()) {
+                if (channel.read(header) < 0) throw new IOException(
+                        "Not a fuzzy partition file"
+                );
+            }
+            header.flip();
+            if (header.getInt() != MAGIC) throw new IOException(
+                    "Not a fuzzy partition file"
+            );
+            if (header.getShort() != VERSION) throw new IOException(
+                    "Unsupported fuzzy partition file version"
+            );
+            int layout = header.get();
+            int precision = header.get();
+            int M = header.getInt();
+            int N = header.getInt();
+            checkFormat(M, N, layout, precision);
+            if (channel.size() < HEADER_SIZE + (long) M * N * precision) {
+                throw new IOException("Fuzzy partition file is truncated");
+            }
+            return new FuzzyPartition(new MappedStorage(channel,
+                    writable ? FileChannel.MapMode.READ_WRITE
+                            : FileChannel.MapMode.READ_ONLY,
+                    M, N, layout, precision, directoryOf(path)));
+        }
+    }
+
+    /**
+     * Tworzy nowy plik z wyzerowanym podziałem o wymiarach MxN
+     * (w układzie kolumnowym, o precyzji double) i otwiera go do zapisu.
+     * Tak utworzony podział może być podziałem docelowym operacji, np.
+     * U.complement(PartitionFile.create(path, U.M, U.N)), dzięki czemu
+     * wynik zapisywany jest od razu w pliku.
+     *
+     * @param path Ścieżka do nowego pliku
+     * @param M    Liczba wierszy
+     * @param N    Liczba kolumn
+     * @return Podział korzystający z odwzorowanego pliku
+     * @throws IOException jeżeli pliku nie można utworzyć
+     */
+    public static FuzzyPartition create(Path path, int M, int N)
+            throws IOException {
+        return create(path, M, N, COLUMN_MAJOR, Double.BYTES);
+    }
+
+    /**
+     * Tworzy nowy plik z wyzerowanym podziałem o wymiarach MxN i otwiera
+     * go do zapisu.
+     *
+     * @param path      Ścieżka do nowego pliku
+     * @param M         Liczba wierszy
+     * @param N         Liczba kolumn
+     * @param layout    Układ wartości: COLUMN_MAJOR lub ROW_MAJOR
+     * @param precision Liczba bajtów na wartość: 8 (double) lub 4 (float)
+     * @return Podział korzystający z odwzorowanego pliku
+     * @throws IOException jeżeli pliku nie można utworzyć
+     */
+    public static FuzzyPartition create(Path path, int M, int N,
+                                        int layout, int precision)
+            throws IOException {
+        checkFormat(M, N, layout, precision);
+        try (FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            return new FuzzyPartition(initialize(channel, M, N, layout,
+                    precision, directoryOf(path)));
+        }
+    }
+
+    /**
+     * Tworzy wyzerowany podział o wymiarach MxN w nowym pliku
+     * tymczasowym w podanym katalogu. Plik usuwany jest zaraz po
+     * odwzorowaniu - odwzorowanie pozostaje ważne, a miejsce na dysku
+     * zwalniane jest, gdy podział przestanie być używany. Jeżeli system
+     * nie pozwala usunąć odwzorowanego pliku, zostanie on usunięty przy
+     * zakończeniu maszyny wirtualnej.
+     *
+     * @param directory Katalog, w którym tworzony jest plik
+     * @param M         Liczba wierszy
+     * @param N         Liczba kolumn
+     * @return Macierz korzystająca z odwzorowanego pliku
+     * @throws IOException jeżeli pliku nie można utworzyć
+     */
+    static MappedStorage createTemporary(Path directory, int M, int N)
+            throws IOException {
+        checkFormat(M, N, COLUMN_MAJOR, Double.BYTES);
+        Path path = Files.createTempFile(directory, "partition", ".fzp");
+        try (FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return initialize(channel, M, N, COLUMN_MAJOR, Double.BYTES,
+                    directory);
+        } finally {
+            try {
+                Files.deleteIfExists(path);
+            } catch (IOException e) {
+                path.toFile().deleteOnExit();
+            }
+        }
+    }
+
+    /**
+     * Zapisuje nagłówek w pustym pliku i odwzorowuje go do zapisu.
+     */
+    private static MappedStorage initialize(FileChannel channel, int M, int N,
+                                            int layout, int precision,
+                                            Path directory)
+            throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE)
+                .order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(MAGIC)
+                .putShort(VERSION)
+                .put((byte) layout)
+                .put((byte) precision)
+                .putInt(M)
+                .putInt(N)
+                .putLong(0L)
+                .flip();
+        while (header.hasRemaining()) channel.write(header);
+        return new MappedStorage(channel, FileChannel.MapMode.READ_WRITE,
+                M, N, layout, precision, directory);
+    }
+
+    /**
+     * Zwraca katalog, w którym leży plik.
+     */
+    private static Path directoryOf(Path path) {
+        return path.toAbsolutePath().getParent();
+    }
+
+    /**
+     * Zapisuje podział do nowego pliku (w układzie kolumnowym, o precyzji
+     * double). Wartości kopiowane są kolumna po kolumnie bezpośrednio do
+     * odwzorowanego pliku.
+     *
+     * @param U    Podział rozmyty
+     * @param path Ścieżka do nowego pliku
+     * @throws IOException jeżeli pliku nie można utworzyć
+     */
+    public static void write(FuzzyPartition U, Path path) throws IOException {
+        FuzzyPartition file = create(path, U.M, U.N);
+        // Kolumny kopiowane są bez przekształcania.
+        ColumnKernels.transformColumns(U.storage, file.storage,
+                (c, offset, M) -> {
+                });
+        ((MappedStorage) file.storage).force();
+    }
+
+    /**
+     * Sprawdza poprawność parametrów formatu.
+     */
+    private static void checkFormat(int M, int N, int layout, int precision)
+            throws IOException {
+        if (M <= 0 || N <= 0) throw new IOException(
+                "Dimensions of partition must be positive"
+        );
+        if (layout != COLUMN_MAJOR && layout != ROW_MAJOR)
+            throw new IOException("Unknown layout " + layout);
+        if (precision != Double.BYTES && precision != Float.BYTES)
+            throw new IOException("Unsupported precision " + precision);
+    }
+
+    /**
+     * Implementacja 'PartitionStorage' korzystająca z odwzorowanego
+     * w pamięci pliku. Pojedyncze odwzorowanie może mieć co najwyżej 2 GB,
+     * dlatego plik odwzorowywany jest w segmentach po 2^27 wartości.
+     * Wartości nie przekraczają granic segmentów, ponieważ nagłówek
+     * i segmenty mają rozmiary będące wielokrotnością rozmiaru wartości.
+     * W układzie kolumnowym kolumny odczytywane i zapisywane są
+     * fragmentami leżącymi w kolejnych segmentach, a nie pojedynczymi
+     * wartościami.
+     */
+    public static final class MappedStorage implements PartitionStorage {
+
+        /**
+         * Logarytm liczby wartości w jednym segmencie.
+         */
+        static final int SEGMENT_SHIFT = 27;
+
+        /**
+         * Logarytm liczby wartości w jednym segmencie tej macierzy. Różny
+         * od 'SEGMENT_SHIFT' jedynie w testach.
+         */
+        private final int segmentShift;
+
+        /**
+         * Maska wyznaczająca pozycję wartości w segmencie.
+         */
+        private final long segmentMask;
+
+        private final int rows;
+        private final int columns;
+        private final boolean rowMajor;
+
+        /**
+         * Katalog, w którym tworzone są pliki z wynikami operacji.
+         */
+        private final Path directory;
+
+        /**
+         * Odwzorowane segmenty pliku.
+         */
+        private final MappedByteBuffer[] segments;
+
+        /**
+         * Widoki segmentów jako wartości double (gdy precyzja to 8).
+         */
+        private final DoubleBuffer[] doubles;
+
+        /**
+         * Widoki segmentów jako wartości float (gdy precyzja to 4).
+         */
+        private final FloatBuffer[] floats;
+
+        MappedStorage(FileChannel channel, FileChannel.MapMode mode,
+                      int rows, int columns, int layout, int precision,
+                      Path directory)
+                throws IOException {
+            this(channel, mode, rows, columns, layout, precision, directory,
+                    SEGMENT_SHIFT);
+        }
+
+        MappedStorage(FileChannel channel, FileChannel.MapMode mode,
+                      int rows, int columns, int layout, int precision,
+                      Path directory, int segmentShift)
+                throws IOException {
+            this.segmentShift = segmentShift;
+            this.segmentMask = (1L << segmentShift) - 1;
+            this.rows = rows;
+            this.columns = columns;
+            this.rowMajor = layout == ROW_MAJOR;
+            this.directory = directory;
+
+            long count = (long) rows * columns;
+            int segmentCount = (int) ((count + segmentMask) >>> segmentShift);
+            segments = new MappedByteBuffer[segmentCount];
+            doubles = precision == Double.BYTES
+                    ? new DoubleBuffer[segmentCount] : null;
+            floats = precision == Float.BYTES
+                    ? new FloatBuffer[segmentCount] : null;
+            for (int k = 0; k < segmentCount; k++) {
+                long first = (long) k << segmentShift;
+                long length = Math.min(count - first, 1L << segmentShift);
+                segments[k] = channel.map(mode,
+                        HEADER_SIZE + first * precision,
+                        length * precision);
+                segments[k].order(ByteOrder.LITTLE_ENDIAN);
+                if (doubles != null) doubles[k] = segments[k].asDoubleBuffer();
+                else floats[k] = segments[k].asFloatBuffer();
+            }
+        }
+
+        @Override
+        public int rows() {
+            return rows;
+        }
+
+        @Override
+        public int columns() {
+            return columns;
+        }
+
+        /**
+         * Wyznacza numer wartości w pliku.
+         */
+        private long index(int row, int column) {
+            return rowMajor
+                    ? (long) row * columns + column
+                    : (long) column * rows + row;
+        }
+
+        @Override
+        public double get(int row, int column) {
+            long index = index(row, column);
+            int segment = (int) (index >>> segmentShift);
+            int position = (int) (index & segmentMask);
+            if (doubles != null) return doubles[segment].get(position);
+            return floats[segment].get(position);
+        }
+
+        @Override
+        public void set(int row, int column, double value) {
+            long index = index(row, column);
+            int segment = (int) (index >>> segmentShift);
+            int position = (int) (index & segmentMask);
+            if (doubles != null) doubles[segment].put(position, value);
+            else floats[segment].put(position, (float) value);
+        }
+
+        /**
+         * W układzie kolumnowym kolumna kopiowana jest jedną operacją na
+         * każdy segment, w którym leży jej fragment.
+         */
+        @Override
+        public void readColumn(int column, double[] target, int offset) {
+            if (rowMajor) {
+                PartitionStorage.super.readColumn(column, target, offset);
+                return;
+            }
+            long index = (long) column * rows;
+            for (int done = 0; done < rows; ) {
+                int segment = (int) (index >>> segmentShift);
+                int position = (int) (index & segmentMask);
+                int length = (int) Math.min(rows - done,
+                        segmentMask + 1 - position);
+                if (doubles != null) {
+                    doubles[segment].get(position, target, offset + done,
+                            length);
+                } else {
+                    FloatBuffer values = floats[segment];
+                    for (int i = 0; i < length; i++)
+                        target[offset + done + i] = values.get(position + i);
+                }
+                done += length;
+                index += length;
+            }
+        }
+
+        /**
+         * W układzie kolumnowym kolumna zapisywana jest jedną operacją na
+         * każdy segment, w którym leży jej fragment.
+         */
+        @Override
+        public void writeColumn(int column, double[] source, int offset) {
+            if (rowMajor) {
+                PartitionStorage.super.writeColumn(column, source, offset);
+                return;
+            }
+            long index = (long) column * rows;
+            for (int done = 0; done < rows; ) {
+                int segment = (int) (index >>> segmentShift);
+                int position = (int) (index & segmentMask);
+                int length = (int) Math.min(rows - done,
+                        segmentMask + 1 - position);
+                if (doubles != null) {
+                    doubles[segment].put(position, source, offset + done,
+                            length);
+                } else {
+                    FloatBuffer values = floats[segment];
+                    for (int i = 0; i < length; i++)
+                        values.put(position + i,
+                                (float) source[offset + done + i]);
+                }
+                done += length;
+                index += length;
+            }
+        }
+
+        /**
+         * Tworzy macierz wyniku operacji w tymczasowym pliku odwzorowanym
+         * w pamięci (w układzie kolumnowym, o precyzji double), w tym
+         * samym katalogu co plik podziału. Dzięki temu wyniki operacji na
+         * podziałach większych niż sterta również nie są przechowywane na
+         * stercie.
+         *
+         * @param rows    Liczba wierszy
+         * @param columns Liczba kolumn
+         * @return Nowa macierz w pliku tymczasowym
+         * @throws UncheckedIOException jeżeli pliku nie można utworzyć
+         */
+        @Override
+        public PartitionStorage newStorage(int rows, int columns) {
+            try {
+                return createTemporary(directory, rows, columns);
+            } catch (IOException e) {
+                throw new UncheckedIOException(
+                        "Could not create a temporary partition file", e);
+            }
+        }
+
+        /**
+         * Wymusza zapisanie zmian na dysku.
+         */
+        public void force() {
+            for (MappedByteBuffer segment : segments) segment.force();
+        }
+    }
+}
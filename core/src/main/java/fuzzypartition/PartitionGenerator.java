@@ -0,0 +1,240 @@
+package fuzzypartition;
+
+import java.util.SplittableRandom;
+
+/**
+ * Generator losowych podziałów rozmytych. Wyniki generatora utworzonego
+ * z podanym ziarnem są powtarzalne, niezależnie od tego, czy kolumny
+ * generowane są równolegle (zob. 'FuzzyPartition.setParallelism'):
+ * każdy podział otrzymuje własne ziarno, a każda jego kolumna - własny,
+ * niezależny od pozostałych kolumn strumień liczb losowych wyznaczony
+ * przez to ziarno i numer kolumny.
+ * <p>
+ * Generator może być używany przez wiele wątków jednocześnie, jednak
+ * kolejność podziałów pobieranych z kilku wątków nie jest wtedy
+ * określona. Aby zachować powtarzalność, każdy wątek powinien korzystać
+ * z własnego generatora (zob. 'split').
+ */
+public final class PartitionGenerator {
+
+    /**
+     * Stała rozdzielająca ziarna kolejnych kolumn.
+     */
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    /**
+     * Generator wykorzystywany przez konstruktor
+     * 'FuzzyPartition(int M, int N)'.
+     */
+    static final PartitionGenerator SHARED =
+            new PartitionGenerator(new SplittableRandom());
+
+    /**
+     * Źródło ziaren kolejnych podziałów.
+     */
+    private final SplittableRandom seeds;
+
+    private PartitionGenerator(SplittableRandom seeds) {
+        this.seeds = seeds;
+    }
+
+    /**
+     * Tworzy generator o podanym ziarnie.
+     *
+     * @param seed Ziarno generatora
+     * @return Nowy generator
+     */
+    public static PartitionGenerator withSeed(long seed) {
+        return new PartitionGenerator(new SplittableRandom(seed));
+    }
+
+    /**
+     * Tworzy nowy generator, niezależny od bieżącego. Kolejne wywołania
+     * zwracają różne generatory, ale ich ciąg jest wyznaczony przez ziarno
+     * bieżącego generatora.
+     *
+     * @return Nowy generator
+     */
+    public synchronized PartitionGenerator split() {
+        return new PartitionGenerator(seeds.split());
+    }
+
+    /**
+     * Zwraca ziarno kolejnego podziału.
+     */
+    private synchronized long nextSeed() {
+        return seeds.nextLong();
+    }
+
+    /**
+     * Zwraca podział o wymiarach MxN, w którym każda wartość losowana jest
+     * z rozkładu jednostajnego na przedziale [0,1], a następnie kolumny są
+     * przeskalowane tak, aby sumowały się do 1. Jest to ten sam rozkład,
+     * z którego korzysta konstruktor 'FuzzyPartition(int M, int N)'.
+     *
+     * @param M Liczba wierszy
+     * @param N Liczba kolumn
+     * @return Nowy losowy podział rozmyty
+     */
+    public FuzzyPartition uniform(int M, int N) {
+        return new FuzzyPartition(uniformStorage(M, N));
+    }
+
+    /**
+     * Tworzy macierz dla metody 'uniform'.
+     */
+    ColumnMajorStorage uniformStorage(int M, int N) {
+        return generate(M, N, (random, c, offset) -> {
+            for (int i = offset; i < offset + M; i++)
+                c[i] = random.nextDouble();
+        });
+    }
+
+    /**
+     * Zwraca podział o wymiarach MxN, którego kolumny losowane są
+     * z symetrycznego rozkładu Dirichleta z parametrem koncentracji
+     * 'concentration'. Dla wartości 1 kolumny mają rozkład jednostajny na
+     * sympleksie, dla wartości mniejszych od 1 są bliskie podziałom
+     * ostrym, a dla dużych wartości zbliżają się do 1/M.
+     *
+     * @param M             Liczba wierszy
+     * @param N             Liczba kolumn
+     * @param concentration Parametr koncentracji, większy od zera
+     * @return Nowy losowy podział rozmyty
+     */
+    public FuzzyPartition dirichlet(int M, int N, double concentration) {
+        if (!(concentration > 0.0)) throw new IllegalArgumentException(
+                "Concentration must be bigger than zero"
+        );
+        return new FuzzyPartition(generate(M, N, (random, c, offset) -> {
+            for (int i = offset; i < offset + M; i++)
+                c[i] = gamma(random, concentration);
+        }));
+    }
+
+    /**
+     * Zwraca podział o wymiarach MxN bliski podziałowi ostremu. W każdej
+     * kolumnie losowany jest jeden wiersz, a kolumna jest kombinacją
+     * wypukłą wektora jednostkowego tego wiersza (z wagą 1 - fuzziness)
+     * i losowej kolumny jak w metodzie 'uniform' (z wagą fuzziness).
+     * Dla fuzziness = 0 wynikiem jest podział ostry.
+     *
+     * @param M         Liczba wierszy
+     * @param N         Liczba kolumn
+     * @param fuzziness Stopień rozmycia z przedziału [0,1]
+     * @return Nowy losowy podział rozmyty
+     */
+    public FuzzyPartition nearCrisp(int M, int N, double fuzziness) {
+        if (!(fuzziness >= 0.0 && fuzziness <= 1.0)) {
+            throw new IllegalArgumentException(
+                    "Fuzziness must be in range [0,1]"
+            );
+        }
+        return new FuzzyPartition(generate(M, N, (random, c, offset) -> {
+            double sum = 0.0;
+            for (int i = offset; i < offset + M; i++) {
+                c[i] = random.nextDouble();
+                sum += c[i];
+            }
+            double scale = fuzziness / sum;
+            for (int i = offset; i < offset + M; i++) c[i] *= scale;
+            // Wartość 1 - fuzziness dodajemy do jednego z wierszy, przez
+            // co kolumna nadal sumuje się do 1.
+            c[offset + random.nextInt(M)] += 1.0 - fuzziness;
+        }));
+    }
+
+    /**
+     * Operacja losująca nieznormalizowane wartości kolumny.
+     */
+    @FunctionalInterface
+    private interface ColumnSampler {
+
+        /**
+         * Zapisuje w tablicy nieujemne wartości kolumny.
+         *
+         * @param random Strumień liczb losowych kolumny
+         * @param column Tablica zawierająca kolumnę
+         * @param offset Indeks pierwszego elementu kolumny w tablicy
+         */
+        void sample(SplittableRandom random, double[] column, int offset);
+    }
+
+    /**
+     * Tworzy macierz MxN, losując kolejne kolumny (równolegle, jeżeli
+     * zostało to włączone) i skalując je tak, aby sumowały się do 1.
+     */
+    private ColumnMajorStorage generate(int M, int N,
+                                        ColumnSampler sampler) {
+        ColumnMajorStorage storage = new ColumnMajorStorage(M, N);
+        double[] values = storage.values;
+        long seed = nextSeed();
+        ColumnTasks.forEachRange(M, N, (from, to) -> {
+            for (int j = from; j < to; j++) {
+                SplittableRandom random = new SplittableRandom(
+                        columnSeed(seed, j));
+                int offset = j * M;
+                sampler.sample(random, values, offset);
+                double sum = 0.0;
+                for (int i = offset; i < offset + M; i++) sum += values[i];
+                if (sum > 0.0) {
+                    for (int i = offset; i < offset + M; i++)
+                        values[i] /= sum;
+                } else {
+                    // Wszystkie wartości okazały się zerami (np. przy
+                    // bardzo małej koncentracji) - kolumna staje się
+                    // ostra.
+                    values[offset + random.nextInt(M)] = 1.0;
+                }
+            }
+        });
+        return storage;
+    }
+
+    /**
+     * Wyznacza ziarno strumienia kolumny j. Strumień 'SplittableRandom'
+     * o ziarnie s zaczyna się od wartości wyznaczonych przez s + GAMMA,
+     * s + 2 * GAMMA, ..., dlatego ziarna postaci seed + j * GOLDEN_GAMMA
+     * dawałyby strumienie przesunięte względem siebie o j wartości
+     * (sąsiednie kolumny korzystałyby z tych samych liczb). Ziarno jest
+     * więc dodatkowo mieszane funkcją 'mix64' z algorytmu SplitMix64.
+     *
+     * @param seed Ziarno podziału
+     * @param j    Numer kolumny
+     * @return Ziarno strumienia kolumny
+     */
+    static long columnSeed(long seed, int j) {
+        long z = seed + (j + 1) * GOLDEN_GAMMA;
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Losuje liczbę z rozkładu gamma o podanym parametrze kształtu
+     * i skali 1 metodą Marsaglii i Tsanga.
+     *
+     * @param random Strumień liczb losowych
+     * @param shape  Parametr kształtu, większy od zera
+     * @return Wylosowana liczba
+     */
+    private static double gamma(SplittableRandom random, double shape) {
+        if (shape < 1.0) {
+            // Gamma(k) = Gamma(k + 1) * U^(1/k)
+            double u = random.nextDouble();
+            return gamma(random, shape + 1.0) * Math.pow(u, 1.0 / shape);
+        }
+        double d = shape - 1.0 / 3.0;
+        double c = 1.0 / Math.sqrt(9.0 * d);
+        while (true) {
+            double x = random.nextGaussian();
+            double v = 1.0 + c * x;
+            if (v <= 0.0) continue;
+            v = v * v * v;
+            double u = random.nextDouble();
+            if (u < 1.0 - 0.0331 * x * x * x * x) return d * v;
+            if (Math.log(u) < 0.5 * x * x + d * (1.0 - v + Math.log(v)))
+                return d * v;
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package fuzzypartition;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Indeks zbioru podziałów rozmytych pozwalający szybko znaleźć podziały
+ * równe podanemu w sensie metody 'equals', bez porównywania go ze
+ * wszystkimi podziałami zbioru. Kandydaci wyszukiwani są po skrótach pasm
+ * (zob. 'PartitionSketch'), a następnie potwierdzani metodą 'equals'.
+ * <p>
+ * Indeks zwraca wyłącznie podziały rzeczywiście równe podanemu. Dla
+ * podanego podziału sprawdzane są wszystkie skróty pasm, jakie może mieć
+ * podział różniący się od niego o co najwyżej epsilon (zob. próbki
+ * w 'PartitionSketch'), więc podział równy podanemu jest znajdowany
+ * zawsze, o ile w którymś z pasm limit próbek nie został przekroczony.
+ * Limit może zostać przekroczony tylko wtedy, gdy w wielu kolumnach pasma
+ * wartości leżą bliżej granicy oczka siatki pasm niż epsilon, co dla
+ * oczka 64 * epsilon zdarza się rzadko. Podziały w indeksie nie mogą być
+ * modyfikowane, a po zmianie epsilon (zob. 'FuzzyPartition.setEpsilon')
+ * indeks należy utworzyć od nowa. Indeks może być używany przez wiele
+ * wątków jednocześnie.
+ */
+public final class PartitionIndex {
+
+    /**
+     * Podziały indeksu według skrótów kolejnych pasm.
+     */
+    private final List<Map<Long, List<FuzzyPartition>>> bands =
+            new ArrayList<>();
+
+    /**
+     * Podziały indeksu wraz ze skrótami pasm, z którymi zostały dodane.
+     */
+    private final Map<FuzzyPartition, long[]> entries =
+            new IdentityHashMap<>();
+
+    /**
+     * Tworzy pusty indeks.
+     */
+    public PartitionIndex() {
+        for (int b = 0; b < PartitionSketch.BANDS; b++)
+            bands.add(new HashMap<>());
+    }
+
+    /**
+     * Dodaje podział do indeksu. Ponowne dodanie tego samego obiektu nie
+     * zmienia indeksu.
+     *
+     * @param U Podział rozmyty
+     */
+    public void add(FuzzyPartition U) {
+        long[] hashes = U.sketch().bands;
+        synchronized (this) {
+            if (entries.putIfAbsent(U, hashes) != null) return;
+            for (int b = 0; b < hashes.length; b++) {
+                bands.get(b).computeIfAbsent(hashes[b],
+                        key -> new ArrayList<>()).add(U);
+            }
+        }
+    }
+
+    /**
+     * Usuwa podział (ten sam obiekt) z indeksu.
+     *
+     * @param U Podział rozmyty
+     * @return true, jeżeli podział znajdował się w indeksie
+     */
+    public synchronized boolean remove(FuzzyPartition U) {
+        long[] hashes = entries.remove(U);
+        if (hashes == null) return false;
+        for (int b = 0; b < hashes.length; b++) {
+            List<FuzzyPartition> bucket = bands.get(b).get(hashes[b]);
+            for (int k = 0; k < bucket.size(); k++) {
+                if (bucket.get(k) == U) {
+                    bucket.remove(k);
+                    break;
+                }
+            }
+            if (bucket.isEmpty()) bands.get(b).remove(hashes[b]);
+        }
+        return true;
+    }
+
+    /**
+     * Zwraca podziały indeksu równe podanemu w sensie metody 'equals'.
+     *
+     * @param U Podział rozmyty
+     * @return Lista równych podziałów (pusta, jeżeli nie ma takich)
+     */
+    public List<FuzzyPartition> findEqual(FuzzyPartition U) {
+        List<FuzzyPartition> result = new ArrayList<>();
+        for (FuzzyPartition candidate : candidates(U)) {
+            if (candidate.equals(U)) result.add(candidate);
+        }
+        return result;
+    }
+
+    /**
+     * Zwraca podział indeksu równy podanemu, a jeżeli takiego nie ma,
+     * dodaje podany podział do indeksu. Metoda ta pozwala usunąć
+     * powtórzenia z kolekcji podziałów.
+     *
+     * @param U Podział rozmyty
+     * @return Podział równy U znajdujący się w indeksie lub U
+     */
+    public synchronized FuzzyPartition addIfAbsent(FuzzyPartition U) {
+        for (FuzzyPartition candidate : candidates(U)) {
+            if (candidate.equals(U)) return candidate;
+        }
+        add(U);
+        return U;
+    }
+
+    /**
+     * Zwraca liczbę podziałów w indeksie.
+     *
+     * @return Liczba podziałów
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Zwraca podziały, których skrót co najmniej jednego pasma jest równy
+     * jednej z próbek tego pasma dla podanego podziału.
+     */
+    Set<FuzzyPartition> candidates(FuzzyPartition U) {
+        long[][] probes = PartitionSketch.probes(U, FuzzyPartition.epsilon);
+        Set<FuzzyPartition> candidates =
+                Collections.newSetFromMap(new IdentityHashMap<>());
+        synchronized (this) {
+            for (int b = 0; b < probes.length; b++) {
+                for (long hash : probes[b]) {
+                    List<FuzzyPartition> bucket = bands.get(b).get(hash);
+                    if (bucket != null) candidates.addAll(bucket);
+                }
+            }
+        }
+        return candidates;
+    }
+}
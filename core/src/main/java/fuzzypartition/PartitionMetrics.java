@@ -0,0 +1,449 @@
+package fuzzypartition;
+
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.FlightRecorderListener;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Opcjonalne statystyki wywołań publicznych operacji klasy
+ * 'FuzzyPartition': liczba wywołań, histogram czasów, wymiary macierzy
+ * oraz liczba bajtów przydzielonych przez wątek wywołujący operację
+ * (pamięć przydzielona przez wątki puli przy obliczeniach równoległych
+ * nie jest wliczana). Statystyki udostępniane są przez JMX pod nazwą
+ * 'OBJECT_NAME':
+ * <pre>
+ *     PartitionMetrics.enable();
+ * </pre>
+ * Zbieranie statystyk jest domyślnie wyłączone. Niezależnie od
+ * statystyk, w trakcie nagrania Java Flight Recorder każde wywołanie może
+ * zapisać zdarzenie 'PartitionOperationEvent'. Jeżeli statystyki są
+ * wyłączone i nie trwa żadne nagranie, operacja sprawdza jedynie wartości
+ * dwóch pól i niczego nie przydziela - stan nagrań śledzony jest przez
+ * 'FlightRecorderListener', a zdarzenie tworzone jest tylko w trakcie
+ * nagrania.
+ */
+public final class PartitionMetrics implements PartitionMetricsMXBean {
+
+    /**
+     * Nazwa, pod którą statystyki rejestrowane są w serwerze MBean
+     * platformy.
+     */
+    public static final String OBJECT_NAME =
+            "fuzzypartition:type=PartitionMetrics";
+
+    /**
+     * Liczba elementów histogramu czasów wywołań. Ostatni element
+     * obejmuje wywołania trwające co najmniej 2^38 ns (ok. 4,5 minuty).
+     */
+    static final int HISTOGRAM_SIZE = 40;
+
+    private static final PartitionMetrics INSTANCE = new PartitionMetrics();
+
+    /**
+     * Pomiar pamięci przydzielanej przez wątek lub null, jeżeli JVM go
+     * nie udostępnia.
+     */
+    private static final com.sun.management.ThreadMXBean THREADS =
+            allocationTracking();
+
+    /**
+     * Czy statystyki są zbierane.
+     */
+    private static volatile boolean enabled = false;
+
+    /**
+     * Czy trwa co najmniej jedno nagranie JFR. Uaktualniane przy każdej
+     * zmianie stanu nagrania (zob. 'watchRecordings').
+     */
+    private static volatile boolean recording = false;
+
+    static {
+        watchRecordings();
+    }
+
+    /**
+     * Operacje, dla których zbierane są statystyki.
+     */
+    enum Operation {
+        CALCULATE_ALPHA_LEVEL("calculateAlphaLevel"),
+        CALCULATE_COMPLEMENT_ALPHA_LEVEL("calculateComplementAlphaLevel"),
+        CALCULATE_ALPHA_CUT("calculateAlphaCut"),
+        CALCULATE_ALPHA_SPECTRUM("calculateAlphaSpectrum"),
+        ALPHA_APPROXIMATE("alphaApproximate"),
+        CALCULATE_LS("calculateLS"),
+        CALCULATE_COMPLEMENT_LS("calculateComplementLS"),
+        CALCULATE_MLS("calculateMLS"),
+        CALCULATE_COMPLEMENT_MLS("calculateComplementMLS"),
+        CALCULATE_SHARPNESS_DEGREE("calculateSharpnessDegree"),
+        COMPLEMENT("complement"),
+        VALIDATE("validate"),
+        EQUALS("equals");
+
+        /**
+         * Nazwa metody klasy 'FuzzyPartition'.
+         */
+        final String methodName;
+
+        Operation(String methodName) {
+            this.methodName = methodName;
+        }
+    }
+
+    /**
+     * Statystyki jednej operacji. Liczniki mogą być uaktualniane
+     * jednocześnie przez wiele wątków.
+     */
+    private static final class Counters {
+        final LongAdder calls = new LongAdder();
+        final LongAdder totalNanos = new LongAdder();
+        final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+        final LongAdder[] histogram = new LongAdder[HISTOGRAM_SIZE];
+        final LongAdder elements = new LongAdder();
+        final LongAccumulator maxRows = new LongAccumulator(Math::max, 0);
+        final LongAccumulator maxColumns = new LongAccumulator(Math::max, 0);
+        final LongAdder allocatedBytes = new LongAdder();
+
+        Counters() {
+            for (int k = 0; k < HISTOGRAM_SIZE; k++)
+                histogram[k] = new LongAdder();
+        }
+
+        void reset() {
+            calls.reset();
+            totalNanos.reset();
+            maxNanos.reset();
+            for (LongAdder bucket : histogram)
+                bucket.reset();
+            elements.reset();
+            maxRows.reset();
+            maxColumns.reset();
+            allocatedBytes.reset();
+        }
+
+        OperationStatistics snapshot(String operation) {
+            long[] buckets = new long[HISTOGRAM_SIZE];
+            for (int k = 0; k < HISTOGRAM_SIZE; k++)
+                buckets[k] = histogram[k].sum();
+            return new OperationStatistics(operation, calls.sum(),
+                    totalNanos.sum(), maxNanos.get(), buckets, elements.sum(),
+                    (int) maxRows.get(), (int) maxColumns.get(),
+                    allocatedBytes.sum());
+        }
+    }
+
+    /**
+     * Pomiar pojedynczego wywołania operacji, tworzony tylko wtedy, gdy
+     * statystyki są zbierane lub zdarzenie 'PartitionOperationEvent' jest
+     * włączone w nagraniu JFR.
+     */
+    static final class Probe {
+        private final Operation operation;
+        private final double alpha;
+        private final boolean counted;
+        private final PartitionOperationEvent event;
+        private final long startBytes;
+        private final long startNanos;
+        private String validation;
+
+        private Probe(Operation operation, double alpha, boolean counted,
+                      PartitionOperationEvent event) {
+            this.operation = operation;
+            this.alpha = alpha;
+            this.counted = counted;
+            this.event = event;
+            this.startBytes = counted && THREADS != null
+                    ? THREADS.getCurrentThreadAllocatedBytes() : 0;
+            this.startNanos = counted ? System.nanoTime() : 0;
+            if (event != null)
+                event.begin();
+        }
+
+        private void stop(int M, int N) {
+            if (counted)
+                count(M, N);
+            if (event != null) {
+                event.end();
+                if (event.shouldCommit()) {
+                    event.operation = operation.methodName;
+                    event.rows = M;
+                    event.columns = N;
+                    event.alpha = alpha;
+                    event.validation = validation;
+                    event.commit();
+                }
+            }
+        }
+
+        private void count(int M, int N) {
+            long nanos = System.nanoTime() - startNanos;
+            long bytes = THREADS == null
+                    ? 0 : THREADS.getCurrentThreadAllocatedBytes() - startBytes;
+            Counters counters = INSTANCE.counters[operation.ordinal()];
+            counters.calls.increment();
+            counters.totalNanos.add(nanos);
+            counters.maxNanos.accumulate(nanos);
+            counters.histogram[bucket(nanos)].increment();
+            counters.elements.add((long) M * N);
+            counters.maxRows.accumulate(M);
+            counters.maxColumns.accumulate(N);
+            counters.allocatedBytes.add(Math.max(0, bytes));
+        }
+    }
+
+    private final Counters[] counters =
+            new Counters[Operation.values().length];
+
+    private PartitionMetrics() {
+        for (int k = 0; k < counters.length; k++)
+            counters[k] = new Counters();
+    }
+
+    /**
+     * @return Jedyny obiekt statystyk
+     */
+    public static PartitionMetrics getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Rejestruje statystyki w serwerze MBean platformy (jeżeli nie są
+     * jeszcze zarejestrowane) i włącza ich zbieranie.
+     *
+     * @return Obiekt statystyk
+     */
+    public static PartitionMetrics enable() {
+        register();
+        enabled = true;
+        return INSTANCE;
+    }
+
+    /**
+     * Wyłącza zbieranie statystyk. Statystyki pozostają zarejestrowane
+     * w serwerze MBean.
+     */
+    public static void disable() {
+        enabled = false;
+    }
+
+    /**
+     * Rejestruje statystyki w serwerze MBean platformy pod nazwą
+     * 'OBJECT_NAME', nie włączając ich zbierania. Ponowna rejestracja
+     * nie ma efektu.
+     */
+    public static synchronized void register() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (!server.isRegistered(name))
+                server.registerMBean(INSTANCE, name);
+        } catch (JMException e) {
+            throw new IllegalStateException(
+                    "Could not register partition metrics", e
+            );
+        }
+    }
+
+    /**
+     * Usuwa statystyki z serwera MBean platformy.
+     */
+    public static synchronized void unregister() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (server.isRegistered(name))
+                server.unregisterMBean(name);
+        } catch (JMException e) {
+            throw new IllegalStateException(
+                    "Could not unregister partition metrics", e
+            );
+        }
+    }
+
+    /**
+     * Rozpoczyna pomiar wywołania operacji.
+     *
+     * @param operation Wywoływana operacja
+     * @return Pomiar lub null, jeżeli statystyki nie są zbierane, a
+     * zdarzenie JFR jest wyłączone
+     */
+    static Probe start(Operation operation) {
+        return start(operation, Double.NaN);
+    }
+
+    /**
+     * Rozpoczyna pomiar wywołania operacji na poziomie alfa.
+     *
+     * @param operation Wywoływana operacja
+     * @param alpha     Poziom alfa operacji
+     * @return Pomiar lub null, jeżeli statystyki nie są zbierane, a
+     * zdarzenie JFR jest wyłączone
+     */
+    static Probe start(Operation operation, double alpha) {
+        boolean counted = enabled;
+        if (!counted && !recording)
+            return null;
+        PartitionOperationEvent event = null;
+        if (recording) {
+            PartitionOperationEvent created = new PartitionOperationEvent();
+            if (created.isEnabled())
+                event = created;
+        }
+        if (!counted && event == null)
+            return null;
+        return new Probe(operation, alpha, counted, event);
+    }
+
+    /**
+     * Kończy pomiar wywołania operacji na podziale MxN.
+     *
+     * @param probe Pomiar zwrócony przez 'start' (może być null)
+     * @param M     Liczba wierszy podziału
+     * @param N     Liczba kolumn podziału
+     */
+    static void stop(Probe probe, int M, int N) {
+        if (probe != null)
+            probe.stop(M, N);
+    }
+
+    /**
+     * Zapamiętuje w pomiarze wynik sprawdzenia poprawności podziału.
+     *
+     * @param probe Pomiar zwrócony przez 'start' (może być null)
+     * @param valid Wynik sprawdzenia
+     * @return Wartość valid
+     */
+    static boolean validated(Probe probe, boolean valid) {
+        if (probe != null)
+            probe.validation = valid ? "valid" : "invalid";
+        return valid;
+    }
+
+    /**
+     * Numer elementu histogramu dla czasu wywołania.
+     *
+     * @param nanos Czas wywołania w nanosekundach
+     * @return Numer elementu histogramu
+     */
+    static int bucket(long nanos) {
+        return Math.min(HISTOGRAM_SIZE - 1,
+                64 - Long.numberOfLeadingZeros(Math.max(0, nanos)));
+    }
+
+    /**
+     * Rejestruje obiekt nasłuchujący zmian stanu nagrań JFR, który
+     * uaktualnia pole 'recording'. Rejestracja nie uruchamia JFR. Jeżeli
+     * JFR jest niedostępny, zdarzenia nie są zapisywane.
+     */
+    private static void watchRecordings() {
+        try {
+            FlightRecorder.addListener(new FlightRecorderListener() {
+                @Override
+                public void recorderInitialized(FlightRecorder recorder) {
+                    recording = isRecording(recorder);
+                }
+
+                @Override
+                public void recordingStateChanged(Recording changed) {
+                    recording = isRecording(
+                            FlightRecorder.getFlightRecorder());
+                }
+            });
+        } catch (SecurityException | LinkageError e) {
+            // JFR jest niedostępny.
+        }
+    }
+
+    /**
+     * Sprawdza, czy trwa co najmniej jedno nagranie.
+     */
+    private static boolean isRecording(FlightRecorder recorder) {
+        for (Recording r : recorder.getRecordings()) {
+            if (r.getState() == RecordingState.RUNNING)
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * Zwraca pomiar pamięci przydzielanej przez wątek, jeżeli JVM go
+     * udostępnia.
+     *
+     * @return Pomiar pamięci lub null
+     */
+    private static com.sun.management.ThreadMXBean allocationTracking() {
+        try {
+            if (ManagementFactory.getThreadMXBean()
+                    instanceof com.sun.management.ThreadMXBean) {
+                com.sun.management.ThreadMXBean threads =
+                        (com.sun.management.ThreadMXBean)
+                                ManagementFactory.getThreadMXBean();
+                if (threads.isThreadAllocatedMemorySupported()
+                        && threads.isThreadAllocatedMemoryEnabled())
+                    return threads;
+            }
+        } catch (LinkageError | UnsupportedOperationException e) {
+            // Pomiar pamięci jest niedostępny.
+        }
+        return null;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public void setEnabled(boolean enabled) {
+        PartitionMetrics.enabled = enabled;
+    }
+
+    @Override
+    public boolean isAllocationTrackingSupported() {
+        return THREADS != null;
+    }
+
+    @Override
+    public List<OperationStatistics> getOperations() {
+        List<OperationStatistics> result = new ArrayList<>();
+        for (Operation operation : Operation.values()) {
+            OperationStatistics statistics = getOperation(operation);
+            if (statistics.getCalls() > 0)
+                result.add(statistics);
+        }
+        return result;
+    }
+
+    /**
+     * Zwraca statystyki operacji.
+     *
+     * @param operation Operacja
+     * @return Statystyki operacji
+     */
+    OperationStatistics getOperation(Operation operation) {
+        return counters[operation.ordinal()].snapshot(operation.methodName);
+    }
+
+    @Override
+    public long getTotalCalls() {
+        long total = 0;
+        for (Counters operation : counters)
+            total += operation.calls.sum();
+        return total;
+    }
+
+    @Override
+    public void reset() {
+        for (Counters operation : counters)
+            operation.reset();
+    }
+}
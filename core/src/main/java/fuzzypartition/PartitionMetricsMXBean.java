@@ -0,0 +1,45 @@
+package fuzzypartition;
+
+import java.util.List;
+
+/**
+ * Interfejs JMX udostępniający statystyki wywołań operacji na podziałach
+ * rozmytych (zob. 'PartitionMetrics').
+ */
+public interface PartitionMetricsMXBean {
+
+    /**
+     * @return true, jeżeli zbieranie statystyk jest włączone
+     */
+    boolean isEnabled();
+
+    /**
+     * Włącza lub wyłącza zbieranie statystyk. Zebrane statystyki nie są
+     * usuwane przy wyłączaniu.
+     *
+     * @param enabled true, aby włączyć zbieranie statystyk
+     */
+    void setEnabled(boolean enabled);
+
+    /**
+     * @return true, jeżeli JVM pozwala mierzyć pamięć przydzielaną przez
+     * wątek wykonujący operację
+     */
+    boolean isAllocationTrackingSupported();
+
+    /**
+     * @return Statystyki wszystkich operacji, które zostały co najmniej
+     * raz wywołane
+     */
+    List<OperationStatistics> getOperations();
+
+    /**
+     * @return Łączna liczba wywołań wszystkich operacji
+     */
+    long getTotalCalls();
+
+    /**
+     * Zeruje zebrane statystyki.
+     */
+    void reset();
+}
@@ -0,0 +1,56 @@
+package fuzzypartition;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Zdarzenie Java Flight Recorder opisujące wywołanie publicznej operacji
+ * klasy 'FuzzyPartition'. Czas trwania zapisywany jest przez samo
+ * zdarzenie. Domyślnie zapisywane są tylko wywołania trwające co najmniej
+ * 1 ms; próg można zmienić w ustawieniach nagrania, np.:
+ * <pre>
+ *     jfr configure +fuzzypartition.PartitionOperation#threshold=0ms \
+ *         --output partition.jfc
+ *     java -XX:StartFlightRecording:settings=partition.jfc ...
+ * </pre>
+ * Jeżeli nagranie nie jest prowadzone lub zdarzenie jest w nim
+ * wyłączone, operacje nie tworzą zdarzeń.
+ */
+@Name(PartitionOperationEvent.NAME)
+@Label("Partition Operation")
+@Category("Fuzzy Partition")
+@Description("Call of a FuzzyPartition operation")
+@StackTrace(false)
+@Threshold("1 ms")
+final class PartitionOperationEvent extends Event {
+
+    /**
+     * Nazwa zdarzenia w nagraniu.
+     */
+    static final String NAME = "fuzzypartition.PartitionOperation";
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Rows")
+    @Description("Number of rows (M) of the partition")
+    int rows;
+
+    @Label("Columns")
+    @Description("Number of columns (N) of the partition")
+    int columns;
+
+    @Label("Alpha")
+    @Description("Alpha level of the operation or NaN if not applicable")
+    double alpha;
+
+    @Label("Validation")
+    @Description("Result of validate ('valid' or 'invalid'), "
+            + "empty for other operations")
+    String validation;
+}
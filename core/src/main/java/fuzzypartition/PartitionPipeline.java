@@ -0,0 +1,236 @@
+package fuzzypartition;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Leniwy ciąg operacji wykonywanych na podziale rozmytym. Metody tej klasy
+ * jedynie zapisują kolejne operacje, a dopiero metoda 'evaluate' wykonuje
+ * je wszystkie w jednym przebiegu, kolumna po kolumnie. Dzięki temu
+ * tworzona jest tylko jedna, wynikowa macierz, np.
+ * <pre>
+ *     U.lazy().complement().calculateMLS().calculateAlphaLevel(a).evaluate()
+ * </pre>
+ * W ciągu mogą występować wyłącznie operacje działające na pojedynczych
+ * kolumnach. Liniowe wyostrzenie (LS) zależy od minimum i maksimum całej
+ * macierzy, dlatego nie jest tu dostępne.
+ * <p>
+ * Pierwsza operacja ciągu korzysta z minimum i maksimum kolumn
+ * przechowywanych w podziale źródłowym (zob. 'ColumnStatistics'). Jeżeli
+ * nie zostały one jeszcze obliczone, są wyznaczane w tym samym przebiegu
+ * i zapamiętywane w podziale źródłowym.
+ */
+public final class PartitionPipeline {
+
+    /**
+     * Podział rozmyty, na którym wykonywane są operacje.
+     */
+    private final FuzzyPartition source;
+
+    /**
+     * Zapisane operacje, w kolejności wykonywania.
+     */
+    private final List<ColumnOperation> operations = new ArrayList<>();
+
+    /**
+     * Wersja pierwszej operacji korzystająca z minimum i maksimum kolumny
+     * lub null, jeżeli ciąg jest pusty.
+     */
+    private StatisticsOperation head;
+
+    /**
+     * Sprawdzenie poprawności pierwszej operacji na podstawie statystyk
+     * kolumn lub null. Jeżeli statystyki podziału źródłowego są znane,
+     * jest ono wykonywane przed nadpisaniem podziału docelowego.
+     */
+    private Consumer<ColumnStatistics> precondition;
+
+    /**
+     * Operacja na kolumnie, której minimum i maksimum są już znane.
+     */
+    @FunctionalInterface
+    private interface StatisticsOperation {
+
+        /**
+         * Przekształca kolumnę w miejscu.
+         *
+         * @param c      Tablica zawierająca kolumnę
+         * @param offset Indeks pierwszego elementu kolumny w tablicy
+         * @param M      Liczba wierszy
+         * @param min    Minimum kolumny
+         * @param max    Maksimum kolumny
+         */
+        void apply(double[] c, int offset, int M, double min, double max);
+    }
+
+    /**
+     * Konstruktor tworzący pusty ciąg operacji na podanym podziale.
+     *
+     * @param source Podział rozmyty, na którym wykonywane są operacje
+     */
+    PartitionPipeline(FuzzyPartition source) {
+        this.source = source;
+    }
+
+    /**
+     * Dodaje do ciągu alfa-cięcie.
+     *
+     * @param alpha poziom, dla którego tworzymy alfa-cięcie
+     * @return Ten sam ciąg operacji
+     */
+    public PartitionPipeline calculateAlphaLevel(double alpha) {
+        ColumnKernels.checkAlpha(alpha);
+        return add((c, offset, M) ->
+                        ColumnKernels.alphaLevel(c, offset, M, alpha),
+                (c, offset, M, min, max) ->
+                        ColumnKernels.alphaLevel(c, offset, M, alpha, max),
+                statistics -> ColumnKernels.checkBelowMaximum(alpha,
+                        statistics.alphaBound()));
+    }
+
+    /**
+     * Dodaje do ciągu dopełnienie alfa-cięcia.
+     *
+     * @param alpha poziom, dla którego tworzymy alfa-cięcie
+     * @return Ten sam ciąg operacji
+     */
+    public PartitionPipeline calculateComplementAlphaLevel(double alpha) {
+        ColumnKernels.checkAlpha(alpha);
+        return add((c, offset, M) -> ColumnKernels
+                        .complementAlphaLevel(c, offset, M, alpha),
+                (c, offset, M, min, max) ->
+                        ColumnKernels.complementAlphaLevel(c, offset, M,
+                                alpha, max),
+                statistics -> ColumnKernels.checkBelowMaximum(alpha,
+                        statistics.alphaBound()));
+    }
+
+    /**
+     * Dodaje do ciągu MLS.
+     *
+     * @return Ten sam ciąg operacji
+     */
+    public PartitionPipeline calculateMLS() {
+        return add((c, offset, M) ->
+                        ColumnKernels.mls(c, offset, M, false),
+                (c, offset, M, min, max) ->
+                        ColumnKernels.mls(c, offset, M, false, min, max));
+    }
+
+    /**
+     * Dodaje do ciągu dopełnienie MLS.
+     *
+     * @return Ten sam ciąg operacji
+     */
+    public PartitionPipeline calculateComplementMLS() {
+        return add((c, offset, M) ->
+                        ColumnKernels.mls(c, offset, M, true),
+                (c, offset, M, min, max) ->
+                        ColumnKernels.mls(c, offset, M, true, min, max));
+    }
+
+    /**
+     * Dodaje do ciągu dopełnienie.
+     *
+     * @return Ten sam ciąg operacji
+     */
+    public PartitionPipeline complement() {
+        return add(ColumnKernels::complement, ColumnKernels::complement);
+    }
+
+    /**
+     * Dodaje operację na końcu ciągu.
+     *
+     * @param operation      Operacja
+     * @param withStatistics Ta sama operacja korzystająca z minimum
+     *                       i maksimum kolumny
+     * @return Ten sam ciąg operacji
+     */
+    private PartitionPipeline add(ColumnOperation operation,
+                                  StatisticsOperation withStatistics) {
+        return add(operation, withStatistics, null);
+    }
+
+    /**
+     * Dodaje operację na końcu ciągu.
+     *
+     * @param operation      Operacja
+     * @param withStatistics Ta sama operacja korzystająca z minimum
+     *                       i maksimum kolumny
+     * @param precondition   Sprawdzenie poprawności operacji na podstawie
+     *                       statystyk kolumn lub null
+     * @return Ten sam ciąg operacji
+     */
+    private PartitionPipeline add(ColumnOperation operation,
+                                  StatisticsOperation withStatistics,
+                                  Consumer<ColumnStatistics> precondition) {
+        if (operations.isEmpty()) {
+            head = withStatistics;
+            this.precondition = precondition;
+        }
+        operations.add(operation);
+        return this;
+    }
+
+    /**
+     * Wykonuje wszystkie zapisane operacje. Każda kolumna podziału
+     * źródłowego jest kopiowana do macierzy wynikowej, a następnie
+     * przekształcana przez kolejne operacje, dopóki jest jeszcze w cache.
+     *
+     * @return Podział rozmyty będący wynikiem wszystkich operacji
+     */
+    public FuzzyPartition evaluate() {
+        return evaluateInto(source.newPartition());
+    }
+
+    /**
+     * Wykonuje wszystkie zapisane operacje, zapisując wynik w podanym
+     * podziale zamiast tworzyć nowy. Podziałem docelowym może być podział
+     * źródłowy - operacje zostaną wtedy wykonane w miejscu. Jeżeli
+     * którakolwiek z operacji zgłosi wyjątek, podział docelowy może
+     * zostać częściowo nadpisany. Niepoprawne alfa w pierwszej operacji
+     * jest wykrywane przed nadpisaniem, o ile statystyki kolumn podziału
+     * źródłowego są już znane.
+     *
+     * @param dest Podział, w którym zapisany zostanie wynik
+     * @return Podział dest
+     */
+    public FuzzyPartition evaluateInto(FuzzyPartition dest) {
+        FuzzyPartition.checkSameDimensions(source, dest);
+        ColumnOperation[] steps = operations.toArray(new ColumnOperation[0]);
+        if (steps.length == 0) {
+            ColumnKernels.transformColumns(source.storage, dest.storage,
+                    (c, offset, M) -> {
+                    });
+            dest.invalidateStatistics();
+            return dest;
+        }
+
+        StatisticsOperation head = this.head;
+        ColumnStatistics cached = source.cachedStatistics();
+        if (cached != null && precondition != null)
+            precondition.accept(cached);
+        ColumnStatistics collected = cached == null
+                ? new ColumnStatistics(source.M, source.N) : null;
+        ColumnStatistics statistics = cached == null ? collected : cached;
+        try {
+            ColumnKernels.transformColumns(source.storage, dest.storage,
+                    (c, offset, M, j) -> {
+                        if (collected != null) collected.collect(j, c, offset);
+                        head.apply(c, offset, M,
+                                statistics.min[j], statistics.max[j]);
+                        for (int k = 1; k < steps.length; k++) {
+                            steps[k].apply(c, offset, M);
+                        }
+                    });
+        } finally {
+            dest.invalidateStatistics();
+        }
+        // Statystyki zebrane z kolumn przed ich przekształceniem opisują
+        // podział źródłowy, o ile nie był on nadpisywany.
+        if (collected != null && source.storage != dest.storage)
+            source.cacheStatistics(collected.finish());
+        return dest;
+    }
+}
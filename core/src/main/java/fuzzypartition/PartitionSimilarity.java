@@ -0,0 +1,285 @@
+package fuzzypartition;
+
+/**
+ * Obliczanie miar podobieństwa ('calculateSharpnessDegree' oraz
+ * 'alphaApproximate') dla wszystkich par podziałów z podanego zbioru.
+ * Podziały muszą mieć te same wymiary.
+ * <p>
+ * Pary przetwarzane są w kafelkach BLOCK x BLOCK podziałów, a macierze
+ * we fragmentach obejmujących całe kolumny, w sumie około CHUNK wartości.
+ * Fragmenty podziałów z jednego kafelka mieszczą się w cache i każdy
+ * z nich wykorzystywany jest w BLOCK porównaniach. Podziały przechowywane
+ * w 'ColumnMajorStorage' odczytywane są bezpośrednio z ich tablic,
+ * a pozostałe (widoki, pliki odwzorowane w pamięci, podziały poza
+ * stertą) - fragment po fragmencie do buforów kafelka, więc nie są nigdy
+ * kopiowane na stertę w całości. Maski wartości lewego argumentu
+ * (u >= 1/M lub u >= alfa, po jednym bicie na element) obliczane są
+ * tylko raz dla każdego podziału. Kafelki wykonywane są równolegle,
+ * jeżeli zostało to włączone metodą 'FuzzyPartition.setParallelism'.
+ */
+public final class PartitionSimilarity {
+
+    /**
+     * Liczba podziałów w boku kafelka.
+     */
+    static final int BLOCK = 8;
+
+    /**
+     * Przybliżona liczba elementów macierzy przetwarzanych jednocześnie
+     * w kafelku. Fragment obejmuje zawsze co najmniej jedną kolumnę.
+     */
+    static final int CHUNK = 1024;
+
+    private PartitionSimilarity() {
+    }
+
+    /**
+     * Oblicza macierz, w której element [a][b] jest równy
+     * partitions[a].calculateSharpnessDegree(partitions[b]).
+     *
+     * @param partitions Podziały rozmyte o tych samych wymiarach
+     * @return Macierz KxK stopni wyostrzenia
+     */
+    public static double[][] sharpnessDegreeMatrix(
+            FuzzyPartition[] partitions) {
+        int M = checkDimensions(partitions);
+        int N = partitions[0].N;
+        long[][] masks = new long[partitions.length][];
+        for (int a = 0; a < partitions.length; a++)
+            masks[a] = mask(partitions[a], 1.0 / M);
+
+        double[][] result = allPairs(partitions, masks,
+                (u, uOffset, v, vOffset, mask, from, length) -> {
+                    double K = 0.0;
+                    for (int k = 0; k < length; k++) {
+                        double uk = u[uOffset + k];
+                        double vk = v[vOffset + k];
+                        if (isSet(mask, from + k))
+                            K += Math.max(0.0, uk - vk);
+                        else K += Math.max(0.0, vk - uk);
+                    }
+                    return K;
+                });
+        for (double[] row : result)
+            for (int b = 0; b < row.length; b++)
+                row[b] = 1 - row[b] / (2 * N);
+        return result;
+    }
+
+    /**
+     * Oblicza macierz, w której element [a][b] jest równy
+     * partitions[a].alphaApproximate(alpha, partitions[b]).
+     *
+     * @param alpha      zadany poziom alfa
+     * @param partitions Podziały rozmyte o tych samych wymiarach
+     * @return Macierz KxK podobieństw alfa-cięć
+     */
+    public static double[][] alphaApproximateMatrix(
+            double alpha, FuzzyPartition[] partitions) {
+        int M = checkDimensions(partitions);
+        int N = partitions[0].N;
+        long[][] masks = new long[partitions.length][];
+        int[] cardinalities = new int[partitions.length];
+        for (int a = 0; a < partitions.length; a++) {
+            masks[a] = mask(partitions[a], alpha);
+            for (long word : masks[a])
+                cardinalities[a] += Long.bitCount(word);
+        }
+
+        double[][] result = allPairs(partitions, masks,
+                (u, uOffset, v, vOffset, mask, from, length) -> {
+                    double sum = 0.0;
+                    for (int k = 0; k < length; k++) {
+                        double vk = v[vOffset + k];
+                        if (isSet(mask, from + k))
+                            sum += Math.max(0.0, alpha - vk);
+                        else sum += Math.max(0.0, vk - alpha);
+                    }
+                    return sum;
+                });
+        double cells = (double) M * N;
+        for (int a = 0; a < result.length; a++) {
+            double cardM1 = cardinalities[a];
+            double denominator =
+                    cardM1 * alpha + (cells - cardM1) * (1 - alpha);
+            for (int b = 0; b < result.length; b++)
+                result[a][b] = 1.0 - result[a][b] / denominator;
+        }
+        return result;
+    }
+
+    /**
+     * Suma obliczana dla fragmentu macierzy pary podziałów.
+     */
+    @FunctionalInterface
+    private interface PairKernel {
+
+        /**
+         * @param u       Tablica z fragmentem lewego podziału
+         * @param uOffset Indeks początku fragmentu w tablicy 'u'
+         * @param v       Tablica z fragmentem prawego podziału
+         * @param vOffset Indeks początku fragmentu w tablicy 'v'
+         * @param mask    Maska lewego podziału
+         * @param from    Indeks pierwszego elementu fragmentu w macierzy
+         * @param length  Liczba elementów fragmentu
+         * @return Suma dla fragmentu
+         */
+        double apply(double[] u, int uOffset, double[] v, int vOffset,
+                     long[] mask, int from, int length);
+    }
+
+    /**
+     * Fragment macierzy podziału obejmujący kolejne kolumny. Dla podziałów
+     * przechowywanych w 'ColumnMajorStorage' wskazuje na ich tablicę,
+     * a dla pozostałych - na bufor, do którego kopiowane są kolumny.
+     */
+    private static final class Chunk {
+
+        /**
+         * Tablica zawierająca fragment.
+         */
+        double[] values;
+
+        /**
+         * Indeks początku fragmentu w tablicy 'values'.
+         */
+        int offset;
+
+        /**
+         * Bufor na kolumny fragmentu, tworzony przy pierwszym użyciu.
+         */
+        private double[] buffer;
+
+        /**
+         * Wczytuje kolumny [from, to) podziału.
+         */
+        void load(FuzzyPartition U, int from, int to, int capacity) {
+            if (U.storage instanceof ColumnMajorStorage) {
+                values = ((ColumnMajorStorage) U.storage).values;
+                offset = from * U.M;
+                return;
+            }
+            if (buffer == null) buffer = new double[capacity];
+            for (int j = from; j < to; j++)
+                U.storage.readColumn(j, buffer, (j - from) * U.M);
+            values = buffer;
+            offset = 0;
+        }
+    }
+
+    /**
+     * Oblicza sumy dla wszystkich par podziałów, kafelek po kafelku.
+     *
+     * @param partitions Podziały rozmyte o tych samych wymiarach
+     * @param masks      Maski podziałów
+     * @param kernel     Suma obliczana dla fragmentu pary
+     * @return Macierz KxK sum
+     */
+    private static double[][] allPairs(FuzzyPartition[] partitions,
+                                       long[][] masks, PairKernel kernel) {
+        int K = partitions.length;
+        int M = partitions[0].M;
+        int N = partitions[0].N;
+        int columnsPerChunk = Math.max(1, CHUNK / M);
+        int capacity = columnsPerChunk * M;
+        int blocks = (K + BLOCK - 1) / BLOCK;
+        double[][] result = new double[K][K];
+
+        ColumnTasks.forEachTask(blocks * blocks, tile -> {
+            int a0 = (tile / blocks) * BLOCK;
+            int b0 = (tile % blocks) * BLOCK;
+            int a1 = Math.min(K, a0 + BLOCK);
+            int b1 = Math.min(K, b0 + BLOCK);
+            Chunk[] left = chunks(a1 - a0);
+            // Na przekątnej lewe i prawe podziały kafelka są te same.
+            Chunk[] right = a0 == b0 ? left : chunks(b1 - b0);
+            for (int j0 = 0; j0 < N; j0 += columnsPerChunk) {
+                int j1 = Math.min(N, j0 + columnsPerChunk);
+                int from = j0 * M;
+                int length = (j1 - j0) * M;
+                for (int a = a0; a < a1; a++)
+                    left[a - a0].load(partitions[a], j0, j1, capacity);
+                if (right != left) {
+                    for (int b = b0; b < b1; b++)
+                        right[b - b0].load(partitions[b], j0, j1, capacity);
+                }
+                for (int a = a0; a < a1; a++) {
+                    Chunk u = left[a - a0];
+                    for (int b = b0; b < b1; b++) {
+                        Chunk v = right[b - b0];
+                        result[a][b] += kernel.apply(u.values, u.offset,
+                                v.values, v.offset, masks[a], from, length);
+                    }
+                }
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Tworzy tablicę pustych fragmentów.
+     */
+    private static Chunk[] chunks(int count) {
+        Chunk[] chunks = new Chunk[count];
+        for (int k = 0; k < count; k++) chunks[k] = new Chunk();
+        return chunks;
+    }
+
+    /**
+     * Sprawdza, czy zbiór podziałów nie jest pusty, czy wszystkie
+     * podziały mają te same wymiary i czy ich elementy można
+     * indeksować liczbami typu int.
+     *
+     * @param partitions Podziały rozmyte
+     * @return Liczba wierszy podziałów
+     */
+    private static int checkDimensions(FuzzyPartition[] partitions) {
+        if (partitions.length == 0) throw new IllegalArgumentException(
+                "At least one partition is required"
+        );
+        for (FuzzyPartition partition : partitions) {
+            if (partition.M != partitions[0].M
+                    || partition.N != partitions[0].N) {
+                throw new IllegalArgumentException(
+                        "All partitions must have the same dimensions"
+                );
+            }
+        }
+        if ((long) partitions[0].M * partitions[0].N > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException(
+                    "Partitions are too large"
+            );
+        }
+        return partitions[0].M;
+    }
+
+    /**
+     * Oblicza maskę wartości nie mniejszych od podanego progu, po jednym
+     * bicie na element macierzy w układzie kolumnowym. Kolumny odczytywane
+     * są kolejno, bez kopiowania całej macierzy.
+     *
+     * @param U         Podział rozmyty
+     * @param threshold Próg
+     * @return Maska zapisana w słowach 64-bitowych
+     */
+    private static long[] mask(FuzzyPartition U, double threshold) {
+        int M = U.M;
+        long[] mask = new long[(int) (((long) M * U.N + 63) >>> 6)];
+        double[] column = new double[M];
+        for (int j = 0; j < U.N; j++) {
+            U.storage.readColumn(j, column, 0);
+            for (int i = 0; i < M; i++) {
+                int k = j * M + i;
+                if (column[i] >= threshold) mask[k >>> 6] |= 1L << k;
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Sprawdza, czy bit maski jest ustawiony.
+     */
+    private static boolean isSet(long[] mask, int i) {
+        return (mask[i >>> 6] & (1L << i)) != 0;
+    }
+}
@@ -0,0 +1,284 @@
+package fuzzypartition;
+
+import java.util.SplittableRandom;
+
+/**
+ * Skróty podziału rozmytego wykorzystywane przy wyszukiwaniu podziałów
+ * równych z dokładnością do epsilon.
+ * <p>
+ * Skrót wszystkich wartości ('fingerprint') obliczany jest po
+ * zaokrągleniu każdej z M * N wartości do siatki o oczku 4 * epsilon.
+ * Podziały o jednakowych wartościach mają zawsze jednakowe skróty, ale
+ * dla podziałów różniących się o d < epsilon każda para wartości trafia
+ * do tego samego oczka tylko z prawdopodobieństwem około
+ * 1 - d / (4 * epsilon), więc szansa na jednakowe skróty maleje
+ * wykładniczo wraz z M * N. Skrót ten nie nadaje się zatem do
+ * wyszukiwania podziałów bliskich - służą do tego skróty pasm.
+ * <p>
+ * Skróty pasm ('bands') wykorzystywane są przez 'PartitionIndex'. Każde
+ * pasmo obejmuje kilkanaście losowo wybranych kolumn macierzy. Wartości
+ * kolumny zaokrąglane są do przesuniętej losowo siatki o oczku
+ * 64 * epsilon, niezależnej od siatki skrótu wszystkich wartości, a do
+ * skrótu trafia oczko wartości największej oraz numer pierwszego wiersza,
+ * którego wartość leży w tym oczku. Kilka wartości bliskich największej
+ * (np. w kolumnach o wartościach bliskich 1/M) trafia zwykle do jednego
+ * oczka, więc numer wiersza nie zależy od drobnych różnic między nimi.
+ * W przeciwieństwie do pojedynczych elementów macierzy, które
+ * w podziałach ostrych i alfa-cięciach są przeważnie równe 0, numer
+ * wiersza wartości największej rozróżnia kolumny także w takich
+ * podziałach.
+ * <p>
+ * Skróty pasm podziału równego danemu w sensie 'equals' różnią się od
+ * skrótów danego podziału, jeżeli w którejś z kolumn pasma wartość leży
+ * bliżej granicy oczka niż epsilon. Dlatego przy wyszukiwaniu obliczane
+ * są próbki ('probes'): skróty pasm dla wszystkich par (wiersz, oczko),
+ * które może mieć w tych kolumnach podział różniący się o co najwyżej
+ * epsilon. Ponieważ oczko jest dużo większe niż epsilon, przeważnie
+ * wystarcza jedna lub kilka próbek na pasmo. Liczba próbek pasma jest
+ * ograniczona przez 'MAX_PROBES' - dla kolumn, których uwzględnienie
+ * przekroczyłoby ten limit, próbkowana jest jedynie para samej kolumny.
+ */
+final class PartitionSketch {
+
+    /**
+     * Liczba pasm.
+     */
+    static final int BANDS = 8;
+
+    /**
+     * Liczba kolumn macierzy w jednym paśmie.
+     */
+    static final int COLUMNS_PER_BAND = 16;
+
+    /**
+     * Oczko siatki pasm w wielokrotnościach epsilon.
+     */
+    static final double BAND_GRID = 64;
+
+    /**
+     * Maksymalna liczba próbek jednego pasma.
+     */
+    static final int MAX_PROBES = 256;
+
+    /**
+     * Stała mieszająca kolejne wartości skrótu.
+     */
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    /**
+     * Epsilon, dla którego obliczono skróty.
+     */
+    final double epsilon;
+
+    /**
+     * Skrót wszystkich wartości podziału.
+     */
+    final long fingerprint;
+
+    /**
+     * Skróty kolejnych pasm.
+     */
+    final long[] bands;
+
+    private PartitionSketch(double epsilon, long fingerprint, long[] bands) {
+        this.epsilon = epsilon;
+        this.fingerprint = fingerprint;
+        this.bands = bands;
+    }
+
+    /**
+     * Oblicza skróty podziału dla podanego epsilon.
+     *
+     * @param U       Podział rozmyty
+     * @param epsilon Dopuszczalny błąd porównania
+     * @return Skróty podziału
+     */
+    static PartitionSketch compute(FuzzyPartition U, double epsilon) {
+        int M = U.M;
+        double width = 4 * epsilon;
+        long dimensions = mix(U.M * GOLDEN_GAMMA + U.N);
+
+        long fingerprint = ColumnTasks.reduce(M, U.N, (from, to) -> {
+            long hash = 0;
+            double[] column = new double[M];
+            for (int j = from; j < to; j++) {
+                U.storage.readColumn(j, column, 0);
+                long columnHash = j;
+                for (int i = 0; i < M; i++) {
+                    columnHash = mix(columnHash * GOLDEN_GAMMA
+                            + quantize(column[i], width, 0.0));
+                }
+                // Sumowanie skrótów kolumn nie zależy od podziału kolumn
+                // na zadania.
+                hash += columnHash;
+            }
+            return hash;
+        }, Long::sum);
+
+        long[][] probes = bands(U, epsilon, false);
+        long[] bands = new long[BANDS];
+        for (int b = 0; b < BANDS; b++)
+            bands[b] = probes[b][0];
+        return new PartitionSketch(epsilon, mix(dimensions + fingerprint),
+                bands);
+    }
+
+    /**
+     * Oblicza próbki pasm podziału: skróty pasm, które może mieć podział
+     * różniący się od podanego o co najwyżej epsilon. Pierwszą próbką
+     * każdego pasma jest skrót pasma samego podziału.
+     *
+     * @param U       Podział rozmyty
+     * @param epsilon Dopuszczalny błąd porównania
+     * @return Próbki kolejnych pasm
+     */
+    static long[][] probes(FuzzyPartition U, double epsilon) {
+        return bands(U, epsilon, true);
+    }
+
+    /**
+     * Oblicza skróty pasm podziału, a jeżeli 'probe' jest równe true, także
+     * pozostałe próbki pasm.
+     */
+    private static long[][] bands(FuzzyPartition U, double epsilon,
+                                  boolean probe) {
+        int M = U.M;
+        double width = BAND_GRID * epsilon;
+        // Zapas na błędy zaokrągleń przy porównaniu z dokładnością do
+        // epsilon.
+        double reach = 2 * epsilon;
+        long dimensions = mix(U.M * GOLDEN_GAMMA + U.N);
+
+        long[][] bands = new long[BANDS][];
+        double[] column = new double[M];
+        int[] rows = new int[2 * M];
+        long[] cells = new long[2 * M];
+        SplittableRandom random = new SplittableRandom(dimensions);
+        for (int b = 0; b < BANDS; b++) {
+            double offset = random.nextDouble() * width;
+            long[] hashes = {mix(dimensions + b)};
+            for (int j : bandColumns(U.N, random)) {
+                U.storage.readColumn(j, column, 0);
+                double max = column[0];
+                for (int i = 1; i < M; i++)
+                    max = Math.max(max, column[i]);
+                long top = quantize(max, width, offset);
+                int row = 0;
+                while (row < M - 1
+                        && quantize(column[row], width, offset) != top)
+                    row++;
+
+                int options = 1;
+                if (probe) {
+                    options = options(column, max, row, top, width, offset,
+                            reach, rows, cells);
+                    if ((long) hashes.length * options > MAX_PROBES)
+                        options = 1;
+                }
+                long[] next = new long[hashes.length * options];
+                int count = 0;
+                for (long hash : hashes)
+                    next[count++] = step(hash, row, top);
+                for (int k = 1; k < options; k++)
+                    for (long hash : hashes)
+                        next[count++] = step(hash, rows[k], cells[k]);
+                hashes = next;
+            }
+            bands[b] = hashes;
+        }
+        return bands;
+    }
+
+    /**
+     * Wyznacza wszystkie pary (wiersz, oczko), które może mieć kolumna
+     * podziału różniącego się od danej kolumny o co najwyżej epsilon.
+     * Oczko wartości największej takiego podziału leży w przedziale oczek
+     * wartości [max - epsilon, max + epsilon], a wierszem jest pierwszy
+     * wiersz, którego wartość trafia do tego oczka - może nim być każdy
+     * wiersz, którego wartość może trafić do tego oczka, aż do pierwszego
+     * wiersza, którego wartość trafia do niego na pewno. Pierwszą parą
+     * jest zawsze para samej kolumny.
+     *
+     * @return Liczba par zapisanych w tablicach 'rows' i 'cells'
+     */
+    private static int options(double[] column, double max, int row,
+                               long top, double width, double offset,
+                               double reach, int[] rows, long[] cells) {
+        rows[0] = row;
+        cells[0] = top;
+        int count = 1;
+        long first = quantize(max - reach, width, offset);
+        long last = quantize(max + reach, width, offset);
+        for (long cell = first; cell <= last; cell++) {
+            for (int i = 0; i < column.length; i++) {
+                long low = quantize(column[i] - reach, width, offset);
+                long high = quantize(column[i] + reach, width, offset);
+                if (cell < low || cell > high) continue;
+                if ((i != row || cell != top) && count < rows.length) {
+                    rows[count] = i;
+                    cells[count++] = cell;
+                }
+                if (low == high) break;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Dołącza do skrótu pasma numer wiersza wartości największej kolumny
+     * oraz oczko siatki tej wartości.
+     */
+    private static long step(long hash, int row, long cell) {
+        hash = mix(hash * GOLDEN_GAMMA + row);
+        return mix(hash * GOLDEN_GAMMA + cell);
+    }
+
+    /**
+     * Losuje różne kolumny pasma. Jeżeli macierz ma nie więcej kolumn niż
+     * 'COLUMNS_PER_BAND', pasmo obejmuje wszystkie kolumny.
+     */
+    private static int[] bandColumns(int N, SplittableRandom random) {
+        int[] columns = new int[Math.min(N, COLUMNS_PER_BAND)];
+        if (columns.length == N) {
+            for (int k = 0; k < N; k++)
+                columns[k] = k;
+            return columns;
+        }
+        for (int k = 0; k < columns.length; k++) {
+            int j;
+            do {
+                j = random.nextInt(N);
+            } while (contains(columns, k, j));
+            columns[k] = j;
+        }
+        return columns;
+    }
+
+    /**
+     * Sprawdza, czy wartość występuje wśród pierwszych 'length' elementów
+     * tablicy.
+     */
+    private static boolean contains(int[] array, int length, int value) {
+        for (int k = 0; k < length; k++)
+            if (array[k] == value) return true;
+        return false;
+    }
+
+    /**
+     * Zaokrągla wartość do siatki o podanym oczku i przesunięciu. Dla
+     * oczka równego 0 zwracana jest dokładna reprezentacja wartości.
+     */
+    private static long quantize(double value, double width, double offset) {
+        if (width == 0.0) return Double.doubleToLongBits(value + 0.0);
+        return (long) Math.floor((value + offset) / width);
+    }
+
+    /**
+     * Funkcja mieszająca bity (jak w SplittableRandom).
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
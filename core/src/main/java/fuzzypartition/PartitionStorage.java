@@ -0,0 +1,82 @@
+package fuzzypartition;
+
+/**
+ * Interfejs opisujący sposób przechowywania macierzy reprezentującej
+ * podział rozmyty. Pozwala on oddzielić operacje wykonywane na podziale
+ * od fizycznego układu danych w pamięci.
+ */
+public interface PartitionStorage {
+
+    /**
+     * Zwraca liczbę wierszy przechowywanej macierzy.
+     *
+     * @return Liczba wierszy
+     */
+    int rows();
+
+    /**
+     * Zwraca liczbę kolumn przechowywanej macierzy.
+     *
+     * @return Liczba kolumn
+     */
+    int columns();
+
+    /**
+     * Zwraca wartość znajdującą się w podanym wierszu i kolumnie.
+     *
+     * @param row    Numer wiersza
+     * @param column Numer kolumny
+     * @return Wartość macierzy w podanym miejscu
+     */
+    double get(int row, int column);
+
+    /**
+     * Ustawia wartość w podanym wierszu i kolumnie.
+     *
+     * @param row    Numer wiersza
+     * @param column Numer kolumny
+     * @param value  Nowa wartość
+     */
+    void set(int row, int column, double value);
+
+    /**
+     * Kopiuje kolumnę do tablicy. Implementacje mogą ją nadpisać, aby
+     * kopiować całą kolumnę jedną operacją.
+     *
+     * @param column Numer kolumny
+     * @param target Tablica docelowa
+     * @param offset Indeks, od którego zapisywana jest kolumna
+     */
+    default void readColumn(int column, double[] target, int offset) {
+        int rows = rows();
+        for (int i = 0; i < rows; i++)
+            target[offset + i] = get(i, column);
+    }
+
+    /**
+     * Zapisuje kolumnę z tablicy. Implementacje mogą ją nadpisać, aby
+     * zapisywać całą kolumnę jedną operacją.
+     *
+     * @param column Numer kolumny
+     * @param source Tablica źródłowa
+     * @param offset Indeks, od którego odczytywana jest kolumna
+     */
+    default void writeColumn(int column, double[] source, int offset) {
+        int rows = rows();
+        for (int i = 0; i < rows; i++)
+            set(i, column, source[offset + i]);
+    }
+
+    /**
+     * Tworzy nową, wyzerowaną macierz, w której zapisywane są wyniki
+     * operacji na podziale korzystającym z tej macierzy. Domyślnie jest
+     * to macierz na stercie w układzie kolumnowym.
+     *
+     * @param rows    Liczba wierszy
+     * @param columns Liczba kolumn
+     * @return Nowa macierz
+     */
+    default PartitionStorage newStorage(int rows, int columns) {
+        return new ColumnMajorStorage(rows, columns);
+    }
+}
@@ -0,0 +1,574 @@
+package fuzzypartition;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.CharBuffer;
+import java.util.Arrays;
+
+/**
+ * Tekstowy zapis podziałów rozmytych (CSV, TSV itp.) i jego odczyt. Każdy
+ * wiersz macierzy zapisywany jest w osobnej linii, a wartości oddzielone są
+ * podanym separatorem, np. ',' lub '\t'. Separatorem dziesiętnym jest
+ * zawsze kropka, niezależnie od ustawień regionalnych.
+ * <p>
+ * Wartości formatowane są bez pośrednich obiektów String: liczba
+ * mnożona jest przez 10^precyzja i zaokrąglana do liczby całkowitej,
+ * której cyfry zapisywane są do bufora. Tylko wartości leżące bardzo
+ * blisko połowy ostatniej cyfry oraz bardzo duże wartości formatowane
+ * są dokładnie przy pomocy BigDecimal, dzięki czemu wynik jest zawsze
+ * taki sam jak wynik String.format("%.nf"). Odczyt również odbywa się
+ * znak po znaku, a wartości zapisywane są bezpośrednio do macierzy.
+ */
+public final class PartitionText {
+
+    /**
+     * Największa obsługiwana liczba cyfr po przecinku.
+     */
+    public static final int MAX_PRECISION = 17;
+
+    /**
+     * Największa długość jednej sformatowanej wartości.
+     */
+    static final int MAX_VALUE_LENGTH = 352;
+
+    /**
+     * Rozmiar bufora zapisu i odczytu w znakach.
+     */
+    private static final int BUFFER_SIZE = 1 << 14;
+
+    /**
+     * Wartości po pomnożeniu przez 10^precyzja mniejsze od tej granicy
+     * formatowane są bez BigDecimal. Błąd mnożenia jest dla nich mniejszy
+     * niż TIE_MARGIN.
+     */
+    private static final double FAST_LIMIT = 1e9;
+
+    /**
+     * Odległość od połowy ostatniej cyfry, poniżej której wartość
+     * formatowana jest dokładnie.
+     */
+    private static final double TIE_MARGIN = 0.000001;
+
+    /**
+     * Kolejne potęgi 10 dokładnie reprezentowane w typie double.
+     */
+    private static final double[] POWERS_OF_TEN = new double[23];
+
+    /**
+     * Kolejne potęgi 10 w typie long.
+     */
+    private static final long[] LONG_POWERS_OF_TEN = new long[19];
+
+    static {
+        double power = 1.0;
+        for (int k = 0; k < POWERS_OF_TEN.length; k++) {
+            POWERS_OF_TEN[k] = power;
+            power *= 10;
+        }
+        long longPower = 1L;
+        for (int k = 0; k < LONG_POWERS_OF_TEN.length; k++) {
+            LONG_POWERS_OF_TEN[k] = longPower;
+            longPower *= 10;
+        }
+    }
+
+    private PartitionText() {
+    }
+
+    /**
+     * Zapisuje podział w postaci tekstowej.
+     *
+     * @param U         Podział rozmyty
+     * @param out       Miejsce zapisu, np. Writer lub StringBuilder
+     * @param separator Separator wartości, np. ',' lub '\t'
+     * @param precision Liczba cyfr po przecinku (od 0 do 17)
+     * @throws IOException jeżeli zapis się nie powiódł
+     */
+    public static void write(FuzzyPartition U, Appendable out,
+                             char separator, int precision)
+            throws IOException {
+        if (out instanceof Writer) {
+            Writer writer = (Writer) out;
+            write(U, separator, precision,
+                    (buffer, length) -> writer.write(buffer, 0, length));
+        } else {
+            write(U, separator, precision, (buffer, length) ->
+                    out.append(CharBuffer.wrap(buffer, 0, length)));
+        }
+    }
+
+    /**
+     * Zapisuje podział w postaci tekstowej, w kodowaniu ASCII.
+     *
+     * @param U         Podział rozmyty
+     * @param out       Strumień wyjściowy
+     * @param separator Separator wartości (znak ASCII), np. ',' lub '\t'
+     * @param precision Liczba cyfr po przecinku (od 0 do 17)
+     * @throws IOException jeżeli zapis się nie powiódł
+     */
+    public static void write(FuzzyPartition U, OutputStream out,
+                             char separator, int precision)
+            throws IOException {
+        if (separator > 0x7F) throw new IllegalArgumentException(
+                "Separator must be an ASCII character"
+        );
+        byte[] bytes = new byte[BUFFER_SIZE];
+        write(U, separator, precision, (buffer, length) -> {
+            for (int k = 0; k < length; k++) bytes[k] = (byte) buffer[k];
+            out.write(bytes, 0, length);
+        });
+    }
+
+    /**
+     * Odczytuje podział zapisany w postaci tekstowej. Liczba wierszy
+     * i kolumn wyznaczana jest na podstawie danych.
+     *
+     * @param in        Źródło danych
+     * @param separator Separator wartości, np. ',' lub '\t'
+     * @return Odczytany podział (jego poprawność nie jest sprawdzana)
+     * @throws IOException jeżeli odczyt się nie powiódł lub dane nie są
+     *                     poprawną macierzą
+     */
+    public static FuzzyPartition read(Reader in, char separator)
+            throws IOException {
+        return read(new TextInput(in), separator);
+    }
+
+    /**
+     * Odczytuje podział zapisany w postaci tekstowej w kodowaniu ASCII.
+     * Liczba wierszy i kolumn wyznaczana jest na podstawie danych.
+     *
+     * @param in        Strumień wejściowy
+     * @param separator Separator wartości, np. ',' lub '\t'
+     * @return Odczytany podział (jego poprawność nie jest sprawdzana)
+     * @throws IOException jeżeli odczyt się nie powiódł lub dane nie są
+     *                     poprawną macierzą
+     */
+    public static FuzzyPartition read(InputStream in, char separator)
+            throws IOException {
+        return read(new TextInput(in), separator);
+    }
+
+    /**
+     * Odczytuje podział zapisany w postaci tekstowej bezpośrednio do
+     * podanej macierzy, np. utworzonej w arenie lub w pliku. Dane muszą
+     * mieć wymiary macierzy.
+     *
+     * @param in        Źródło danych
+     * @param separator Separator wartości, np. ',' lub '\t'
+     * @param target    Macierz, do której zapisywane są wartości
+     * @return Podział korzystający z podanej macierzy
+     * @throws IOException jeżeli odczyt się nie powiódł lub dane nie mają
+     *                     wymiarów macierzy
+     */
+    public static FuzzyPartition read(Reader in, char separator,
+                                      PartitionStorage target)
+            throws IOException {
+        return read(new TextInput(in), separator, target);
+    }
+
+    /**
+     * Odczytuje podział zapisany w postaci tekstowej w kodowaniu ASCII
+     * bezpośrednio do podanej macierzy. Dane muszą mieć wymiary macierzy.
+     *
+     * @param in        Strumień wejściowy
+     * @param separator Separator wartości, np. ',' lub '\t'
+     * @param target    Macierz, do której zapisywane są wartości
+     * @return Podział korzystający z podanej macierzy
+     * @throws IOException jeżeli odczyt się nie powiódł lub dane nie mają
+     *                     wymiarów macierzy
+     */
+    public static FuzzyPartition read(InputStream in, char separator,
+                                      PartitionStorage target)
+            throws IOException {
+        return read(new TextInput(in), separator, target);
+    }
+
+    /**
+     * Zapisuje do tablicy wartość z podaną liczbą cyfr po przecinku,
+     * tak jak String.format("%.nf"), ale z podanym separatorem dziesiętnym.
+     *
+     * @param out              Tablica, do której zapisywana jest wartość
+     *                         (co najmniej MAX_VALUE_LENGTH wolnych znaków)
+     * @param pos              Indeks pierwszego zapisywanego znaku
+     * @param value            Wartość
+     * @param precision        Liczba cyfr po przecinku (od 0 do 17)
+     * @param decimalSeparator Separator dziesiętny
+     * @return Indeks za ostatnim zapisanym znakiem
+     */
+    static int appendFixed(char[] out, int pos, double value, int precision,
+                           char decimalSeparator) {
+        if (value != value) return appendString(out, pos, "NaN");
+        if (Double.isInfinite(value)) {
+            return appendString(out, pos, value > 0 ? "Infinity"
+                    : "-Infinity");
+        }
+        if (Double.doubleToRawLongBits(value) < 0) {
+            out[pos++] = '-';
+            value = -value;
+        }
+        double scaled = value * POWERS_OF_TEN[precision];
+        double floor = Math.floor(scaled);
+        double fraction = scaled - floor;
+        if (scaled < FAST_LIMIT && Math.abs(fraction - 0.5) > TIE_MARGIN) {
+            long digits = (long) floor + (fraction > 0.5 ? 1 : 0);
+            long power = LONG_POWERS_OF_TEN[precision];
+            pos = appendLong(out, pos, digits / power);
+            if (precision == 0) return pos;
+            out[pos++] = decimalSeparator;
+            long decimals = digits % power;
+            for (int k = precision - 1; k >= 0; k--) {
+                out[pos + k] = (char) ('0' + decimals % 10);
+                decimals /= 10;
+            }
+            return pos + precision;
+        }
+        // Tak jak String.format, zaokrąglamy najkrótszy zapis dziesiętny
+        // wartości (Double.toString), a nie jej dokładną wartość binarną.
+        String exact = new BigDecimal(Double.toString(value))
+                .setScale(precision, RoundingMode.HALF_UP).toPlainString();
+        for (int k = 0; k < exact.length(); k++) {
+            char c = exact.charAt(k);
+            out[pos++] = c == '.' ? decimalSeparator : c;
+        }
+        return pos;
+    }
+
+    /**
+     * Funkcja przekazująca zapełniony bufor znaków do miejsca zapisu.
+     */
+    @FunctionalInterface
+    private interface Sink {
+        void accept(char[] buffer, int length) throws IOException;
+    }
+
+    /**
+     * Zapisuje podział wiersz po wierszu do bufora, przekazując go do
+     * miejsca zapisu po zapełnieniu.
+     */
+    private static void write(FuzzyPartition U, char separator,
+                              int precision, Sink sink) throws IOException {
+        checkSeparator(separator);
+        if (precision < 0 || precision > MAX_PRECISION) {
+            throw new IllegalArgumentException(
+                    "Precision must be in range [0," + MAX_PRECISION + "]"
+            );
+        }
+        PartitionStorage storage = U.storage;
+        int M = U.M;
+        int N = U.N;
+        double[] values = storage instanceof ColumnMajorStorage
+                ? ((ColumnMajorStorage) storage).values : null;
+        char[] buffer = new char[BUFFER_SIZE];
+        int length = 0;
+        for (int i = 0; i < M; i++) {
+            for (int j = 0; j < N; j++) {
+                if (length > BUFFER_SIZE - MAX_VALUE_LENGTH - 2) {
+                    sink.accept(buffer, length);
+                    length = 0;
+                }
+                double value = values != null ? values[j * M + i]
+                        : storage.get(i, j);
+                length = appendFixed(buffer, length, value, precision, '.');
+                buffer[length++] = j == N - 1 ? '\n' : separator;
+            }
+        }
+        if (length > 0) sink.accept(buffer, length);
+    }
+
+    /**
+     * Odczytuje macierz o nieznanych wymiarach. Wartości zbierane są
+     * wierszami w tablicy, która po odczycie przepisywana jest do macierzy
+     * zapisanej kolumnami.
+     */
+    private static FuzzyPartition read(TextInput input, char separator)
+            throws IOException {
+        checkSeparator(separator);
+        double[] rows = new double[1024];
+        int count = 0;
+        int M = 0;
+        int N = -1;
+        while (input.skipBlankLines()) {
+            int columns = 0;
+            do {
+                if (count == rows.length) {
+                    rows = Arrays.copyOf(rows, 2 * rows.length);
+                }
+                rows[count++] = input.readValue(separator);
+                columns++;
+            } while (input.nextInLine(separator));
+            if (N < 0) N = columns;
+            else if (columns != N) throw new IOException(
+                    "Line " + input.line + " has " + columns
+                            + " values, expected " + N
+            );
+            M++;
+        }
+        if (M == 0) throw new IOException("No values to read");
+
+        ColumnMajorStorage storage = new ColumnMajorStorage(M, N);
+        for (int i = 0; i < M; i++)
+            for (int j = 0; j < N; j++)
+                storage.values[j * M + i] = rows[i * N + j];
+        return new FuzzyPartition(storage);
+    }
+
+    /**
+     * Odczytuje macierz o wymiarach podanej macierzy docelowej.
+     */
+    private static FuzzyPartition read(TextInput input, char separator,
+                                       PartitionStorage target)
+            throws IOException {
+        checkSeparator(separator);
+        int M = target.rows();
+        int N = target.columns();
+        for (int i = 0; i < M; i++) {
+            if (!input.skipBlankLines()) throw new IOException(
+                    "Expected " + M + " lines, found " + i
+            );
+            int j = 0;
+            do {
+                if (j == N) throw new IOException(
+                        "Line " + input.line + " has more than " + N
+                                + " values"
+                );
+                target.set(i, j++, input.readValue(separator));
+            } while (input.nextInLine(separator));
+            if (j != N) throw new IOException(
+                    "Line " + input.line + " has " + j + " values, expected "
+                            + N
+            );
+        }
+        if (input.skipBlankLines()) throw new IOException(
+                "Expected " + M + " lines, found more"
+        );
+        return new FuzzyPartition(target);
+    }
+
+    /**
+     * Sprawdza, czy znak może być separatorem wartości.
+     */
+    private static void checkSeparator(char separator) {
+        if (separator == '\n' || separator == '\r' || separator == '.'
+                || separator == '-' || separator == '+'
+                || separator == 'e' || separator == 'E'
+                || (separator >= '0' && separator <= '9')) {
+            throw new IllegalArgumentException("Invalid separator");
+        }
+    }
+
+    /**
+     * Zapisuje napis do tablicy.
+     */
+    private static int appendString(char[] out, int pos, String text) {
+        text.getChars(0, text.length(), out, pos);
+        return pos + text.length();
+    }
+
+    /**
+     * Zapisuje cyfry nieujemnej liczby do tablicy.
+     */
+    private static int appendLong(char[] out, int pos, long value) {
+        int digits = 1;
+        while (digits < LONG_POWERS_OF_TEN.length
+                && value >= LONG_POWERS_OF_TEN[digits]) {
+            digits++;
+        }
+        for (int k = pos + digits - 1; k >= pos; k--) {
+            out[k] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+        return pos + digits;
+    }
+
+    /**
+     * Buforowane źródło znaków z prostym parserem liczb. Znaki
+     * odczytywane ze strumienia bajtów traktowane są jako znaki ASCII.
+     */
+    private static final class TextInput {
+
+        private final Reader reader;
+        private final InputStream stream;
+        private final char[] buffer = new char[BUFFER_SIZE];
+        private final byte[] bytes;
+        private int pos = 0;
+        private int limit = 0;
+
+        /**
+         * Znaki bieżącej wartości, używane tylko wtedy, gdy nie można jej
+         * obliczyć bez Double.parseDouble.
+         */
+        private char[] token = new char[32];
+
+        /**
+         * Numer bieżącej linii (od 1).
+         */
+        int line = 0;
+
+        TextInput(Reader reader) {
+            this.reader = reader;
+            this.stream = null;
+            this.bytes = null;
+        }
+
+        TextInput(InputStream stream) {
+            this.reader = null;
+            this.stream = stream;
+            this.bytes = new byte[BUFFER_SIZE];
+        }
+
+        /**
+         * Zwraca kolejny znak bez jego pobierania lub -1 na końcu danych.
+         */
+        private int peek() throws IOException {
+            if (pos == limit) {
+                int read;
+                if (reader != null) {
+                    read = reader.read(buffer, 0, BUFFER_SIZE);
+                } else {
+                    read = stream.read(bytes, 0, BUFFER_SIZE);
+                    for (int k = 0; k < read; k++) {
+                        buffer[k] = (char) (bytes[k] & 0xFF);
+                    }
+                }
+                if (read <= 0) return -1;
+                pos = 0;
+                limit = read;
+            }
+            return buffer[pos];
+        }
+
+        /**
+         * Pomija spacje i tabulatory niebędące separatorem.
+         */
+        private void skipSpaces(char separator) throws IOException {
+            int c;
+            while ((c = peek()) == ' ' || c == '\t') {
+                if (c == separator && separator != ' ') return;
+                pos++;
+            }
+        }
+
+        /**
+         * Pomija puste linie i przechodzi do początku kolejnej linii
+         * z danymi.
+         *
+         * @return false, jeżeli nie ma więcej danych
+         */
+        boolean skipBlankLines() throws IOException {
+            while (true) {
+                int c = peek();
+                if (c == -1) return false;
+                if (c == '\n') {
+                    pos++;
+                } else if (c == ' ' || c == '\t' || c == '\r') {
+                    pos++;
+                    continue;
+                } else {
+                    line++;
+                    return true;
+                }
+                line++;
+            }
+        }
+
+        /**
+         * Pobiera separator po wartości.
+         *
+         * @return true, jeżeli w linii jest kolejna wartość, lub false,
+         * jeżeli linia się skończyła
+         */
+        boolean nextInLine(char separator) throws IOException {
+            boolean whitespace = separator == ' ' || separator == '\t';
+            int c = peek();
+            if (whitespace && (c == ' ' || c == '\t')) {
+                skipSpaces(' ');
+                c = peek();
+                if (c != '\r' && c != '\n' && c != -1) return true;
+            } else {
+                skipSpaces(separator);
+                c = peek();
+            }
+            if (c == separator) {
+                pos++;
+                return true;
+            }
+            if (c == '\r') {
+                pos++;
+                c = peek();
+            }
+            if (c == '\n') {
+                pos++;
+                return false;
+            }
+            if (c == -1) return false;
+            throw new IOException("Unexpected character '" + (char) c
+                    + "' in line " + line);
+        }
+
+        /**
+         * Odczytuje jedną wartość. Liczby o co najwyżej 15 cyfrach
+         * znaczących i niewielkim wykładniku obliczane są dokładnie jako
+         * iloczyn lub iloraz dwóch liczb reprezentowanych bez błędu,
+         * pozostałe przy pomocy Double.parseDouble.
+         */
+        double readValue(char separator) throws IOException {
+            skipSpaces(separator);
+            int length = 0;
+            long mantissa = 0;
+            int significant = 0;
+            int exponent = 0;
+            boolean negative = false;
+            boolean fraction = false;
+            boolean digits = false;
+            boolean simple = true;
+            int c;
+            while ((c = peek()) != -1 && c != separator && c != '\n'
+                    && c != '\r' && c != ' ' && c != '\t') {
+                pos++;
+                if (length == token.length) {
+                    token = Arrays.copyOf(token, 2 * length);
+                }
+                token[length++] = (char) c;
+                if (c >= '0' && c <= '9') {
+                    digits = true;
+                    if (mantissa == 0 && c == '0') {
+                        if (fraction) exponent--;
+                    } else if (significant < 15) {
+                        mantissa = 10 * mantissa + (c - '0');
+                        significant++;
+                        if (fraction) exponent--;
+                    } else {
+                        simple = false;
+                    }
+                } else if (c == '.' && !fraction) {
+                    fraction = true;
+                } else if ((c == '-' || c == '+') && length == 1) {
+                    negative = c == '-';
+                } else {
+                    simple = false;
+                }
+            }
+            if (length == 0) throw new IOException(
+                    "Missing value in line " + line
+            );
+            if (simple && digits && -exponent < POWERS_OF_TEN.length) {
+                double value = exponent == 0 ? mantissa
+                        : mantissa / POWERS_OF_TEN[-exponent];
+                return negative ? -value : value;
+            }
+            String text = new String(token, 0, length);
+            try {
+                return Double.parseDouble(text);
+            } catch (NumberFormatException e) {
+                throw new IOException("Malformed value '" + text
+                        + "' in line " + line);
+            }
+        }
+    }
+}
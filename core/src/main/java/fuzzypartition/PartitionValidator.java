@@ -0,0 +1,288 @@
+package fuzzypartition;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Walidator podziałów rozmytych przeznaczony do sprawdzania dużej liczby
+ * wczytywanych macierzy. W przeciwieństwie do metody
+ * 'FuzzyPartition.validate' walidator:
+ * <ul>
+ *     <li>przerywa sprawdzanie na pierwszej niepoprawnej kolumnie
+ *     i zwraca raport wskazujący kolumnę oraz przyczynę błędu,</li>
+ *     <li>korzysta z własnego marginesu błędu, odczytanego raz przy
+ *     tworzeniu walidatora,</li>
+ *     <li>może poprawiać kolumny prawie poprawne - wartości ujemne
+ *     zastępowane są zerem, a kolumna dzielona jest przez swoją sumę,
+ *     tak jak przy tworzeniu losowego podziału,</li>
+ *     <li>sprawdza listy podziałów równolegle, jeżeli zostało to włączone
+ *     (zob. 'FuzzyPartition.setParallelism').</li>
+ * </ul>
+ * Każda kolumna przeglądana jest jeden raz. Statystyki kolumn obliczone
+ * przy sprawdzaniu poprawnego podziału są w nim zapamiętywane, dzięki
+ * czemu kolejne operacje na tym podziale nie muszą ich wyznaczać.
+ */
+public final class PartitionValidator {
+
+    /**
+     * Rodzaj błędu wykrytego w kolumnie.
+     */
+    public enum Problem {
+
+        /**
+         * Wartość spoza przedziału [0,1].
+         */
+        VALUE_OUT_OF_RANGE,
+
+        /**
+         * Suma kolumny różna od 1.
+         */
+        BAD_COLUMN_SUM
+    }
+
+    /**
+     * Wynik sprawdzenia podziału rozmytego.
+     */
+    public static final class Report {
+
+        private final int column;
+        private final int row;
+        private final Problem problem;
+        private final double value;
+        private final int renormalizedColumns;
+
+        private Report(int column, int row, Problem problem, double value,
+                       int renormalizedColumns) {
+            this.column = column;
+            this.row = row;
+            this.problem = problem;
+            this.value = value;
+            this.renormalizedColumns = renormalizedColumns;
+        }
+
+        /**
+         * Zwraca informację, czy podział jest poprawny (być może po
+         * poprawieniu kolumn).
+         *
+         * @return true, jeżeli podział spełnia założenia podziału
+         * rozmytego
+         */
+        public boolean isValid() {
+            return problem == null;
+        }
+
+        /**
+         * Zwraca rodzaj błędu.
+         *
+         * @return Rodzaj błędu lub null dla poprawnego podziału
+         */
+        public Problem getProblem() {
+            return problem;
+        }
+
+        /**
+         * Zwraca numer pierwszej niepoprawnej kolumny.
+         *
+         * @return Numer kolumny lub -1 dla poprawnego podziału
+         */
+        public int getColumn() {
+            return column;
+        }
+
+        /**
+         * Zwraca numer wiersza pierwszej wartości spoza przedziału [0,1].
+         *
+         * @return Numer wiersza lub -1, jeżeli błędem nie jest wartość
+         * spoza przedziału
+         */
+        public int getRow() {
+            return row;
+        }
+
+        /**
+         * Zwraca wartość spoza przedziału [0,1] albo niepoprawną sumę
+         * kolumny.
+         *
+         * @return Niepoprawna wartość lub NaN dla poprawnego podziału
+         */
+        public double getValue() {
+            return value;
+        }
+
+        /**
+         * Zwraca liczbę kolumn poprawionych przez walidator. Kolumny są
+         * poprawiane tylko wtedy, gdy cały podział okazał się poprawny.
+         *
+         * @return Liczba poprawionych kolumn
+         */
+        public int getRenormalizedColumns() {
+            return renormalizedColumns;
+        }
+
+        @Override
+        public String toString() {
+            if (problem == null) {
+                return "Valid partition (" + renormalizedColumns
+                        + " columns renormalized)";
+            }
+            if (problem == Problem.VALUE_OUT_OF_RANGE) {
+                return "Column " + column + ": value " + value + " in row "
+                        + row + " is out of range [0,1]";
+            }
+            return "Column " + column + ": values sum up to " + value
+                    + " instead of 1";
+        }
+    }
+
+    /**
+     * Dopuszczalny błąd wartości i sum kolumn.
+     */
+    private final double epsilon;
+
+    /**
+     * Dopuszczalny błąd kolumn, które są poprawiane, lub 0, jeżeli
+     * kolumny nie są poprawiane.
+     */
+    private final double renormalizationTolerance;
+
+    /**
+     * Tworzy walidator z marginesem błędu ustawionym w klasie
+     * 'FuzzyPartition', który nie poprawia kolumn.
+     */
+    public PartitionValidator() {
+        this(FuzzyPartition.epsilon, 0.0);
+    }
+
+    /**
+     * Tworzy walidator o podanym marginesie błędu. Kolumny, których
+     * wartości różnią się od przedziału [0,1], a suma od 1, o więcej niż
+     * epsilon, ale nie więcej niż renormalizationTolerance, są poprawiane:
+     * wartości ujemne zastępowane są zerem, a kolumna dzielona jest przez
+     * swoją sumę.
+     *
+     * @param epsilon                  Dopuszczalny błąd
+     * @param renormalizationTolerance Dopuszczalny błąd kolumn
+     *                                 poprawianych lub 0, aby nie poprawiać
+     *                                 kolumn
+     */
+    public PartitionValidator(double epsilon,
+                              double renormalizationTolerance) {
+        if (!(epsilon >= 0)) throw new IllegalArgumentException(
+                "Epsilon must be non-negative"
+        );
+        if (!(renormalizationTolerance >= 0)
+                || renormalizationTolerance >= 1) {
+            throw new IllegalArgumentException(
+                    "Renormalization tolerance must be in range [0,1)"
+            );
+        }
+        this.epsilon = epsilon;
+        this.renormalizationTolerance = renormalizationTolerance;
+    }
+
+    /**
+     * Sprawdza podział rozmyty i, jeżeli jest poprawny, poprawia prawie
+     * poprawne kolumny. Niepoprawny podział nie jest modyfikowany.
+     *
+     * @param U Podział rozmyty
+     * @return Raport ze sprawdzenia
+     */
+    public Report validate(FuzzyPartition U) {
+        PartitionStorage storage = U.storage;
+        int M = U.M;
+        int N = U.N;
+        ColumnStatistics statistics = new ColumnStatistics(M, N);
+        int[] renormalized = new int[0];
+        int renormalizedCount = 0;
+
+        boolean direct = storage instanceof ColumnMajorStorage;
+        double[] c = direct ? ((ColumnMajorStorage) storage).values
+                : new double[M];
+        for (int j = 0; j < N; j++) {
+            int offset = direct ? j * M : 0;
+            if (!direct) storage.readColumn(j, c, 0);
+            statistics.collect(j, c, offset);
+            if (isValid(statistics, j, epsilon)) continue;
+            if (renormalizationTolerance > epsilon
+                    && isValid(statistics, j, renormalizationTolerance)) {
+                if (renormalizedCount == renormalized.length) {
+                    renormalized = Arrays.copyOf(renormalized,
+                            Math.max(8, 2 * renormalizedCount));
+                }
+                renormalized[renormalizedCount++] = j;
+                continue;
+            }
+            return failure(statistics, j, c, offset);
+        }
+
+        if (renormalizedCount > 0) {
+            double[] column = new double[M];
+            for (int k = 0; k < renormalizedCount; k++) {
+                int j = renormalized[k];
+                storage.readColumn(j, column, 0);
+                renormalize(column);
+                storage.writeColumn(j, column, 0);
+                statistics.collect(j, column, 0);
+            }
+            U.invalidateStatistics();
+        }
+        U.cacheStatistics(statistics.finish());
+        return new Report(-1, -1, null, Double.NaN, renormalizedCount);
+    }
+
+    /**
+     * Sprawdza listę podziałów rozmytych, równolegle, jeżeli zostało to
+     * włączone. Każdy podział może wystąpić na liście tylko raz.
+     *
+     * @param partitions Podziały rozmyte
+     * @return Raporty ze sprawdzenia, w kolejności podziałów
+     */
+    public List<Report> validateAll(List<FuzzyPartition> partitions) {
+        FuzzyPartition[] batch = partitions.toArray(new FuzzyPartition[0]);
+        Report[] reports = new Report[batch.length];
+        ColumnTasks.forEachTask(batch.length,
+                k -> reports[k] = validate(batch[k]));
+        return Arrays.asList(reports);
+    }
+
+    /**
+     * Sprawdza, czy wartości kolumny j należą do przedziału [0,1]
+     * i sumują się do 1, z dokładnością do tolerance.
+     */
+    private static boolean isValid(ColumnStatistics statistics, int j,
+                                   double tolerance) {
+        return statistics.min[j] + tolerance >= 0
+                && statistics.max[j] - tolerance <= 1
+                && Math.abs(1.0 - statistics.sum[j]) <= tolerance;
+    }
+
+    /**
+     * Tworzy raport dla niepoprawnej kolumny j, wskazując pierwszą
+     * wartość spoza przedziału [0,1] albo sumę kolumny.
+     */
+    private Report failure(ColumnStatistics statistics, int j, double[] c,
+                           int offset) {
+        double tolerance = Math.max(epsilon, renormalizationTolerance);
+        for (int i = 0; i < statistics.M; i++) {
+            double value = c[offset + i];
+            if (!(value + tolerance >= 0 && value - tolerance <= 1)) {
+                return new Report(j, i, Problem.VALUE_OUT_OF_RANGE, value,
+                        0);
+            }
+        }
+        return new Report(j, -1, Problem.BAD_COLUMN_SUM, statistics.sum[j],
+                0);
+    }
+
+    /**
+     * Zastępuje wartości ujemne zerem i dzieli kolumnę przez jej sumę.
+     */
+    private static void renormalize(double[] column) {
+        double sum = 0.0;
+        for (int i = 0; i < column.length; i++) {
+            if (column[i] < 0) column[i] = 0.0;
+            sum += column[i];
+        }
+        for (int i = 0; i < column.length; i++) column[i] /= sum;
+    }
+}
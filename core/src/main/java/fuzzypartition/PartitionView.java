@@ -0,0 +1,102 @@
+package fuzzypartition;
+
+/**
+ * Widok tylko do odczytu na fragment macierzy innego podziału: zakres
+ * kolumn i (opcjonalnie) wybrane wiersze. Widok nie kopiuje wartości, więc
+ * zmiany macierzy podziału są w nim widoczne. Wyniki operacji na widoku
+ * tworzone są przez macierz podziału (zob. 'PartitionStorage.newStorage'),
+ * np. w tej samej arenie.
+ */
+final class PartitionView implements PartitionStorage {
+
+    /**
+     * Macierz, na którą wskazuje widok.
+     */
+    private final PartitionStorage parent;
+
+    /**
+     * Numery wierszy macierzy należących do widoku lub null, jeżeli widok
+     * obejmuje wszystkie wiersze.
+     */
+    private final int[] rowIndices;
+
+    /**
+     * Numer pierwszej kolumny macierzy należącej do widoku.
+     */
+    private final int firstColumn;
+
+    /**
+     * Liczba kolumn widoku.
+     */
+    private final int columns;
+
+    /**
+     * Tworzy widok na zakres kolumn i wybrane wiersze macierzy. Jeżeli
+     * macierz jest już widokiem, nowy widok wskazuje bezpośrednio na jej
+     * macierz.
+     *
+     * @param parent      Macierz podziału
+     * @param rowIndices  Numery wierszy lub null dla wszystkich wierszy
+     * @param firstColumn Numer pierwszej kolumny
+     * @param columns     Liczba kolumn
+     */
+    PartitionView(PartitionStorage parent, int[] rowIndices,
+                  int firstColumn, int columns) {
+        if (parent instanceof PartitionView) {
+            PartitionView view = (PartitionView) parent;
+            if (rowIndices != null && view.rowIndices != null) {
+                int[] composed = new int[rowIndices.length];
+                for (int k = 0; k < composed.length; k++)
+                    composed[k] = view.rowIndices[rowIndices[k]];
+                rowIndices = composed;
+            } else if (rowIndices == null) {
+                rowIndices = view.rowIndices;
+            }
+            firstColumn += view.firstColumn;
+            parent = view.parent;
+        }
+        this.parent = parent;
+        this.rowIndices = rowIndices;
+        this.firstColumn = firstColumn;
+        this.columns = columns;
+    }
+
+    @Override
+    public int rows() {
+        return rowIndices == null ? parent.rows() : rowIndices.length;
+    }
+
+    @Override
+    public int columns() {
+        return columns;
+    }
+
+    @Override
+    public double get(int row, int column) {
+        return parent.get(rowIndices == null ? row : rowIndices[row],
+                firstColumn + column);
+    }
+
+    @Override
+    public void set(int row, int column, double value) {
+        throw new UnsupportedOperationException(
+                "Partition view is read-only"
+        );
+    }
+
+    @Override
+    public void readColumn(int column, double[] target, int offset) {
+        if (rowIndices == null) {
+            parent.readColumn(firstColumn + column, target, offset);
+            return;
+        }
+        for (int k = 0; k < rowIndices.length; k++)
+            target[offset + k] = parent.get(rowIndices[k],
+                    firstColumn + column);
+    }
+
+    @Override
+    public PartitionStorage newStorage(int rows, int columns) {
+        return parent.newStorage(rows, columns);
+    }
+}
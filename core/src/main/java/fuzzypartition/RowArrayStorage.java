@@ -0,0 +1,61 @@
+package fuzzypartition;
+
+/**
+ * Implementacja 'PartitionStorage' korzystająca bezpośrednio z tablicy
+ * dwuwymiarowej zapisanej wierszami (data[i][j]), bez kopiowania jej.
+ * Wyniki operacji na takim podziale tworzone są w układzie kolumnowym.
+ */
+final class RowArrayStorage implements PartitionStorage {
+
+    /**
+     * Wiersze macierzy.
+     */
+    private final double[][] data;
+
+    /**
+     * Liczba kolumn macierzy.
+     */
+    private final int columns;
+
+    /**
+     * Konstruktor korzystający bezpośrednio z podanej tablicy.
+     *
+     * @param data Macierz zapisana wierszami
+     */
+    RowArrayStorage(double[][] data) {
+        if (data.length == 0 || data[0].length == 0) {
+            throw new IllegalArgumentException(
+                    "Dimensions of partition must be positive"
+            );
+        }
+        for (double[] row : data) {
+            if (row.length != data[0].length) {
+                throw new IllegalArgumentException(
+                        "Rows of partition must have the same length"
+                );
+            }
+        }
+        this.data = data;
+        this.columns = data[0].length;
+    }
+
+    @Override
+    public int rows() {
+        return data.length;
+    }
+
+    @Override
+    public int columns() {
+        return columns;
+    }
+
+    @Override
+    public double get(int row, int column) {
+        return data[row][column];
+    }
+
+    @Override
+    public void set(int row, int column, double value) {
+        data[row][column] = value;
+    }
+}
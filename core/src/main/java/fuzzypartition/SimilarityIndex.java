@@ -0,0 +1,340 @@
+package fuzzypartition;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Indeks zbioru podziałów rozmytych pozwalający wyszukać k podziałów
+ * najbardziej podobnych do podanego w sensie metod
+ * 'calculateSharpnessDegree' oraz 'alphaApproximate'.
+ * <p>
+ * Dla każdego podziału w indeksie przechowywane są statystyki jego kolumn
+ * (minimum, maksimum i suma - zob. 'ColumnStatistics') oraz liczność
+ * i suma wartości nie mniejszych niż 1/M w każdej kolumnie. Na ich
+ * podstawie, oraz liczności i sumy wartości maski zapytania (u >= 1/M lub
+ * u >= alfa) w każdej kolumnie, obliczane jest w czasie O(N) górne ograniczenie
+ * podobieństwa. Dokładne podobieństwo, w czasie O(M * N), obliczane jest
+ * tylko dla podziałów, których ograniczenie przekracza k-te najlepsze
+ * dotąd znalezione podobieństwo. Ograniczenia i dokładne podobieństwa
+ * obliczane są równolegle, jeżeli zostało to włączone (zob.
+ * 'FuzzyPartition.setParallelism').
+ * <p>
+ * Wyszukiwane są wyłącznie podziały o wymiarach zapytania. Podziały
+ * w indeksie nie mogą być modyfikowane.
+ */
+public final class SimilarityIndex {
+
+    /**
+     * Liczba podziałów, dla których ograniczenie obliczane jest w jednym
+     * zadaniu.
+     */
+    private static final int BOUNDS_PER_TASK = 256;
+
+    /**
+     * Margines chroniący przed odrzuceniem podziału z powodu błędów
+     * zaokrągleń w ograniczeniu.
+     */
+    private static final double SLACK = 0.000000001;
+
+    /**
+     * Wynik wyszukiwania: podział z indeksu i jego podobieństwo do
+     * zapytania.
+     */
+    public static final class Match {
+
+        private final FuzzyPartition partition;
+        private final double score;
+
+        Match(FuzzyPartition partition, double score) {
+            this.partition = partition;
+            this.score = score;
+        }
+
+        /**
+         * Zwraca podział z indeksu.
+         *
+         * @return Podział rozmyty
+         */
+        public FuzzyPartition getPartition() {
+            return partition;
+        }
+
+        /**
+         * Zwraca podobieństwo podziału do zapytania.
+         *
+         * @return Podobieństwo w skali od 0 do 1
+         */
+        public double getScore() {
+            return score;
+        }
+    }
+
+    /**
+     * Podziały w indeksie.
+     */
+    private final List<FuzzyPartition> partitions = new ArrayList<>();
+
+    /**
+     * Podsumowania kolumn podziałów w indeksie.
+     */
+    private final List<Summary> summaries = new ArrayList<>();
+
+    /**
+     * Podsumowanie kolumn podziału: statystyki kolumn oraz liczność i suma
+     * wartości nie mniejszych niż 1/M w każdej kolumnie.
+     */
+    private static final class Summary {
+
+        final ColumnStatistics statistics;
+        final int[] count;
+        final double[] maskedSum;
+
+        Summary(FuzzyPartition V) {
+            this.statistics = V.statistics();
+            QueryMask mask = new QueryMask(V, 1.0 / V.M);
+            this.count = mask.count;
+            this.maskedSum = mask.maskedSum;
+        }
+    }
+
+    /**
+     * Łączna liczba dokładnych obliczeń podobieństwa (do testów).
+     */
+    final AtomicLong exactEvaluations = new AtomicLong();
+
+    /**
+     * Dodaje podział do indeksu.
+     *
+     * @param V Podział rozmyty
+     */
+    public void add(FuzzyPartition V) {
+        Summary summary = new Summary(V);
+        synchronized (this) {
+            partitions.add(V);
+            summaries.add(summary);
+        }
+    }
+
+    /**
+     * Zwraca liczbę podziałów w indeksie.
+     *
+     * @return Liczba podziałów
+     */
+    public synchronized int size() {
+        return partitions.size();
+    }
+
+    /**
+     * Zwraca k podziałów V z indeksu o największej wartości
+     * query.calculateSharpnessDegree(V), od najbardziej podobnego.
+     *
+     * @param query Podział rozmyty będący zapytaniem
+     * @param k     Liczba wyników
+     * @return Co najwyżej k najbardziej podobnych podziałów
+     */
+    public List<Match> nearestBySharpness(FuzzyPartition query, int k) {
+        double threshold = 1.0 / query.M;
+        QueryMask mask = new QueryMask(query, threshold);
+        return search(query, k,
+                summary -> 1 - sharpnessLowerBound(mask, summary)
+                        / (2 * query.N),
+                query::calculateSharpnessDegree);
+    }
+
+    /**
+     * Zwraca k podziałów V z indeksu o największej wartości
+     * query.alphaApproximate(alpha, V), od najbardziej podobnego.
+     *
+     * @param query Podział rozmyty będący zapytaniem
+     * @param alpha Poziom alfa
+     * @param k     Liczba wyników
+     * @return Co najwyżej k najbardziej podobnych podziałów
+     */
+    public List<Match> nearestByAlphaApproximation(FuzzyPartition query,
+                                                   double alpha, int k) {
+        QueryMask mask = new QueryMask(query, alpha);
+        double card = mask.cardinality();
+        double denominator = card * alpha
+                + ((double) query.M * query.N - card) * (1 - alpha);
+        return search(query, k,
+                summary -> 1 - alphaLowerBound(mask, summary, alpha)
+                        / denominator,
+                V -> query.alphaApproximate(alpha, V));
+    }
+
+    /**
+     * Liczność i suma wartości maski zapytania (u >= próg) oraz suma
+     * wartości każdej kolumny zapytania.
+     */
+    private static final class QueryMask {
+
+        final int M;
+        final int[] count;
+        final double[] maskedSum;
+        final double[] sum;
+
+        QueryMask(FuzzyPartition query, double threshold) {
+            int M = query.M;
+            this.M = M;
+            this.count = new int[query.N];
+            this.maskedSum = new double[query.N];
+            this.sum = new double[query.N];
+            ColumnTasks.forEachRange(M, query.N, (from, to) -> {
+                double[] column = new double[M];
+                for (int j = from; j < to; j++) {
+                    query.storage.readColumn(j, column, 0);
+                    for (double u : column) {
+                        if (u >= threshold) {
+                            count[j]++;
+                            maskedSum[j] += u;
+                        }
+                        sum[j] += u;
+                    }
+                }
+            });
+        }
+
+        long cardinality() {
+            long cardinality = 0;
+            for (int c : count) cardinality += c;
+            return cardinality;
+        }
+    }
+
+    /**
+     * Górne ograniczenie sumy wartości kolumny j podziału V w dowolnych
+     * a wierszach. Suma ta nie przekracza a * max, sumy kolumny
+     * pomniejszonej o (M - a) * min, ani sumy b wartości nie mniejszych
+     * niż 1/M powiększonej o (a - b) * 1/M.
+     */
+    private static double maskedUpperBound(Summary V, int j, int a) {
+        ColumnStatistics statistics = V.statistics;
+        double high = Math.min(statistics.sum[j], Math.min(
+                a * statistics.max[j],
+                statistics.sum[j] - (statistics.M - a) * statistics.min[j]));
+        double aboveThreshold = V.maskedSum[j]
+                + Math.max(0, a - V.count[j]) * (1.0 / statistics.M);
+        return Math.min(high, aboveThreshold);
+    }
+
+    /**
+     * Dolne ograniczenie sumy K1 + K2 z 'calculateSharpnessDegree':
+     * w każdej kolumnie suma (u - v)^+ po masce jest nie mniejsza niż
+     * U_A - V_A, a suma (v - u)^+ poza maską nie mniejsza niż
+     * (Vsum - V_A) - (Usum - U_A).
+     */
+    private static double sharpnessLowerBound(QueryMask U, Summary V) {
+        double bound = 0.0;
+        for (int j = 0; j < U.count.length; j++) {
+            double high = maskedUpperBound(V, j, U.count[j]);
+            bound += Math.max(0.0, U.maskedSum[j] - high);
+            bound += Math.max(0.0, (V.statistics.sum[j] - high)
+                    - (U.sum[j] - U.maskedSum[j]));
+        }
+        return bound;
+    }
+
+    /**
+     * Dolne ograniczenie sumy M1 + M2 z 'alphaApproximate': w każdej
+     * kolumnie suma (alfa - v)^+ po masce jest nie mniejsza niż
+     * a * alfa - V_A, a suma (v - alfa)^+ poza maską nie mniejsza niż
+     * (Vsum - V_A) - (M - a) * alfa.
+     */
+    private static double alphaLowerBound(QueryMask U, Summary V,
+                                          double alpha) {
+        double bound = 0.0;
+        for (int j = 0; j < U.count.length; j++) {
+            int a = U.count[j];
+            double high = maskedUpperBound(V, j, a);
+            bound += Math.max(0.0, a * alpha - high);
+            bound += Math.max(0.0,
+                    (V.statistics.sum[j] - high) - (U.M - a) * alpha);
+        }
+        return bound;
+    }
+
+    /**
+     * Funkcja obliczająca górne ograniczenie podobieństwa na podstawie
+     * podsumowania kolumn.
+     */
+    @FunctionalInterface
+    private interface Bound {
+        double apply(Summary summary);
+    }
+
+    /**
+     * Funkcja obliczająca dokładne podobieństwo.
+     */
+    @FunctionalInterface
+    private interface Score {
+        double apply(FuzzyPartition V);
+    }
+
+    /**
+     * Wyszukuje k podziałów o największym podobieństwie. Podziały
+     * przetwarzane są w kolejności malejących ograniczeń, partiami po k
+     * (lecz nie mniej niż 16), dopóki ograniczenie kolejnego podziału
+     * przekracza k-te najlepsze podobieństwo.
+     */
+    private List<Match> search(FuzzyPartition query, int k, Bound bound,
+                               Score score) {
+        if (k <= 0) throw new IllegalArgumentException(
+                "Number of results must be positive"
+        );
+        FuzzyPartition[] stored;
+        Summary[] stats;
+        synchronized (this) {
+            stored = partitions.toArray(new FuzzyPartition[0]);
+            stats = summaries.toArray(new Summary[0]);
+        }
+
+        double[] bounds = new double[stored.length];
+        int boundTasks = (stored.length + BOUNDS_PER_TASK - 1)
+                / BOUNDS_PER_TASK;
+        ColumnTasks.forEachTask(boundTasks, task -> {
+            int to = Math.min(stored.length, (task + 1) * BOUNDS_PER_TASK);
+            for (int s = task * BOUNDS_PER_TASK; s < to; s++) {
+                bounds[s] = stored[s].M == query.M && stored[s].N == query.N
+                        ? bound.apply(stats[s]) : Double.NEGATIVE_INFINITY;
+            }
+        });
+
+        Integer[] order = new Integer[stored.length];
+        for (int s = 0; s < order.length; s++) order[s] = s;
+        Arrays.sort(order, Comparator.comparingDouble(s -> -bounds[s]));
+
+        List<Match> best = new ArrayList<>();
+        Comparator<Match> byScore =
+                Comparator.comparingDouble(match -> -match.score);
+        int batch = Math.max(k, 16);
+        int next = 0;
+        while (next < order.length) {
+            double bar = best.size() < k ? Double.NEGATIVE_INFINITY
+                    : best.get(k - 1).score;
+            int from = next;
+            int to = from;
+            while (to < order.length && to - from < batch
+                    && bounds[order[to]] != Double.NEGATIVE_INFINITY
+                    && bounds[order[to]] + SLACK > bar) {
+                to++;
+            }
+            if (to == from) break;
+
+            Match[] scored = new Match[to - from];
+            ColumnTasks.forEachTask(scored.length, t -> {
+                FuzzyPartition V = stored[order[from + t]];
+                scored[t] = new Match(V, score.apply(V));
+            });
+            exactEvaluations.addAndGet(scored.length);
+            Collections.addAll(best, scored);
+            best.sort(byScore);
+            if (best.size() > k) best.subList(k, best.size()).clear();
+            next = to;
+        }
+        return best;
+    }
+}
@@ -0,0 +1,408 @@
+package fuzzypartition;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Podział rozmyty zmieniany kolumna po kolumnie, którego przekształcenia
+ * (MLS, dopełnienie, LS, alfa-cięcia) są uaktualniane przyrostowo.
+ * <p>
+ * Dla każdego obliczonego przekształcenia zapamiętywany jest jego wynik
+ * i zbiór kolumn zmienionych od ostatniego obliczenia. Ponowne wywołanie
+ * metody przekształcenia przelicza tylko te kolumny wyniku. Wyjątkiem są
+ * LS i jego dopełnienie, zależne od minimum (maksimum) całej macierzy -
+ * minima i maksima kolumn przechowywane są w drzewie przedziałowym,
+ * dzięki czemu po zmianie kolumny minimum i maksimum macierzy wyznaczane
+ * są w czasie O(log N), a wszystkie kolumny wyniku przeliczane są tylko
+ * wtedy, gdy wartość skrajna macierzy rzeczywiście się zmieniła.
+ * <p>
+ * Statystyki kolumn podziału (zob. 'getPartition') są uaktualniane wraz
+ * z kolumnami, więc np. 'validate' nie przegląda całej macierzy. Wyniki
+ * przekształceń są zmieniane w miejscu przy kolejnych wywołaniach i nie
+ * powinny być modyfikowane. Klasa nie jest bezpieczna wielowątkowo.
+ */
+public final class UpdatablePartition {
+
+    /**
+     * Przekształcenia uaktualniane przyrostowo.
+     */
+    private enum Operation {
+        COMPLEMENT, LS, COMPLEMENT_LS, MLS, COMPLEMENT_MLS,
+        ALPHA_LEVEL, COMPLEMENT_ALPHA_LEVEL
+    }
+
+    /**
+     * Klucz wyniku: przekształcenie i jego parametr.
+     */
+    private static final class Key {
+
+        private final Operation operation;
+        private final double parameter;
+
+        Key(Operation operation, double parameter) {
+            this.operation = operation;
+            this.parameter = parameter;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * operation.hashCode() + Double.hashCode(parameter);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key that = (Key) o;
+            return operation == that.operation
+                    && Double.compare(parameter, that.parameter) == 0;
+        }
+    }
+
+    /**
+     * Wynik przekształcenia wraz z kolumnami wymagającymi przeliczenia.
+     */
+    private static final class Derived {
+
+        final FuzzyPartition result;
+        final BitSet dirty = new BitSet();
+
+        /**
+         * Minimum lub maksimum macierzy użyte przy ostatnim obliczeniu LS
+         * (NaN, jeżeli wszystkie wartości były równe).
+         */
+        double extreme = Double.NaN;
+
+        Derived(FuzzyPartition result) {
+            this.result = result;
+        }
+    }
+
+    /**
+     * Minima i maksima kolumn w drzewie przedziałowym. Liście zajmują
+     * indeksy od N do 2N - 1, a węzeł k jest minimum (maksimum) węzłów
+     * 2k i 2k + 1, więc węzeł 1 jest minimum (maksimum) całej macierzy.
+     */
+    private static final class ColumnExtremes {
+
+        private final int N;
+        private final double[] min;
+        private final double[] max;
+
+        ColumnExtremes(double[] columnMin, double[] columnMax) {
+            this.N = columnMin.length;
+            this.min = new double[2 * N];
+            this.max = new double[2 * N];
+            System.arraycopy(columnMin, 0, min, N, N);
+            System.arraycopy(columnMax, 0, max, N, N);
+            for (int k = N - 1; k >= 1; k--) {
+                min[k] = Math.min(min[2 * k], min[2 * k + 1]);
+                max[k] = Math.max(max[2 * k], max[2 * k + 1]);
+            }
+        }
+
+        void update(int j, double columnMin, double columnMax) {
+            int k = N + j;
+            min[k] = columnMin;
+            max[k] = columnMax;
+            for (k >>= 1; k >= 1; k >>= 1) {
+                min[k] = Math.min(min[2 * k], min[2 * k + 1]);
+                max[k] = Math.max(max[2 * k], max[2 * k + 1]);
+            }
+        }
+
+        double min() {
+            return min[1];
+        }
+
+        double max() {
+            return max[1];
+        }
+    }
+
+    /**
+     * Bieżący podział.
+     */
+    private final FuzzyPartition partition;
+
+    /**
+     * Wartości bieżącego podziału w układzie kolumnowym.
+     */
+    private final double[] values;
+
+    /**
+     * Statystyki kolumn bieżącego podziału.
+     */
+    private final ColumnStatistics statistics;
+
+    /**
+     * Minima i maksima kolumn.
+     */
+    private final ColumnExtremes extremes;
+
+    /**
+     * Obliczone przekształcenia.
+     */
+    private final Map<Key, Derived> derived = new HashMap<>();
+
+    /**
+     * Łączna liczba przeliczonych kolumn wyników (do testów).
+     */
+    long recomputedColumns = 0;
+
+    /**
+     * Tworzy podział zmieniany kolumna po kolumnie o wartościach podanego
+     * podziału. Wartości są kopiowane.
+     *
+     * @param U Podział rozmyty
+     */
+    public UpdatablePartition(FuzzyPartition U) {
+        ColumnMajorStorage storage = new ColumnMajorStorage(U.M, U.N);
+        for (int j = 0; j < U.N; j++)
+            U.storage.readColumn(j, storage.values, j * U.M);
+        this.values = storage.values;
+        this.partition = new FuzzyPartition(storage);
+        ColumnStatistics cached = U.cachedStatistics();
+        this.statistics = cached != null ? cached.slice(0, U.N)
+                : ColumnStatistics.compute(storage);
+        this.extremes = new ColumnExtremes(statistics.min, statistics.max);
+        partition.cacheStatistics(statistics);
+    }
+
+    /**
+     * Zwraca bieżący podział. Jego wartości należy zmieniać wyłącznie
+     * metodami 'set' i 'setColumn'.
+     *
+     * @return Bieżący podział
+     */
+    public FuzzyPartition getPartition() {
+        return partition;
+    }
+
+    /**
+     * Zmienia jedną wartość podziału.
+     *
+     * @param i     Numer wiersza
+     * @param j     Numer kolumny
+     * @param value Nowa wartość
+     */
+    public void set(int i, int j, double value) {
+        if (i < 0 || i >= partition.M) throw new IllegalArgumentException(
+                "Row " + i + " is out of range"
+        );
+        checkColumn(j);
+        values[j * partition.M + i] = value;
+        columnChanged(j);
+    }
+
+    /**
+     * Zastępuje kolumnę podziału podanymi wartościami.
+     *
+     * @param j      Numer kolumny
+     * @param column Nowe wartości kolumny (M wartości)
+     */
+    public void setColumn(int j, double[] column) {
+        checkColumn(j);
+        int M = partition.M;
+        if (column.length != M) throw new IllegalArgumentException(
+                "Column must have " + M + " values"
+        );
+        System.arraycopy(column, 0, values, j * M, M);
+        columnChanged(j);
+    }
+
+    /**
+     * Zwraca MLS bieżącego podziału, przeliczając tylko kolumny zmienione
+     * od poprzedniego wywołania.
+     *
+     * @return MLS bieżącego podziału
+     */
+    public FuzzyPartition calculateMLS() {
+        return refresh(Operation.MLS, 0.0);
+    }
+
+    /**
+     * Zwraca dopełnienie MLS bieżącego podziału, przeliczając tylko
+     * kolumny zmienione od poprzedniego wywołania.
+     *
+     * @return Dopełnienie MLS bieżącego podziału
+     */
+    public FuzzyPartition calculateComplementMLS() {
+        return refresh(Operation.COMPLEMENT_MLS, 0.0);
+    }
+
+    /**
+     * Zwraca dopełnienie bieżącego podziału, przeliczając tylko kolumny
+     * zmienione od poprzedniego wywołania.
+     *
+     * @return Dopełnienie bieżącego podziału
+     */
+    public FuzzyPartition complement() {
+        return refresh(Operation.COMPLEMENT, 0.0);
+    }
+
+    /**
+     * Zwraca LS bieżącego podziału. Przeliczane są kolumny zmienione od
+     * poprzedniego wywołania, a wszystkie kolumny - tylko wtedy, gdy
+     * zmieniło się minimum całej macierzy.
+     *
+     * @return LS bieżącego podziału
+     */
+    public FuzzyPartition calculateLS() {
+        return refresh(Operation.LS, 0.0);
+    }
+
+    /**
+     * Zwraca dopełnienie LS bieżącego podziału. Przeliczane są kolumny
+     * zmienione od poprzedniego wywołania, a wszystkie kolumny - tylko
+     * wtedy, gdy zmieniło się maksimum całej macierzy.
+     *
+     * @return Dopełnienie LS bieżącego podziału
+     */
+    public FuzzyPartition calculateComplementLS() {
+        return refresh(Operation.COMPLEMENT_LS, 0.0);
+    }
+
+    /**
+     * Zwraca alfa-cięcie bieżącego podziału, przeliczając tylko kolumny
+     * zmienione od poprzedniego wywołania z tym samym alfa.
+     *
+     * @param alpha Poziom alfa
+     * @return Alfa-cięcie bieżącego podziału
+     */
+    public FuzzyPartition calculateAlphaLevel(double alpha) {
+        ColumnKernels.checkAlpha(alpha);
+        return refresh(Operation.ALPHA_LEVEL, alpha);
+    }
+
+    /**
+     * Zwraca dopełnienie alfa-cięcia bieżącego podziału, przeliczając
+     * tylko kolumny zmienione od poprzedniego wywołania z tym samym alfa.
+     *
+     * @param alpha Poziom alfa
+     * @return Dopełnienie alfa-cięcia bieżącego podziału
+     */
+    public FuzzyPartition calculateComplementAlphaLevel(double alpha) {
+        ColumnKernels.checkAlpha(alpha);
+        return refresh(Operation.COMPLEMENT_ALPHA_LEVEL, alpha);
+    }
+
+    /**
+     * Przestaje uaktualniać wyniki przekształceń, zwalniając pamięć.
+     * Wyniki zwrócone wcześniej nie są dalej zmieniane, a kolejne
+     * wywołanie metody przekształcenia oblicza je od nowa.
+     */
+    public void forgetAll() {
+        derived.clear();
+    }
+
+    /**
+     * Sprawdza, czy kolumna j istnieje.
+     */
+    private void checkColumn(int j) {
+        if (j < 0 || j >= partition.N) throw new IllegalArgumentException(
+                "Column " + j + " is out of range"
+        );
+    }
+
+    /**
+     * Uaktualnia statystyki po zmianie kolumny j i oznacza ją jako
+     * wymagającą przeliczenia we wszystkich wynikach.
+     */
+    private void columnChanged(int j) {
+        statistics.collect(j, values, j * partition.M);
+        extremes.update(j, statistics.min[j], statistics.max[j]);
+        partition.invalidateStatistics();
+        statistics.setGlobal(extremes.min(), extremes.max());
+        partition.cacheStatistics(statistics);
+        for (Derived d : derived.values()) d.dirty.set(j);
+    }
+
+    /**
+     * Zwraca wynik przekształcenia, przeliczając kolumny, które tego
+     * wymagają.
+     */
+    private FuzzyPartition refresh(Operation operation, double alpha) {
+        int M = partition.M;
+        int N = partition.N;
+        Derived d = derived.get(new Key(operation, alpha));
+        boolean created = d == null;
+        if (created) {
+            d = new Derived(new FuzzyPartition(new ColumnMajorStorage(M, N)));
+            d.dirty.set(0, N);
+        }
+
+        double min = extremes.min();
+        double max = extremes.max();
+        if (operation == Operation.LS
+                || operation == Operation.COMPLEMENT_LS) {
+            double extreme = max == min ? Double.NaN
+                    : operation == Operation.LS ? min : max;
+            if (Double.compare(extreme, d.extreme) != 0) {
+                d.dirty.set(0, N);
+                d.extreme = extreme;
+            }
+        }
+        if (d.dirty.isEmpty()) return d.result;
+
+        int[] columns = d.dirty.stream().toArray();
+        if (operation == Operation.ALPHA_LEVEL
+                || operation == Operation.COMPLEMENT_ALPHA_LEVEL) {
+            // Sprawdzamy wszystkie kolumny przed zmianą wyniku.
+            for (int j : columns)
+                ColumnKernels.checkBelowMaximum(alpha, statistics.max[j]);
+        }
+        if (created) derived.put(new Key(operation, alpha), d);
+
+        double[] target = ((ColumnMajorStorage) d.result.storage).values;
+        double extreme = d.extreme;
+        ColumnTasks.forEachRange(M, columns.length, (from, to) -> {
+            for (int k = from; k < to; k++) {
+                int j = columns[k];
+                int offset = j * M;
+                System.arraycopy(values, offset, target, offset, M);
+                transform(operation, target, offset, M, j, alpha, extreme);
+            }
+        });
+        d.dirty.clear();
+        d.result.invalidateStatistics();
+        recomputedColumns += columns.length;
+        return d.result;
+    }
+
+    /**
+     * Przekształca kolumnę j wyniku tak jak odpowiednia metoda klasy
+     * 'FuzzyPartition'.
+     */
+    private void transform(Operation operation, double[] c, int offset,
+                           int M, int j, double alpha, double extreme) {
+        double min = statistics.min[j];
+        double max = statistics.max[j];
+        switch (operation) {
+            case COMPLEMENT:
+                ColumnKernels.complement(c, offset, M, min, max);
+                break;
+            case MLS:
+                ColumnKernels.mls(c, offset, M, false, min, max);
+                break;
+            case COMPLEMENT_MLS:
+                ColumnKernels.mls(c, offset, M, true, min, max);
+                break;
+            case LS:
+            case COMPLEMENT_LS:
+                if (Double.isNaN(extreme)) {
+                    for (int i = offset; i < offset + M; i++) c[i] = 1.0 / M;
+                } else {
+                    ColumnKernels.affine(c, offset, M, extreme);
+                }
+                break;
+            case ALPHA_LEVEL:
+                ColumnKernels.alphaLevel(c, offset, M, alpha, max);
+                break;
+            case COMPLEMENT_ALPHA_LEVEL:
+                ColumnKernels.complementAlphaLevel(c, offset, M, alpha, max);
+                break;
+        }
+    }
+}
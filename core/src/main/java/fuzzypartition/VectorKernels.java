@@ -0,0 +1,384 @@
+package fuzzypartition;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShape;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Implementacje najczęściej wykonywanych pętli przy pomocy Vector API.
+ * Klasa ta jest ładowana wyłącznie wtedy, gdy moduł
+ * 'jdk.incubator.vector' jest dostępny (zob. 'ColumnKernels.VECTORIZED').
+ * Kolejność sumowania różni się od wersji skalarnych, dlatego wyniki mogą
+ * różnić się na ostatnich bitach mantysy.
+ */
+final class VectorKernels {
+
+    /**
+     * Preferowana długość wektora na bieżącym procesorze.
+     */
+    private static final VectorSpecies<Double> SPECIES =
+            DoubleVector.SPECIES_PREFERRED;
+
+    /**
+     * Preferowana długość wektora liczb typu float. Mieści on dwa razy
+     * więcej wartości niż wektor liczb typu double.
+     */
+    private static final VectorSpecies<Float> FLOAT_SPECIES =
+            FloatVector.SPECIES_PREFERRED;
+
+    /**
+     * Wektor liczb typu float o tej samej liczbie elementów co wektor
+     * liczb typu double. Wykorzystywany w sumach obliczanych w podwójnej
+     * precyzji - wartości wczytywane są jako float (połowa pamięci),
+     * a następnie bez strat zamieniane na wektor liczb typu double.
+     */
+    private static final VectorSpecies<Float> WIDENED_SPECIES =
+            VectorSpecies.of(float.class,
+                    VectorShape.forBitSize(SPECIES.vectorBitSize() / 2));
+
+    private VectorKernels() {
+    }
+
+    /**
+     * Zwraca minimum z wartości tablicy i wartości początkowej.
+     *
+     * @param c       Tablica
+     * @param offset  Indeks pierwszego elementu
+     * @param length  Liczba elementów
+     * @param initial Wartość początkowa
+     * @return Minimum
+     */
+    static double min(double[] c, int offset, int length, double initial) {
+        DoubleVector acc = DoubleVector.broadcast(SPECIES, initial);
+        int i = offset;
+        int bound = offset + SPECIES.loopBound(length);
+        for (; i < bound; i += SPECIES.length()) {
+            acc = acc.min(DoubleVector.fromArray(SPECIES, c, i));
+        }
+        double min = acc.reduceLanes(VectorOperators.MIN);
+        for (; i < offset + length; i++) {
+            if (min > c[i]) min = c[i];
+        }
+        return min;
+    }
+
+    /**
+     * Zwraca maksimum z wartości tablicy i wartości początkowej.
+     *
+     * @param c       Tablica
+     * @param offset  Indeks pierwszego elementu
+     * @param length  Liczba elementów
+     * @param initial Wartość początkowa
+     * @return Maksimum
+     */
+    static double max(double[] c, int offset, int length, double initial) {
+        DoubleVector acc = DoubleVector.broadcast(SPECIES, initial);
+        int i = offset;
+        int bound = offset + SPECIES.loopBound(length);
+        for (; i < bound; i += SPECIES.length()) {
+            acc = acc.max(DoubleVector.fromArray(SPECIES, c, i));
+        }
+        double max = acc.reduceLanes(VectorOperators.MAX);
+        for (; i < offset + length; i++) {
+            if (max < c[i]) max = c[i];
+        }
+        return max;
+    }
+
+    /**
+     * Przekształca wartości tablicy w miejscu: x -> (x - shift) * scale
+     * + add.
+     *
+     * @param c      Tablica
+     * @param offset Indeks pierwszego elementu
+     * @param length Liczba elementów
+     * @param shift  Wartość odejmowana przed skalowaniem
+     * @param scale  Współczynnik skalowania
+     * @param add    Wartość dodawana po skalowaniu
+     */
+    static void affine(double[] c, int offset, int length,
+                       double shift, double scale, double add) {
+        int i = offset;
+        int bound = offset + SPECIES.loopBound(length);
+        for (; i < bound; i += SPECIES.length()) {
+            DoubleVector.fromArray(SPECIES, c, i)
+                    .sub(shift)
+                    .lanewise(VectorOperators.FMA, scale, add)
+                    .intoArray(c, i);
+        }
+        for (; i < offset + length; i++) {
+            c[i] = Math.fma(c[i] - shift, scale, add);
+        }
+    }
+
+    /**
+     * Zwraca sumę wartości tablicy.
+     *
+     * @param c      Tablica
+     * @param offset Indeks pierwszego elementu
+     * @param length Liczba elementów
+     * @return Suma
+     */
+    static double sum(double[] c, int offset, int length) {
+        DoubleVector acc = DoubleVector.zero(SPECIES);
+        int i = offset;
+        int bound = offset + SPECIES.loopBound(length);
+        for (; i < bound; i += SPECIES.length()) {
+            acc = acc.add(DoubleVector.fromArray(SPECIES, c, i));
+        }
+        double sum = acc.reduceLanes(VectorOperators.ADD);
+        for (; i < offset + length; i++) sum += c[i];
+        return sum;
+    }
+
+    /**
+     * Oblicza sumy potrzebne w metodzie 'alphaApproximate'.
+     *
+     * @param u     Wartości podziału bieżącego
+     * @param v     Wartości podziału porównywanego
+     * @param from  Indeks pierwszego elementu
+     * @param to    Indeks za ostatnim elementem
+     * @param alpha Poziom alfa
+     * @return Tablica {M1, M2, |alfa-cięcie u|}
+     */
+    static double[] alphaApproximateSums(double[] u, double[] v,
+                                         int from, int to, double alpha) {
+        DoubleVector m1 = DoubleVector.zero(SPECIES);
+        DoubleVector m2 = DoubleVector.zero(SPECIES);
+        long cardM1 = 0;
+        int i = from;
+        int bound = from + SPECIES.loopBound(to - from);
+        for (; i < bound; i += SPECIES.length()) {
+            DoubleVector uv = DoubleVector.fromArray(SPECIES, u, i);
+            DoubleVector vv = DoubleVector.fromArray(SPECIES, v, i);
+            VectorMask<Double> inCut = uv.compare(VectorOperators.GE, alpha);
+            cardM1 += inCut.trueCount();
+            m1 = m1.add(vv.neg().add(alpha).max(0.0), inCut);
+            m2 = m2.add(vv.sub(alpha).max(0.0), inCut.not());
+        }
+        double M1 = m1.reduceLanes(VectorOperators.ADD);
+        double M2 = m2.reduceLanes(VectorOperators.ADD);
+        for (; i < to; i++) {
+            if (u[i] >= alpha) {
+                cardM1++;
+                M1 += Math.max(0.0, alpha - v[i]);
+            } else {
+                M2 += Math.max(0.0, v[i] - alpha);
+            }
+        }
+        return new double[]{M1, M2, cardM1};
+    }
+
+    /**
+     * Oblicza sumę K1 + K2 potrzebną w metodzie
+     * 'calculateSharpnessDegree'.
+     *
+     * @param u         Wartości podziału bieżącego
+     * @param v         Wartości podziału porównywanego
+     * @param from      Indeks pierwszego elementu
+     * @param to        Indeks za ostatnim elementem
+     * @param threshold Próg 1/M
+     * @return Suma K1 + K2
+     */
+    static double sharpnessSum(double[] u, double[] v, int from, int to,
+                               double threshold) {
+        DoubleVector k1 = DoubleVector.zero(SPECIES);
+        DoubleVector k2 = DoubleVector.zero(SPECIES);
+        int i = from;
+        int bound = from + SPECIES.loopBound(to - from);
+        for (; i < bound; i += SPECIES.length()) {
+            DoubleVector uv = DoubleVector.fromArray(SPECIES, u, i);
+            DoubleVector vv = DoubleVector.fromArray(SPECIES, v, i);
+            VectorMask<Double> sharp =
+                    uv.compare(VectorOperators.GE, threshold);
+            k1 = k1.add(uv.sub(vv).max(0.0), sharp);
+            k2 = k2.add(vv.sub(uv).max(0.0), sharp.not());
+        }
+        double K1 = k1.reduceLanes(VectorOperators.ADD);
+        double K2 = k2.reduceLanes(VectorOperators.ADD);
+        for (; i < to; i++) {
+            if (u[i] >= threshold) {
+                K1 += Math.max(0.0, u[i] - v[i]);
+            } else if (u[i] <= threshold) {
+                K2 += Math.max(0.0, v[i] - u[i]);
+            }
+        }
+        return K1 + K2;
+    }
+
+    /**
+     * Zwraca minimum z wartości tablicy i wartości początkowej.
+     *
+     * @param c       Tablica
+     * @param offset  Indeks pierwszego elementu
+     * @param length  Liczba elementów
+     * @param initial Wartość początkowa
+     * @return Minimum
+     */
+    static float min(float[] c, int offset, int length, float initial) {
+        FloatVector acc = FloatVector.broadcast(FLOAT_SPECIES, initial);
+        int i = offset;
+        int bound = offset + FLOAT_SPECIES.loopBound(length);
+        for (; i < bound; i += FLOAT_SPECIES.length()) {
+            acc = acc.min(FloatVector.fromArray(FLOAT_SPECIES, c, i));
+        }
+        float min = acc.reduceLanes(VectorOperators.MIN);
+        for (; i < offset + length; i++) {
+            if (min > c[i]) min = c[i];
+        }
+        return min;
+    }
+
+    /**
+     * Zwraca maksimum z wartości tablicy i wartości początkowej.
+     *
+     * @param c       Tablica
+     * @param offset  Indeks pierwszego elementu
+     * @param length  Liczba elementów
+     * @param initial Wartość początkowa
+     * @return Maksimum
+     */
+    static float max(float[] c, int offset, int length, float initial) {
+        FloatVector acc = FloatVector.broadcast(FLOAT_SPECIES, initial);
+        int i = offset;
+        int bound = offset + FLOAT_SPECIES.loopBound(length);
+        for (; i < bound; i += FLOAT_SPECIES.length()) {
+            acc = acc.max(FloatVector.fromArray(FLOAT_SPECIES, c, i));
+        }
+        float max = acc.reduceLanes(VectorOperators.MAX);
+        for (; i < offset + length; i++) {
+            if (max < c[i]) max = c[i];
+        }
+        return max;
+    }
+
+    /**
+     * Przekształca wartości tablicy w miejscu: x -> (x - shift) * scale
+     * + add.
+     *
+     * @param c      Tablica
+     * @param offset Indeks pierwszego elementu
+     * @param length Liczba elementów
+     * @param shift  Wartość odejmowana przed skalowaniem
+     * @param scale  Współczynnik skalowania
+     * @param add    Wartość dodawana po skalowaniu
+     */
+    static void affine(float[] c, int offset, int length,
+                       float shift, float scale, float add) {
+        int i = offset;
+        int bound = offset + FLOAT_SPECIES.loopBound(length);
+        for (; i < bound; i += FLOAT_SPECIES.length()) {
+            FloatVector.fromArray(FLOAT_SPECIES, c, i)
+                    .sub(shift)
+                    .lanewise(VectorOperators.FMA, scale, add)
+                    .intoArray(c, i);
+        }
+        for (; i < offset + length; i++) {
+            c[i] = Math.fma(c[i] - shift, scale, add);
+        }
+    }
+
+    /**
+     * Wczytuje wartości tablicy typu float jako wektor liczb typu double.
+     */
+    private static DoubleVector widen(float[] c, int i) {
+        return (DoubleVector) FloatVector.fromArray(WIDENED_SPECIES, c, i)
+                .castShape(SPECIES, 0);
+    }
+
+    /**
+     * Zwraca sumę wartości tablicy obliczoną w podwójnej precyzji.
+     *
+     * @param c      Tablica
+     * @param offset Indeks pierwszego elementu
+     * @param length Liczba elementów
+     * @return Suma
+     */
+    static double sum(float[] c, int offset, int length) {
+        DoubleVector acc = DoubleVector.zero(SPECIES);
+        int i = offset;
+        int bound = offset + SPECIES.loopBound(length);
+        for (; i < bound; i += SPECIES.length()) {
+            acc = acc.add(widen(c, i));
+        }
+        double sum = acc.reduceLanes(VectorOperators.ADD);
+        for (; i < offset + length; i++) sum += c[i];
+        return sum;
+    }
+
+    /**
+     * Oblicza w podwójnej precyzji sumy potrzebne w metodzie
+     * 'alphaApproximate' podziału w pojedynczej precyzji.
+     *
+     * @param u     Wartości podziału bieżącego
+     * @param v     Wartości podziału porównywanego
+     * @param from  Indeks pierwszego elementu
+     * @param to    Indeks za ostatnim elementem
+     * @param alpha Poziom alfa
+     * @return Tablica {M1, M2, |alfa-cięcie u|}
+     */
+    static double[] alphaApproximateSums(float[] u, float[] v,
+                                         int from, int to, double alpha) {
+        DoubleVector m1 = DoubleVector.zero(SPECIES);
+        DoubleVector m2 = DoubleVector.zero(SPECIES);
+        long cardM1 = 0;
+        int i = from;
+        int bound = from + SPECIES.loopBound(to - from);
+        for (; i < bound; i += SPECIES.length()) {
+            DoubleVector uv = widen(u, i);
+            DoubleVector vv = widen(v, i);
+            VectorMask<Double> inCut = uv.compare(VectorOperators.GE, alpha);
+            cardM1 += inCut.trueCount();
+            m1 = m1.add(vv.neg().add(alpha).max(0.0), inCut);
+            m2 = m2.add(vv.sub(alpha).max(0.0), inCut.not());
+        }
+        double M1 = m1.reduceLanes(VectorOperators.ADD);
+        double M2 = m2.reduceLanes(VectorOperators.ADD);
+        for (; i < to; i++) {
+            if (u[i] >= alpha) {
+                cardM1++;
+                M1 += Math.max(0.0, alpha - v[i]);
+            } else {
+                M2 += Math.max(0.0, v[i] - alpha);
+            }
+        }
+        return new double[]{M1, M2, cardM1};
+    }
+
+    /**
+     * Oblicza w podwójnej precyzji sumę K1 + K2 potrzebną w metodzie
+     * 'calculateSharpnessDegree' podziału w pojedynczej precyzji. Wartości
+     * zamieniane są na liczby typu double przed odejmowaniem, więc wynik
+     * nie zależy od tego, które elementy obliczane są wektorowo.
+     *
+     * @param u         Wartości podziału bieżącego
+     * @param v         Wartości podziału porównywanego
+     * @param from      Indeks pierwszego elementu
+     * @param to        Indeks za ostatnim elementem
+     * @param threshold Próg 1/M
+     * @return Suma K1 + K2
+     */
+    static double sharpnessSum(float[] u, float[] v, int from, int to,
+                               double threshold) {
+        DoubleVector k = DoubleVector.zero(SPECIES);
+        int i = from;
+        int bound = from + SPECIES.loopBound(to - from);
+        for (; i < bound; i += SPECIES.length()) {
+            DoubleVector uv = widen(u, i);
+            DoubleVector vv = widen(v, i);
+            VectorMask<Double> sharp =
+                    uv.compare(VectorOperators.GE, threshold);
+            DoubleVector d = uv.sub(vv);
+            k = k.add(d.blend(d.neg(), sharp.not()).max(0.0));
+        }
+        double K = k.reduceLanes(VectorOperators.ADD);
+        for (; i < to; i++) {
+            if (u[i] >= threshold) K += Math.max(0.0, (double) u[i] - v[i]);
+            else K += Math.max(0.0, (double) v[i] - u[i]);
+        }
+        return K;
+    }
+}
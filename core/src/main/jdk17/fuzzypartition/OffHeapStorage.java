@@ -0,0 +1,89 @@
+package fuzzypartition;
+
+import jdk.incubator.foreign.MemoryAccess;
+import jdk.incubator.foreign.MemorySegment;
+
+/**
+ * Implementacja 'PartitionStorage' przechowująca macierz w układzie
+ * kolumnowym poza stertą, w segmencie pamięci należącym do
+ * 'PartitionArena'. Pamięć zwalniana jest w momencie zamknięcia areny,
+ * a nie przez odśmiecacz. Wyniki operacji na podziałach korzystających
+ * z tej macierzy również tworzone są w tej samej arenie.
+ */
+public final class OffHeapStorage implements PartitionStorage {
+
+    /**
+     * Arena, do której należy segment.
+     */
+    private final PartitionArena arena;
+
+    /**
+     * Segment pamięci z wartościami macierzy. Element (i, j) znajduje się
+     * pod indeksem j * rows + i.
+     */
+    private final MemorySegment segment;
+
+    private final int rows;
+    private final int columns;
+
+    OffHeapStorage(PartitionArena arena, MemorySegment segment,
+                   int rows, int columns) {
+        this.arena = arena;
+        this.segment = segment;
+        this.rows = rows;
+        this.columns = columns;
+    }
+
+    @Override
+    public int rows() {
+        return rows;
+    }
+
+    @Override
+    public int columns() {
+        return columns;
+    }
+
+    @Override
+    public double get(int row, int column) {
+        return MemoryAccess.getDoubleAtIndex(segment,
+                (long) column * rows + row);
+    }
+
+    @Override
+    public void set(int row, int column, double value) {
+        MemoryAccess.setDoubleAtIndex(segment,
+                (long) column * rows + row, value);
+    }
+
+    @Override
+    public void readColumn(int column, double[] target, int offset) {
+        MemorySegment.ofArray(target)
+                .asSlice((long) offset * Double.BYTES,
+                        (long) rows * Double.BYTES)
+                .copyFrom(columnSlice(column));
+    }
+
+    @Override
+    public void writeColumn(int column, double[] source, int offset) {
+        columnSlice(column).copyFrom(MemorySegment.ofArray(source)
+                .asSlice((long) offset * Double.BYTES,
+                        (long) rows * Double.BYTES));
+    }
+
+    /**
+     * Zwraca fragment segmentu zawierający kolumnę.
+     */
+    private MemorySegment columnSlice(int column) {
+        return segment.asSlice((long) column * rows * Double.BYTES,
+                (long) rows * Double.BYTES);
+    }
+
+    /**
+     * Wyniki operacji tworzone są w tej samej arenie.
+     */
+    @Override
+    public PartitionStorage newStorage(int rows, int columns) {
+        return arena.allocateStorage(rows, columns);
+    }
+}
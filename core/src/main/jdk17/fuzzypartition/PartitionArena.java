@@ -0,0 +1,94 @@
+package fuzzypartition;
+
+import jdk.incubator.foreign.MemorySegment;
+import jdk.incubator.foreign.ResourceScope;
+
+/**
+ * Arena, w której tworzone są podziały rozmyte przechowywane poza stertą
+ * (zob. 'OffHeapStorage'). Wszystkie podziały z areny zwalniane są
+ * jednocześnie w momencie jej zamknięcia, np.
+ * <pre>
+ *     try (PartitionArena arena = PartitionArena.open()) {
+ *         FuzzyPartition U = arena.copyOf(source);
+ *         FuzzyPartition result = U.complement().calculateMLS();
+ *         ...
+ *     }
+ * </pre>
+ * Po zamknięciu areny każda próba odczytu jej podziałów kończy się
+ * wyjątkiem IllegalStateException. Arena może być używana przez wiele
+ * wątków jednocześnie. Wymaga modułu 'jdk.incubator.foreign', który
+ * istnieje jedynie w JDK 17 i 18 - klasa budowana jest wyłącznie w profilu
+ * 'offheap-jdk17'.
+ */
+public final class PartitionArena implements AutoCloseable {
+
+    /**
+     * Zakres, do którego należą segmenty pamięci areny.
+     */
+    private final ResourceScope scope;
+
+    private PartitionArena(ResourceScope scope) {
+        this.scope = scope;
+    }
+
+    /**
+     * Tworzy nową arenę.
+     *
+     * @return Nowa arena
+     */
+    public static PartitionArena open() {
+        return new PartitionArena(ResourceScope.newSharedScope());
+    }
+
+    /**
+     * Tworzy w arenie wyzerowany podział o wymiarach MxN. Można go użyć
+     * jako podziału docelowego operacji.
+     *
+     * @param M Liczba wierszy
+     * @param N Liczba kolumn
+     * @return Nowy podział przechowywany poza stertą
+     */
+    public FuzzyPartition allocate(int M, int N) {
+        return new FuzzyPartition(allocateStorage(M, N));
+    }
+
+    /**
+     * Tworzy w arenie kopię podanego podziału.
+     *
+     * @param U Podział rozmyty
+     * @return Kopia podziału przechowywana poza stertą
+     */
+    public FuzzyPartition copyOf(FuzzyPartition U) {
+        // Kolumny kopiowane są bez przekształcania.
+        FuzzyPartition copy = allocate(U.M, U.N);
+        ColumnKernels.transformColumns(U.storage, copy.storage,
+                (c, offset, M) -> {
+                });
+        return copy;
+    }
+
+    /**
+     * Tworzy w arenie wyzerowaną macierz o podanych wymiarach.
+     *
+     * @param rows    Liczba wierszy
+     * @param columns Liczba kolumn
+     * @return Nowa macierz
+     */
+    OffHeapStorage allocateStorage(int rows, int columns) {
+        if (rows <= 0 || columns <= 0) throw new IllegalArgumentException(
+                "Dimensions of partition must be positive"
+        );
+        // Pamięć zwracana przez 'allocateNative' jest już wyzerowana.
+        MemorySegment segment = MemorySegment.allocateNative(
+                (long) rows * columns * Double.BYTES, Double.BYTES, scope);
+        return new OffHeapStorage(this, segment, rows, columns);
+    }
+
+    /**
+     * Zwalnia pamięć wszystkich podziałów utworzonych w arenie.
+     */
+    @Override
+    public void close() {
+        scope.close();
+    }
+}
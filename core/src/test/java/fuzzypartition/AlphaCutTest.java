@@ -0,0 +1,118 @@
+package fuzzypartition;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Klasa testująca zwartą reprezentację alfa-cięć.
+ */
+class AlphaCutTest {
+
+    /**
+     * Ustawienie dokładności, z jaką porównujemy liczby zmiennoprzecinkowe
+     * w klasie FuzzyPartition.
+     */
+    @BeforeAll
+    static void initializeTest() {
+        FuzzyPartition.setEpsilon(0.00000001);
+    }
+
+    /**
+     * Test sprawdzający, czy alfa-cięcie odtworzone z maski jest równe
+     * wynikom metod 'calculateAlphaLevel' oraz
+     * 'calculateComplementAlphaLevel'.
+     */
+    @Test
+    @DisplayName("Test zgodności z calculateAlphaLevel")
+    void testDensify() {
+        FuzzyPartition U = new FuzzyPartition(7, 61);
+        FuzzyPartition V = new FuzzyPartition(7, 61);
+        double alpha = 0.1;
+        AlphaCut cut = U.calculateAlphaCut(alpha);
+
+        assertEquals(U.calculateAlphaLevel(alpha), cut.toFuzzyPartition());
+        assertEquals(U.calculateAlphaLevel(alpha), cut.asFuzzyPartition());
+        assertEquals(U.calculateComplementAlphaLevel(alpha),
+                cut.toComplementFuzzyPartition());
+        assertEquals(U.calculateComplementAlphaLevel(alpha),
+                cut.asComplementFuzzyPartition());
+        assertEquals(alpha, cut.getAlpha());
+        assertEquals(U.alphaApproximate(alpha, V),
+                cut.alphaApproximate(V), 0.00000001);
+        assertEquals(U.calculateAlphaLevel(alpha).calculateMLS(),
+                cut.asFuzzyPartition().calculateMLS());
+
+        for (int j = 0; j < U.N; j++) {
+            int count = 0;
+            for (int i = 0; i < U.M; i++) {
+                assertEquals(U.get(i, j) >= alpha, cut.contains(i, j));
+                if (U.get(i, j) >= alpha) count++;
+            }
+            assertEquals(count, cut.count(j));
+        }
+        assertThrows(UnsupportedOperationException.class,
+                () -> cut.asFuzzyPartition().complement(
+                        cut.asFuzzyPartition()));
+        assertThrows(IllegalArgumentException.class,
+                () -> U.calculateAlphaCut(1.0));
+    }
+
+    /**
+     * Test sprawdzający operacje na zbiorach oraz zgodność wyników
+     * obliczanych równolegle.
+     */
+    @Test
+    @DisplayName("Test operacji na zbiorach")
+    void testSetOperations() {
+        FuzzyPartition U = new FuzzyPartition(3, 50000);
+        FuzzyPartition V = new FuzzyPartition(3, 50000);
+        AlphaCut low = U.calculateAlphaCut(0.1);
+        AlphaCut other = V.calculateAlphaCut(0.1);
+
+        AlphaCut and = low.and(other);
+        AlphaCut or = low.or(other);
+        assertEquals(low.cardinality() + other.cardinality(),
+                and.cardinality() + or.cardinality());
+        assertEquals(or.cardinality() - and.cardinality(),
+                low.xor(other).cardinality());
+        assertEquals(low.cardinality() - and.cardinality(),
+                low.andNot(other).cardinality());
+        assertEquals(low, low.or(low.and(other)));
+        assertEquals(0.1, or.getAlpha());
+        for (int j = 0; j < 100; j++) {
+            for (int i = 0; i < 3; i++) {
+                assertEquals(low.contains(i, j) && other.contains(i, j),
+                        and.contains(i, j));
+                assertEquals(low.contains(i, j) || other.contains(i, j),
+                        or.contains(i, j));
+            }
+        }
+
+        AlphaCut high = U.calculateAlphaCut(0.3);
+        FuzzyPartition crisp = PartitionGenerator.withSeed(5)
+                .nearCrisp(3, 100, 0.0);
+        assertNotEquals(crisp.calculateAlphaCut(0.1),
+                crisp.calculateAlphaCut(0.2));
+        assertEquals(0, crisp.calculateAlphaCut(0.1).xor(
+                crisp.calculateAlphaCut(0.1)).cardinality());
+        assertThrows(IllegalArgumentException.class, () -> low.and(high));
+        assertThrows(IllegalArgumentException.class, () -> low.or(high));
+        assertThrows(IllegalArgumentException.class, () -> low.xor(high));
+        assertThrows(IllegalArgumentException.class,
+                () -> low.andNot(high));
+
+        try {
+            FuzzyPartition.setParallelism(ForkJoinPool.commonPool(), 1000);
+            assertEquals(low, U.calculateAlphaCut(0.1));
+            assertEquals(low.cardinality(),
+                    U.calculateAlphaCut(0.1).cardinality());
+        } finally {
+            FuzzyPartition.setParallelism(null, 1);
+        }
+    }
+}
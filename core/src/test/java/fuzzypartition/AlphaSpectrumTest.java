@@ -0,0 +1,108 @@
+package fuzzypartition;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Klasa testująca obliczanie alfa-cięć dla wielu poziomów alfa
+ * jednocześnie.
+ */
+class AlphaSpectrumTest {
+
+    /**
+     * Ilość iteracji w testach wykonywanych na losowych danych.
+     */
+    public static final int NUMBER_OF_RANDOM_TESTS = 1000;
+
+    /**
+     * Ustawienie dokładności, z jaką porównujemy liczby zmiennoprzecinkowe
+     * w klasie FuzzyPartition.
+     */
+    @BeforeAll
+    static void initializeTest() {
+        FuzzyPartition.setEpsilon(0.00000001);
+    }
+
+    /**
+     * Test sprawdzający, czy alfa-cięcia obliczone jednocześnie są równe
+     * alfa-cięciom obliczonym osobno dla każdego poziomu alfa.
+     */
+    @Test
+    @DisplayName("Test zgodności z metodami 'calculateAlphaLevel'")
+    void testSpectrumMatchesSingleCalls() {
+        for (int t = 0; t < NUMBER_OF_RANDOM_TESTS; t++) {
+            FuzzyPartition U = new FuzzyPartition(5, 7);
+            double bound = U.calculateAlphaBound();
+            double[] alphas = {
+                    bound / 10, bound / 5, bound / 5, bound / 2, bound * 0.99
+            };
+
+            AlphaSpectrum spectrum = U.calculateAlphaSpectrum(alphas);
+            assertEquals(alphas.length, spectrum.size());
+            assertEquals(bound, spectrum.getAlphaBound());
+            for (int k = 0; k < alphas.length; k++) {
+                assertEquals(alphas[k], spectrum.getAlpha(k));
+                assertEquals(
+                        U.calculateAlphaLevel(alphas[k]),
+                        spectrum.getAlphaLevel(k)
+                );
+                assertEquals(
+                        U.calculateComplementAlphaLevel(alphas[k]),
+                        spectrum.getComplementAlphaLevel(k)
+                );
+            }
+        }
+    }
+
+    /**
+     * Test sprawdzający kres górny poziomów alfa oraz zgłaszanie błędnych
+     * poziomów przed rozpoczęciem obliczeń.
+     */
+    @Test
+    @DisplayName("Test kresu górnego i błędnych poziomów alfa")
+    void testAlphaBound() {
+        FuzzyPartition partition = new FuzzyPartition(new double[][]{
+                {0.5, 0.7, 0.3, 0.0},
+                {0.4, 0.2, 0.4, 0.1},
+                {0.1, 0.1, 0.3, 0.9}
+        });
+        assertEquals(0.4, partition.calculateAlphaBound());
+
+        Exception exception = assertThrows(
+                IllegalArgumentException.class,
+                () -> partition.calculateAlphaSpectrum(
+                        new double[]{0.0, 0.25}
+                )
+        );
+        assertEquals(
+                "Value of alpha must be bigger than zero",
+                exception.getMessage()
+        );
+
+        Exception exception2 = assertThrows(
+                IllegalArgumentException.class,
+                () -> partition.calculateAlphaSpectrum(
+                        new double[]{0.25, 0.4}
+                )
+        );
+        assertEquals(
+                "Value of alpha must be lower than maximum " +
+                        "value in any column",
+                exception2.getMessage()
+        );
+
+        Exception exception3 = assertThrows(
+                IllegalArgumentException.class,
+                () -> partition.calculateAlphaSpectrum(
+                        new double[]{0.3, 0.25}
+                )
+        );
+        assertEquals(
+                "Alpha values must be sorted in ascending order",
+                exception3.getMessage()
+        );
+    }
+}
@@ -0,0 +1,90 @@
+package fuzzypartition;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Klasa testująca statystyki kolumn przechowywane w podziale rozmytym.
+ */
+class ColumnStatisticsTest {
+
+    /**
+     * Ustawienie dokładności, z jaką porównujemy liczby zmiennoprzecinkowe
+     * w klasie FuzzyPartition.
+     */
+    @BeforeAll
+    static void initializeTest() {
+        FuzzyPartition.setEpsilon(0.00000001);
+    }
+
+    /**
+     * Test sprawdzający wartości statystyk kolumn.
+     */
+    @Test
+    @DisplayName("Test wartości statystyk")
+    void testValues() {
+        FuzzyPartition U = new FuzzyPartition(new double[][]{
+                {0.2, 0.5, 0.0},
+                {0.5, 0.5, 0.1},
+                {0.3, 0.0, 0.9}
+        });
+        ColumnStatistics statistics = U.statistics();
+        assertArrayEquals(new double[]{0.2, 0.0, 0.0}, statistics.min);
+        assertArrayEquals(new double[]{0.5, 0.5, 0.9}, statistics.max);
+        assertArrayEquals(new int[]{1, 0, 2}, statistics.argmax);
+        assertArrayEquals(new double[]{1.0, 1.0, 1.0}, statistics.sum,
+                0.00000001);
+        assertEquals(0.0, statistics.globalMin());
+        assertEquals(0.9, statistics.globalMax());
+        assertEquals(0.5, U.calculateAlphaBound());
+        assertSame(statistics, U.statistics());
+    }
+
+    /**
+     * Test sprawdzający, czy statystyki są zapamiętywane przy wykonywaniu
+     * operacji i unieważniane w podziale docelowym.
+     */
+    @Test
+    @DisplayName("Test zapamiętywania i unieważniania statystyk")
+    void testCaching() {
+        FuzzyPartition U = new FuzzyPartition(5, 40);
+        FuzzyPartition expectedMLS = new FuzzyPartition(U.getData())
+                .calculateMLS();
+        assertNull(U.cachedStatistics());
+
+        // Statystyki zebrane w trakcie operacji są równe obliczonym
+        // osobno, a kolejne wywołania dają te same wyniki.
+        assertEquals(expectedMLS, U.calculateMLS());
+        ColumnStatistics collected = U.cachedStatistics();
+        assertNotNull(collected);
+        ColumnStatistics computed = ColumnStatistics.compute(U.storage);
+        assertArrayEquals(computed.min, collected.min);
+        assertArrayEquals(computed.max, collected.max);
+        assertArrayEquals(computed.argmax, collected.argmax);
+        assertEquals(expectedMLS, U.calculateMLS());
+        assertTrue(U.validate());
+
+        // Operacja w miejscu unieważnia statystyki.
+        FuzzyPartition dest = U.complement();
+        dest.statistics();
+        U.calculateAlphaLevel(0.01, dest);
+        assertNull(dest.cachedStatistics());
+        assertEquals(U.calculateAlphaLevel(0.01).calculateAlphaBound(),
+                dest.calculateAlphaBound());
+
+        U.complement(U);
+        assertNull(U.cachedStatistics());
+        assertArrayEquals(ColumnStatistics.compute(U.storage).max,
+                U.statistics().max);
+
+        // Przy znanych statystykach niepoprawne alfa jest wykrywane przed
+        // nadpisaniem podziału docelowego.
+        FuzzyPartition before = new FuzzyPartition(dest.getData());
+        assertThrows(IllegalArgumentException.class,
+                () -> U.calculateAlphaLevel(U.calculateAlphaBound(), dest));
+        assertEquals(before, dest);
+    }
+}
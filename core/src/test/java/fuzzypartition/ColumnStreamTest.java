@@ -0,0 +1,128 @@
+package fuzzypartition;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Klasa testująca przetwarzanie podziałów kolumna po kolumnie.
+ */
+class ColumnStreamTest {
+
+    /**
+     * Ilość iteracji w testach wykonywanych na losowych danych.
+     */
+    public static final int NUMBER_OF_RANDOM_TESTS = 1000;
+
+    /**
+     * Ustawienie dokładności, z jaką porównujemy liczby zmiennoprzecinkowe
+     * w klasie FuzzyPartition.
+     */
+    @BeforeAll
+    static void initializeTest() {
+        FuzzyPartition.setEpsilon(0.00000001);
+    }
+
+    /**
+     * Zwraca kolumnę podziału jako tablicę.
+     */
+    private static double[] column(FuzzyPartition U, int j) {
+        double[] column = new double[U.M];
+        for (int i = 0; i < U.M; i++) column[i] = U.get(i, j);
+        return column;
+    }
+
+    /**
+     * Test sprawdzający, czy kolumny przekształcone w strumieniu tworzą ten
+     * sam podział, co operacje wykonane na całym podziale.
+     */
+    @Test
+    @DisplayName("Test operacji na kolumnach w strumieniu")
+    void testStreamMatchesPartition() {
+        for (int t = 0; t < NUMBER_OF_RANDOM_TESTS; t++) {
+            FuzzyPartition U = new FuzzyPartition(5, 37);
+            FuzzyPartitionBuilder builder = new FuzzyPartitionBuilder(5);
+            ColumnStream stream = new ColumnStream(5, builder)
+                    .complement().calculateMLS().calculateAlphaLevel(0.01);
+            for (int j = 0; j < U.N; j++) stream.accept(column(U, j));
+
+            assertEquals(U.N, stream.getColumnCount());
+            assertEquals(
+                    U.complement().calculateMLS().calculateAlphaLevel(0.01),
+                    builder.build()
+            );
+        }
+    }
+
+    /**
+     * Test sprawdzający tryb dwuprzebiegowy i okienkowy liniowego
+     * wyostrzenia.
+     */
+    @Test
+    @DisplayName("Test liniowego wyostrzenia w strumieniu")
+    void testLinearSharpeningStream() {
+        for (int t = 0; t < NUMBER_OF_RANDOM_TESTS; t++) {
+            FuzzyPartition U = new FuzzyPartition(5, 37);
+
+            FuzzyPartitionBuilder twoPhaseBuilder = new FuzzyPartitionBuilder(5);
+            LinearSharpeningStream twoPhase =
+                    LinearSharpeningStream.twoPhase(5, true, twoPhaseBuilder);
+            for (int j = 0; j < U.N; j++) twoPhase.observe(column(U, j));
+            for (int j = 0; j < U.N; j++) twoPhase.accept(column(U, j));
+            assertEquals(U.calculateComplementLS(), twoPhaseBuilder.build());
+
+            // Okno mieszczące wszystkie kolumny daje ten sam wynik, co LS
+            // całego podziału.
+            FuzzyPartitionBuilder windowBuilder = new FuzzyPartitionBuilder(5);
+            LinearSharpeningStream windowed =
+                    LinearSharpeningStream.windowed(5, 64, false, windowBuilder);
+            for (int j = 0; j < U.N; j++) windowed.accept(column(U, j));
+            windowed.flush();
+            assertEquals(U.calculateLS(), windowBuilder.build());
+        }
+
+        // Okna złożone z pojedynczych kolumn odpowiadają MLS.
+        FuzzyPartition U = new FuzzyPartition(5, 37);
+        FuzzyPartitionBuilder builder = new FuzzyPartitionBuilder(5);
+        LinearSharpeningStream windowed =
+                LinearSharpeningStream.windowed(5, 1, false, builder);
+        for (int j = 0; j < U.N; j++) windowed.accept(column(U, j));
+        assertEquals(U.calculateMLS(), builder.build());
+    }
+
+    /**
+     * Test sprawdzający, czy błędne kolumny są odrzucane z informacją
+     * o numerze kolumny i przyczynie.
+     */
+    @Test
+    @DisplayName("Test odrzucania błędnych kolumn")
+    void testInvalidColumns() {
+        ColumnStream stream = new ColumnStream(3, (j, column) -> {
+        });
+        stream.accept(new double[]{0.5, 0.4, 0.1});
+
+        Exception exception = assertThrows(
+                IllegalArgumentException.class,
+                () -> stream.accept(new double[]{0.8, 0.3, -0.1})
+        );
+        assertEquals(
+                "Column 1 has a value outside of [0,1]",
+                exception.getMessage()
+        );
+
+        Exception exception2 = assertThrows(
+                IllegalArgumentException.class,
+                () -> stream.accept(new double[]{0.3, 0.4, 0.95})
+        );
+        assertEquals("Column 1 does not sum to 1", exception2.getMessage());
+
+        Exception exception3 = assertThrows(
+                IllegalArgumentException.class,
+                () -> stream.accept(new double[]{0.5, 0.5})
+        );
+        assertEquals("Column must have 3 values", exception3.getMessage());
+        assertEquals(1, stream.getColumnCount());
+    }
+}
@@ -0,0 +1,95 @@
+package fuzzypartition;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Klasa testująca podziały rozmyte w pojedynczej precyzji.
+ */
+class FloatPartitionTest {
+
+    /**
+     * Ustawienie dokładności, z jaką porównujemy liczby zmiennoprzecinkowe
+     * w klasach FuzzyPartition oraz FloatPartition.
+     */
+    @BeforeAll
+    static void initializeTest() {
+        FuzzyPartition.setEpsilon(0.00000001);
+        FloatPartition.setEpsilon(0.00001);
+    }
+
+    /**
+     * Test sprawdzający, czy operacje w pojedynczej precyzji dają wyniki
+     * równe, z dokładnością do epsilon, wynikom w podwójnej precyzji.
+     */
+    @Test
+    @DisplayName("Test zgodności operacji z podwójną precyzją")
+    void testOperations() {
+        FuzzyPartition U = new FuzzyPartition(6, 57);
+        FuzzyPartition V = new FuzzyPartition(6, 57);
+        FloatPartition u = U.toFloatPartition();
+        FloatPartition v = V.toFloatPartition();
+        double alpha = 0.5 / 6;
+
+        assertTrue(u.validate());
+        assertEquals(U.complement().toFloatPartition(), u.complement());
+        assertEquals(U.calculateLS().toFloatPartition(), u.calculateLS());
+        assertEquals(U.calculateComplementLS().toFloatPartition(),
+                u.calculateComplementLS());
+        assertEquals(U.calculateMLS().toFloatPartition(), u.calculateMLS());
+        assertEquals(U.calculateComplementMLS().toFloatPartition(),
+                u.calculateComplementMLS());
+        assertEquals(U.calculateAlphaLevel(alpha).toFloatPartition(),
+                u.calculateAlphaLevel(alpha));
+        assertEquals(U.calculateComplementAlphaLevel(alpha)
+                .toFloatPartition(), u.calculateComplementAlphaLevel(alpha));
+        assertEquals(U.alphaApproximate(alpha, V),
+                u.alphaApproximate(alpha, v), 0.00001);
+        assertEquals(U.calculateSharpnessDegree(V),
+                u.calculateSharpnessDegree(v), 0.00001);
+
+        FloatPartition dest = u.calculateMLS();
+        assertSame(dest, u.complement(dest));
+        assertEquals(u.complement(), dest);
+
+        FloatPartition zeros = FloatPartition.zeros(u.M, u.N);
+        assertFalse(zeros.validate());
+        assertSame(zeros, u.calculateMLS(zeros));
+        assertEquals(u.calculateMLS(), zeros);
+    }
+
+    /**
+     * Test sprawdzający konwersje pomiędzy precyzjami.
+     */
+    @Test
+    @DisplayName("Test konwersji pomiędzy precyzjami")
+    void testConversions() {
+        FloatPartition u = new FloatPartition(new float[][]{
+                {0.25f, 1.0f, 0.1f},
+                {0.75f, 0.0f, 0.9f}
+        });
+        FuzzyPartition U = u.toFuzzyPartition();
+        assertEquals(0.1f, (float) U.get(0, 2));
+        assertEquals(u, U.toFloatPartition());
+        assertEquals(0.9f, u.get(1, 2));
+        assertArrayEquals(new float[]{0.25f, 1.0f, 0.1f}, u.getData()[0]);
+        assertFalse(u.equals(u.calculateAlphaLevel(0.5)));
+
+        // Podziały równe z dokładnością do epsilon mają równe skróty.
+        FloatPartition near = new FloatPartition(new float[][]{
+                {0.250001f, 1.0f, 0.1f},
+                {0.749999f, 0.0f, 0.9f}
+        });
+        assertEquals(u, near);
+        assertEquals(u.hashCode(), near.hashCode());
+        assertEquals(1, new HashSet<>(List.of(u, near)).size());
+        assertThrows(IllegalArgumentException.class,
+                () -> u.calculateMLS(new FloatPartition(new float[2][2])));
+    }
+}
@@ -0,0 +1,102 @@
+package fuzzypartition;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Klasa testująca warianty operacji zapisujące wynik w podanym podziale.
+ */
+class FuzzyPartitionDestinationTest {
+
+    /**
+     * Ilość iteracji w testach wykonywanych na losowych danych.
+     */
+    public static final int NUMBER_OF_RANDOM_TESTS = 1000;
+
+    /**
+     * Ustawienie dokładności, z jaką porównujemy liczby zmiennoprzecinkowe
+     * w klasie FuzzyPartition.
+     */
+    @BeforeAll
+    static void initializeTest() {
+        FuzzyPartition.setEpsilon(0.00000001);
+    }
+
+    /**
+     * Test sprawdzający, czy operacje zapisujące wynik w podanym podziale
+     * dają te same wyniki, co operacje tworzące nowy podział.
+     */
+    @Test
+    @DisplayName("Test operacji zapisujących wynik w podanym podziale")
+    void testIntoDestination() {
+        FuzzyPartition dest = new FuzzyPartition(5, 7);
+        for (int i = 0; i < NUMBER_OF_RANDOM_TESTS; i++) {
+            FuzzyPartition U = new FuzzyPartition(5, 7);
+
+            assertSame(dest, U.complement(dest));
+            assertEquals(U.complement(), dest);
+
+            assertEquals(U.calculateLS(), U.calculateLS(dest));
+            assertEquals(
+                    U.calculateComplementLS(),
+                    U.calculateComplementLS(dest)
+            );
+            assertEquals(U.calculateMLS(), U.calculateMLS(dest));
+            assertEquals(
+                    U.calculateComplementMLS(),
+                    U.calculateComplementMLS(dest)
+            );
+            assertEquals(
+                    U.calculateAlphaLevel(0.01),
+                    U.calculateAlphaLevel(0.01, dest)
+            );
+            assertEquals(
+                    U.calculateComplementAlphaLevel(0.01),
+                    U.calculateComplementAlphaLevel(0.01, dest)
+            );
+        }
+    }
+
+    /**
+     * Test sprawdzający operacje wykonywane w miejscu, tzn. gdy podziałem
+     * docelowym jest podział bieżący.
+     */
+    @Test
+    @DisplayName("Test operacji wykonywanych w miejscu")
+    void testInPlace() {
+        for (int i = 0; i < NUMBER_OF_RANDOM_TESTS; i++) {
+            FuzzyPartition U = new FuzzyPartition(5, 7);
+            FuzzyPartition expectedC = U.complement();
+            FuzzyPartition expectedMLSC = expectedC.calculateMLS();
+            FuzzyPartition expectedLS = expectedMLSC.calculateLS();
+
+            assertEquals(expectedC, U.complement(U));
+            assertEquals(expectedMLSC, U.calculateMLS(U));
+            assertEquals(expectedLS, U.calculateLS(U));
+            assertEquals(expectedLS, U);
+        }
+    }
+
+    /**
+     * Test sprawdzający, czy podział docelowy o innych wymiarach jest
+     * odrzucany.
+     */
+    @Test
+    @DisplayName("Test podziału docelowego o błędnych wymiarach")
+    void testWrongDimensions() {
+        FuzzyPartition U = new FuzzyPartition(5, 7);
+        FuzzyPartition dest = new FuzzyPartition(7, 5);
+
+        Exception exception = assertThrows(
+                IllegalArgumentException.class,
+                () -> U.complement(dest)
+        );
+        assertEquals(
+                "Destination partition must have the same dimensions",
+                exception.getMessage()
+        );
+    }
+}
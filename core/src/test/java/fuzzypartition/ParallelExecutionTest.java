@@ -0,0 +1,114 @@
+package fuzzypartition;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Klasa testująca równoległe wykonywanie operacji na podziałach rozmytych.
+ */
+class ParallelExecutionTest {
+
+    /**
+     * Ilość iteracji w testach wykonywanych na losowych danych.
+     */
+    public static final int NUMBER_OF_RANDOM_TESTS = 100;
+
+    /**
+     * Dokładność, z jaką porównujemy liczby zmiennoprzecinkowe.
+     */
+    public static final double EPSILON = 0.00000001;
+
+    /**
+     * Pula, w której wykonywane są operacje w testach.
+     */
+    private static ForkJoinPool pool;
+
+    /**
+     * Ustawienie dokładności oraz utworzenie puli wątków.
+     */
+    @BeforeAll
+    static void initializeTest() {
+        FuzzyPartition.setEpsilon(EPSILON);
+        pool = new ForkJoinPool(4);
+    }
+
+    /**
+     * Przywrócenie wykonywania sekwencyjnego.
+     */
+    @AfterAll
+    static void finishTest() {
+        FuzzyPartition.setParallelism(null, 1);
+        pool.shutdown();
+    }
+
+    /**
+     * Test sprawdzający, czy operacje wykonane równolegle dają te same
+     * wyniki, co wykonane sekwencyjnie. Próg jest na tyle niski, że
+     * kolumny dzielone są na wiele zadań.
+     */
+    @Test
+    @DisplayName("Test zgodności wykonania równoległego z sekwencyjnym")
+    void testParallelMatchesSequential() {
+        for (int i = 0; i < NUMBER_OF_RANDOM_TESTS; i++) {
+            FuzzyPartition U = new FuzzyPartition(7, 301);
+            FuzzyPartition V = new FuzzyPartition(7, 301);
+
+            FuzzyPartition.setParallelism(null, 1);
+            FuzzyPartition alphaLevel = U.calculateAlphaLevel(0.05);
+            FuzzyPartition cAlphaLevel = U.calculateComplementAlphaLevel(0.05);
+            FuzzyPartition ls = U.calculateLS();
+            FuzzyPartition cls = U.calculateComplementLS();
+            FuzzyPartition mls = U.calculateMLS();
+            FuzzyPartition complement = U.complement();
+            double approximate = U.alphaApproximate(0.2, V);
+            double sharpness = U.calculateSharpnessDegree(V);
+
+            FuzzyPartition.setParallelism(pool, 20);
+            assertEquals(alphaLevel, U.calculateAlphaLevel(0.05));
+            assertEquals(cAlphaLevel, U.calculateComplementAlphaLevel(0.05));
+            assertEquals(ls, U.calculateLS());
+            assertEquals(cls, U.calculateComplementLS());
+            assertEquals(mls, U.calculateMLS());
+            assertEquals(complement, U.complement());
+            assertEquals(approximate, U.alphaApproximate(0.2, V), EPSILON);
+            assertEquals(sharpness, U.calculateSharpnessDegree(V), EPSILON);
+            assertTrue(U.validate());
+        }
+    }
+
+    /**
+     * Test sprawdzający, czy wyjątki zgłoszone w zadaniach docierają do
+     * wywołującego z niezmienionym komunikatem, a walidacja wykrywa błędną
+     * kolumnę w dowolnym fragmencie.
+     */
+    @Test
+    @DisplayName("Test wyjątków i walidacji przy wykonaniu równoległym")
+    void testParallelErrors() {
+        FuzzyPartition.setParallelism(pool, 3);
+        double[][] data = new FuzzyPartition(3, 100).getData();
+        data[0][77] = 1.0;
+        data[1][77] = 0.0;
+        data[2][77] = 0.0;
+        FuzzyPartition U = new FuzzyPartition(data);
+
+        Exception exception = assertThrows(
+                IllegalArgumentException.class,
+                () -> U.calculateAlphaLevel(0.99)
+        );
+        assertEquals(
+                "Value of alpha must be lower than maximum " +
+                        "value in any column",
+                exception.getMessage()
+        );
+
+        assertTrue(U.validate());
+        data[2][77] = 0.1;
+        assertFalse(new FuzzyPartition(data).validate());
+    }
+}
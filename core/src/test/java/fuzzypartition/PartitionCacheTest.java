@@ -0,0 +1,133 @@
+package fuzzypartition;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Klasa testująca pamięć podręczną wyników operacji.
+ */
+class PartitionCacheTest {
+
+    /**
+     * Ustawienie dokładności, z jaką porównujemy liczby zmiennoprzecinkowe
+     * w klasie FuzzyPartition.
+     */
+    @BeforeAll
+    static void initializeTest() {
+        FuzzyPartition.setEpsilon(0.00000001);
+    }
+
+    /**
+     * Test sprawdzający trafienia i chybienia oraz poprawność wyników.
+     */
+    @Test
+    @DisplayName("Test trafień pamięci podręcznej")
+    void testHits() {
+        PartitionCache cache = new PartitionCache(1000);
+        FuzzyPartition U = new FuzzyPartition(4, 10);
+        FuzzyPartition copy = new FuzzyPartition(U.getData());
+
+        FuzzyPartition mls = cache.calculateMLS(U);
+        assertEquals(U.calculateMLS(), mls);
+        assertSame(mls, cache.calculateMLS(U));
+        assertEquals(U.calculateAlphaLevel(0.1),
+                cache.calculateAlphaLevel(U, 0.1));
+        assertNotSame(cache.calculateAlphaLevel(U, 0.1),
+                cache.calculateAlphaLevel(U, 0.05));
+        assertEquals(U.calculateLS(), cache.calculateLS(U));
+        assertEquals(U.calculateComplementLS(),
+                cache.calculateComplementLS(U));
+
+        // Podziały źródłowe porównywane są przez tożsamość.
+        assertNotSame(mls, cache.calculateMLS(copy));
+
+        assertEquals(2, cache.getHitCount());
+        assertEquals(6, cache.getMissCount());
+        assertEquals(6, cache.getSize());
+        assertEquals(240, cache.getWeight());
+
+        cache.invalidate(U);
+        assertEquals(1, cache.getSize());
+        assertNotSame(mls, cache.calculateMLS(U));
+    }
+
+    /**
+     * Test sprawdzający wyniki wyznaczane przy pomocy równości
+     * z 'FuzzyPartitionTheoremTest'.
+     */
+    @Test
+    @DisplayName("Test stosowania równości")
+    void testIdentities() {
+        PartitionCache cache = new PartitionCache(1000);
+        FuzzyPartition U = new FuzzyPartition(4, 10);
+
+        FuzzyPartition complement = cache.complement(U);
+        assertSame(U, cache.complement(complement));
+        assertEquals(1, cache.getIdentityHitCount());
+        assertEquals(1, cache.getMissCount());
+
+        // >>(U^c) = <<U oraz (>>U)^c = <<U
+        FuzzyPartition complementMLS = cache.calculateMLS(complement);
+        assertEquals(U.calculateComplementMLS(), complementMLS);
+        // Równoważny wynik <<U trzeba było obliczyć, więc nie jest to
+        // trafienie z równości.
+        assertEquals(1, cache.getIdentityHitCount());
+        assertEquals(2, cache.getMissCount());
+        assertSame(complementMLS, cache.complement(cache.calculateMLS(U)));
+        assertEquals(2, cache.getIdentityHitCount());
+        assertEquals(3, cache.getMissCount());
+        assertSame(cache.calculateMLS(U),
+                cache.complement(complementMLS));
+
+        // (U^a)^c = ~U^a
+        FuzzyPartition level = cache.calculateAlphaLevel(U, 0.05);
+        assertSame(cache.calculateComplementAlphaLevel(U, 0.05),
+                cache.complement(level));
+        assertEquals(U.calculateComplementAlphaLevel(0.05),
+                cache.complement(level));
+
+        // Dla niepoprawnego podziału równości nie są stosowane.
+        long identityHits = cache.getIdentityHitCount();
+        FuzzyPartition invalid = new FuzzyPartition(new double[][]{
+                {0.2, 0.9, 0.0},
+                {0.3, 0.4, 0.7}
+        });
+        assertFalse(invalid.validate());
+        FuzzyPartition twice = cache.complement(cache.complement(invalid));
+        assertNotSame(invalid, twice);
+        assertEquals(invalid.complement().complement(), twice);
+        assertEquals(invalid.calculateMLS().complement(),
+                cache.complement(cache.calculateMLS(invalid)));
+        assertEquals(identityHits, cache.getIdentityHitCount());
+    }
+
+    /**
+     * Test sprawdzający usuwanie najdawniej używanych wyników.
+     */
+    @Test
+    @DisplayName("Test usuwania wyników")
+    void testEviction() {
+        PartitionCache cache = new PartitionCache(100);
+        FuzzyPartition U = new FuzzyPartition(5, 10);
+
+        FuzzyPartition mls = cache.calculateMLS(U);
+        FuzzyPartition complement = cache.complement(U);
+        assertSame(mls, cache.calculateMLS(U));
+
+        // Dopełnienie jest najdawniej używane, więc zostanie usunięte.
+        cache.calculateLS(U);
+        assertEquals(1, cache.getEvictionCount());
+        assertEquals(100, cache.getWeight());
+        assertSame(mls, cache.calculateMLS(U));
+        assertNotSame(complement, cache.complement(U));
+
+        // Wyniki większe niż limit nie są zapamiętywane.
+        cache.calculateMLS(new FuzzyPartition(20, 10));
+        assertEquals(100, cache.getWeight());
+        assertThrows(IllegalArgumentException.class,
+                () -> new PartitionCache(0));
+    }
+}
@@ -0,0 +1,224 @@
+package fuzzypartition;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Klasa testująca zwarty binarny format podziałów rozmytych.
+ */
+class PartitionCodecTest {
+
+    /**
+     * Ustawienie dokładności, z jaką porównujemy liczby zmiennoprzecinkowe
+     * w klasie FuzzyPartition.
+     */
+    @BeforeAll
+    static void initializeTest() {
+        FuzzyPartition.setEpsilon(0.00000001);
+    }
+
+    /**
+     * Sprawdza, czy odkodowany podział jest poprawny, a jego wartości
+     * różnią się od oryginalnych o mniej niż 'PartitionCodec.maxError'.
+     */
+    private static void assertDecoded(FuzzyPartition U, FuzzyPartition V,
+                                      int bits) {
+        assertEquals(U.M, V.M);
+        assertEquals(U.N, V.N);
+        assertTrue(V.validate());
+        double Q = (1 << bits) - 1;
+        for (int j = 0; j < U.N; j++) {
+            long sum = 0;
+            for (int i = 0; i < U.M; i++) {
+                assertTrue(Math.abs(U.get(i, j) - V.get(i, j))
+                        < PartitionCodec.maxError(bits) + 0.00000001);
+                double q = V.get(i, j) * Q;
+                assertEquals(Math.rint(q), q, 0.000001);
+                sum += Math.round(q);
+            }
+            assertEquals((long) Q, sum);
+        }
+    }
+
+    /**
+     * Test sprawdzający kodowanie i odkodowanie z różną liczbą bitów,
+     * z kompresją i bez.
+     */
+    @Test
+    @DisplayName("Test kodowania i odkodowania")
+    void testRoundTrip() throws IOException {
+        PartitionGenerator generator = PartitionGenerator.withSeed(21);
+        FuzzyPartition[] partitions = {
+                generator.uniform(7, 3000),
+                generator.dirichlet(40, 500, 0.2),
+                generator.nearCrisp(3, 20000, 0.05),
+                new FuzzyPartition(new double[][]{{1.0}})
+        };
+        for (FuzzyPartition U : partitions) {
+            for (int bits : new int[]{8, 16}) {
+                byte[] raw = PartitionCodec.encode(U, bits, false);
+                assertEquals(PartitionCodec.HEADER_SIZE
+                        + (long) U.M * U.N * bits / 8, raw.length);
+                assertDecoded(U, PartitionCodec.decode(raw), bits);
+
+                byte[] compressed = PartitionCodec.encode(U, bits, true);
+                FuzzyPartition V = PartitionCodec.decode(compressed);
+                assertDecoded(U, V, bits);
+                assertArrayEquals(raw, PartitionCodec.encode(V, bits, false));
+            }
+        }
+
+        FuzzyPartition crisp = generator.nearCrisp(3, 20000, 0.0);
+        assertTrue(PartitionCodec.encode(crisp, 8, true).length
+                < PartitionCodec.encode(crisp, 8, false).length / 2);
+
+        FuzzyPartition thirds = new FuzzyPartition(new double[][]{
+                {1.0 / 3}, {1.0 / 3}, {1.0 / 3}
+        });
+        FuzzyPartition decoded = PartitionCodec.decode(
+                PartitionCodec.encode(thirds, 8, false));
+        double[] values = {decoded.get(0, 0) * 255, decoded.get(1, 0) * 255,
+                decoded.get(2, 0) * 255};
+        Arrays.sort(values);
+        assertArrayEquals(new double[]{85, 85, 85}, values, 0.000001);
+    }
+
+    /**
+     * Test sprawdzający kodowanie kilku podziałów w jednym strumieniu
+     * i odkodowanie do podanej macierzy.
+     */
+    @Test
+    @DisplayName("Test kodowania strumieniowego")
+    void testStreaming() throws IOException {
+        PartitionGenerator generator = PartitionGenerator.withSeed(22);
+        FuzzyPartition U = generator.uniform(5, 40000);
+        FuzzyPartition V = generator.uniform(2, 10);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        PartitionCodec.encode(U, out, 16, true);
+        PartitionCodec.encode(V, out, 8, false);
+
+        ByteArrayInputStream in = new ByteArrayInputStream(out.toByteArray());
+        ColumnMajorStorage target = new ColumnMajorStorage(5, 40000);
+        FuzzyPartition decodedU = PartitionCodec.decode(in, target);
+        assertSame(target, decodedU.storage);
+        assertDecoded(U, decodedU, 16);
+        assertDecoded(V, PartitionCodec.decode(in), 8);
+        assertEquals(0, in.available());
+    }
+
+    /**
+     * Test sprawdzający kodowanie wyników przekształceń, które przez błędy
+     * zaokrągleń mogą zawierać wartości ujemne mniejsze co do modułu od
+     * epsilon.
+     */
+    @Test
+    @DisplayName("Test kodowania wyników przekształceń")
+    void testTransformOutputs() throws IOException {
+        PartitionGenerator generator = PartitionGenerator.withSeed(24);
+        int negative = 0;
+        for (int s = 0; s < 100; s++) {
+            FuzzyPartition U = generator.uniform(7, 40);
+            for (FuzzyPartition V : new FuzzyPartition[]{U.calculateMLS(),
+                    U.calculateComplementMLS(), U.calculateLS()}) {
+                if (!V.validate()) continue;
+                for (int j = 0; j < V.N; j++)
+                    for (int i = 0; i < V.M; i++)
+                        if (V.get(i, j) < 0) negative++;
+                for (int bits : new int[]{8, 16}) {
+                    assertDecoded(V, PartitionCodec.decode(
+                            PartitionCodec.encode(V, bits, true)), bits);
+                }
+            }
+        }
+        assertTrue(negative > 0);
+
+        FuzzyPartition almostZero = new FuzzyPartition(new double[][]{
+                {-0.000000001, 0.5},
+                {1.000000001, 0.5}
+        });
+        FuzzyPartition decoded = PartitionCodec.decode(
+                PartitionCodec.encode(almostZero, 16, false));
+        assertEquals(0.0, decoded.get(0, 0));
+        assertEquals(1.0, decoded.get(1, 0));
+    }
+
+    /**
+     * Test sprawdzający zgłaszanie błędów.
+     */
+    @Test
+    @DisplayName("Test błędów kodowania")
+    void testErrors() {
+        FuzzyPartition U = PartitionGenerator.withSeed(23).uniform(3, 100);
+        assertThrows(IllegalArgumentException.class,
+                () -> PartitionCodec.encode(U, 12, false));
+        assertThrows(IllegalArgumentException.class,
+                () -> PartitionCodec.encode(new FuzzyPartition(
+                        new double[][]{{-0.5}, {1.5}}), 8, false));
+        assertThrows(IllegalArgumentException.class,
+                () -> PartitionCodec.encode(new FuzzyPartition(
+                        new double[][]{{0.0}, {0.0}}), 8, false));
+
+        byte[] data = PartitionCodec.encode(U, 16, true);
+        assertThrows(IOException.class, () -> PartitionCodec.decode(
+                Arrays.copyOf(data, data.length - 1)));
+        byte[] corrupted = data.clone();
+        corrupted[PartitionCodec.HEADER_SIZE + 6] ^= 0x55;
+        assertThrows(IOException.class,
+                () -> PartitionCodec.decode(corrupted));
+        byte[] magic = data.clone();
+        magic[0] = 'X';
+        assertThrows(IOException.class, () -> PartitionCodec.decode(magic));
+        assertThrows(IOException.class, () -> PartitionCodec.decode(
+                new ByteArrayInputStream(data), new ColumnMajorStorage(3, 99)));
+    }
+
+    /**
+     * Tworzy nagłówek zakodowanego podziału o podanych wymiarach.
+     */
+    private static byte[] header(int bits, boolean compress, int M, int N) {
+        return ByteBuffer.allocate(PartitionCodec.HEADER_SIZE)
+                .order(ByteOrder.LITTLE_ENDIAN)
+                .putInt(PartitionCodec.MAGIC)
+                .putShort(PartitionCodec.VERSION)
+                .put((byte) bits)
+                .put((byte) (compress ? PartitionCodec.COMPRESSED : 0))
+                .putInt(M)
+                .putInt(N)
+                .array();
+    }
+
+    /**
+     * Test sprawdzający, czy nagłówek z ogromnymi wymiarami powoduje
+     * IOException zamiast przydzielenia pamięci na cały podział.
+     */
+    @Test
+    @DisplayName("Test nagłówka z ogromnymi wymiarami")
+    void testForgedHeader() {
+        assertThrows(IOException.class, () -> PartitionCodec.decode(
+                header(16, false, Integer.MAX_VALUE, Integer.MAX_VALUE)));
+        assertThrows(IOException.class, () -> PartitionCodec.decode(
+                header(16, false, 1 << 30, 1)));
+        assertThrows(IOException.class, () -> PartitionCodec.decode(
+                header(8, false, 1 << 20, 2000)));
+        assertThrows(IOException.class, () -> PartitionCodec.decode(
+                header(16, false, 200_000_000, 10)));
+
+        byte[] compressed = Arrays.copyOf(header(16, true, 200_000_000, 10),
+                PartitionCodec.HEADER_SIZE + Integer.BYTES);
+        ByteBuffer.wrap(compressed, PartitionCodec.HEADER_SIZE,
+                Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN)
+                .putInt(Integer.MAX_VALUE);
+        assertThrows(IOException.class,
+                () -> PartitionCodec.decode(compressed));
+    }
+}
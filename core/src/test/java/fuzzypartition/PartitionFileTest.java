@@ -0,0 +1,196 @@
+package fuzzypartition;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Klasa testująca zapis i odczyt podziałów w plikach odwzorowanych
+ * w pamięci.
+ */
+class PartitionFileTest {
+
+    /**
+     * Katalog na pliki tworzone w testach.
+     */
+    @TempDir
+    Path directory;
+
+    /**
+     * Ustawienie dokładności, z jaką porównujemy liczby zmiennoprzecinkowe
+     * w klasie FuzzyPartition.
+     */
+    @BeforeAll
+    static void initializeTest() {
+        FuzzyPartition.setEpsilon(0.00000001);
+    }
+
+    /**
+     * Test sprawdzający, czy zapisany podział jest po otwarciu równy
+     * oryginałowi, a operacje na nim dają te same wyniki.
+     */
+    @Test
+    @DisplayName("Test zapisu i odczytu podziału")
+    void testWriteAndOpen() throws IOException {
+        FuzzyPartition U = new FuzzyPartition(7, 53);
+        Path path = directory.resolve("u.fzp");
+        PartitionFile.write(U, path);
+        assertEquals(
+                PartitionFile.HEADER_SIZE + 7 * 53 * Double.BYTES,
+                Files.size(path)
+        );
+
+        FuzzyPartition mapped = PartitionFile.open(path);
+        assertEquals(U, mapped);
+        assertTrue(mapped.validate());
+        assertEquals(U.calculateMLS(), mapped.calculateMLS());
+        assertEquals(U.calculateLS(), mapped.calculateLS());
+        assertEquals(
+                U.calculateSharpnessDegree(U.calculateMLS()),
+                mapped.calculateSharpnessDegree(U.calculateMLS()),
+                0.00000001
+        );
+    }
+
+    /**
+     * Test sprawdzający, czy wynik operacji zapisany w utworzonym pliku
+     * można później odczytać.
+     */
+    @Test
+    @DisplayName("Test zapisu wyniku operacji do pliku")
+    void testTransformIntoFile() throws IOException {
+        FuzzyPartition U = new FuzzyPartition(7, 53);
+        Path path = directory.resolve("complement.fzp");
+        FuzzyPartition file = PartitionFile.create(path, U.M, U.N);
+        U.complement(file);
+        ((PartitionFile.MappedStorage) file.storage).force();
+
+        assertEquals(U.complement(), PartitionFile.open(path));
+
+        // Operacja w miejscu na pliku otwartym do zapisu.
+        FuzzyPartition writable = PartitionFile.open(path, true);
+        writable.complement(writable);
+        assertEquals(U, PartitionFile.open(path));
+    }
+
+    /**
+     * Test sprawdzający, czy wyniki operacji na podziale w pliku są
+     * tworzone w tymczasowych plikach odwzorowanych w pamięci, a nie na
+     * stercie, i czy pliki te nie pozostają w katalogu.
+     */
+    @Test
+    @DisplayName("Test wyników operacji na podziale w pliku")
+    void testMappedResults() throws IOException {
+        FuzzyPartition U = PartitionGenerator.withSeed(71).uniform(6, 45);
+        Path path = directory.resolve("u.fzp");
+        PartitionFile.write(U, path);
+        FuzzyPartition mapped = PartitionFile.open(path);
+
+        FuzzyPartition complement = mapped.complement();
+        FuzzyPartition ls = mapped.calculateLS();
+        assertInstanceOf(PartitionFile.MappedStorage.class,
+                complement.storage);
+        assertInstanceOf(PartitionFile.MappedStorage.class, ls.storage);
+        assertEquals(U.complement(), complement);
+        assertEquals(U.calculateLS(), ls);
+
+        // Wynik operacji na wyniku również trafia do pliku.
+        FuzzyPartition twice = complement.complement();
+        assertInstanceOf(PartitionFile.MappedStorage.class, twice.storage);
+        assertEquals(U, twice);
+
+        try (var files = Files.list(directory)) {
+            assertEquals(1, files.count());
+        }
+    }
+
+    /**
+     * Test sprawdzający pliki w układzie wierszowym i o precyzji float.
+     */
+    @Test
+    @DisplayName("Test układu wierszowego i precyzji float")
+    void testRowMajorFloat() throws IOException {
+        double[][] data = {
+                {0.5, 0.75, 0.25, 0.0},
+                {0.25, 0.25, 0.5, 0.125},
+                {0.25, 0.0, 0.25, 0.875}
+        };
+        Path path = directory.resolve("rows.fzp");
+        FuzzyPartition file = PartitionFile.create(path, 3, 4,
+                PartitionFile.ROW_MAJOR, Float.BYTES);
+        for (int i = 0; i < 3; i++)
+            for (int j = 0; j < 4; j++)
+                file.storage.set(i, j, data[i][j]);
+
+        assertEquals(PartitionFile.HEADER_SIZE + 12 * 4, Files.size(path));
+        assertEquals(new FuzzyPartition(data), PartitionFile.open(path));
+    }
+
+    /**
+     * Test sprawdzający odczyt i zapis całych kolumn, które przekraczają
+     * granice segmentów pliku. Segmenty mają w tym teście po 16 wartości,
+     * więc co druga kolumna o 7 wierszach leży w dwóch segmentach.
+     */
+    @Test
+    @DisplayName("Test kolumn przekraczających granice segmentów")
+    void testColumnsAcrossSegments() throws IOException {
+        FuzzyPartition U = PartitionGenerator.withSeed(13).uniform(7, 53);
+        for (int precision : new int[]{Double.BYTES, Float.BYTES}) {
+            Path path = directory.resolve("segments" + precision + ".fzp");
+            PartitionFile.create(path, 7, 53, PartitionFile.COLUMN_MAJOR,
+                    precision);
+            try (FileChannel channel = FileChannel.open(path,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                PartitionFile.MappedStorage storage =
+                        new PartitionFile.MappedStorage(channel,
+                                FileChannel.MapMode.READ_WRITE, 7, 53,
+                                PartitionFile.COLUMN_MAJOR, precision,
+                                directory, 4);
+                double[] column = new double[9];
+                for (int j = 0; j < 53; j++) {
+                    U.storage.readColumn(j, column, 1);
+                    storage.writeColumn(j, column, 1);
+                }
+                for (int j = 0; j < 53; j++) {
+                    storage.readColumn(j, column, 2);
+                    for (int i = 0; i < 7; i++) {
+                        assertEquals(storage.get(i, j), column[2 + i]);
+                        assertEquals(U.storage.get(i, j), column[2 + i],
+                                0.0000001);
+                    }
+                }
+                // Wartości w pliku o precyzji float różnią się od
+                // oryginału o więcej niż epsilon.
+                if (precision == Double.BYTES) {
+                    assertEquals(U.complement(),
+                            new FuzzyPartition(storage).complement());
+                }
+            }
+        }
+    }
+
+    /**
+     * Test sprawdzający, czy pliki w innym formacie są odrzucane.
+     */
+    @Test
+    @DisplayName("Test odrzucania plików w innym formacie")
+    void testInvalidFile() throws IOException {
+        Path path = directory.resolve("other.bin");
+        Files.write(path, new byte[64]);
+
+        Exception exception = assertThrows(
+                IOException.class,
+                () -> PartitionFile.open(path)
+        );
+        assertEquals("Not a fuzzy partition file", exception.getMessage());
+    }
+}
@@ -0,0 +1,115 @@
+package fuzzypartition;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Klasa testująca generator losowych podziałów rozmytych.
+ */
+class PartitionGeneratorTest {
+
+    /**
+     * Ustawienie dokładności, z jaką porównujemy liczby zmiennoprzecinkowe
+     * w klasie FuzzyPartition.
+     */
+    @BeforeAll
+    static void initializeTest() {
+        FuzzyPartition.setEpsilon(0.00000001);
+    }
+
+    /**
+     * Test sprawdzający, czy generatory o tym samym ziarnie zwracają te
+     * same podziały, również przy generowaniu równoległym.
+     */
+    @Test
+    @DisplayName("Test powtarzalności generatora")
+    void testReproducibility() {
+        FuzzyPartition sequential = PartitionGenerator.withSeed(42)
+                .uniform(4, 20000);
+        FuzzyPartition parallel;
+        try {
+            FuzzyPartition.setParallelism(ForkJoinPool.commonPool(), 1000);
+            parallel = PartitionGenerator.withSeed(42).uniform(4, 20000);
+        } finally {
+            FuzzyPartition.setParallelism(null, 1);
+        }
+        assertEquals(sequential, parallel);
+        assertTrue(sequential.validate());
+
+        PartitionGenerator generator = PartitionGenerator.withSeed(42);
+        assertNotEquals(generator.uniform(4, 10), generator.uniform(4, 10));
+        assertNotEquals(new FuzzyPartition(4, 10), new FuzzyPartition(4, 10));
+        assertEquals(PartitionGenerator.withSeed(7).split().uniform(3, 5),
+                PartitionGenerator.withSeed(7).split().uniform(3, 5));
+    }
+
+    /**
+     * Test sprawdzający poprawność podziałów z różnych rozkładów.
+     */
+    @Test
+    @DisplayName("Test rozkładów generatora")
+    void testDistributions() {
+        PartitionGenerator generator = PartitionGenerator.withSeed(1);
+        assertTrue(generator.dirichlet(5, 1000, 0.1).validate());
+        assertTrue(generator.dirichlet(5, 1000, 1.0).validate());
+        assertTrue(generator.dirichlet(5, 1000, 50.0).validate());
+        assertTrue(generator.nearCrisp(5, 1000, 0.2).validate());
+
+        FuzzyPartition crisp = generator.nearCrisp(5, 1000, 0.0);
+        for (int j = 0; j < crisp.N; j++) {
+            int ones = 0;
+            for (int i = 0; i < crisp.M; i++) {
+                if (crisp.get(i, j) == 1.0) ones++;
+                else assertEquals(0.0, crisp.get(i, j));
+            }
+            assertEquals(1, ones);
+        }
+
+        // Przy dużej koncentracji kolumny są bliskie 1/M.
+        FuzzyPartition flat = generator.dirichlet(5, 1000, 10000.0);
+        assertTrue(flat.calculateAlphaBound() > 0.15);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> generator.dirichlet(5, 10, 0.0));
+        assertThrows(IllegalArgumentException.class,
+                () -> generator.nearCrisp(5, 10, 1.5));
+    }
+
+    /**
+     * Zlicza pary wartości z sąsiednich wierszy, których iloraz powtarza
+     * się w podziale. Ilorazy nie zależą od normalizacji kolumn, więc
+     * kolumny korzystające z tych samych liczb losowych dają powtórzenia.
+     */
+    private static int repeatedRatios(FuzzyPartition U) {
+        Set<Double> ratios = new HashSet<>();
+        int repeated = 0;
+        for (int j = 0; j < U.N; j++)
+            for (int i = 0; i + 1 < U.M; i++)
+                if (!ratios.add(U.get(i + 1, j) / U.get(i, j))) repeated++;
+        return repeated;
+    }
+
+    /**
+     * Test sprawdzający, czy sąsiednie kolumny nie korzystają z tych
+     * samych liczb losowych.
+     */
+    @Test
+    @DisplayName("Test niezależności kolumn")
+    void testIndependentColumns() {
+        PartitionGenerator generator = PartitionGenerator.withSeed(1);
+        FuzzyPartition U = generator.uniform(4, 4);
+        for (int j = 0; j + 1 < U.N; j++)
+            assertNotEquals(U.get(2, j) / U.get(1, j),
+                    U.get(1, j + 1) / U.get(0, j + 1));
+        assertEquals(0, repeatedRatios(generator.uniform(4, 2000)));
+        assertEquals(0, repeatedRatios(generator.dirichlet(4, 2000, 1.0)));
+        assertEquals(0, repeatedRatios(generator.nearCrisp(4, 2000, 1.0)));
+    }
+}
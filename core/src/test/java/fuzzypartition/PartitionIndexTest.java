@@ -0,0 +1,203 @@
+package fuzzypartition;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Klasa testująca skróty podziałów oraz indeks podziałów bliskich sobie.
+ */
+class PartitionIndexTest {
+
+    /**
+     * Ustawienie dokładności, z jaką porównujemy liczby zmiennoprzecinkowe
+     * w klasie FuzzyPartition.
+     */
+    @BeforeAll
+    static void initializeTest() {
+        FuzzyPartition.setEpsilon(0.00000001);
+    }
+
+    /**
+     * Zwraca kopię podziału z wartościami zaburzonymi o wielkość znacznie
+     * mniejszą niż epsilon.
+     */
+    private static FuzzyPartition perturbed(FuzzyPartition U) {
+        double[][] data = U.getData();
+        for (double[] row : data)
+            for (int j = 0; j < row.length; j++)
+                row[j] += (j % 2 == 0 ? 1 : -1) * 1e-12;
+        return new FuzzyPartition(data);
+    }
+
+    /**
+     * Zwraca kopię podziału, w której każda wartość zaburzona jest
+     * o podaną wielkość, na przemian w górę i w dół w kolejnych wierszach.
+     */
+    private static FuzzyPartition perturbed(FuzzyPartition U, double d) {
+        double[][] data = U.getData();
+        for (int i = 0; i < data.length; i++)
+            for (int j = 0; j < data[i].length; j++)
+                data[i][j] += (i % 2 == 0 ? 1 : -1) * d;
+        return new FuzzyPartition(data);
+    }
+
+    /**
+     * Test sprawdzający zgodność skrótów z metodą 'equals'. Skrót
+     * wszystkich wartości musi być jednakowy jedynie dla podziałów
+     * o jednakowych wartościach.
+     */
+    @Test
+    @DisplayName("Test skrótów podziałów")
+    void testHashes() {
+        PartitionGenerator generator = PartitionGenerator.withSeed(5);
+        FuzzyPartition U = generator.uniform(5, 30);
+        FuzzyPartition copy = new FuzzyPartition(U.getData());
+        FuzzyPartition near = perturbed(U);
+
+        assertEquals(U.hashCode(), near.hashCode());
+        assertEquals(U.fingerprint(), copy.fingerprint());
+        assertNotEquals(U.fingerprint(),
+                generator.uniform(5, 30).fingerprint());
+
+        Set<FuzzyPartition> set = new HashSet<>();
+        set.add(U);
+        assertTrue(set.contains(near));
+    }
+
+    /**
+     * Test sprawdzający wyszukiwanie podziałów równych podanemu.
+     */
+    @Test
+    @DisplayName("Test indeksu podziałów")
+    void testIndex() {
+        PartitionGenerator generator = PartitionGenerator.withSeed(3);
+        PartitionIndex index = new PartitionIndex();
+        FuzzyPartition[] library = new FuzzyPartition[200];
+        for (int k = 0; k < library.length; k++) {
+            library[k] = generator.uniform(4, 25);
+            index.add(library[k]);
+        }
+        index.add(library[0]);
+        assertEquals(200, index.size());
+
+        for (FuzzyPartition U : library) {
+            List<FuzzyPartition> found = index.findEqual(perturbed(U));
+            assertEquals(1, found.size());
+            assertSame(U, found.get(0));
+        }
+        assertTrue(index.findEqual(generator.uniform(4, 25)).isEmpty());
+        assertTrue(index.findEqual(generator.uniform(5, 20)).isEmpty());
+
+        FuzzyPartition duplicate = perturbed(library[7]);
+        assertSame(library[7], index.addIfAbsent(duplicate));
+        FuzzyPartition fresh = generator.uniform(4, 25);
+        assertSame(fresh, index.addIfAbsent(fresh));
+        assertEquals(201, index.size());
+
+        assertTrue(index.remove(library[7]));
+        assertFalse(index.remove(library[7]));
+        assertTrue(index.findEqual(duplicate).isEmpty());
+        assertEquals(200, index.size());
+    }
+
+    /**
+     * Test sprawdzający wyszukiwanie podziałów różniących się o nie więcej
+     * niż epsilon. Indeks musi znaleźć każdy podział równy podanemu
+     * i nie może zwrócić podziału różnego od podanego.
+     */
+    @Test
+    @DisplayName("Test indeksu dla różnic bliskich epsilon")
+    void testIndexNearEpsilon() {
+        double epsilon = 0.00000001;
+        PartitionGenerator generator = PartitionGenerator.withSeed(11);
+        PartitionIndex index = new PartitionIndex();
+        FuzzyPartition[] library = new FuzzyPartition[200];
+        for (int k = 0; k < library.length; k++) {
+            library[k] = generator.uniform(4, 25);
+            index.add(library[k]);
+        }
+
+        double[] differences = {0.1, 0.5, 0.99};
+        for (double difference : differences) {
+            int sameFingerprint = 0;
+            for (FuzzyPartition U : library) {
+                FuzzyPartition near = perturbed(U, difference * epsilon);
+                assertEquals(U, near);
+                List<FuzzyPartition> result = index.findEqual(near);
+                assertEquals(1, result.size(), "d = " + difference + " eps");
+                assertSame(U, result.get(0));
+                if (U.fingerprint() == near.fingerprint()) sameFingerprint++;
+            }
+            // Każda ze 100 wartości zmienia oczko siatki skrótu
+            // z prawdopodobieństwem d / (4 * epsilon).
+            assertTrue(sameFingerprint < library.length / 4,
+                    "same fingerprints: " + sameFingerprint);
+        }
+
+        FuzzyPartition far = perturbed(library[0], 2 * epsilon);
+        assertTrue(index.findEqual(far).isEmpty());
+    }
+
+    /**
+     * Test sprawdzający wyszukiwanie podziałów, których kolumny mają
+     * wartości różniące się od 1/M o mniej niż epsilon, więc wiersz
+     * wartości największej zmienia się po zaburzeniu podziału.
+     */
+    @Test
+    @DisplayName("Test indeksu dla kolumn o wartościach bliskich 1/M")
+    void testIndexNearTies() {
+        double epsilon = 0.00000001;
+        SplittableRandom random = new SplittableRandom(13);
+        PartitionIndex index = new PartitionIndex();
+        FuzzyPartition[] library = new FuzzyPartition[100];
+        for (int k = 0; k < library.length; k++) {
+            double[][] data = new double[4][25];
+            for (int j = 0; j < 25; j++) {
+                double delta = random.nextDouble(-0.5, 0.5) * epsilon;
+                for (int i = 0; i < 4; i++)
+                    data[i][j] = 0.25 + (i % 2 == 0 ? delta : -delta);
+            }
+            library[k] = new FuzzyPartition(data);
+            index.add(library[k]);
+        }
+
+        for (FuzzyPartition U : library) {
+            FuzzyPartition near = perturbed(U, 0.99 * epsilon);
+            assertEquals(U, near);
+            assertTrue(index.findEqual(near).contains(U));
+        }
+    }
+
+    /**
+     * Test sprawdzający, czy w zbiorze podziałów ostrych (MLS) pasma
+     * rozróżniają podziały, tzn. kandydatami na równe podanemu są niemal
+     * wyłącznie podziały rzeczywiście równe.
+     */
+    @Test
+    @DisplayName("Test kandydatów w zbiorze podziałów ostrych")
+    void testCrispCandidates() {
+        PartitionGenerator generator = PartitionGenerator.withSeed(9);
+        PartitionIndex index = new PartitionIndex();
+        FuzzyPartition[] library = new FuzzyPartition[300];
+        for (int k = 0; k < library.length; k++) {
+            library[k] = generator.uniform(3, 40).calculateMLS();
+            index.add(library[k]);
+        }
+
+        int candidates = 0;
+        for (FuzzyPartition U : library) {
+            assertTrue(index.candidates(U).contains(U));
+            candidates += index.candidates(U).size();
+        }
+        assertTrue(candidates <= library.length + 10,
+                "candidates: " + candidates);
+    }
+}
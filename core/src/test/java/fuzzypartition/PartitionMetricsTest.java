@@ -0,0 +1,150 @@
+package fuzzypartition;
+
+import fuzzypartition.PartitionMetrics.Operation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.management.JMX;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Klasa testująca statystyki wywołań operacji na podziałach rozmytych.
+ */
+class PartitionMetricsTest {
+
+    /**
+     * Ustawienie dokładności, z jaką porównujemy liczby zmiennoprzecinkowe
+     * w klasie FuzzyPartition.
+     */
+    @BeforeAll
+    static void initializeTest() {
+        FuzzyPartition.setEpsilon(0.00000001);
+    }
+
+    @AfterEach
+    void disableMetrics() {
+        PartitionMetrics.disable();
+        PartitionMetrics.getInstance().reset();
+        PartitionMetrics.unregister();
+    }
+
+    /**
+     * Test sprawdzający liczniki wywołań, wymiary macierzy i histogram
+     * czasów.
+     */
+    @Test
+    @DisplayName("Test zbierania statystyk")
+    void testCounters() {
+        PartitionMetrics metrics = PartitionMetrics.getInstance();
+        FuzzyPartition U = PartitionGenerator.withSeed(51)
+                .dirichlet(3, 200, 1.0);
+        FuzzyPartition V = PartitionGenerator.withSeed(52)
+                .dirichlet(5, 10, 1.0);
+
+        U.calculateMLS();
+        assertEquals(0, metrics.getTotalCalls());
+
+        PartitionMetrics.enable();
+        metrics.reset();
+        U.calculateMLS();
+        U.calculateMLS(U.calculateMLS());
+        V.complement();
+        assertTrue(U.validate());
+        assertEquals(U, U);
+        assertThrows(IllegalArgumentException.class,
+                () -> U.calculateAlphaLevel(1.0));
+
+        OperationStatistics mls =
+                metrics.getOperation(Operation.CALCULATE_MLS);
+        assertEquals("calculateMLS", mls.getOperation());
+        assertEquals(3, mls.getCalls());
+        assertEquals(3 * 600, mls.getElements());
+        assertEquals(3, mls.getMaxRows());
+        assertEquals(200, mls.getMaxColumns());
+        assertEquals(3, sum(mls.getLatencyHistogram()));
+        assertTrue(mls.getMaxNanos() <= mls.getTotalNanos());
+        if (metrics.isAllocationTrackingSupported())
+            assertTrue(mls.getAllocatedBytes() >= 2 * 600 * Double.BYTES);
+
+        assertEquals(1, metrics.getOperation(Operation.COMPLEMENT)
+                .getCalls());
+        assertEquals(5, metrics.getOperation(Operation.COMPLEMENT)
+                .getMaxRows());
+        assertEquals(1, metrics.getOperation(Operation.CALCULATE_ALPHA_LEVEL)
+                .getCalls());
+        assertEquals(7, metrics.getTotalCalls());
+
+        List<OperationStatistics> operations = metrics.getOperations();
+        assertEquals(5, operations.size());
+
+        PartitionMetrics.disable();
+        U.complement();
+        assertEquals(7, metrics.getTotalCalls());
+        metrics.reset();
+        assertEquals(0, metrics.getTotalCalls());
+        assertTrue(metrics.getOperations().isEmpty());
+    }
+
+    /**
+     * Test sprawdzający numery elementów histogramu czasów.
+     */
+    @Test
+    @DisplayName("Test histogramu czasów")
+    void testBuckets() {
+        assertEquals(0, PartitionMetrics.bucket(0));
+        assertEquals(1, PartitionMetrics.bucket(1));
+        assertEquals(2, PartitionMetrics.bucket(3));
+        assertEquals(3, PartitionMetrics.bucket(4));
+        assertEquals(11, PartitionMetrics.bucket(1024));
+        assertEquals(PartitionMetrics.HISTOGRAM_SIZE - 1,
+                PartitionMetrics.bucket(Long.MAX_VALUE));
+    }
+
+    /**
+     * Test sprawdzający odczyt statystyk przez JMX.
+     */
+    @Test
+    @DisplayName("Test statystyk w JMX")
+    void testMBean() throws Exception {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName(PartitionMetrics.OBJECT_NAME);
+        PartitionMetrics.enable();
+        PartitionMetrics.enable();
+        assertTrue(server.isRegistered(name));
+
+        PartitionMetricsMXBean proxy = JMX.newMXBeanProxy(server, name,
+                PartitionMetricsMXBean.class);
+        proxy.reset();
+        FuzzyPartition U = PartitionGenerator.withSeed(53).uniform(4, 30);
+        U.calculateSharpnessDegree(U);
+
+        assertTrue(proxy.isEnabled());
+        assertEquals(1, proxy.getTotalCalls());
+        List<OperationStatistics> operations = proxy.getOperations();
+        assertEquals(1, operations.size());
+        assertEquals("calculateSharpnessDegree",
+                operations.get(0).getOperation());
+        assertEquals(120, operations.get(0).getElements());
+        assertEquals(PartitionMetrics.HISTOGRAM_SIZE,
+                operations.get(0).getLatencyHistogram().length);
+
+        proxy.setEnabled(false);
+        assertFalse(PartitionMetrics.getInstance().isEnabled());
+        PartitionMetrics.unregister();
+        assertFalse(server.isRegistered(name));
+    }
+
+    private static long sum(long[] values) {
+        long sum = 0;
+        for (long value : values)
+            sum += value;
+        return sum;
+    }
+}
@@ -0,0 +1,123 @@
+package fuzzypartition;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Klasa testująca zdarzenia JFR zapisywane przez operacje na podziałach
+ * rozmytych.
+ */
+class PartitionOperationEventTest {
+
+    @TempDir
+    Path directory;
+
+    /**
+     * Ustawienie dokładności, z jaką porównujemy liczby zmiennoprzecinkowe
+     * w klasie FuzzyPartition.
+     */
+    @BeforeAll
+    static void initializeTest() {
+        FuzzyPartition.setEpsilon(0.00000001);
+    }
+
+    /**
+     * Zwraca zdarzenia operacji zapisane w nagraniu.
+     */
+    private List<RecordedEvent> events(Recording recording)
+            throws Exception {
+        Path file = directory.resolve("recording.jfr");
+        recording.dump(file);
+        return RecordingFile.readAllEvents(file).stream()
+                .filter(e -> e.getEventType().getName()
+                        .equals(PartitionOperationEvent.NAME))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Test sprawdzający zawartość zdarzeń zapisanych w trakcie nagrania.
+     */
+    @Test
+    @DisplayName("Test zdarzeń JFR")
+    void testEvents() throws Exception {
+        FuzzyPartition U = PartitionGenerator.withSeed(61)
+                .dirichlet(3, 100, 1.0);
+        FuzzyPartition invalid = new FuzzyPartition(new double[][]{
+                {0.5, 0.6},
+                {0.5, 0.6}
+        });
+        List<RecordedEvent> events;
+        try (Recording recording = new Recording()) {
+            recording.enable(PartitionOperationEvent.NAME)
+                    .withThreshold(Duration.ZERO);
+            recording.start();
+            assertNotNull(PartitionMetrics.start(
+                    PartitionMetrics.Operation.EQUALS));
+            U.calculateAlphaLevel(0.2);
+            assertTrue(U.validate());
+            assertFalse(invalid.validate());
+            U.calculateMLS();
+            recording.stop();
+            events = events(recording);
+        }
+        assertEquals(4, events.size());
+
+        RecordedEvent level = events.get(0);
+        assertEquals("calculateAlphaLevel", level.getString("operation"));
+        assertEquals(3, level.getInt("rows"));
+        assertEquals(100, level.getInt("columns"));
+        assertEquals(0.2, level.getDouble("alpha"));
+        assertNull(level.getString("validation"));
+        assertFalse(level.getDuration().isNegative());
+
+        assertEquals("valid", events.get(1).getString("validation"));
+        assertEquals("invalid", events.get(2).getString("validation"));
+        assertEquals(2, events.get(2).getInt("columns"));
+
+        RecordedEvent mls = events.get(3);
+        assertEquals("calculateMLS", mls.getString("operation"));
+        assertTrue(Double.isNaN(mls.getDouble("alpha")));
+    }
+
+    /**
+     * Test sprawdzający, czy zdarzenia nie są zapisywane, jeżeli są
+     * wyłączone w nagraniu lub krótsze niż domyślny próg.
+     */
+    @Test
+    @DisplayName("Test wyłączonych zdarzeń JFR")
+    void testDisabledEvents() throws Exception {
+        FuzzyPartition U = PartitionGenerator.withSeed(62).uniform(2, 2);
+        try (Recording recording = new Recording()) {
+            recording.disable(PartitionOperationEvent.NAME);
+            recording.start();
+            U.complement();
+            assertNull(PartitionMetrics.start(
+                    PartitionMetrics.Operation.COMPLEMENT));
+            recording.stop();
+            assertTrue(events(recording).isEmpty());
+        }
+        // Poza nagraniem i przy wyłączonych statystykach pomiar nie jest
+        // tworzony.
+        assertNull(PartitionMetrics.start(
+                PartitionMetrics.Operation.EQUALS));
+        try (Recording recording = new Recording()) {
+            recording.enable(PartitionOperationEvent.NAME);
+            recording.start();
+            U.equals(U);
+            recording.stop();
+            assertTrue(events(recording).isEmpty());
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package fuzzypartition;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Klasa testująca leniwe ciągi operacji 'PartitionPipeline'.
+ */
+class PartitionPipelineTest {
+
+    /**
+     * Ilość iteracji w testach wykonywanych na losowych danych.
+     */
+    public static final int NUMBER_OF_RANDOM_TESTS = 1000;
+
+    /**
+     * Ustawienie dokładności, z jaką porównujemy liczby zmiennoprzecinkowe
+     * w klasie FuzzyPartition.
+     */
+    @BeforeAll
+    static void initializeTest() {
+        FuzzyPartition.setEpsilon(0.00000001);
+    }
+
+    /**
+     * Test sprawdzający, czy ciąg operacji wykonany w jednym przebiegu daje
+     * ten sam wynik, co kolejne wywołania metod klasy 'FuzzyPartition'.
+     */
+    @Test
+    @DisplayName("Test zgodności ciągu operacji z wywołaniami metod")
+    void testPipelineMatchesEagerCalls() {
+        for (int i = 0; i < NUMBER_OF_RANDOM_TESTS; i++) {
+            FuzzyPartition U = new FuzzyPartition(5, 7);
+
+            assertEquals(
+                    U.complement().calculateMLS().calculateAlphaLevel(0.01),
+                    U.lazy().complement().calculateMLS()
+                            .calculateAlphaLevel(0.01).evaluate()
+            );
+
+            assertEquals(
+                    U.calculateComplementMLS().complement()
+                            .calculateComplementAlphaLevel(0.01),
+                    U.lazy().calculateComplementMLS().complement()
+                            .calculateComplementAlphaLevel(0.01).evaluate()
+            );
+        }
+    }
+
+    /**
+     * Test sprawdzający, czy pusty ciąg operacji zwraca kopię podziału,
+     * a ciąg nie modyfikuje podziału źródłowego.
+     */
+    @Test
+    @DisplayName("Test pustego ciągu operacji")
+    void testEmptyPipeline() {
+        FuzzyPartition U = new FuzzyPartition(new double[][]{
+                {0.5, 0.7, 0.3, 0.0},
+                {0.4, 0.2, 0.4, 0.1},
+                {0.1, 0.1, 0.3, 0.9}
+        });
+        FuzzyPartition copyOfU = new FuzzyPartition(U.getData());
+
+        FuzzyPartition result = U.lazy().evaluate();
+        assertEquals(U, result);
+        assertNotSame(U, result);
+
+        U.lazy().complement().calculateMLS().evaluate();
+        assertEquals(copyOfU, U);
+    }
+
+    /**
+     * Test sprawdzający, czy błędne wartości alfa są zgłaszane tak samo,
+     * jak przez metody klasy 'FuzzyPartition'.
+     */
+    @Test
+    @DisplayName("Test błędnych wartości alfa w ciągu operacji")
+    void testPipelineAlphaErrors() {
+        FuzzyPartition U = new FuzzyPartition(new double[][]{
+                {0.5, 0.7, 0.3, 0.0},
+                {0.4, 0.2, 0.4, 0.1},
+                {0.1, 0.1, 0.3, 0.9}
+        });
+
+        // Alfa niedodatnie zgłaszane jest już przy dodaniu operacji.
+        Exception exception = assertThrows(
+                IllegalArgumentException.class,
+                () -> U.lazy().complement().calculateAlphaLevel(0.0)
+        );
+        assertEquals(
+                "Value of alpha must be bigger than zero",
+                exception.getMessage()
+        );
+
+        Exception exception2 = assertThrows(
+                IllegalArgumentException.class,
+                () -> U.lazy().calculateComplementAlphaLevel(0.4).evaluate()
+        );
+        assertEquals(
+                "Value of alpha must be lower than maximum " +
+                        "value in any column",
+                exception2.getMessage()
+        );
+    }
+}
@@ -0,0 +1,139 @@
+package fuzzypartition;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Klasa testująca obliczanie miar podobieństwa dla wszystkich par
+ * podziałów.
+ */
+class PartitionSimilarityTest {
+
+    /**
+     * Dokładność, z jaką porównujemy liczby zmiennoprzecinkowe.
+     */
+    public static final double EPSILON = 0.00000001;
+
+    /**
+     * Podziały, dla których obliczane są miary. Ich liczba nie jest
+     * wielokrotnością rozmiaru kafelka, a liczba elementów nie jest
+     * wielokrotnością rozmiaru fragmentu.
+     */
+    private static FuzzyPartition[] partitions;
+
+    /**
+     * Utworzenie zbioru testowego.
+     */
+    @BeforeAll
+    static void initializeTest() {
+        FuzzyPartition.setEpsilon(EPSILON);
+        partitions = new FuzzyPartition[19];
+        for (int a = 0; a < partitions.length; a++)
+            partitions[a] = new FuzzyPartition(5, 301);
+    }
+
+    /**
+     * Test sprawdzający, czy macierz stopni wyostrzenia jest zgodna
+     * z wywołaniami 'calculateSharpnessDegree' dla każdej pary.
+     */
+    @Test
+    @DisplayName("Test macierzy 'calculateSharpnessDegree'")
+    void testSharpnessDegreeMatrix() {
+        double[][] result =
+                PartitionSimilarity.sharpnessDegreeMatrix(partitions);
+        for (int a = 0; a < partitions.length; a++) {
+            for (int b = 0; b < partitions.length; b++) {
+                assertEquals(
+                        partitions[a].calculateSharpnessDegree(partitions[b]),
+                        result[a][b],
+                        EPSILON
+                );
+            }
+        }
+    }
+
+    /**
+     * Test sprawdzający, czy macierz podobieństw alfa-cięć jest zgodna
+     * z wywołaniami 'alphaApproximate' dla każdej pary.
+     */
+    @Test
+    @DisplayName("Test macierzy 'alphaApproximate'")
+    void testAlphaApproximateMatrix() {
+        double[][] result =
+                PartitionSimilarity.alphaApproximateMatrix(0.2, partitions);
+        for (int a = 0; a < partitions.length; a++) {
+            assertEquals(1.0, result[a][a], EPSILON);
+            for (int b = 0; b < partitions.length; b++) {
+                assertEquals(
+                        partitions[a].alphaApproximate(0.2, partitions[b]),
+                        result[a][b],
+                        EPSILON
+                );
+            }
+        }
+    }
+
+    /**
+     * Test sprawdzający macierze dla podziałów, które nie są przechowywane
+     * w 'ColumnMajorStorage' (podziały zapisane wierszami i widoki
+     * kolumn), oraz dla podziałów o kolumnach dłuższych niż fragment.
+     */
+    @Test
+    @DisplayName("Test macierzy dla różnych sposobów przechowywania")
+    void testOtherStorages() {
+        PartitionGenerator generator = PartitionGenerator.withSeed(17);
+        for (int M : new int[]{5, 1500}) {
+            FuzzyPartition[] mixed = new FuzzyPartition[11];
+            for (int a = 0; a < mixed.length; a++) {
+                FuzzyPartition U = generator.uniform(M, 40);
+                if (a % 3 == 1) U = FuzzyPartition.wrapRows(U.getData());
+                else if (a % 3 == 2) U = generator.uniform(M, 45)
+                        .columnRange(3, 43);
+                mixed[a] = U;
+            }
+
+            double[][] sharpness =
+                    PartitionSimilarity.sharpnessDegreeMatrix(mixed);
+            double[][] alpha =
+                    PartitionSimilarity.alphaApproximateMatrix(0.5 / M, mixed);
+            for (int a = 0; a < mixed.length; a++) {
+                for (int b = 0; b < mixed.length; b++) {
+                    assertEquals(
+                            mixed[a].calculateSharpnessDegree(mixed[b]),
+                            sharpness[a][b],
+                            EPSILON
+                    );
+                    assertEquals(
+                            mixed[a].alphaApproximate(0.5 / M, mixed[b]),
+                            alpha[a][b],
+                            EPSILON
+                    );
+                }
+            }
+        }
+    }
+
+    /**
+     * Test sprawdzający, czy podziały o różnych wymiarach są odrzucane.
+     */
+    @Test
+    @DisplayName("Test podziałów o różnych wymiarach")
+    void testDifferentDimensions() {
+        Exception exception = assertThrows(
+                IllegalArgumentException.class,
+                () -> PartitionSimilarity.sharpnessDegreeMatrix(
+                        new FuzzyPartition[]{
+                                new FuzzyPartition(3, 4),
+                                new FuzzyPartition(4, 3)
+                        }
+                )
+        );
+        assertEquals(
+                "All partitions must have the same dimensions",
+                exception.getMessage()
+        );
+    }
+}
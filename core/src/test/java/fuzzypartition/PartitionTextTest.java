@@ -0,0 +1,151 @@
+package fuzzypartition;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Klasa testująca tekstowy zapis i odczyt podziałów rozmytych.
+ */
+class PartitionTextTest {
+
+    /**
+     * Ustawienie dokładności, z jaką porównujemy liczby zmiennoprzecinkowe
+     * w klasie FuzzyPartition.
+     */
+    @BeforeAll
+    static void initializeTest() {
+        FuzzyPartition.setEpsilon(0.00000001);
+    }
+
+    /**
+     * Formatuje wartość przy pomocy 'PartitionText.appendFixed'.
+     */
+    private static String format(double value, int precision) {
+        char[] out = new char[PartitionText.MAX_VALUE_LENGTH];
+        return new String(out, 0, PartitionText.appendFixed(out, 0, value,
+                precision, '.'));
+    }
+
+    /**
+     * Test sprawdzający, czy formatowanie wartości daje te same wyniki co
+     * String.format, również dla wartości leżących w połowie ostatniej
+     * cyfry.
+     */
+    @Test
+    @DisplayName("Test formatowania wartości")
+    void testFormat() {
+        double[] special = {0.0, -0.0, 1.0, 0.15, 0.25, 0.125, 0.00005,
+                0.99995, 0.49999999999, 2.5, -0.00001, 1e-300, 123456.789,
+                1e20, -7.77777e15, Double.MAX_VALUE, Double.MIN_VALUE};
+        for (double value : special) {
+            for (int precision = 0; precision <= 17; precision++) {
+                assertEquals(String.format(Locale.ROOT, "%." + precision
+                        + "f", value), format(value, precision));
+            }
+        }
+
+        Random random = new Random(17);
+        for (int k = 0; k < 100000; k++) {
+            int precision = random.nextInt(9);
+            double value = k % 2 == 0 ? random.nextDouble()
+                    : Math.round(random.nextDouble() * 100000) / 100000.0;
+            assertEquals(String.format(Locale.ROOT, "%." + precision + "f",
+                    value), format(value, precision));
+        }
+
+        assertEquals("NaN", format(Double.NaN, 4));
+        assertEquals("-Infinity", format(Double.NEGATIVE_INFINITY, 4));
+    }
+
+    /**
+     * Test sprawdzający zapis i odczyt podziału w różnych formatach.
+     */
+    @Test
+    @DisplayName("Test zapisu i odczytu")
+    void testRoundTrip() throws IOException {
+        FuzzyPartition U = PartitionGenerator.withSeed(9).uniform(7, 300);
+
+        StringWriter writer = new StringWriter();
+        PartitionText.write(U, writer, ',', 12);
+        FuzzyPartition csv = PartitionText.read(
+                new StringReader(writer.toString()), ',');
+        assertEquals(U.M, csv.M);
+        assertEquals(U.N, csv.N);
+        assertEquals(U, csv);
+
+        StringBuilder builder = new StringBuilder();
+        PartitionText.write(U, builder, '\t', 17);
+        assertEquals(writer.toString().split("\n").length,
+                builder.toString().split("\n").length);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        PartitionText.write(U, bytes, ' ', 17);
+        FuzzyPartition space = PartitionText.read(
+                new ByteArrayInputStream(bytes.toByteArray()), ' ');
+        for (int i = 0; i < U.M; i++)
+            for (int j = 0; j < U.N; j++)
+                assertEquals(U.get(i, j), space.get(i, j), 1e-17);
+
+        ColumnMajorStorage target = new ColumnMajorStorage(U.M, U.N);
+        FuzzyPartition direct = PartitionText.read(
+                new ByteArrayInputStream(bytes.toByteArray()), ' ', target);
+        assertSame(target, direct.storage);
+        assertEquals(U, direct);
+
+        FuzzyPartition small = new FuzzyPartition(new double[][]{
+                {0.5, 0.25},
+                {0.5, 0.75}
+        });
+        StringWriter text = new StringWriter();
+        PartitionText.write(small, text, ';', 2);
+        assertEquals("0.50;0.25\n0.50;0.75\n", text.toString());
+    }
+
+    /**
+     * Test sprawdzający odczyt danych z odstępami, pustymi liniami
+     * i różnymi zapisami liczb oraz zgłaszanie błędów.
+     */
+    @Test
+    @DisplayName("Test odczytu danych niestandardowych i błędnych")
+    void testParsing() throws IOException {
+        FuzzyPartition U = PartitionText.read(new StringReader(
+                "\n 0.5 , 5e-1,1\r\n\n.5,  +0.50, -0\n\n"), ',');
+        assertEquals(new FuzzyPartition(new double[][]{
+                {0.5, 0.5, 1.0},
+                {0.5, 0.5, 0.0}
+        }), U);
+        assertEquals(0.1, PartitionText.read(new StringReader(
+                "0.1000000000000000055511151231257827"), ',').get(0, 0));
+
+        assertThrows(IOException.class, () -> PartitionText.read(
+                new StringReader("0.5,0.5\n0.5\n"), ','));
+        assertThrows(IOException.class, () -> PartitionText.read(
+                new StringReader("0.5,x\n"), ','));
+        assertThrows(IOException.class, () -> PartitionText.read(
+                new StringReader("0.5,,0.5\n"), ','));
+        assertThrows(IOException.class, () -> PartitionText.read(
+                new StringReader("0.5 0.5\n"), ','));
+        assertThrows(IOException.class, () -> PartitionText.read(
+                new StringReader("\n\n"), ','));
+        assertThrows(IOException.class, () -> PartitionText.read(
+                new ByteArrayInputStream("1,0\n0,1\n0,0\n"
+                        .getBytes(StandardCharsets.US_ASCII)), ',',
+                new ColumnMajorStorage(2, 2)));
+        assertThrows(IllegalArgumentException.class, () -> PartitionText
+                .write(U, new StringWriter(), '.', 4));
+        assertThrows(IllegalArgumentException.class, () -> PartitionText
+                .write(U, new StringWriter(), ',', 18));
+    }
+}
@@ -0,0 +1,142 @@
+package fuzzypartition;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Klasa testująca walidator podziałów rozmytych.
+ */
+class PartitionValidatorTest {
+
+    /**
+     * Ustawienie dokładności, z jaką porównujemy liczby zmiennoprzecinkowe
+     * w klasie FuzzyPartition.
+     */
+    @BeforeAll
+    static void initializeTest() {
+        FuzzyPartition.setEpsilon(0.00000001);
+    }
+
+    /**
+     * Test sprawdzający raporty dla poprawnych i niepoprawnych podziałów.
+     */
+    @Test
+    @DisplayName("Test diagnostyki walidatora")
+    void testDiagnostics() {
+        PartitionValidator validator = new PartitionValidator();
+
+        FuzzyPartition valid = PartitionGenerator.withSeed(3).uniform(4, 100);
+        PartitionValidator.Report report = validator.validate(valid);
+        assertTrue(report.isValid());
+        assertEquals(-1, report.getColumn());
+        assertNull(report.getProblem());
+        assertTrue(valid.validate());
+        assertNotNull(valid.cachedStatistics());
+
+        FuzzyPartition outOfRange = new FuzzyPartition(new double[][]{
+                {0.5, 0.2, 1.3},
+                {0.5, 0.8, -0.3}
+        });
+        report = validator.validate(outOfRange);
+        assertFalse(report.isValid());
+        assertEquals(PartitionValidator.Problem.VALUE_OUT_OF_RANGE,
+                report.getProblem());
+        assertEquals(2, report.getColumn());
+        assertEquals(0, report.getRow());
+        assertEquals(1.3, report.getValue());
+        assertEquals("Column 2: value 1.3 in row 0 is out of range [0,1]",
+                report.toString());
+
+        FuzzyPartition badSum = new FuzzyPartition(new double[][]{
+                {0.5, 0.2, 0.3},
+                {0.5, 0.7, 0.7}
+        });
+        report = validator.validate(badSum);
+        assertEquals(PartitionValidator.Problem.BAD_COLUMN_SUM,
+                report.getProblem());
+        assertEquals(1, report.getColumn());
+        assertEquals(-1, report.getRow());
+        assertEquals(0.9, report.getValue(), 0.00000001);
+        assertFalse(badSum.validate());
+
+        assertThrows(IllegalArgumentException.class,
+                () -> new PartitionValidator(-1.0, 0.0));
+        assertThrows(IllegalArgumentException.class,
+                () -> new PartitionValidator(0.0, 1.0));
+    }
+
+    /**
+     * Test sprawdzający poprawianie prawie poprawnych kolumn.
+     */
+    @Test
+    @DisplayName("Test poprawiania kolumn")
+    void testRenormalization() {
+        PartitionValidator validator =
+                new PartitionValidator(0.00000001, 0.01);
+
+        FuzzyPartition U = new FuzzyPartition(new double[][]{
+                {0.5, 0.2, 1.004},
+                {0.5, 0.805, -0.004}
+        });
+        assertFalse(U.validate());
+        PartitionValidator.Report report = validator.validate(U);
+        assertTrue(report.isValid());
+        assertEquals(2, report.getRenormalizedColumns());
+        assertTrue(U.validate());
+        assertEquals(new FuzzyPartition(new double[][]{
+                {0.5, 0.2 / 1.005, 1.0},
+                {0.5, 0.805 / 1.005, 0.0}
+        }), U);
+        assertTrue(new PartitionValidator().validate(U).isValid());
+
+        FuzzyPartition rejected = new FuzzyPartition(new double[][]{
+                {0.5, 0.2, 0.6},
+                {0.505, 0.8, 0.6}
+        });
+        double[][] before = rejected.getData();
+        report = validator.validate(rejected);
+        assertEquals(2, report.getColumn());
+        assertEquals(PartitionValidator.Problem.BAD_COLUMN_SUM,
+                report.getProblem());
+        assertArrayEquals(before, rejected.getData());
+    }
+
+    /**
+     * Test sprawdzający równoległe sprawdzanie listy podziałów.
+     */
+    @Test
+    @DisplayName("Test sprawdzania listy podziałów")
+    void testBatch() {
+        PartitionGenerator generator = PartitionGenerator.withSeed(5);
+        List<FuzzyPartition> partitions = new ArrayList<>();
+        for (int k = 0; k < 40; k++) {
+            FuzzyPartition U = generator.uniform(3, 200);
+            if (k % 4 == 0) U.storage.set(1, k, 2.0);
+            partitions.add(U);
+        }
+
+        List<PartitionValidator.Report> reports;
+        try {
+            FuzzyPartition.setParallelism(ForkJoinPool.commonPool(), 10);
+            reports = new PartitionValidator().validateAll(partitions);
+        } finally {
+            FuzzyPartition.setParallelism(null, 1);
+        }
+        assertEquals(partitions.size(), reports.size());
+        for (int k = 0; k < partitions.size(); k++) {
+            PartitionValidator.Report report = reports.get(k);
+            assertEquals(k % 4 != 0, report.isValid());
+            if (k % 4 == 0) {
+                assertEquals(k, report.getColumn());
+                assertEquals(1, report.getRow());
+            }
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package fuzzypartition;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Klasa testująca podziały korzystające z tablic bez kopiowania oraz
+ * widoki na fragmenty podziałów.
+ */
+class PartitionViewTest {
+
+    /**
+     * Ustawienie dokładności, z jaką porównujemy liczby zmiennoprzecinkowe
+     * w klasie FuzzyPartition.
+     */
+    @BeforeAll
+    static void initializeTest() {
+        FuzzyPartition.setEpsilon(0.00000001);
+    }
+
+    /**
+     * Kopiuje fragment podziału do nowej macierzy.
+     */
+    private static FuzzyPartition copy(FuzzyPartition U, int[] rows,
+                                       int from, int to) {
+        double[][] data = new double[rows.length][to - from];
+        for (int k = 0; k < rows.length; k++)
+            for (int j = from; j < to; j++)
+                data[k][j - from] = U.get(rows[k], j);
+        return new FuzzyPartition(data);
+    }
+
+    /**
+     * Test sprawdzający tworzenie podziałów bez kopiowania danych.
+     */
+    @Test
+    @DisplayName("Test podziałów bez kopiowania")
+    void testWrap() {
+        double[] values = {0.5, 0.5, 0.2, 0.8, 1.0, 0.0};
+        FuzzyPartition U = FuzzyPartition.wrap(2, 3, values);
+        assertEquals(new FuzzyPartition(new double[][]{
+                {0.5, 0.2, 1.0},
+                {0.5, 0.8, 0.0}
+        }), U);
+        values[0] = 0.4;
+        assertEquals(0.4, U.get(0, 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> FuzzyPartition.wrap(2, 2, values));
+
+        double[][] data = {
+                {0.5, 0.2, 1.0},
+                {0.5, 0.8, 0.0}
+        };
+        FuzzyPartition rows = FuzzyPartition.wrapRows(data);
+        assertTrue(rows.validate());
+        assertEquals(new FuzzyPartition(data).calculateMLS(),
+                rows.calculateMLS());
+        assertEquals(new FuzzyPartition(data).complement(),
+                rows.complement());
+        data[1][1] = 0.7;
+        rows.invalidateStatistics();
+        assertFalse(rows.validate());
+        assertThrows(IllegalArgumentException.class,
+                () -> FuzzyPartition.wrapRows(new double[][]{{1.0}, {}}));
+
+        FuzzyPartition built = new FuzzyPartitionBuilder(2)
+                .addColumn(new double[]{0.5, 0.5})
+                .addColumn(new double[]{0.2, 0.8})
+                .build();
+        assertEquals(new FuzzyPartition(new double[][]{
+                {0.5, 0.2},
+                {0.5, 0.8}
+        }), built);
+    }
+
+    /**
+     * Test sprawdzający, czy 'getData' zwraca kopię macierzy zapisaną
+     * wierszami, również dla wymiarów niebędących wielokrotnością bloku.
+     */
+    @Test
+    @DisplayName("Test kopii macierzy zapisanej wierszami")
+    void testGetData() {
+        FuzzyPartition U = PartitionGenerator.withSeed(33).uniform(70, 130);
+        double[][] data = U.getData();
+        assertEquals(70, data.length);
+        for (int i = 0; i < U.M; i++) {
+            assertEquals(130, data[i].length);
+            for (int j = 0; j < U.N; j++)
+                assertEquals(U.get(i, j), data[i][j]);
+        }
+        data[3][100] = 2.0;
+        assertNotEquals(2.0, U.get(3, 100));
+        assertNotSame(data, U.getData());
+
+        FuzzyPartition view = U.columnRange(10, 75).rowSubset(69, 0);
+        double[][] viewData = view.getData();
+        assertEquals(U.get(69, 74), viewData[0][64]);
+        assertEquals(U.get(0, 10), viewData[1][0]);
+    }
+
+    /**
+     * Test sprawdzający widoki na zakresy kolumn.
+     */
+    @Test
+    @DisplayName("Test widoku na zakres kolumn")
+    void testColumnRange() {
+        PartitionGenerator generator = PartitionGenerator.withSeed(31);
+        FuzzyPartition U = generator.dirichlet(4, 1000, 0.5);
+        FuzzyPartition V = generator.dirichlet(4, 1000, 0.5);
+        int[] all = {0, 1, 2, 3};
+
+        FuzzyPartition slice = U.columnRange(100, 300);
+        assertEquals(4, slice.M);
+        assertEquals(200, slice.N);
+        assertEquals(copy(U, all, 100, 300), slice);
+        assertTrue(slice.validate());
+        assertEquals(copy(U, all, 100, 300).calculateSharpnessDegree(
+                        copy(V, all, 100, 300)),
+                slice.calculateSharpnessDegree(V.columnRange(100, 300)),
+                0.000000000001);
+        assertEquals(copy(U, all, 100, 300).calculateMLS(),
+                slice.calculateMLS());
+        assertEquals(copy(U, all, 150, 160),
+                slice.columnRange(50, 60));
+
+        assertTrue(U.validate());
+        FuzzyPartition cached = U.columnRange(10, 20);
+        assertNotNull(cached.cachedStatistics());
+        assertEquals(cached.calculateAlphaBound(),
+                copy(U, all, 10, 20).calculateAlphaBound());
+
+        assertThrows(UnsupportedOperationException.class,
+                () -> slice.storage.set(0, 0, 0.5));
+        assertThrows(UnsupportedOperationException.class,
+                () -> copy(U, all, 100, 300).complement(slice));
+        assertThrows(IllegalArgumentException.class,
+                () -> U.columnRange(10, 10));
+        assertThrows(IllegalArgumentException.class,
+                () -> U.columnRange(-1, 10));
+        assertThrows(IllegalArgumentException.class,
+                () -> U.columnRange(0, 1001));
+    }
+
+    /**
+     * Test sprawdzający, czy widoki uwzględniają zmiany podziału, z którego
+     * pochodzą, bez wywoływania na nich 'invalidateStatistics'.
+     */
+    @Test
+    @DisplayName("Test widoków po zmianie podziału")
+    void testViewsAfterUpdate() {
+        FuzzyPartition U = PartitionGenerator.withSeed(33).uniform(4, 100);
+        int[] all = {0, 1, 2, 3};
+        FuzzyPartition slice = U.columnRange(10, 30);
+        FuzzyPartition nested = slice.columnRange(5, 10);
+        FuzzyPartition subset = U.rowSubset(1, 3);
+        assertTrue(U.validate());
+        assertTrue(slice.validate());
+        assertTrue(nested.validate());
+        double bound = subset.calculateAlphaBound();
+
+        // Wynik zapisany w tym samym podziale.
+        assertSame(U, U.calculateMLS(U));
+        assertEquals(copy(U, all, 10, 30).calculateAlphaBound(),
+                slice.calculateAlphaBound());
+        assertEquals(copy(U, all, 10, 30).calculateLS(),
+                slice.calculateLS());
+        assertEquals(copy(U, all, 15, 20).calculateComplementMLS(),
+                nested.calculateComplementMLS());
+        assertNotEquals(bound, subset.calculateAlphaBound());
+        assertEquals(copy(U, new int[]{1, 3}, 0, 100).calculateAlphaBound(),
+                subset.calculateAlphaBound());
+
+        // Zmiana zgłoszona tylko podziałowi źródłowemu.
+        U.storage.set(0, 12, 0.5);
+        U.invalidateStatistics();
+        assertFalse(slice.validate());
+        assertTrue(nested.validate());
+        assertEquals(copy(U, all, 10, 30).calculateLS(),
+                slice.calculateLS());
+    }
+
+    /**
+     * Test sprawdzający widoki na wybrane wiersze.
+     */
+    @Test
+    @DisplayName("Test widoku na wybrane wiersze")
+    void testRowSubset() {
+        FuzzyPartition U = PartitionGenerator.withSeed(32).uniform(5, 50);
+        int[] rows = {4, 0, 2};
+        FuzzyPartition subset = U.rowSubset(rows);
+        assertEquals(3, subset.M);
+        assertEquals(50, subset.N);
+        assertEquals(copy(U, rows, 0, 50), subset);
+        assertFalse(subset.validate());
+
+        FuzzyPartition nested = subset.columnRange(5, 15).rowSubset(2, 0);
+        assertEquals(copy(U, new int[]{2, 4}, 5, 15), nested);
+
+        rows[0] = 1;
+        assertEquals(U.get(4, 0), subset.get(0, 0));
+        assertThrows(IllegalArgumentException.class, () -> U.rowSubset(5));
+        assertThrows(IllegalArgumentException.class, () -> U.rowSubset());
+    }
+}
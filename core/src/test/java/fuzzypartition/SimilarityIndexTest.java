@@ -0,0 +1,119 @@
+package fuzzypartition;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Klasa testująca wyszukiwanie najbardziej podobnych podziałów.
+ */
+class SimilarityIndexTest {
+
+    /**
+     * Ustawienie dokładności, z jaką porównujemy liczby zmiennoprzecinkowe
+     * w klasie FuzzyPartition.
+     */
+    @BeforeAll
+    static void initializeTest() {
+        FuzzyPartition.setEpsilon(0.00000001);
+    }
+
+    /**
+     * Tworzy indeks podziałów o różnym stopniu rozmycia, wśród których co
+     * trzydziesty jest podziałem bliskim zapytaniu.
+     */
+    private static SimilarityIndex library(FuzzyPartition[] partitions,
+                                           FuzzyPartition query) {
+        PartitionGenerator generator = PartitionGenerator.withSeed(11);
+        SimilarityIndex index = new SimilarityIndex();
+        for (int s = 0; s < partitions.length; s++) {
+            if (s % 30 == 0) {
+                partitions[s] = s % 60 == 0 ? query.calculateMLS()
+                        : query.calculateAlphaLevel(
+                        query.calculateAlphaBound() * s / partitions.length);
+            } else {
+                partitions[s] = s % 3 == 0
+                        ? generator.nearCrisp(4, 50, (s % 10) / 10.0)
+                        : generator.dirichlet(4, 50, 0.1 + s % 7);
+            }
+            index.add(partitions[s]);
+        }
+        index.add(generator.uniform(5, 40));
+        return index;
+    }
+
+    /**
+     * Sprawdza, czy wyniki są zgodne z przeglądem wszystkich podziałów.
+     */
+    private static void assertTopScores(double[] scores, List<
+            SimilarityIndex.Match> matches, int k) {
+        double[] sorted = scores.clone();
+        Arrays.sort(sorted);
+        assertEquals(k, matches.size());
+        for (int r = 0; r < k; r++) {
+            assertEquals(sorted[sorted.length - 1 - r],
+                    matches.get(r).getScore(), 0.00000001);
+        }
+    }
+
+    /**
+     * Test sprawdzający wyszukiwanie według stopnia wyostrzenia.
+     */
+    @Test
+    @DisplayName("Test wyszukiwania według stopnia wyostrzenia")
+    void testSharpness() {
+        FuzzyPartition query = PartitionGenerator.withSeed(12)
+                .dirichlet(4, 50, 0.5);
+        FuzzyPartition[] partitions = new FuzzyPartition[300];
+        SimilarityIndex index = library(partitions, query);
+
+        double[] scores = new double[partitions.length];
+        for (int s = 0; s < partitions.length; s++)
+            scores[s] = query.calculateSharpnessDegree(partitions[s]);
+
+        List<SimilarityIndex.Match> matches =
+                index.nearestBySharpness(query, 5);
+        assertTopScores(scores, matches, 5);
+        assertEquals(query.calculateSharpnessDegree(
+                        matches.get(0).getPartition()),
+                matches.get(0).getScore());
+        assertTrue(index.exactEvaluations.get() < partitions.length);
+        assertThrows(IllegalArgumentException.class,
+                () -> index.nearestBySharpness(query, 0));
+    }
+
+    /**
+     * Test sprawdzający wyszukiwanie według podobieństwa alfa-cięć, również
+     * przy obliczeniach równoległych.
+     */
+    @Test
+    @DisplayName("Test wyszukiwania według podobieństwa alfa-cięć")
+    void testAlphaApproximation() {
+        FuzzyPartition query = PartitionGenerator.withSeed(13)
+                .nearCrisp(4, 50, 0.3);
+        FuzzyPartition[] partitions = new FuzzyPartition[300];
+        SimilarityIndex index = library(partitions, query);
+        double alpha = 0.2;
+
+        double[] scores = new double[partitions.length];
+        for (int s = 0; s < partitions.length; s++)
+            scores[s] = query.alphaApproximate(alpha, partitions[s]);
+
+        try {
+            FuzzyPartition.setParallelism(ForkJoinPool.commonPool(), 10);
+            assertTopScores(scores,
+                    index.nearestByAlphaApproximation(query, alpha, 7), 7);
+        } finally {
+            FuzzyPartition.setParallelism(null, 1);
+        }
+        assertTopScores(scores,
+                index.nearestByAlphaApproximation(query, alpha, 7), 7);
+        assertTrue(index.exactEvaluations.get() < 2 * partitions.length);
+    }
+}
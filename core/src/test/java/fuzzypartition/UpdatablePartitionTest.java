@@ -0,0 +1,160 @@
+package fuzzypartition;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Klasa testująca przyrostowe uaktualnianie przekształceń podziału.
+ */
+class UpdatablePartitionTest {
+
+    /**
+     * Ustawienie dokładności, z jaką porównujemy liczby zmiennoprzecinkowe
+     * w klasie FuzzyPartition.
+     */
+    @BeforeAll
+    static void initializeTest() {
+        FuzzyPartition.setEpsilon(0.00000001);
+    }
+
+    /**
+     * Zwraca kopię bieżącego podziału, na której przekształcenia obliczane
+     * są od nowa.
+     */
+    private static FuzzyPartition fresh(UpdatablePartition U) {
+        return new FuzzyPartition(U.getPartition().getData());
+    }
+
+    /**
+     * Test sprawdzający, czy po zmianie kolumn przeliczane są tylko
+     * zmienione kolumny, a wyniki są równe obliczonym od nowa.
+     */
+    @Test
+    @DisplayName("Test przekształceń lokalnych względem kolumn")
+    void testColumnLocalOperations() {
+        PartitionGenerator generator = PartitionGenerator.withSeed(41);
+        UpdatablePartition U = new UpdatablePartition(
+                generator.dirichlet(4, 500, 2.0));
+        double alpha = 0.1;
+
+        assertEquals(fresh(U).calculateMLS(), U.calculateMLS());
+        assertEquals(fresh(U).calculateComplementMLS(),
+                U.calculateComplementMLS());
+        assertEquals(fresh(U).complement(), U.complement());
+        assertEquals(fresh(U).calculateAlphaLevel(alpha),
+                U.calculateAlphaLevel(alpha));
+        assertEquals(fresh(U).calculateComplementAlphaLevel(alpha),
+                U.calculateComplementAlphaLevel(alpha));
+        assertEquals(5 * 500, U.recomputedColumns);
+
+        FuzzyPartition mls = U.calculateMLS();
+        assertEquals(5 * 500, U.recomputedColumns);
+
+        FuzzyPartition columns = generator.dirichlet(4, 3, 2.0);
+        for (int k = 0; k < 3; k++) {
+            U.setColumn(17 * k, new double[]{columns.get(0, k),
+                    columns.get(1, k), columns.get(2, k), columns.get(3, k)});
+        }
+        U.set(0, 499, 0.5);
+        U.set(1, 499, 0.5);
+        U.set(2, 499, 0.0);
+        U.set(3, 499, 0.0);
+
+        assertSame(mls, U.calculateMLS());
+        assertEquals(fresh(U).calculateMLS(), mls);
+        assertEquals(fresh(U).calculateComplementMLS(),
+                U.calculateComplementMLS());
+        assertEquals(fresh(U).complement(), U.complement());
+        assertEquals(fresh(U).calculateAlphaLevel(alpha),
+                U.calculateAlphaLevel(alpha));
+        assertEquals(fresh(U).calculateComplementAlphaLevel(alpha),
+                U.calculateComplementAlphaLevel(alpha));
+        assertEquals(5 * 500 + 5 * 4, U.recomputedColumns);
+
+        assertTrue(U.getPartition().validate());
+        assertNotNull(U.getPartition().cachedStatistics());
+        assertEquals(fresh(U).calculateAlphaBound(),
+                U.getPartition().calculateAlphaBound());
+
+        assertThrows(IllegalArgumentException.class,
+                () -> U.setColumn(500, new double[4]));
+        assertThrows(IllegalArgumentException.class,
+                () -> U.setColumn(0, new double[3]));
+        assertThrows(IllegalArgumentException.class,
+                () -> U.set(4, 0, 0.5));
+    }
+
+    /**
+     * Test sprawdzający, czy LS przeliczane jest w całości tylko po
+     * zmianie minimum (maksimum) całej macierzy.
+     */
+    @Test
+    @DisplayName("Test przyrostowego LS")
+    void testLS() {
+        FuzzyPartition source = PartitionGenerator.withSeed(42)
+                .dirichlet(3, 400, 50.0);
+        UpdatablePartition U = new UpdatablePartition(source);
+        assertEquals(source.calculateLS(), U.calculateLS());
+        assertEquals(source.calculateComplementLS(),
+                U.calculateComplementLS());
+        assertEquals(2 * 400, U.recomputedColumns);
+
+        // Kolumna złożona z wartości bliskich 1/3 nie zmienia wartości
+        // skrajnych macierzy.
+        U.setColumn(5, new double[]{0.33, 0.34, 0.33});
+        assertEquals(fresh(U).calculateLS(), U.calculateLS());
+        assertEquals(fresh(U).calculateComplementLS(),
+                U.calculateComplementLS());
+        assertEquals(2 * 400 + 2, U.recomputedColumns);
+
+        // Zero jest nowym minimum, więc LS przeliczane jest w całości,
+        // a dopełnienie LS - tylko jeżeli zmieniło się maksimum.
+        double max = U.getPartition().statistics().globalMax();
+        U.setColumn(6, new double[]{0.0, 0.5, 0.5});
+        assertEquals(fresh(U).calculateLS(), U.calculateLS());
+        assertEquals(fresh(U).calculateComplementLS(),
+                U.calculateComplementLS());
+        long expected = 2 * 400 + 2 + 400
+                + (max >= 0.5 ? 1 : 400);
+        assertEquals(expected, U.recomputedColumns);
+
+        FuzzyPartition flat = new FuzzyPartition(new double[][]{
+                {0.5, 0.5}, {0.5, 0.5}
+        });
+        UpdatablePartition F = new UpdatablePartition(flat);
+        assertEquals(flat.calculateLS(), F.calculateLS());
+        F.setColumn(1, new double[]{0.2, 0.8});
+        assertEquals(fresh(F).calculateLS(), F.calculateLS());
+    }
+
+    /**
+     * Test sprawdzający, czy niepoprawny poziom alfa po zmianie kolumny
+     * nie zmienia zapamiętanego wyniku.
+     */
+    @Test
+    @DisplayName("Test niepoprawnego alfa po zmianie kolumny")
+    void testInvalidAlpha() {
+        UpdatablePartition U = new UpdatablePartition(new FuzzyPartition(
+                new double[][]{
+                        {0.9, 0.6},
+                        {0.1, 0.4}
+                }));
+        FuzzyPartition level = U.calculateAlphaLevel(0.55);
+        FuzzyPartition before = new FuzzyPartition(level.getData());
+        U.setColumn(1, new double[]{0.5, 0.5});
+        assertThrows(IllegalArgumentException.class,
+                () -> U.calculateAlphaLevel(0.55));
+        assertEquals(before, level);
+        assertThrows(IllegalArgumentException.class,
+                () -> U.calculateAlphaLevel(0.0));
+
+        U.setColumn(1, new double[]{0.7, 0.3});
+        assertEquals(fresh(U).calculateAlphaLevel(0.55),
+                U.calculateAlphaLevel(0.55));
+        U.forgetAll();
+        assertNotSame(level, U.calculateAlphaLevel(0.55));
+    }
+}
@@ -0,0 +1,187 @@
+package fuzzypartition;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Klasa testująca zgodność implementacji wykorzystujących Vector API
+ * z prostymi implementacjami skalarnymi.
+ */
+class VectorKernelsTest {
+
+    /**
+     * Ilość iteracji w testach wykonywanych na losowych danych.
+     */
+    public static final int NUMBER_OF_RANDOM_TESTS = 1000;
+
+    /**
+     * Dokładność, z jaką porównujemy liczby zmiennoprzecinkowe.
+     */
+    public static final double EPSILON = 0.00000001;
+
+    /**
+     * Test sprawdzający, czy testy uruchamiane są z dostępnym Vector API.
+     */
+    @Test
+    @DisplayName("Test dostępności Vector API")
+    void testVectorApiIsEnabled() {
+        assertTrue(ColumnKernels.VECTORIZED);
+    }
+
+    /**
+     * Test sprawdzający minimum, maksimum i przekształcenie afiniczne na
+     * tablicach o różnych długościach (również krótszych niż wektor).
+     */
+    @Test
+    @DisplayName("Test minimum, maksimum i przekształcenia afinicznego")
+    void testMinMaxAffine() {
+        Random random = new Random(0);
+        for (int t = 0; t < NUMBER_OF_RANDOM_TESTS; t++) {
+            int length = 1 + random.nextInt(40);
+            int offset = random.nextInt(5);
+            double[] c = new double[offset + length];
+            for (int i = 0; i < c.length; i++) c[i] = random.nextDouble();
+
+            double min = 1.0;
+            double max = 0.0;
+            for (int i = offset; i < c.length; i++) {
+                min = Math.min(min, c[i]);
+                max = Math.max(max, c[i]);
+            }
+            assertEquals(min, VectorKernels.min(c, offset, length, 1.0));
+            assertEquals(max, VectorKernels.max(c, offset, length, 0.0));
+
+            double[] expected = c.clone();
+            for (int i = offset; i < c.length; i++)
+                expected[i] = (c[i] - 0.25) * 3.0 + 0.5;
+            VectorKernels.affine(c, offset, length, 0.25, 3.0, 0.5);
+            assertArrayEquals(expected, c, EPSILON);
+        }
+    }
+
+    /**
+     * Test sprawdzający sumy wykorzystywane w metodach 'alphaApproximate'
+     * oraz 'calculateSharpnessDegree'.
+     */
+    @Test
+    @DisplayName("Test sum alphaApproximate i calculateSharpnessDegree")
+    void testSums() {
+        Random random = new Random(0);
+        for (int t = 0; t < NUMBER_OF_RANDOM_TESTS; t++) {
+            int length = 1 + random.nextInt(40);
+            double[] u = new double[length];
+            double[] v = new double[length];
+            for (int i = 0; i < length; i++) {
+                u[i] = random.nextDouble();
+                v[i] = random.nextDouble();
+            }
+
+            double M1 = 0.0, M2 = 0.0, K = 0.0;
+            int cardM1 = 0;
+            for (int i = 0; i < length; i++) {
+                if (u[i] >= 0.5) {
+                    cardM1++;
+                    M1 += Math.max(0.0, 0.5 - v[i]);
+                    K += Math.max(0.0, u[i] - v[i]);
+                } else {
+                    M2 += Math.max(0.0, v[i] - 0.5);
+                    K += Math.max(0.0, v[i] - u[i]);
+                }
+            }
+
+            double[] sums = VectorKernels.alphaApproximateSums(
+                    u, v, 0, length, 0.5
+            );
+            assertEquals(M1, sums[0], EPSILON);
+            assertEquals(M2, sums[1], EPSILON);
+            assertEquals(cardM1, (int) sums[2]);
+            assertEquals(
+                    K,
+                    VectorKernels.sharpnessSum(u, v, 0, length, 0.5),
+                    EPSILON
+            );
+        }
+    }
+
+    /**
+     * Test sprawdzający sumy obliczane w podwójnej precyzji dla tablic
+     * typu float.
+     */
+    @Test
+    @DisplayName("Test sum dla pojedynczej precyzji")
+    void testFloatSums() {
+        Random random = new Random(0);
+        for (int t = 0; t < NUMBER_OF_RANDOM_TESTS; t++) {
+            int length = 1 + random.nextInt(40);
+            float[] u = new float[length];
+            float[] v = new float[length];
+            for (int i = 0; i < length; i++) {
+                u[i] = random.nextFloat();
+                v[i] = random.nextFloat();
+            }
+
+            double sum = 0.0, M1 = 0.0, M2 = 0.0, K = 0.0;
+            int cardM1 = 0;
+            for (int i = 0; i < length; i++) {
+                sum += u[i];
+                if (u[i] >= 0.3) {
+                    cardM1++;
+                    M1 += Math.max(0.0, 0.3 - v[i]);
+                    K += Math.max(0.0, (double) u[i] - v[i]);
+                } else {
+                    M2 += Math.max(0.0, v[i] - 0.3);
+                    K += Math.max(0.0, (double) v[i] - u[i]);
+                }
+            }
+
+            assertEquals(sum, VectorKernels.sum(u, 0, length), EPSILON);
+            double[] sums = VectorKernels.alphaApproximateSums(
+                    u, v, 0, length, 0.3
+            );
+            assertEquals(M1, sums[0], EPSILON);
+            assertEquals(M2, sums[1], EPSILON);
+            assertEquals(cardM1, (int) sums[2]);
+            assertEquals(
+                    K,
+                    VectorKernels.sharpnessSum(u, v, 0, length, 0.3),
+                    EPSILON
+            );
+        }
+    }
+
+    /**
+     * Test sprawdzający sumę oraz walidację pojedynczej kolumny na
+     * podstawie jej statystyk.
+     */
+    @Test
+    @DisplayName("Test walidacji kolumny")
+    void testValidColumn() {
+        double[] good = {0.1, 0.2, 0.05, 0.05, 0.1, 0.1, 0.2, 0.1, 0.1};
+        assertEquals(1.0, VectorKernels.sum(good, 0, 9), EPSILON);
+        assertTrue(validColumn(good));
+
+        double[] negative = {0.1, 0.2, 0.05, 0.05, 0.1, 0.1, 0.3, 0.2, -0.1};
+        assertFalse(validColumn(negative));
+
+        double[] badSum = {0.1, 0.2, 0.05, 0.05, 0.1, 0.1, 0.2, 0.1, 0.2};
+        assertEquals(1.1, VectorKernels.sum(badSum, 0, 9), EPSILON);
+        assertFalse(validColumn(badSum));
+
+        double[] tooBig = {0.0, 0.0, 0.0, 0.0, 0.0, 0.0, 0.0, -0.5, 1.5};
+        assertFalse(validColumn(tooBig));
+    }
+
+    /**
+     * Sprawdza poprawność kolumny przy pomocy klasy 'ColumnStatistics'.
+     */
+    private static boolean validColumn(double[] column) {
+        ColumnStatistics statistics =
+                new ColumnStatistics(column.length, 1);
+        statistics.collect(0, column, 0);
+        return statistics.finish().isValid(EPSILON);
+    }
+}
@@ -0,0 +1,70 @@
+package fuzzypartition;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Klasa testująca podziały przechowywane poza stertą.
+ */
+class OffHeapStorageTest {
+
+    /**
+     * Ustawienie dokładności, z jaką porównujemy liczby zmiennoprzecinkowe
+     * w klasie FuzzyPartition.
+     */
+    @BeforeAll
+    static void initializeTest() {
+        FuzzyPartition.setEpsilon(0.00000001);
+    }
+
+    /**
+     * Test sprawdzający, czy operacje na kopii poza stertą dają te same
+     * wyniki co na oryginale, a wyniki tworzone są w tej samej arenie.
+     */
+    @Test
+    @DisplayName("Test operacji na podziale poza stertą")
+    void testOperations() {
+        FuzzyPartition U = new FuzzyPartition(5, 41);
+        try (PartitionArena arena = PartitionArena.open()) {
+            FuzzyPartition offHeap = arena.copyOf(U);
+            assertInstanceOf(OffHeapStorage.class, offHeap.storage);
+            assertEquals(U, offHeap);
+            assertTrue(offHeap.validate());
+
+            FuzzyPartition mls = offHeap.calculateMLS();
+            assertInstanceOf(OffHeapStorage.class, mls.storage);
+            assertEquals(U.calculateMLS(), mls);
+            assertEquals(U.complement(), offHeap.complement());
+            assertEquals(U.calculateLS(), offHeap.calculateLS());
+            assertEquals(
+                    U.calculateSharpnessDegree(U.calculateMLS()),
+                    offHeap.calculateSharpnessDegree(mls),
+                    0.00000001
+            );
+
+            FuzzyPartition dest = arena.allocate(5, 41);
+            U.calculateMLS(dest);
+            assertEquals(U.calculateMLS(), dest);
+        }
+    }
+
+    /**
+     * Test sprawdzający, czy po zamknięciu areny odczyt jej podziałów
+     * kończy się wyjątkiem.
+     */
+    @Test
+    @DisplayName("Test zamknięcia areny")
+    void testClose() {
+        PartitionArena arena = PartitionArena.open();
+        FuzzyPartition U = arena.copyOf(new FuzzyPartition(3, 4));
+        arena.close();
+        assertThrows(IllegalStateException.class, () -> U.get(0, 0));
+        try (PartitionArena other = PartitionArena.open()) {
+            assertThrows(IllegalArgumentException.class,
+                    () -> other.allocate(0, 4));
+        }
+    }
+}